@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.common.document.gson;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import lombok.NonNull;
+
+/**
+ * A compact binary encoding of json objects. Each value is written with a one byte type tag, integral numbers are
+ * written as zigzag encoded varints and strings, arrays and objects are prefixed with their length as varint. Encoded
+ * objects start with a zero byte, which is never the first byte of an utf-8 encoded json object. This allows readers to
+ * accept both the binary and the text representation of a json object.
+ *
+ * @since 4.0
+ */
+final class JsonBinaryCodec {
+
+  static final byte BINARY_MARKER = 0;
+
+  private static final byte TAG_NULL = 0;
+  private static final byte TAG_TRUE = 1;
+  private static final byte TAG_FALSE = 2;
+  private static final byte TAG_LONG = 3;
+  private static final byte TAG_DOUBLE = 4;
+  private static final byte TAG_NUMBER = 5;
+  private static final byte TAG_STRING = 6;
+  private static final byte TAG_ARRAY = 7;
+  private static final byte TAG_OBJECT = 8;
+
+  private JsonBinaryCodec() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Checks if the given bytes are a binary encoded json object rather than an utf-8 encoded json text.
+   *
+   * @param bytes the bytes to check.
+   * @return true if the given bytes are binary encoded, false otherwise.
+   */
+  static boolean binaryEncoded(byte[] bytes) {
+    return bytes.length > 0 && bytes[0] == BINARY_MARKER;
+  }
+
+  /**
+   * Encodes the given json object into its binary representation.
+   *
+   * @param object the object to encode.
+   * @return the binary representation of the given object.
+   * @throws NullPointerException if the given object is null.
+   */
+  static byte[] encode(@NonNull JsonObject object) {
+    var out = new ByteArrayOutputStream(64);
+    out.write(BINARY_MARKER);
+    writeElement(out, object);
+    return out.toByteArray();
+  }
+
+  /**
+   * Decodes the json object from the given binary representation.
+   *
+   * @param bytes the binary representation of a json object, starting with the binary marker.
+   * @return the decoded json object.
+   * @throws IllegalArgumentException if the given bytes are not a binary encoded json object or are malformed.
+   */
+  static @NonNull JsonObject decode(byte[] bytes) {
+    if (!binaryEncoded(bytes)) {
+      throw new IllegalArgumentException("Given bytes are not a binary encoded json object");
+    }
+
+    var element = new Reader(bytes).readElement();
+    if (!element.isJsonObject()) {
+      throw new IllegalArgumentException("Given bytes do not contain a json object");
+    }
+    return element.getAsJsonObject();
+  }
+
+  private static void writeElement(@NonNull ByteArrayOutputStream out, @NonNull JsonElement element) {
+    if (element.isJsonObject()) {
+      var object = element.getAsJsonObject();
+      out.write(TAG_OBJECT);
+      writeVarLong(out, object.size());
+      for (var entry : object.entrySet()) {
+        writeString(out, entry.getKey());
+        writeElement(out, entry.getValue());
+      }
+    } else if (element.isJsonArray()) {
+      var array = element.getAsJsonArray();
+      out.write(TAG_ARRAY);
+      writeVarLong(out, array.size());
+      for (var entry : array) {
+        writeElement(out, entry);
+      }
+    } else if (element.isJsonPrimitive()) {
+      var primitive = element.getAsJsonPrimitive();
+      if (primitive.isBoolean()) {
+        out.write(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+      } else if (primitive.isNumber()) {
+        writeNumber(out, primitive.getAsNumber());
+      } else {
+        out.write(TAG_STRING);
+        writeString(out, primitive.getAsString());
+      }
+    } else {
+      out.write(TAG_NULL);
+    }
+  }
+
+  private static void writeNumber(@NonNull ByteArrayOutputStream out, @NonNull Number number) {
+    if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+      out.write(TAG_LONG);
+      writeVarLong(out, zigzag(number.longValue()));
+    } else if (number instanceof Double) {
+      out.write(TAG_DOUBLE);
+      var bits = Double.doubleToRawLongBits(number.doubleValue());
+      for (var shift = 56; shift >= 0; shift -= 8) {
+        out.write((int) (bits >>> shift));
+      }
+    } else {
+      // numbers parsed from json text are only converted when needed, keep the textual form unless it's a plain long
+      var text = number.toString();
+      var parsed = parseLong(text);
+      if (parsed != null) {
+        out.write(TAG_LONG);
+        writeVarLong(out, zigzag(parsed));
+      } else {
+        out.write(TAG_NUMBER);
+        writeString(out, text);
+      }
+    }
+  }
+
+  private static void writeString(@NonNull ByteArrayOutputStream out, @NonNull String string) {
+    var bytes = string.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(out, bytes.length);
+    out.writeBytes(bytes);
+  }
+
+  private static void writeVarLong(@NonNull ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long zigzag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static Long parseLong(@NonNull String text) {
+    try {
+      var value = Long.parseLong(text);
+      // only accept the canonical form, for example not "+1" or "01"
+      return Long.toString(value).equals(text) ? value : null;
+    } catch (NumberFormatException exception) {
+      return null;
+    }
+  }
+
+  /**
+   * A reader for binary encoded json elements, keeping track of the current position in the given bytes. The given
+   * bytes might come from an untrusted source, therefore all sizes and lengths are validated against the remaining
+   * bytes before anything is allocated for them.
+   *
+   * @since 4.0
+   */
+  private static final class Reader {
+
+    private final byte[] bytes;
+    private int position = 1; // skip the binary marker
+
+    private Reader(byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    private @NonNull JsonElement readElement() {
+      var tag = this.readByte();
+      return switch (tag) {
+        case TAG_NULL -> JsonNull.INSTANCE;
+        case TAG_TRUE -> new JsonPrimitive(Boolean.TRUE);
+        case TAG_FALSE -> new JsonPrimitive(Boolean.FALSE);
+        case TAG_LONG -> {
+          var value = this.readVarLong();
+          yield new JsonPrimitive((value >>> 1) ^ -(value & 1));
+        }
+        case TAG_DOUBLE -> {
+          var bits = 0L;
+          for (var i = 0; i < 8; i++) {
+            bits = (bits << 8) | (this.readByte() & 0xFF);
+          }
+          yield new JsonPrimitive(Double.longBitsToDouble(bits));
+        }
+        case TAG_NUMBER -> new JsonPrimitive(new LazilyParsedNumber(this.readString()));
+        case TAG_STRING -> new JsonPrimitive(this.readString());
+        case TAG_ARRAY -> {
+          // each element is at least encoded as its type tag
+          var size = this.readLength(1);
+          var array = new JsonArray(size);
+          for (var i = 0; i < size; i++) {
+            array.add(this.readElement());
+          }
+          yield array;
+        }
+        case TAG_OBJECT -> {
+          // each entry is at least encoded as the length of its key and the type tag of its value
+          var size = this.readLength(2);
+          var object = new JsonObject();
+          for (var i = 0; i < size; i++) {
+            object.add(this.readString(), this.readElement());
+          }
+          yield object;
+        }
+        default -> throw new IllegalArgumentException("Unknown json element type tag " + tag);
+      };
+    }
+
+    private @NonNull String readString() {
+      var length = this.readLength(1);
+      var string = new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+      this.position += length;
+      return string;
+    }
+
+    private long readVarLong() {
+      var value = 0L;
+      var shift = 0;
+      byte current;
+      do {
+        if (shift >= Long.SIZE) {
+          throw new IllegalArgumentException("Malformed varint at position " + this.position);
+        }
+        current = this.readByte();
+        value |= (long) (current & 0x7F) << shift;
+        shift += 7;
+      } while ((current & 0x80) != 0);
+      return value;
+    }
+
+    private int readLength(int minBytesPerEntry) {
+      var length = this.readVarLong();
+      var remaining = this.bytes.length - this.position;
+      if (length < 0 || length > remaining / minBytesPerEntry) {
+        throw new IllegalArgumentException(
+          "Length " + length + " at position " + this.position + " exceeds the remaining " + remaining + " bytes");
+      }
+      return (int) length;
+    }
+
+    private byte readByte() {
+      if (this.position >= this.bytes.length) {
+        throw new IllegalArgumentException("Unexpected end of binary json after " + this.bytes.length + " bytes");
+      }
+      return this.bytes[this.position++];
+    }
+  }
+}
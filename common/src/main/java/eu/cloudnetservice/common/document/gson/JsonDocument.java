@@ -57,7 +57,8 @@ public class JsonDocument implements Document<JsonDocument> {
     .create();
   private static final JsonDocument EMPTY = JsonDocument.newDocument();
 
-  /* package */ final JsonObject object;
+  private volatile JsonObject object;
+  private volatile byte[] encoded;
 
   protected JsonDocument() {
     this(new JsonObject());
@@ -67,6 +68,10 @@ protected JsonDocument(@NonNull JsonObject object) {
     this.object = object;
   }
 
+  private JsonDocument(byte[] encoded) {
+    this.encoded = encoded;
+  }
+
   public static @NonNull JsonDocument emptyDocument() {
     return JsonDocument.EMPTY;
   }
@@ -108,6 +113,24 @@ protected JsonDocument(@NonNull JsonObject object) {
     return new JsonDocument(JsonParser.parseString(json).getAsJsonObject());
   }
 
+  /**
+   * Creates a document from the given bytes which were either created by {@link #toBinary()} or are an utf-8 encoded
+   * json object. Binary encoded documents are only decoded when the content of the document is accessed for the first
+   * time, documents which are only passed on are never decoded.
+   *
+   * @param bytes the binary or utf-8 json representation of a document.
+   * @return a document backed by the given bytes.
+   * @throws NullPointerException if the given byte array is null.
+   * @throws JsonSyntaxException  if the given bytes are not binary encoded and not a valid json object.
+   */
+  public static @NonNull JsonDocument fromBinary(byte[] bytes) {
+    if (JsonBinaryCodec.binaryEncoded(bytes)) {
+      return new JsonDocument(bytes);
+    } else {
+      return fromJsonBytes(bytes);
+    }
+  }
+
   public static @NonNull JsonDocument newDocument(@NonNull InputStream stream) {
     var document = JsonDocument.newDocument();
     document.read(stream);
@@ -122,18 +145,18 @@ protected JsonDocument(@NonNull JsonObject object) {
 
   @Override
   public @NonNull Collection<String> keys() {
-    return this.object.keySet();
+    return this.object().keySet();
   }
 
   @Override
   public int size() {
-    return this.object.size();
+    return this.object().size();
   }
 
   @Override
   public @NonNull JsonDocument clear() {
-    for (var key : Set.copyOf(this.object.keySet())) {
-      this.object.remove(key);
+    for (var key : Set.copyOf(this.object().keySet())) {
+      this.object().remove(key);
     }
 
     return this;
@@ -141,66 +164,66 @@ public int size() {
 
   @Override
   public @NonNull JsonDocument remove(@NonNull String key) {
-    this.object.remove(key);
+    this.object().remove(key);
     return this;
   }
 
   @Override
   public boolean contains(@NonNull String key) {
-    return this.object.has(key);
+    return this.object().has(key);
   }
 
   @Override
   public <T> @UnknownNullability T toInstanceOf(@NonNull Class<T> clazz) {
-    return GSON.fromJson(this.object, clazz);
+    return GSON.fromJson(this.object(), clazz);
   }
 
   @Override
   public <T> @UnknownNullability T toInstanceOf(@NonNull Type clazz) {
-    return GSON.fromJson(this.object, clazz);
+    return GSON.fromJson(this.object(), clazz);
   }
 
   @Override
   public @NonNull JsonDocument append(@NonNull String key, @Nullable Object value) {
-    this.object.add(key, value == null ? JsonNull.INSTANCE : GSON.toJsonTree(value));
+    this.object().add(key, value == null ? JsonNull.INSTANCE : GSON.toJsonTree(value));
     return this;
   }
 
   @Override
   public @NonNull JsonDocument append(@NonNull String key, @Nullable Number value) {
-    this.object.addProperty(key, value);
+    this.object().addProperty(key, value);
     return this;
   }
 
   @Override
   public @NonNull JsonDocument append(@NonNull String key, @Nullable Boolean value) {
-    this.object.addProperty(key, value);
+    this.object().addProperty(key, value);
     return this;
   }
 
   @Override
   public @NonNull JsonDocument append(@NonNull String key, @Nullable String value) {
-    this.object.addProperty(key, value);
+    this.object().addProperty(key, value);
     return this;
   }
 
   @Override
   public @NonNull JsonDocument append(@NonNull String key, @Nullable Character value) {
-    this.object.addProperty(key, value);
+    this.object().addProperty(key, value);
     return this;
   }
 
   @Override
   public @NonNull JsonDocument append(@NonNull String key, @Nullable JsonDocument value) {
-    this.object.add(key, value == null ? JsonNull.INSTANCE : value.object);
+    this.object().add(key, value == null ? JsonNull.INSTANCE : value.object());
     return this;
   }
 
   @Override
   public @NonNull JsonDocument append(@Nullable JsonDocument document) {
     if (document != null) {
-      for (var entry : document.object.entrySet()) {
-        this.object.add(entry.getKey(), entry.getValue());
+      for (var entry : document.object().entrySet()) {
+        this.object().add(entry.getKey(), entry.getValue());
       }
     }
 
@@ -209,7 +232,7 @@ public boolean contains(@NonNull String key) {
 
   @Override
   public @NonNull JsonDocument appendNull(@NonNull String key) {
-    this.object.add(key, JsonNull.INSTANCE);
+    this.object().add(key, JsonNull.INSTANCE);
     return this;
   }
 
@@ -220,49 +243,49 @@ public boolean contains(@NonNull String key) {
 
   @Override
   public int getInt(@NonNull String key, int def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || !element.isJsonPrimitive() ? def : element.getAsInt();
   }
 
   @Override
   public double getDouble(@NonNull String key, double def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || !element.isJsonPrimitive() ? def : element.getAsDouble();
   }
 
   @Override
   public float getFloat(@NonNull String key, float def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || !element.isJsonPrimitive() ? def : element.getAsFloat();
   }
 
   @Override
   public byte getByte(@NonNull String key, byte def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || !element.isJsonPrimitive() ? def : element.getAsByte();
   }
 
   @Override
   public short getShort(@NonNull String key, short def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || !element.isJsonPrimitive() ? def : element.getAsShort();
   }
 
   @Override
   public long getLong(@NonNull String key, long def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || !element.isJsonPrimitive() ? def : element.getAsLong();
   }
 
   @Override
   public boolean getBoolean(@NonNull String key, boolean def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || !element.isJsonPrimitive() ? def : element.getAsBoolean();
   }
 
   @Override
   public @UnknownNullability String getString(@NonNull String key, @Nullable String def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || !element.isJsonPrimitive() ? def : element.getAsString();
   }
 
@@ -274,25 +297,25 @@ public char getChar(@NonNull String key, char def) {
 
   @Override
   public @UnknownNullability Object get(@NonNull String key, @Nullable Object def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || element.isJsonNull() ? def : element;
   }
 
   @Override
   public <T> @UnknownNullability T get(@NonNull String key, @NonNull Class<T> clazz, @Nullable T def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || element.isJsonNull() ? def : GSON.fromJson(element, clazz);
   }
 
   @Override
   public <T> @UnknownNullability T get(@NonNull String key, @NonNull Type type, @Nullable T def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     return element == null || element.isJsonNull() ? def : GSON.fromJson(element, type);
   }
 
   @Override
   public @UnknownNullability JsonDocument getDocument(@NonNull String key, @Nullable JsonDocument def) {
-    var element = this.object.get(key);
+    var element = this.object().get(key);
     if (element != null && element.isJsonObject()) {
       return new JsonDocument(element.getAsJsonObject());
     } else {
@@ -302,7 +325,7 @@ public char getChar(@NonNull String key, char def) {
 
   @Override
   public @NonNull Persistable write(@NonNull Writer writer) {
-    GSON.toJson(this.object, writer);
+    GSON.toJson(this.object(), writer);
     return this;
   }
 
@@ -313,7 +336,7 @@ public char getChar(@NonNull String key, char def) {
       var element = JsonParser.parseReader(reader);
       if (element.isJsonObject()) {
         for (var entry : element.getAsJsonObject().entrySet()) {
-          this.object.add(entry.getKey(), entry.getValue());
+          this.object().add(entry.getKey(), entry.getValue());
         }
         return this;
       }
@@ -331,22 +354,34 @@ public char getChar(@NonNull String key, char def) {
 
   @Override
   public @NonNull Iterator<String> iterator() {
-    return this.object.keySet().iterator();
+    return this.object().keySet().iterator();
   }
 
   @Override
   @SuppressWarnings("MethodDoesntCallSuperMethod")
   public @NonNull JsonDocument clone() {
-    return new JsonDocument(this.object.deepCopy());
+    return new JsonDocument(this.object().deepCopy());
   }
 
   public @NonNull String toPrettyJson() {
-    return GSON.toJson(this.object);
+    return GSON.toJson(this.object());
+  }
+
+  /**
+   * Encodes this document into a compact binary representation which can be read using {@link #fromBinary(byte[])}.
+   * If this document was read from a binary representation and was never accessed since, the original bytes are
+   * returned without encoding the document again.
+   *
+   * @return the binary representation of this document.
+   */
+  public byte[] toBinary() {
+    var encoded = this.encoded;
+    return encoded != null ? encoded : JsonBinaryCodec.encode(this.object());
   }
 
   @Override
   public @NonNull String toString() {
-    return this.object.toString();
+    return this.object().toString();
   }
 
   @Override
@@ -358,11 +393,26 @@ public boolean equals(Object o) {
       return false;
     }
 
-    return document.object.equals(this.object);
+    return document.object().equals(this.object());
   }
 
   @Override
   public int hashCode() {
-    return this.object.hashCode();
+    return this.object().hashCode();
+  }
+
+  /* package */ @NonNull JsonObject object() {
+    var object = this.object;
+    if (object == null) {
+      synchronized (this) {
+        object = this.object;
+        if (object == null) {
+          // decode the document lazily on first access and drop the encoded form, it might be outdated after this call
+          this.object = object = JsonBinaryCodec.decode(this.encoded);
+          this.encoded = null;
+        }
+      }
+    }
+    return object;
   }
 }
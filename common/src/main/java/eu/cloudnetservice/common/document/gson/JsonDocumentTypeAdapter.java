@@ -30,7 +30,7 @@ final class JsonDocumentTypeAdapter extends TypeAdapter<JsonDocument> {
 
   @Override
   public void write(JsonWriter jsonWriter, JsonDocument document) throws IOException {
-    TypeAdapters.JSON_ELEMENT.write(jsonWriter, document == null ? new JsonObject() : document.object);
+    TypeAdapters.JSON_ELEMENT.write(jsonWriter, document == null ? new JsonObject() : document.object());
   }
 
   @Override
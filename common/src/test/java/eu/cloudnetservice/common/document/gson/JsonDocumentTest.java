@@ -17,6 +17,9 @@
 package eu.cloudnetservice.common.document.gson;
 
 import eu.cloudnetservice.common.document.property.FunctionalDocProperty;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Assertions;
@@ -82,6 +85,63 @@ void testJsonDocPropertyRemove() {
     Assertions.assertNull(document.removeProperty(this.jsonDocProperty()).property(this.jsonDocProperty()));
   }
 
+  @Test
+  void testBinaryRoundTrip() {
+    var document = this.dummyDocument()
+      .append("negative", -123456789L)
+      .append("double", 3.5D)
+      .append("big", new BigDecimal("123456789012345678901234567890.5"))
+      .append("bool", true)
+      .append("nothing", (Object) null)
+      .append("nested", JsonDocument.newDocument("unicode", "\u00e4\u00f6\u00fc"));
+
+    var binary = document.toBinary();
+    var decoded = JsonDocument.fromBinary(binary);
+
+    // forwarding an untouched document must not re-encode it
+    Assertions.assertSame(binary, decoded.toBinary());
+    Assertions.assertEquals(document, decoded);
+    Assertions.assertEquals(-123456789L, decoded.getLong("negative"));
+    Assertions.assertEquals(3.5D, decoded.getDouble("double"));
+    Assertions.assertEquals("\u00e4\u00f6\u00fc", decoded.getDocument("nested").getString("unicode"));
+    Assertions.assertEquals(document.get("test", TestRecord.class), decoded.get("test", TestRecord.class));
+  }
+
+  @Test
+  void testBinaryTextFallback() {
+    var document = this.dummyDocument();
+    var decoded = JsonDocument.fromBinary(document.toString().getBytes(StandardCharsets.UTF_8));
+
+    Assertions.assertEquals(document, decoded);
+  }
+
+  @Test
+  void testTruncatedBinaryIsRejected() {
+    var binary = this.dummyDocument().toBinary();
+    for (var length = 1; length < binary.length; length++) {
+      var truncated = JsonDocument.fromBinary(Arrays.copyOf(binary, length));
+      Assertions.assertThrows(IllegalArgumentException.class, truncated::size);
+    }
+  }
+
+  @Test
+  void testOversizedBinaryLengthIsRejected() {
+    // an array claiming Integer.MAX_VALUE elements without any content
+    var array = new byte[]{0, 8, 1, 1, 'a', 7, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+    Assertions.assertThrows(IllegalArgumentException.class, JsonDocument.fromBinary(array)::size);
+
+    // a string claiming a length longer than the remaining bytes
+    var string = new byte[]{0, 8, 1, 100, 'a'};
+    Assertions.assertThrows(IllegalArgumentException.class, JsonDocument.fromBinary(string)::size);
+
+    // a varint which never ends
+    var varint = new byte[16];
+    Arrays.fill(varint, (byte) 0xFF);
+    varint[0] = 0;
+    varint[1] = 8;
+    Assertions.assertThrows(IllegalArgumentException.class, JsonDocument.fromBinary(varint)::size);
+  }
+
   private JsonDocument dummyDocument() {
     return JsonDocument.newDocument()
       .append("foo", "bar")
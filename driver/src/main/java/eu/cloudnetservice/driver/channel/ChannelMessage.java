@@ -24,8 +24,10 @@
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.provider.CloudMessenger;
 import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
@@ -55,13 +57,16 @@
  * <p>
  * The actual constructor of this class shouldn't get used. Use {@link #builder()} instead.
  *
- * @param sendSync    whether sending the message should block the current thread until the message is flushed.
- * @param prioritized whether this channel message should be handled with priority over other channel messages.
- * @param channel     the channel to which the channel message gets sent. Mostly for identification reasons.
- * @param message     the message key of this channel message. Mostly for identification reasons.
- * @param content     the content of this channel message (the actual data to send).
- * @param sender      the sender of the channel message. Should be, but must not the current network component.
- * @param targets     the targets to which the channel message should get send.
+ * @param sendSync           whether sending the message should block the current thread until the message is flushed.
+ * @param prioritized        whether this channel message should be handled with priority over other channel messages.
+ * @param channel            the channel to which the channel message gets sent. Mostly for identification reasons.
+ * @param message            the message key of this channel message. Mostly for identification reasons.
+ * @param content            the content of this channel message (the actual data to send).
+ * @param sender             the sender of the channel message. Should be, but must not the current network component.
+ * @param targets            the targets to which the channel message should get send.
+ * @param queryResponseLimit the amount of query responses after which a query completes, 0 to wait for all targets.
+ * @param queryTimeout       the time in milliseconds after which a query completes with the responses received until
+ *                           then, 0 to use the default query timeout.
  * @see ChannelMessageSender
  * @see ChannelMessageTarget
  * @see ChannelMessageReceiveEvent
@@ -74,9 +79,36 @@ public record ChannelMessage(
   @NonNull String message,
   @NonNull DataBuf content,
   @NonNull ChannelMessageSender sender,
-  @NonNull Collection<ChannelMessageTarget> targets
+  @NonNull Collection<ChannelMessageTarget> targets,
+  int queryResponseLimit,
+  long queryTimeout
 ) {
 
+  /**
+   * Constructs a new channel message without a query response limit and using the default query timeout. The actual
+   * constructor of this class shouldn't get used. Use {@link #builder()} instead.
+   *
+   * @param sendSync    whether sending the message should block the current thread until the message is flushed.
+   * @param prioritized whether this channel message should be handled with priority over other channel messages.
+   * @param channel     the channel to which the channel message gets sent. Mostly for identification reasons.
+   * @param message     the message key of this channel message. Mostly for identification reasons.
+   * @param content     the content of this channel message (the actual data to send).
+   * @param sender      the sender of the channel message. Should be, but must not the current network component.
+   * @param targets     the targets to which the channel message should get send.
+   * @throws NullPointerException if one of the given parameters is null.
+   */
+  public ChannelMessage(
+    boolean sendSync,
+    boolean prioritized,
+    @NonNull String channel,
+    @NonNull String message,
+    @NonNull DataBuf content,
+    @NonNull ChannelMessageSender sender,
+    @NonNull Collection<ChannelMessageTarget> targets
+  ) {
+    this(sendSync, prioritized, channel, message, content, sender, targets, 0, 0);
+  }
+
   /**
    * Constructs a new, empty builder for a ChannelMessage.
    *
@@ -124,6 +156,21 @@ public void send() {
     return this.messenger().sendChannelMessageQueryAsync(this);
   }
 
+  /**
+   * Sends this channel message as a query and passes each response to the given handler as soon as it arrives at this
+   * component. This method is a shortcut for
+   * {@link CloudMessenger#sendChannelMessageQueryAsync(ChannelMessage, Consumer)}. The returned future is completed
+   * once the query completes, based on the response limit and timeout of this message.
+   *
+   * @param responseHandler the handler to call for each response to this channel message.
+   * @return a future completed with all responses of all target components of this channel message.
+   * @throws NullPointerException if the given response handler is null.
+   * @see CloudNetDriver#messenger()
+   */
+  public @NonNull Task<Collection<ChannelMessage>> sendQueryAsync(@NonNull Consumer<ChannelMessage> responseHandler) {
+    return this.messenger().sendChannelMessageQueryAsync(this, responseHandler);
+  }
+
   /**
    * Sends this channel message as a query and returns a future which waits for target component(s) to respond. Only the
    * first response of any target will get sent back to this component. This is in particular useful if there is only
@@ -197,6 +244,9 @@ public static final class Builder {
     private DataBuf content;
     private ChannelMessageSender sender;
 
+    private int queryResponseLimit;
+    private long queryTimeout;
+
     /**
      * Sets the sender of this message. If no sender is given the current component will be used as the sender. Note
      * that if you change the sender and try to receive a query response it will send the response to the given sender,
@@ -264,6 +314,37 @@ public static final class Builder {
       return this;
     }
 
+    /**
+     * Sets the amount of responses after which a query of this message completes, without waiting for the remaining
+     * targets to respond. A limit of 1 completes the query with the first response of any target, which is useful if
+     * only one of the targets is expected to answer. Defaults to 0, which waits for all targets to respond.
+     *
+     * @param limit the amount of responses after which a query of this message completes, 0 to wait for all targets.
+     * @return the same builder as used to call the method, for chaining.
+     * @throws IllegalArgumentException if the given limit is negative.
+     */
+    public @NonNull Builder queryResponseLimit(int limit) {
+      Preconditions.checkArgument(limit >= 0, "Query response limit must not be negative");
+      this.queryResponseLimit = limit;
+      return this;
+    }
+
+    /**
+     * Sets the time after which a query of this message completes with the responses received until then, rather than
+     * waiting for all targets to respond. The timeout is applied by each component the query passes through. Defaults
+     * to 0, which uses the default query timeout.
+     *
+     * @param timeout the time after which a query of this message completes, zero to use the default timeout.
+     * @return the same builder as used to call the method, for chaining.
+     * @throws NullPointerException     if the given timeout is null.
+     * @throws IllegalArgumentException if the given timeout is negative.
+     */
+    public @NonNull Builder queryTimeout(@NonNull Duration timeout) {
+      Preconditions.checkArgument(!timeout.isNegative(), "Query timeout must not be negative");
+      this.queryTimeout = timeout.toMillis();
+      return this;
+    }
+
     /**
      * Sets the content of this message. If no content was given an empty buffer will be used.
      *
@@ -422,7 +503,9 @@ public static final class Builder {
         this.message,
         this.content == null ? DataBuf.empty() : this.content,
         this.sender == null ? ChannelMessageSender.self() : this.sender,
-        this.targets);
+        this.targets,
+        this.queryResponseLimit,
+        this.queryTimeout);
     }
   }
 }
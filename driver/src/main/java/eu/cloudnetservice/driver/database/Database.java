@@ -19,6 +19,7 @@
 import eu.cloudnetservice.common.Nameable;
 import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.common.document.gson.JsonDocument;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCStreaming;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCValidation;
 import java.util.Collection;
 import java.util.Map;
@@ -131,6 +132,7 @@ public interface Database extends Nameable, AutoCloseable {
    *
    * @return all documents stored in the database.
    */
+  @RPCStreaming
   @NonNull Collection<JsonDocument> documents();
 
   /**
@@ -139,6 +141,7 @@ public interface Database extends Nameable, AutoCloseable {
    *
    * @return all key-value pairs stored in the database.
    */
+  @RPCStreaming
   @NonNull Map<String, JsonDocument> entries();
 
   /**
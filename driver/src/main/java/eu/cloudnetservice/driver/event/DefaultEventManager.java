@@ -17,11 +17,15 @@
 package eu.cloudnetservice.driver.event;
 
 import eu.cloudnetservice.driver.event.invoker.ListenerInvokerGenerator;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -30,12 +34,20 @@
 
 public class DefaultEventManager implements EventManager {
 
+  protected static final String WILDCARD_CHANNEL = "*";
+  protected static final RegisteredEventListener[] NO_LISTENERS = new RegisteredEventListener[0];
+
   protected final Lock bakeLock = new ReentrantLock(true);
   protected final Map<Class<?>, List<RegisteredEventListener>> listeners = new HashMap<>();
+  // the listeners to call for each concrete event class, including the listeners of all super types
+  protected final Map<Class<?>, DispatchTable> dispatchTables = new ConcurrentHashMap<>();
+  protected final List<Runnable> listenerChangeHandlers = new CopyOnWriteArrayList<>();
 
   @Override
   public @NonNull EventManager unregisterListeners(@NonNull ClassLoader classLoader) {
     this.safeRemove(value -> value.instance().getClass().getClassLoader().equals(classLoader));
+    // drop the tables of events which were loaded by the class loader to not keep the classes alive
+    this.dispatchTables.keySet().removeIf(eventClass -> eventClass.getClassLoader() == classLoader);
     // for chaining
     return this;
   }
@@ -50,32 +62,33 @@ public class DefaultEventManager implements EventManager {
 
   @Override
   public <T extends Event> @NonNull T callEvent(@NonNull String channel, @NonNull T event) {
-    // get all registered listeners of the event
-    var listeners = this.listeners.get(event.getClass());
-    if (listeners != null && !listeners.isEmpty()) {
-      // check if there is only one listener
-      if (listeners.size() == 1) {
-        var listener = listeners.get(0);
-        // check if the event gets called on the same channel as the listener is listening to
-        if (listener.channel().equals(channel)) {
-          listener.fireEvent(event);
-        }
-      } else {
-        // post the event to the listeners
-        for (var listener : listeners) {
-          // check if the event gets called on the same channel as the listener is listening to
-          if (listener.channel().equals(channel)) {
-            listener.fireEvent(event);
-          }
-        }
-      }
+    // post the event to the listeners which are listening to the channel
+    for (var listener : this.dispatchTable(event.getClass()).listeners(channel)) {
+      listener.fireEvent(event);
     }
     // for chaining
     return event;
   }
 
+  @Override
+  public boolean hasListeners(@NonNull Class<? extends Event> eventClass, @NonNull String channel) {
+    return this.dispatchTable(eventClass).listeners(channel).length != 0;
+  }
+
+  @Override
+  public @NonNull Set<String> listenerChannels(@NonNull Class<? extends Event> eventClass) {
+    return this.dispatchTable(eventClass).channels().keySet();
+  }
+
+  @Override
+  public @NonNull EventManager addListenerChangeHandler(@NonNull Runnable handler) {
+    this.listenerChangeHandlers.add(handler);
+    return this;
+  }
+
   @Override
   public @NonNull EventManager registerListener(@NonNull Object listener) {
+    var registered = false;
     // get all methods of the listener
     for (var method : listener.getClass().getDeclaredMethods()) {
       // check if the method can be used
@@ -105,30 +118,152 @@ public class DefaultEventManager implements EventManager {
           listeners.add(eventListener);
           // sort now - we don't need to sort lather then
           Collections.sort(listeners);
+          // the listener might be called for events which were already called before
+          this.rebakeDispatchTables();
+          registered = true;
         } finally {
           this.bakeLock.unlock();
         }
       }
     }
+    // notify the change handlers outside the lock, they might want to inspect the listeners
+    if (registered) {
+      this.notifyListenerChangeHandlers();
+    }
     // for chaining
     return this;
   }
 
   protected void safeRemove(@NonNull Predicate<RegisteredEventListener> predicate) {
+    var removed = false;
     this.bakeLock.lock();
     try {
       var iterator = this.listeners.values().iterator();
       while (iterator.hasNext()) {
         // remove all listeners which are matching the predicate
         var entry = iterator.next();
-        entry.removeIf(predicate);
+        removed |= entry.removeIf(predicate);
         // check if the entry is still needed
         if (entry.isEmpty()) {
           iterator.remove();
         }
       }
+      // remove the listeners from the tables of the events which were called before
+      this.rebakeDispatchTables();
     } finally {
       this.bakeLock.unlock();
     }
+    // notify the change handlers outside the lock, they might want to inspect the listeners
+    if (removed) {
+      this.notifyListenerChangeHandlers();
+    }
+  }
+
+  protected void notifyListenerChangeHandlers() {
+    for (var handler : this.listenerChangeHandlers) {
+      handler.run();
+    }
+  }
+
+  protected @NonNull DispatchTable dispatchTable(@NonNull Class<?> eventClass) {
+    // get the dispatch table of the event, baking it on the first call of the event
+    var table = this.dispatchTables.get(eventClass);
+    return table == null ? this.bakeDispatchTable(eventClass) : table;
+  }
+
+  protected @NonNull DispatchTable bakeDispatchTable(@NonNull Class<?> eventClass) {
+    this.bakeLock.lock();
+    try {
+      // the table might have been baked while waiting for the lock
+      var table = this.dispatchTables.get(eventClass);
+      if (table == null) {
+        table = this.createDispatchTable(eventClass);
+        this.dispatchTables.put(eventClass, table);
+      }
+      return table;
+    } finally {
+      this.bakeLock.unlock();
+    }
+  }
+
+  protected void rebakeDispatchTables() {
+    // only rebuild the tables of events which were called before, the others are baked on their first call
+    for (var entry : this.dispatchTables.entrySet()) {
+      entry.setValue(this.createDispatchTable(entry.getKey()));
+    }
+  }
+
+  protected @NonNull DispatchTable createDispatchTable(@NonNull Class<?> eventClass) {
+    // collect the listeners of the event class and all its super classes and interfaces
+    List<RegisteredEventListener> listeners = new ArrayList<>();
+    for (var type : collectTypeHierarchy(eventClass, new LinkedHashSet<>())) {
+      var typeListeners = this.listeners.get(type);
+      if (typeListeners != null) {
+        listeners.addAll(typeListeners);
+      }
+    }
+
+    // no listeners at all, no need to partition
+    if (listeners.isEmpty()) {
+      return DispatchTable.EMPTY;
+    }
+
+    // sort the listeners of all types, the sort is stable which keeps the registration order for the same priority
+    Collections.sort(listeners);
+    Map<String, List<RegisteredEventListener>> partitioned = new HashMap<>();
+    for (var listener : listeners) {
+      partitioned.computeIfAbsent(listener.channel(), $ -> new ArrayList<>()).add(listener);
+    }
+
+    // convert the partitions to arrays to iterate over them without allocations
+    Map<String, RegisteredEventListener[]> channels = new HashMap<>();
+    for (var entry : partitioned.entrySet()) {
+      channels.put(entry.getKey(), entry.getValue().toArray(RegisteredEventListener[]::new));
+    }
+    return new DispatchTable(channels.getOrDefault(WILDCARD_CHANNEL, NO_LISTENERS), Map.copyOf(channels));
+  }
+
+  protected static @NonNull Set<Class<?>> collectTypeHierarchy(@NonNull Class<?> type, @NonNull Set<Class<?>> target) {
+    if (target.add(type)) {
+      // walk up the super class and all interfaces of the type
+      var superClass = type.getSuperclass();
+      if (superClass != null) {
+        collectTypeHierarchy(superClass, target);
+      }
+      for (var superInterface : type.getInterfaces()) {
+        collectTypeHierarchy(superInterface, target);
+      }
+    }
+    return target;
+  }
+
+  /**
+   * The listeners which are called for a concrete event class, partitioned by the channel they are listening to.
+   *
+   * @param wildcard the listeners which are listening to the * channel.
+   * @param channels the listeners of each channel, including the * channel.
+   * @since 4.0
+   */
+  protected record DispatchTable(
+    @NonNull RegisteredEventListener[] wildcard,
+    @NonNull Map<String, RegisteredEventListener[]> channels
+  ) {
+
+    private static final DispatchTable EMPTY = new DispatchTable(NO_LISTENERS, Map.of());
+
+    /**
+     * Get the listeners which are listening to the given channel, sorted by their invocation order.
+     *
+     * @param channel the channel to get the listeners of.
+     * @return the listeners which are listening to the given channel.
+     * @throws NullPointerException if the given channel is null.
+     */
+    public @NonNull RegisteredEventListener[] listeners(@NonNull String channel) {
+      // events are mostly called to the * channel, the constant is interned which allows an identity check
+      if (channel == WILDCARD_CHANNEL) {
+        return this.wildcard;
+      }
+      return this.channels.getOrDefault(channel, NO_LISTENERS);
+    }
   }
 }
@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.event;
 
+import java.util.Set;
 import lombok.NonNull;
 
 /**
@@ -88,6 +89,53 @@ public interface EventManager {
    */
   @NonNull <T extends Event> T callEvent(@NonNull String channel, @NonNull T event);
 
+  /**
+   * Get if at least one listener would be triggered when calling an event of the given type to the * channel. This
+   * method can be used to skip the construction of events on hot paths if no one is listening to them.
+   * <p>
+   * This method call is equivalent to {@code hasListeners(eventClass, "*")}.
+   *
+   * @param eventClass the runtime type of the event to check.
+   * @return true if at least one listener is listening to the given event type, false otherwise.
+   * @throws NullPointerException if the given event class is null.
+   */
+  default boolean hasListeners(@NonNull Class<? extends Event> eventClass) {
+    return this.hasListeners(eventClass, "*");
+  }
+
+  /**
+   * Get if at least one listener would be triggered when calling an event of the given type to the given channel,
+   * including the listeners listening to a super type of the given event type. This method can be used to skip the
+   * construction of events on hot paths if no one is listening to them.
+   *
+   * @param eventClass the runtime type of the event to check.
+   * @param channel    the channel the event would be called on.
+   * @return true if at least one listener is listening to the given event type on the given channel, false otherwise.
+   * @throws NullPointerException if the given event class or channel is null.
+   */
+  boolean hasListeners(@NonNull Class<? extends Event> eventClass, @NonNull String channel);
+
+  /**
+   * Get the channels of all listeners which would be triggered by an event of the given type, including the listeners
+   * listening to a super type of the given event type. The returned set contains * if at least one listener is
+   * listening to all channels.
+   *
+   * @param eventClass the runtime type of the event to get the listener channels of.
+   * @return the channels of all listeners which are listening to the given event type.
+   * @throws NullPointerException if the given event class is null.
+   */
+  @NonNull Set<String> listenerChannels(@NonNull Class<? extends Event> eventClass);
+
+  /**
+   * Adds a handler which gets called after listeners were registered to or unregistered from this event manager. The
+   * handler is called on the thread which changed the listeners, after the change was applied.
+   *
+   * @param handler the handler to call when the registered listeners change.
+   * @return the same event manager as used to call the method, for chaining.
+   * @throws NullPointerException if the given handler is null.
+   */
+  @NonNull EventManager addListenerChangeHandler(@NonNull Runnable handler);
+
   /**
    * Registers all methods in the given listener class which are annotated with {@link EventListener} and are taking
    * only one argument with a subtype of {@link Event}.
@@ -97,6 +145,9 @@ public interface EventManager {
    * <p>
    * All methods which are not annotated with {@link EventListener} and are not taking exactly one argument are silently
    * ignored.
+   * <p>
+   * A listener method is called for the event type it takes and all subtypes of it. For example, a listener taking an
+   * abstract event is called for every concrete event extending the abstract event.
    *
    * @param listener the instance of the listener to register the methods in.
    * @return the same event manager as used to call the method, for chaining.
@@ -37,6 +37,11 @@
  * <p>
  * This event is especially useful as it removes the need to read channel messages by using an own created network
  * listener and gives the possibility to easily respond channel messages when needed.
+ * <p>
+ * The event is called to the listeners of all channels first, and then to the listeners which are listening to the
+ * channel of the received channel message (for example {@code @EventListener(channel = "my_channel")}). Services only
+ * receive channel messages sent to multiple services (for example all services of a task) if they have a listener for
+ * the channel of the message. Listening to all channels results in all channel messages being received.
  *
  * @see ChannelMessage
  * @see CloudMessenger
@@ -62,12 +62,13 @@ public DefaultNetworkChannel(
     boolean clientProvidedChannel,
     @NonNull NetworkChannelHandler handler
   ) {
-    this.queryPacketManager = new DefaultQueryPacketManager(this);
     this.packetRegistry = new DefaultPacketListenerRegistry(packetRegistry);
     this.serverAddress = serverAddress;
     this.clientAddress = clientAddress;
     this.clientProvidedChannel = clientProvidedChannel;
     this.handler = handler;
+    // the query id sequence depends on the channel side, construct the manager last
+    this.queryPacketManager = new DefaultQueryPacketManager(this);
   }
 
   /**
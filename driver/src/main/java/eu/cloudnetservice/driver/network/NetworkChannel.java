@@ -18,9 +18,12 @@
 
 import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
+import eu.cloudnetservice.driver.network.protocol.PacketOverflowPolicy;
 import eu.cloudnetservice.driver.network.protocol.PacketSender;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import eu.cloudnetservice.driver.network.stats.NetworkChannelStatistics;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -80,6 +83,56 @@ public interface NetworkChannel extends PacketSender {
    */
   boolean clientProvidedChannel();
 
+  /**
+   * Get the compression settings which are applied to the packets sent through this channel. By default, packet
+   * compression is disabled until it was negotiated during the authorization of the channel.
+   *
+   * @return the compression settings applied to packets sent through this channel.
+   */
+  @NonNull PacketCompression packetCompression();
+
+  /**
+   * Sets the compression settings which are applied to the packets sent through this channel. Compression must only be
+   * enabled if the other side of the channel announced that it is able to decompress packets.
+   *
+   * @param compression the compression settings to apply to packets sent through this channel.
+   * @throws NullPointerException if the given compression settings are null.
+   */
+  void packetCompression(@NonNull PacketCompression compression);
+
+  /**
+   * Creates a snapshot of the traffic statistics of this channel, including the traffic of each packet channel id, the
+   * amount of packets waiting to be dispatched and the round trip latencies of the queries sent through this channel.
+   *
+   * @return a snapshot of the traffic statistics of this channel.
+   */
+  @NonNull NetworkChannelStatistics statistics();
+
+  /**
+   * Sends the given packet into this channel without blocking the current thread, returning a task which is completed
+   * once the packet was written to the channel. If the outbound queue of this channel is full because the other side
+   * is not reading as fast as packets are sent, the given overflow policy is applied. The task is also completed
+   * exceptionally if the write of the packet was cancelled by a listener of the packet send event.
+   *
+   * @param packet the packet to send.
+   * @param policy the policy to apply if the outbound queue of this channel is full.
+   * @return a task completed once the packet was written, or exceptionally if the packet was not written.
+   * @throws NullPointerException if the given packet or policy is null.
+   */
+  @NonNull Task<Void> sendPacketAsync(@NonNull Packet packet, @NonNull PacketOverflowPolicy policy);
+
+  /**
+   * Sends the given packet into this channel without blocking the current thread, returning a task which is completed
+   * once the packet was written to the channel. The packet is rejected if the outbound queue of this channel is full.
+   *
+   * @param packet the packet to send.
+   * @return a task completed once the packet was written, or exceptionally if the packet was rejected.
+   * @throws NullPointerException if the given packet is null.
+   */
+  default @NonNull Task<Void> sendPacketAsync(@NonNull Packet packet) {
+    return this.sendPacketAsync(packet, PacketOverflowPolicy.FAIL);
+  }
+
   /**
    * Converts and sends the given packet as a query into this channel, blocking the current thread until a response is
    * available or a timeout of 30 seconds was reached.
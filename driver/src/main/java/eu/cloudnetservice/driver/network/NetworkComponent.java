@@ -19,6 +19,7 @@
 import com.google.common.collect.Iterables;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import eu.cloudnetservice.driver.network.protocol.PacketSender;
+import eu.cloudnetservice.driver.network.stats.NetworkChannelStatistics;
 import java.util.Collection;
 import java.util.concurrent.Executor;
 import lombok.NonNull;
@@ -56,6 +57,16 @@ public interface NetworkComponent extends PacketSender {
     return Iterables.getFirst(this.channels(), null);
   }
 
+  /**
+   * Creates a snapshot of the traffic statistics of all channels which are associated with this component.
+   *
+   * @return a snapshot of the traffic statistics of all associated channels.
+   * @see NetworkChannel#statistics()
+   */
+  default @NonNull @Unmodifiable Collection<NetworkChannelStatistics> channelStatistics() {
+    return this.channels().stream().map(NetworkChannel::statistics).toList();
+  }
+
   /**
    * Get the dispatching executor for received packets in any channel which is bound to this network component.
    *
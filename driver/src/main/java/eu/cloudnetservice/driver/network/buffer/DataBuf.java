@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.network.buffer;
 
+import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
 import java.lang.reflect.Type;
 import java.util.UUID;
@@ -46,7 +47,13 @@
  * Buffers should avoid memory leaks by ensuring to release their content after the last byte of the buffer was read.
  * This behaviour is toggleable by using {@link #disableReleasing()} and {@link #enableReleasing()}. However, direct
  * call to the {@link #release()} method will (when releasing is disabled) get discarded silently. The same behaviour
- * applies to the buffer when used in a try-with-resources block or {@code close()} is called directly.
+ * applies to the buffer when used in a try-with-resources block or {@code close()} is called directly. Releasing a
+ * buffer more than once is allowed and has no effect after the first call.
+ * <p>
+ * The owner of a buffer is responsible to release it. Ownership can be handed over to another party by disabling
+ * releasing (which prevents the current owner from releasing it), the new owner then releases the buffer by enabling
+ * releasing again before calling {@link #release()}. See {@link Packet#content()} for the ownership rules of packet
+ * contents.
  * <p>
  * To prevent exceptions during reading, it's worth noting that using {@code readableBytes() > 0} it is possible to
  * verify that there are still bytes left in the buffer to read.
@@ -96,6 +103,16 @@ public interface DataBuf extends AutoCloseable {
    */
   int readInt();
 
+  /**
+   * Reads a variable length 32-bit integer from this buffer at the current reader index. Between one and five bytes
+   * are read from the buffer, small values take less bytes than large ones.
+   *
+   * @return the next variable length integer in the buffer at the current reader index.
+   * @throws IllegalStateException if this buffer was released.
+   * @throws RuntimeException      if there is no valid variable length integer at the current reader index.
+   */
+  int readVarInt();
+
   /**
    * Reads a 16-bit short from this buffer at the current reader index. Exactly two bytes are read from the buffer.
    *
@@ -351,6 +368,15 @@ interface Mutable extends DataBuf {
      */
     @NonNull DataBuf.Mutable writeInt(int integer);
 
+    /**
+     * Writes the given integer as a variable length integer at the current writer index, increasing the index by
+     * between one and five, depending on the size of the integer.
+     *
+     * @param integer the integer to write into the buffer.
+     * @return the same buffer used to call the method, for chaining.
+     */
+    @NonNull DataBuf.Mutable writeVarInt(int integer);
+
     /**
      * Writes the given byte at the current writer index, increasing the index by one.
      *
@@ -35,6 +35,9 @@ public final class NetworkConstants {
   public static final int CHUNKED_PACKET_COM_CHANNEL = 2;
   public static final int INTERNAL_AUTHORIZATION_CHANNEL = 3;
   public static final int INTERNAL_SERVICE_SYNC_ACK_CHANNEL = 4;
+  public static final int INTERNAL_RPC_STREAM_CHANNEL = 5;
+  public static final int INTERNAL_RPC_CANCEL_CHANNEL = 6;
+  public static final int INTERNAL_CHANNEL_MESSAGE_SUBSCRIPTION_CHANNEL = 7;
 
   // channel message channels
   public static final String INTERNAL_MSG_CHANNEL = "cloudnet:internal";
@@ -39,6 +39,9 @@
  *   <li>The cluster id
  *   <li>The network cluster node (offline information) of the node.
  * </ol>
+ * <p>
+ * Additionally, the packet announces that the connecting component is able to decompress packets, allowing the node
+ * to enable packet compression for the channel.
  *
  * @since 4.0
  */
@@ -54,7 +57,10 @@ public final class PacketClientAuthorization extends BasePacket {
   public PacketClientAuthorization(@NonNull PacketAuthorizationType type, @NonNull DataBuf dataBuf) {
     super(
       NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL,
-      DataBuf.empty().writeObject(type).writeDataBuf(dataBuf));
+      DataBuf.empty()
+        .writeObject(type)
+        .writeDataBuf(dataBuf)
+        .writeBoolean(true)); // the client supports compressed packets
   }
 
   /**
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.def;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import java.util.Collection;
+import lombok.NonNull;
+
+/**
+ * The packet which is sent by a wrapper to the node to announce the channels of channel messages the wrapper has
+ * listeners for. The node uses the channels to skip the wrapper when fanning out channel messages to multiple services
+ * (for example when targeting all services or all services of a task). A wrapper announcing the * channel receives all
+ * channel messages, which is the same as never announcing the channels at all.
+ * <p>
+ * Channel messages which target the service of the wrapper directly are always delivered, regardless of the announced
+ * channels.
+ *
+ * @since 4.0
+ */
+public final class PacketClientChannelMessageSubscription extends BasePacket {
+
+  /**
+   * Constructs a new channel message subscription packet.
+   *
+   * @param channels the channels of channel messages the sending wrapper wants to receive.
+   * @throws NullPointerException if the given channel collection is null.
+   */
+  public PacketClientChannelMessageSubscription(@NonNull Collection<String> channels) {
+    super(NetworkConstants.INTERNAL_CHANNEL_MESSAGE_SUBSCRIPTION_CHANNEL, DataBuf.empty().writeObject(channels));
+  }
+}
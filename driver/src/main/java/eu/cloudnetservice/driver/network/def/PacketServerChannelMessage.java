@@ -16,20 +16,33 @@
 
 package eu.cloudnetservice.driver.network.def;
 
+import com.google.common.reflect.TypeToken;
 import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import java.lang.reflect.Type;
+import java.util.Collection;
 import lombok.NonNull;
 
 /**
  * A packet which gets sent to indicate that a channel message should get processed. Sending this packet to a node will
  * cause the node to either process it or redirect it into the cluster if needed. When sent to a wrapper, the wrapper
  * will always post the receive event without further checks (the node is required to do these).
+ * <p>
+ * The content of the packet starts with a small routing header, containing the channel and targets of the message
+ * and the flags needed to forward it. The encoded channel message follows as a separate buffer, which allows nodes to
+ * forward the message without decoding the sender or the content of it.
  *
  * @since 4.0
  */
 public final class PacketServerChannelMessage extends BasePacket {
 
+  private static final Type TARGETS_TYPE = new TypeToken<Collection<ChannelMessageTarget>>() {
+  }.getType();
+
   /**
    * Constructs a new channel message packet instance.
    *
@@ -38,9 +51,174 @@ public final class PacketServerChannelMessage extends BasePacket {
    * @throws NullPointerException if the given channel message is null.
    */
   public PacketServerChannelMessage(@NonNull ChannelMessage message, boolean wrapper) {
+    super(NetworkConstants.CHANNEL_MESSAGING_CHANNEL, message.prioritized(), encode(message, wrapper));
+  }
+
+  /**
+   * Constructs a new channel message packet instance using the given shared content, which was encoded before using
+   * one of the {@code encodeShared} methods. The packet gets a read-only view of the shared content, the shared content
+   * must still be released by the caller once all packets were created.
+   *
+   * @param prioritized   whether the channel message should be handled with priority over other channel messages.
+   * @param sharedContent the shared content to send, encoded using one of the {@code encodeShared} methods.
+   * @throws NullPointerException if the given shared content is null.
+   */
+  public PacketServerChannelMessage(boolean prioritized, @NonNull DataBuf sharedContent) {
     super(
       NetworkConstants.CHANNEL_MESSAGING_CHANNEL,
-      message.prioritized(),
-      DataBuf.empty().writeBoolean(wrapper).writeObject(message));
+      prioritized,
+      DataBufFactory.defaultFactory().copyOf(sharedContent));
+  }
+
+  /**
+   * Encodes the given channel message into a read-only buffer which can be used to create packets for multiple network
+   * channels without encoding the message again. Each packet created from the returned buffer shares the memory of it
+   * rather than copying it.
+   *
+   * @param message the channel message to encode.
+   * @param wrapper if the channel was sent by a wrapper component.
+   * @return a read-only buffer containing the encoded channel message, must be released by the caller.
+   * @throws NullPointerException if the given channel message is null.
+   */
+  public static @NonNull DataBuf encodeShared(@NonNull ChannelMessage message, boolean wrapper) {
+    try (var content = encode(message, wrapper)) {
+      // copies of read-only buffers share the underlying memory
+      return DataBufFactory.defaultFactory().copyOf(content);
+    }
+  }
+
+  /**
+   * Encodes the given routing header and the encoded channel message into a read-only buffer which can be used to
+   * create packets for multiple network channels. The channel message is copied as is, without decoding it.
+   *
+   * @param header  the routing header of the channel message.
+   * @param message the encoded channel message, as read after the routing header from a received packet.
+   * @param wrapper if the channel was sent by a wrapper component.
+   * @return a read-only buffer containing the encoded channel message, must be released by the caller.
+   * @throws NullPointerException if either the given header or message buffer is null.
+   */
+  public static @NonNull DataBuf encodeShared(
+    @NonNull RoutingHeader header,
+    @NonNull DataBuf message,
+    boolean wrapper
+  ) {
+    try (var content = writeHeader(
+      DataBuf.empty(),
+      wrapper,
+      header.sendSync(),
+      header.channel(),
+      header.targets(),
+      header.queryResponseLimit(),
+      header.queryTimeout())
+    ) {
+      content.writeDataBuf(message);
+      return DataBufFactory.defaultFactory().copyOf(content);
+    }
+  }
+
+  /**
+   * Reads the routing header from the content of the given channel message packet. The encoded channel message can be
+   * read from the packet content afterwards using {@link DataBuf#readDataBuf()}, and decoded using
+   * {@link #decodeMessage(DataBuf)} if needed.
+   *
+   * @param packet the channel message packet to read the header of.
+   * @return the routing header of the channel message in the given packet.
+   * @throws NullPointerException if the given packet is null.
+   */
+  public static @NonNull RoutingHeader readHeader(@NonNull Packet packet) {
+    var content = packet.content();
+    return new RoutingHeader(
+      content.readBoolean(),
+      content.readBoolean(),
+      packet.prioritized(),
+      content.readString(),
+      content.readObject(TARGETS_TYPE),
+      content.readVarInt(),
+      content.readVarInt());
+  }
+
+  /**
+   * Decodes the channel message from the given buffer, which was read after the routing header of a packet.
+   *
+   * @param message the encoded channel message.
+   * @return the decoded channel message.
+   * @throws NullPointerException if the given message buffer is null.
+   */
+  public static @NonNull ChannelMessage decodeMessage(@NonNull DataBuf message) {
+    return message.readObject(ChannelMessage.class);
+  }
+
+  private static @NonNull DataBuf.Mutable encode(@NonNull ChannelMessage message, boolean wrapper) {
+    var content = writeHeader(
+      DataBuf.empty(),
+      wrapper,
+      message.sendSync(),
+      message.channel(),
+      message.targets(),
+      message.queryResponseLimit(),
+      message.queryTimeout());
+    try (var encodedMessage = DataBuf.empty().writeObject(message)) {
+      return content.writeDataBuf(encodedMessage);
+    }
+  }
+
+  private static @NonNull DataBuf.Mutable writeHeader(
+    @NonNull DataBuf.Mutable content,
+    boolean wrapper,
+    boolean sendSync,
+    @NonNull String channel,
+    @NonNull Collection<ChannelMessageTarget> targets,
+    int queryResponseLimit,
+    long queryTimeout
+  ) {
+    return content
+      .writeBoolean(wrapper)
+      .writeBoolean(sendSync)
+      .writeString(channel)
+      .writeObject(targets)
+      .writeVarInt(queryResponseLimit)
+      .writeVarInt((int) Math.min(queryTimeout, Integer.MAX_VALUE));
+  }
+
+  /**
+   * The routing information of a channel message, which can be read without decoding the channel message itself.
+   *
+   * @param wrapper            if the channel message was sent by a wrapper component.
+   * @param sendSync           whether sending the message should block the current thread until the message is flushed.
+   * @param prioritized        whether the channel message should be handled with priority over other channel messages.
+   * @param channel            the channel the channel message was sent to.
+   * @param targets            the targets to which the channel message should get sent.
+   * @param queryResponseLimit the amount of query responses after which a query completes, 0 to wait for all targets.
+   * @param queryTimeout       the remaining time in milliseconds after which a query completes, 0 for the default.
+   * @since 4.0
+   */
+  public record RoutingHeader(
+    boolean wrapper,
+    boolean sendSync,
+    boolean prioritized,
+    @NonNull String channel,
+    @NonNull Collection<ChannelMessageTarget> targets,
+    int queryResponseLimit,
+    long queryTimeout
+  ) {
+
+    /**
+     * Creates a copy of this header using the given query options, for example to pass the remaining time of a query
+     * when forwarding it.
+     *
+     * @param queryResponseLimit the amount of query responses after which the query completes, 0 for all targets.
+     * @param queryTimeout       the remaining time in milliseconds after which the query completes, 0 for the default.
+     * @return a copy of this header using the given query options.
+     */
+    public @NonNull RoutingHeader withQueryOptions(int queryResponseLimit, long queryTimeout) {
+      return new RoutingHeader(
+        this.wrapper,
+        this.sendSync,
+        this.prioritized,
+        this.channel,
+        this.targets,
+        queryResponseLimit,
+        queryTimeout);
+    }
   }
 }
@@ -16,16 +16,25 @@
 
 package eu.cloudnetservice.driver.network.netty;
 
+import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.CloudNetDriver;
 import eu.cloudnetservice.driver.event.events.network.NetworkChannelPacketSendEvent;
 import eu.cloudnetservice.driver.network.DefaultNetworkChannel;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
+import eu.cloudnetservice.driver.network.netty.codec.NettyPacketEncoder;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
+import eu.cloudnetservice.driver.network.protocol.PacketOverflowPolicy;
+import eu.cloudnetservice.driver.network.stats.NetworkChannelStatistics;
+import eu.cloudnetservice.driver.network.stats.PacketTrafficCounter;
 import io.netty5.channel.Channel;
 import io.netty5.util.concurrent.Future;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -39,11 +48,17 @@
 public final class NettyNetworkChannel extends DefaultNetworkChannel implements NetworkChannel {
 
   private final Channel channel;
+  private final NettyPacketDispatchLane packetDispatchLane;
+  private final NettyOutboundPacketQueue outboundPacketQueue;
+  private final PacketTrafficCounter trafficCounter;
+
+  private volatile PacketCompression packetCompression = PacketCompression.DISABLED;
 
   /**
    * Constructs a new netty network channel instance.
    *
    * @param channel               the netty channel to wrap.
+   * @param packetDispatcher      the shared dispatcher to multiplex the packet dispatch lane of the channel over.
    * @param packetRegistry        the packet registry for this channel.
    * @param handler               the handler to post events to.
    * @param serverAddress         the server address to which the client connected.
@@ -53,6 +68,7 @@ public final class NettyNetworkChannel extends DefaultNetworkChannel implements
    */
   public NettyNetworkChannel(
     @NonNull Channel channel,
+    @NonNull Executor packetDispatcher,
     @NonNull PacketListenerRegistry packetRegistry,
     @NonNull NetworkChannelHandler handler,
     @NonNull HostAndPort serverAddress,
@@ -61,6 +77,21 @@ public NettyNetworkChannel(
   ) {
     super(packetRegistry, serverAddress, clientAddress, clientProvidedChannel, handler);
     this.channel = channel;
+    this.packetDispatchLane = new NettyPacketDispatchLane(
+      channel,
+      packetDispatcher,
+      NettyUtil.packetDispatchLaneCapacity(),
+      () -> this.queryPacketManager().waitingHandlerCount() > 0);
+    this.outboundPacketQueue = new NettyOutboundPacketQueue(
+      channel,
+      NettyUtil.outboundQueueCapacity(),
+      NettyUtil.outboundQueueMaxWaitNanos(),
+      NettyUtil.flushWindowNanos(),
+      this::writePacket);
+    // count the packets which are passing between the packet codec and the network handler
+    this.trafficCounter = new PacketTrafficCounter();
+    channel.pipeline().addAfter("packet-encoder", "packet-statistics", new NettyPacketStatisticsHandler(
+      this.trafficCounter));
   }
 
   /**
@@ -69,9 +100,9 @@ public NettyNetworkChannel(
   @Override
   public void sendPacket(@NonNull Packet... packets) {
     for (var packet : packets) {
-      this.writePacket(packet, false);
+      this.outboundPacketQueue.enqueue(packet, false);
     }
-    this.channel.flush(); // reduces i/o load
+    this.outboundPacketQueue.flushNow(); // reduces i/o load
   }
 
   /**
@@ -79,13 +110,11 @@ public void sendPacket(@NonNull Packet... packets) {
    */
   @Override
   public void sendPacketSync(@NonNull Packet... packets) {
-    for (var packet : packets) {
-      var future = this.writePacket(packet, false);
-      if (future != null) {
-        NettyUtil.awaitFuture(future);
-      }
+    var tasks = new Task<?>[packets.length];
+    for (var i = 0; i < packets.length; i++) {
+      tasks[i] = this.outboundPacketQueue.enqueueTracked(packets[i], false);
     }
-    this.channel.flush(); // reduces i/o load
+    this.flushAndAwaitWrite(tasks);
   }
 
   /**
@@ -93,11 +122,11 @@ public void sendPacketSync(@NonNull Packet... packets) {
    */
   @Override
   public void sendPacket(@NonNull Packet packet) {
-    if (this.channel.executor().inEventLoop()) {
-      this.writePacket(packet, true);
-    } else {
-      this.channel.executor().execute(() -> this.writePacket(packet, true));
-    }
+    // prioritized packets, queries and query responses are latency-critical and flushed instantly, all other packets
+    // get flushed together with the other packets sent in the same event loop iteration
+    var latencyCritical = packet.prioritized() || packet.queryId() != 0;
+    this.resumeReadingForQuery(packet);
+    this.outboundPacketQueue.enqueue(packet, latencyCritical);
   }
 
   /**
@@ -105,10 +134,58 @@ public void sendPacket(@NonNull Packet packet) {
    */
   @Override
   public void sendPacketSync(@NonNull Packet packet) {
-    var future = this.writePacket(packet, true);
-    if (future != null) {
-      NettyUtil.awaitFuture(future);
-    }
+    // go through the queue to keep the packet order
+    this.flushAndAwaitWrite(this.outboundPacketQueue.enqueueTracked(packet, false));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Task<Void> sendPacketAsync(@NonNull Packet packet, @NonNull PacketOverflowPolicy policy) {
+    var latencyCritical = packet.prioritized() || packet.queryId() != 0;
+    this.resumeReadingForQuery(packet);
+    return this.outboundPacketQueue.offer(packet, policy, latencyCritical);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull PacketCompression packetCompression() {
+    return this.packetCompression;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void packetCompression(@NonNull PacketCompression compression) {
+    this.packetCompression = compression;
+    // replace the packet encoder with one applying the new compression settings
+    var encoder = compression.enabled()
+      ? new NettyPacketEncoder(NettyUtil.compositeEncodeThreshold(), compression)
+      : NettyPacketEncoder.INSTANCE;
+    this.channel.pipeline().replace(NettyPacketEncoder.class, "packet-encoder", encoder);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull NetworkChannelStatistics statistics() {
+    return new NetworkChannelStatistics(
+      this.channelId(),
+      this.serverAddress(),
+      this.clientAddress(),
+      this.trafficCounter.packetsIn(),
+      this.trafficCounter.bytesIn(),
+      this.trafficCounter.packetsOut(),
+      this.trafficCounter.bytesOut(),
+      this.packetDispatchLane.queueDepth(),
+      this.queryPacketManager().waitingHandlerCount(),
+      this.queryPacketManager().queryLatency(),
+      this.trafficCounter.packetChannels());
   }
 
   /**
@@ -135,21 +212,78 @@ public void close() {
     this.channel.close();
   }
 
+  /**
+   * Get the lane dispatching the packets received by this channel in order.
+   *
+   * @return the packet dispatch lane of this channel.
+   */
+  public @NonNull NettyPacketDispatchLane packetDispatchLane() {
+    return this.packetDispatchLane;
+  }
+
+  /**
+   * Get the queue of the packets which are waiting to be written and flushed to this channel.
+   *
+   * @return the outbound packet queue of this channel.
+   */
+  public @NonNull NettyOutboundPacketQueue outboundPacketQueue() {
+    return this.outboundPacketQueue;
+  }
+
+  /**
+   * Ensures that the response to the given packet can be read if the packet is a query, even if the dispatch lane of
+   * this channel is full. The sender of the query might be the task currently blocking the lane.
+   *
+   * @param packet the packet which gets sent.
+   */
+  private void resumeReadingForQuery(@NonNull Packet packet) {
+    var queryId = packet.queryId();
+    if (queryId != 0 && this.queryPacketManager().hasWaitingHandler(queryId)) {
+      this.packetDispatchLane.resumeReadingForResponses();
+    }
+  }
+
+  /**
+   * Flushes the outbound queue and waits for the given write task to complete. Callers of the sync send methods rely
+   * on the packet content not being used anymore once the method returns (for example to release or rewind it). On
+   * the event loop of this channel waiting would block the write the task is waiting for, therefore all queued packets
+   * are written directly, regardless of the writability of the channel. This passes them through the encoder before
+   * returning.
+   *
+   * @param writeTasks the tasks of the writes to wait for.
+   * @throws NullPointerException if the given write tasks are null.
+   * @throws CompletionException  if one of the writes failed.
+   */
+  private void flushAndAwaitWrite(@NonNull Task<?>... writeTasks) {
+    if (this.channel.executor().inEventLoop()) {
+      this.outboundPacketQueue.flushIgnoringWritability();
+    } else {
+      this.outboundPacketQueue.flushNow();
+      for (var writeTask : writeTasks) {
+        try {
+          writeTask.join();
+        } catch (CancellationException exception) {
+          // the write was cancelled by a listener of the packet send event, there is nothing to wait for
+        }
+      }
+    }
+  }
+
   /**
    * Writes the given packet into the channel, calling the packet send event beforehand and not writing when the event
-   * gets cancelled by a module/plugin.
+   * gets cancelled by a module/plugin. The channel is flushed by the outbound queue after writing all queued packets.
    *
-   * @param packet     the packet to write if the send operation is not cancelled.
-   * @param flushAfter if the send queue should be flushed directly after the write process.
-   * @return the future completed once the write operation (and flush) of the channel succeeded, null if cancelled.
+   * @param packet the packet to write if the send operation is not cancelled.
+   * @return the future completed once the write operation of the channel succeeded, null if cancelled.
    * @throws NullPointerException if the given packet is null.
    */
-  private @Nullable Future<Void> writePacket(@NonNull Packet packet, boolean flushAfter) {
-    var event = CloudNetDriver.instance().eventManager().callEvent(new NetworkChannelPacketSendEvent(this, packet));
-    if (!event.cancelled()) {
-      return flushAfter ? this.channel.writeAndFlush(packet) : this.channel.write(packet);
-    } else {
+  private @Nullable Future<Void> writePacket(@NonNull Packet packet) {
+    // only construct the event if someone is able to cancel the write
+    var eventManager = CloudNetDriver.instance().eventManager();
+    if (eventManager.hasListeners(NetworkChannelPacketSendEvent.class)
+      && eventManager.callEvent(new NetworkChannelPacketSendEvent(this, packet)).cancelled()) {
       return null;
     }
+    return this.channel.write(packet);
   }
 }
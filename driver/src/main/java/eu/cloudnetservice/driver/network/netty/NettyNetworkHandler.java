@@ -38,6 +38,9 @@ public abstract class NettyNetworkHandler extends SimpleChannelInboundHandler<Ba
 
   private static final Logger LOGGER = LogManager.logger(NettyNetworkHandler.class);
 
+  // packet contents only share their memory with the received frame when decoding without copying
+  protected final boolean releaseHandledContent = NettyUtil.zeroCopyDecode();
+
   protected volatile NettyNetworkChannel channel;
 
   /**
@@ -45,6 +48,9 @@ public abstract class NettyNetworkHandler extends SimpleChannelInboundHandler<Ba
    */
   @Override
   public void channelInactive(@NonNull ChannelHandlerContext ctx) throws Exception {
+    // fail the writes of all packets which are still waiting in the outbound queue
+    this.channel.outboundPacketQueue().flushNow();
+
     if (!ctx.channel().isActive() || !ctx.channel().isOpen() || !ctx.channel().isWritable()) {
       this.channel.handler().handleChannelClose(this.channel);
 
@@ -53,6 +59,18 @@ public void channelInactive(@NonNull ChannelHandlerContext ctx) throws Exception
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void channelWritabilityChanged(@NonNull ChannelHandlerContext ctx) {
+    // continue writing the packets which were queued while the channel was not writable
+    if (ctx.channel().isWritable()) {
+      this.channel.outboundPacketQueue().flushNow();
+    }
+    ctx.fireChannelWritabilityChanged();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -79,25 +97,40 @@ protected void messageReceived(@NonNull ChannelHandlerContext ctx, @NonNull Base
     // post directly if the packet has a high priority
     if (msg.prioritized()) {
       this.doHandlePacket(msg);
-    } else {
+      return;
+    }
+
+    // query responses only complete a waiting future and must not queue up behind a handler which is waiting for them
+    var queryId = msg.queryId();
+    if (queryId != 0 && this.channel.queryPacketManager().hasWaitingHandler(queryId)) {
       this.packetDispatcher().execute(() -> this.doHandlePacket(msg));
+    } else {
+      // use the dispatch lane of the channel to keep the order of the packets
+      this.channel.packetDispatchLane().execute(() -> this.doHandlePacket(msg));
     }
   }
 
   /**
    * Handles the incoming packet and posts it either to the associated waiting query handler or directly into the packet
    * registry, calling all associated handlers.
+   * <p>
+   * If zero-copy decoding is enabled, the content of the packet is released after all listeners were called, unless
+   * one of the listeners took over the ownership of the content by disabling releasing of it. Otherwise, the content is
+   * a copy of the received data and listeners may keep it after returning. Query responses are owned by the sender of
+   * the query once they were handed to the waiting query handler.
    *
    * @param packet the packet to handle.
    * @throws NullPointerException if the given packet is null.
    */
   protected void doHandlePacket(@NonNull BasePacket packet) {
+    var releaseContent = this.releaseHandledContent;
     try {
-      var uuid = packet.uniqueId();
-      if (uuid != null) {
-        var task = this.channel.queryPacketManager().waitingHandler(uuid);
+      var queryId = packet.queryId();
+      if (queryId != 0) {
+        var task = this.channel.queryPacketManager().waitingHandler(queryId);
         if (task != null) {
-          task.complete(packet);
+          // the content is now owned by the query sender, unless the query was completed before
+          releaseContent = !task.complete(packet);
           // don't post a query response packet to another handler at all
           return;
         }
@@ -109,6 +142,11 @@ protected void doHandlePacket(@NonNull BasePacket packet) {
       }
     } catch (Exception exception) {
       LOGGER.severe("Exception whilst handling packet %s", exception, packet);
+    } finally {
+      // no-op if the content was released already or a listener disabled releasing of it
+      if (releaseContent) {
+        packet.content().release();
+      }
     }
   }
 
@@ -121,7 +159,8 @@ protected void doHandlePacket(@NonNull BasePacket packet) {
 
   /**
    * Get the packet dispatcher used to dispatch incoming packets. Each dispatcher is normally bound to the network
-   * component which opened/received the connection and requested this handler.
+   * component which opened/received the connection and requested this handler. The dispatcher is shared between the
+   * dispatch lanes of all channels of the component.
    *
    * @return the dispatcher used to dispatch packets.
    */
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty;
+
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketOverflowPolicy;
+import eu.cloudnetservice.driver.network.protocol.PacketQueueFullException;
+import io.netty5.channel.Channel;
+import io.netty5.util.concurrent.Future;
+import java.nio.channels.ClosedChannelException;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The queue of packets waiting to be written to a channel. Packets written to the queue are not flushed one by one,
+ * instead all packets queued during one event loop iteration (or during the configured flush window) are written and
+ * flushed together. This reduces the amount of syscalls when sending many packets to a channel in a short time, for
+ * example during broadcasts. Latency-critical packets can request an explicit flush, which writes all queued packets
+ * instantly while keeping the order in which the packets were queued.
+ * <p>
+ * Packets are only written while the channel is writable. When the other side of the channel does not keep up with
+ * reading, the packets stay in this queue until the channel becomes writable again. Packets offered with an overflow
+ * policy are subject to that policy once the amount of waiting packets reached the capacity of the queue, all other
+ * packets are always queued. The capacity is a soft limit, concurrent offers might exceed it slightly.
+ * <p>
+ * Packets which are still queued when the channel gets closed are never written. Their content is released and their
+ * write tasks are completed exceptionally with a {@link ClosedChannelException}.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class NettyOutboundPacketQueue {
+
+  private static final long CAPACITY_CHECK_INTERVAL_MILLIS = 100;
+
+  private final Channel channel;
+  private final int capacity;
+  private final long maxWaitNanos;
+  private final long flushWindowNanos;
+  private final Function<Packet, Future<Void>> packetWriter;
+
+  private final Queue<QueuedPacket> pendingPackets = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingPacketCount = new AtomicInteger();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+  // threads waiting for space in the queue
+  private final Object capacityLock = new Object();
+  private volatile int capacityWaiters;
+
+  // metrics
+  private final LongAdder flushCount = new LongAdder();
+  private final LongAdder flushedPacketCount = new LongAdder();
+  private final LongAdder droppedPacketCount = new LongAdder();
+
+  /**
+   * Constructs a new outbound packet queue instance.
+   *
+   * @param channel          the channel to write the queued packets to.
+   * @param capacity         the amount of waiting packets from which the overflow policy of offered packets applies.
+   * @param maxWaitNanos     the maximum time in nanoseconds to wait for space in the queue when offering a packet with
+   *                         the {@code WAIT} policy, the packet is rejected afterwards.
+   * @param flushWindowNanos the time in nanoseconds to wait for more packets before flushing, 0 to flush at the end of
+   *                         the current event loop iteration.
+   * @param packetWriter     the writer for a single packet, called on the event loop without flushing the channel.
+   *                         Returns the future of the write operation or null if the write was cancelled.
+   * @throws NullPointerException if the given channel or packet writer is null.
+   */
+  public NettyOutboundPacketQueue(
+    @NonNull Channel channel,
+    int capacity,
+    long maxWaitNanos,
+    long flushWindowNanos,
+    @NonNull Function<Packet, Future<Void>> packetWriter
+  ) {
+    this.channel = channel;
+    this.capacity = capacity;
+    this.maxWaitNanos = maxWaitNanos;
+    this.flushWindowNanos = flushWindowNanos;
+    this.packetWriter = packetWriter;
+  }
+
+  /**
+   * Adds the given packet to this queue, regardless of the capacity of this queue. If an explicit flush is requested,
+   * all queued packets are written and flushed instantly (when called on the event loop) or as the next task of the
+   * event loop. Otherwise, the flush is delayed until the end of the current event loop iteration or the flush window.
+   *
+   * @param packet   the packet to queue.
+   * @param flushNow true if the packet is latency-critical and should be flushed instantly.
+   * @throws NullPointerException if the given packet is null.
+   */
+  public void enqueue(@NonNull Packet packet, boolean flushNow) {
+    this.add(new QueuedPacket(packet, null), flushNow);
+  }
+
+  /**
+   * Adds the given packet to this queue, regardless of the capacity of this queue. The returned task is completed once
+   * the packet was written to the channel, or exceptionally if the write failed or was cancelled.
+   *
+   * @param packet   the packet to queue.
+   * @param flushNow true if the packet is latency-critical and should be flushed instantly.
+   * @return a task completed once the packet was written to the channel.
+   * @throws NullPointerException if the given packet is null.
+   */
+  public @NonNull Task<Void> enqueueTracked(@NonNull Packet packet, boolean flushNow) {
+    var task = new Task<Void>();
+    this.add(new QueuedPacket(packet, task), flushNow);
+    return task;
+  }
+
+  /**
+   * Offers the given packet to this queue, applying the given overflow policy if this queue reached its capacity. The
+   * returned task is completed once the packet was written to the channel, or exceptionally if the packet was rejected,
+   * dropped or the write failed. The content of rejected and dropped packets is released.
+   *
+   * @param packet   the packet to offer.
+   * @param policy   the policy to apply if this queue reached its capacity.
+   * @param flushNow true if the packet is latency-critical and should be flushed instantly.
+   * @return a task completed once the packet was written to the channel.
+   * @throws NullPointerException if the given packet or policy is null.
+   */
+  public @NonNull Task<Void> offer(@NonNull Packet packet, @NonNull PacketOverflowPolicy policy, boolean flushNow) {
+    var task = new Task<Void>();
+    if (this.pendingPacketCount.get() >= this.capacity && !this.makeSpace(policy)) {
+      // the packet will never be written, release the content like the encoder would do
+      packet.content().release();
+      task.completeExceptionally(new PacketQueueFullException(packet, false));
+      return task;
+    }
+
+    this.add(new QueuedPacket(packet, task), flushNow);
+    return task;
+  }
+
+  /**
+   * Writes and flushes all queued packets instantly when called on the event loop, or as the next task of the event
+   * loop otherwise. Packets are only written as long as the channel is writable.
+   */
+  public void flushNow() {
+    var executor = this.channel.executor();
+    if (executor.inEventLoop()) {
+      this.flush();
+    } else {
+      executor.execute(this::flush);
+    }
+  }
+
+  /**
+   * Get if there are packets in this queue which were not written to the channel yet.
+   *
+   * @return true if there are packets waiting to be written, false otherwise.
+   */
+  public boolean hasPendingPackets() {
+    return !this.pendingPackets.isEmpty();
+  }
+
+  /**
+   * Get the amount of packets in this queue which were not written to the channel yet.
+   *
+   * @return the amount of packets waiting to be written.
+   */
+  public int pendingPacketCount() {
+    return this.pendingPacketCount.get();
+  }
+
+  /**
+   * Get the total amount of flushes executed by this queue.
+   *
+   * @return the total amount of flushes.
+   */
+  public long flushCount() {
+    return this.flushCount.sum();
+  }
+
+  /**
+   * Get the total amount of packets written by this queue.
+   *
+   * @return the total amount of flushed packets.
+   */
+  public long flushedPacketCount() {
+    return this.flushedPacketCount.sum();
+  }
+
+  /**
+   * Get the total amount of packets which were dropped from this queue to make space for newer packets.
+   *
+   * @return the total amount of dropped packets.
+   */
+  public long droppedPacketCount() {
+    return this.droppedPacketCount.sum();
+  }
+
+  /**
+   * Get the average amount of packets which were written to the channel per flush.
+   *
+   * @return the average amount of packets per flush, 0 if no flush happened yet.
+   */
+  public double averagePacketsPerFlush() {
+    var flushes = this.flushCount.sum();
+    return flushes == 0 ? 0 : (double) this.flushedPacketCount.sum() / flushes;
+  }
+
+  /**
+   * Adds the given packet to this queue and schedules the flush of it.
+   *
+   * @param queuedPacket the packet to add.
+   * @param flushNow     true if the packet is latency-critical and should be flushed instantly.
+   */
+  private void add(@NonNull QueuedPacket queuedPacket, boolean flushNow) {
+    this.pendingPacketCount.incrementAndGet();
+    this.pendingPackets.add(queuedPacket);
+    if (flushNow) {
+      this.flushNow();
+    } else {
+      this.scheduleFlush();
+    }
+  }
+
+  /**
+   * Tries to make space in this queue for a new packet according to the given overflow policy.
+   *
+   * @param policy the overflow policy to apply.
+   * @return true if the new packet can be queued, false if it should be rejected.
+   */
+  private boolean makeSpace(@NonNull PacketOverflowPolicy policy) {
+    return switch (policy) {
+      case WAIT -> this.awaitCapacity();
+      case DROP_OLDEST -> this.dropOldestPacket();
+      case FAIL -> false;
+    };
+  }
+
+  /**
+   * Blocks the current thread until the amount of waiting packets dropped below the capacity of this queue, but at most
+   * for the maximum wait time of this queue. This method returns instantly when called on the event loop of the channel
+   * or when the channel was closed, in which case the packet is queued anyway and the write fails normally.
+   *
+   * @return true if the new packet can be queued, false if the maximum wait time elapsed or the current thread was
+   * interrupted while waiting.
+   */
+  private boolean awaitCapacity() {
+    // blocking the event loop would prevent this queue from draining
+    if (this.channel.executor().inEventLoop()) {
+      return true;
+    }
+
+    var deadline = System.nanoTime() + this.maxWaitNanos;
+    synchronized (this.capacityLock) {
+      this.capacityWaiters++;
+      try {
+        while (this.pendingPacketCount.get() >= this.capacity && this.channel.isActive()) {
+          // a peer which stopped reading must not block the sending thread forever
+          var remainingNanos = deadline - System.nanoTime();
+          if (remainingNanos <= 0) {
+            return false;
+          }
+          this.capacityLock.wait(Math.min(CAPACITY_CHECK_INTERVAL_MILLIS, Math.max(1, remainingNanos / 1_000_000)));
+        }
+        return true;
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt(); // reset the interrupted state of the thread
+        return false;
+      } finally {
+        this.capacityWaiters--;
+      }
+    }
+  }
+
+  /**
+   * Drops the oldest packet from this queue which is neither prioritized nor part of a query.
+   *
+   * @return true if a packet was dropped, false if there is no packet which can be dropped.
+   */
+  private boolean dropOldestPacket() {
+    for (var queuedPacket : this.pendingPackets) {
+      var packet = queuedPacket.packet;
+      // the remove call fails if the packet was written in the meantime
+      if (!packet.prioritized() && packet.queryId() == 0 && this.pendingPackets.remove(queuedPacket)) {
+        this.pendingPacketCount.decrementAndGet();
+        this.droppedPacketCount.increment();
+
+        packet.content().release();
+        if (queuedPacket.task != null) {
+          queuedPacket.task.completeExceptionally(new PacketQueueFullException(packet, true));
+        }
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Schedules a flush of this queue on the event loop of the channel if no flush is scheduled yet.
+   */
+  private void scheduleFlush() {
+    if (this.flushScheduled.compareAndSet(false, true)) {
+      var executor = this.channel.executor();
+      if (this.flushWindowNanos > 0) {
+        executor.schedule(this::flush, this.flushWindowNanos, TimeUnit.NANOSECONDS);
+      } else {
+        executor.execute(this::flush);
+      }
+    }
+  }
+
+  /**
+   * Writes all queued packets to the channel while it is writable and flushes it afterwards. The remaining packets are
+   * written once the channel becomes writable again. Must be called on the event loop.
+   */
+  private void flush() {
+    // reset the marker first, packets which are queued while flushing are either written now or schedule a new flush
+    this.flushScheduled.set(false);
+    this.flush(false);
+  }
+
+  /**
+   * Writes all queued packets to the channel and flushes it afterwards, ignoring the writability of the channel. All
+   * packets are passed through the channel pipeline before this method returns, callers can therefore rely on the
+   * content of the packets being encoded (and no longer in use) afterwards. Must be called on the event loop.
+   */
+  public void flushIgnoringWritability() {
+    this.flush(true);
+  }
+
+  /**
+   * Writes the queued packets to the channel and flushes it afterwards. Must be called on the event loop.
+   *
+   * @param ignoreWritability true to write all queued packets, false to stop once the channel is no longer writable.
+   */
+  private void flush(boolean ignoreWritability) {
+    // a closed channel never becomes writable again, the queued packets will never be written
+    if (!this.channel.isActive()) {
+      this.discardPendingPackets();
+      return;
+    }
+
+    QueuedPacket queuedPacket;
+    var writtenPackets = 0;
+    while ((ignoreWritability || this.channel.isWritable()) && (queuedPacket = this.pendingPackets.poll()) != null) {
+      this.pendingPacketCount.decrementAndGet();
+      queuedPacket.write(this.packetWriter);
+      writtenPackets++;
+    }
+
+    if (writtenPackets > 0) {
+      this.channel.flush();
+
+      this.flushCount.increment();
+      this.flushedPacketCount.add(writtenPackets);
+      this.notifyCapacityWaiters();
+    }
+  }
+
+  /**
+   * Removes all queued packets from this queue, releasing their content and failing their write tasks.
+   */
+  private void discardPendingPackets() {
+    QueuedPacket queuedPacket;
+    var discardedPackets = 0;
+    while ((queuedPacket = this.pendingPackets.poll()) != null) {
+      this.pendingPacketCount.decrementAndGet();
+      queuedPacket.discard();
+      discardedPackets++;
+    }
+
+    if (discardedPackets > 0) {
+      this.notifyCapacityWaiters();
+    }
+  }
+
+  /**
+   * Wakes up all threads which are waiting for space in this queue.
+   */
+  private void notifyCapacityWaiters() {
+    if (this.capacityWaiters > 0) {
+      synchronized (this.capacityLock) {
+        this.capacityLock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * A packet waiting in the queue, optionally associated with a task to complete once the packet was written.
+   *
+   * @since 4.0
+   */
+  private static final class QueuedPacket {
+
+    private final Packet packet;
+    private final Task<Void> task;
+
+    /**
+     * Constructs a new queued packet instance.
+     *
+     * @param packet the packet to write.
+     * @param task   the task to complete once the packet was written, null if the write should not be tracked.
+     * @throws NullPointerException if the given packet is null.
+     */
+    public QueuedPacket(@NonNull Packet packet, @Nullable Task<Void> task) {
+      this.packet = packet;
+      this.task = task;
+    }
+
+    /**
+     * Writes the packet using the given writer and completes the associated task with the result of the write.
+     *
+     * @param packetWriter the writer to use to write the packet.
+     * @throws NullPointerException if the given packet writer is null.
+     */
+    public void write(@NonNull Function<Packet, Future<Void>> packetWriter) {
+      var future = packetWriter.apply(this.packet);
+      if (this.task != null) {
+        if (future == null) {
+          // the write was cancelled, the packet will never reach the other side
+          this.task.completeExceptionally(new CancellationException("Packet write was cancelled"));
+        } else {
+          future.addListener(result -> {
+            if (result.isSuccess()) {
+              this.task.complete(null);
+            } else {
+              this.task.completeExceptionally(result.cause());
+            }
+          });
+        }
+      }
+    }
+
+    /**
+     * Releases the content of the packet without writing it and fails the associated task, used when the channel was
+     * closed before the packet could be written.
+     */
+    public void discard() {
+      this.packet.content().release();
+      if (this.task != null) {
+        this.task.completeExceptionally(new ClosedChannelException());
+      }
+    }
+  }
+}
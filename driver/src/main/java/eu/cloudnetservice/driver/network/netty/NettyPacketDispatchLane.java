@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty;
+
+import eu.cloudnetservice.common.log.LogManager;
+import eu.cloudnetservice.common.log.Logger;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A serial lane dispatching the packets received by a single channel. All tasks submitted to a lane are executed one
+ * after another in the order they were submitted, while the lanes of all channels are multiplexed over the shared
+ * packet dispatcher of the network component. This ensures that packets of one connection are handled in FIFO order
+ * while independent connections are still handled in parallel.
+ * <p>
+ * Each lane has a capacity. When the number of queued tasks reaches the capacity, reading from the associated channel
+ * is paused until the lane drained to half of its capacity. Tasks submitted while reading is paused (for example the
+ * remaining packets of an already read batch) are still queued, the capacity is therefore a soft limit.
+ * <p>
+ * Reading is never paused while responses to queries sent into the channel are awaited. The task blocking the lane
+ * might be the one waiting for such a response, pausing would then stall the lane until the query timed out (and can
+ * deadlock two components which are both waiting for each other). Query responses bypass the lane, therefore reading
+ * them is never blocked by a full lane.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class NettyPacketDispatchLane implements Executor {
+
+  private static final Logger LOGGER = LogManager.logger(NettyPacketDispatchLane.class);
+
+  // the maximum amount of tasks to run before giving other lanes a chance to run on the shared dispatcher
+  private static final int MAX_TASKS_PER_RUN = 64;
+
+  private final Channel channel;
+  private final Executor dispatcher;
+  private final int capacity;
+  private final BooleanSupplier awaitingResponses;
+
+  private final Queue<Runnable> queuedTasks = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final AtomicBoolean readPaused = new AtomicBoolean();
+
+  /**
+   * Constructs a new dispatch lane instance.
+   *
+   * @param channel           the channel of which the received packets are dispatched by this lane.
+   * @param dispatcher        the shared dispatcher to execute the queued tasks on.
+   * @param capacity          the amount of queued tasks from which reading from the channel gets paused.
+   * @param awaitingResponses supplies if responses to queries sent into the channel are awaited.
+   * @throws NullPointerException if the given channel, dispatcher or response supplier is null.
+   */
+  public NettyPacketDispatchLane(
+    @NonNull Channel channel,
+    @NonNull Executor dispatcher,
+    int capacity,
+    @NonNull BooleanSupplier awaitingResponses
+  ) {
+    this.channel = channel;
+    this.dispatcher = dispatcher;
+    this.capacity = Math.max(1, capacity);
+    this.awaitingResponses = awaitingResponses;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void execute(@NonNull Runnable task) {
+    this.queuedTasks.add(task);
+    // pause reading from the channel if the lane is full, unless the response to a query must still be read
+    if (this.queueDepth.incrementAndGet() >= this.capacity
+      && !this.awaitingResponses.getAsBoolean()
+      && this.readPaused.compareAndSet(false, true)) {
+      this.updateAutoRead(false);
+    }
+
+    this.scheduleDrain();
+  }
+
+  /**
+   * Resumes reading from the channel if it was paused and responses to queries are awaited now. Must be called after
+   * a query was sent into the channel, as the task which sent the query might be blocking this lane while waiting for
+   * the response. Reading is paused again once the lane is still full when the next task is submitted after all
+   * responses were received.
+   */
+  public void resumeReadingForResponses() {
+    if (this.readPaused.get() && this.awaitingResponses.getAsBoolean() && this.readPaused.compareAndSet(true, false)) {
+      this.updateAutoRead(true);
+    }
+  }
+
+  /**
+   * Get the number of tasks which are currently waiting in this lane for their execution.
+   *
+   * @return the number of tasks waiting in this lane.
+   */
+  public int queueDepth() {
+    return this.queueDepth.get();
+  }
+
+  /**
+   * Get the amount of queued tasks from which reading from the channel gets paused.
+   *
+   * @return the capacity of this lane.
+   */
+  public int capacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Get if reading from the channel is currently paused because this lane reached its capacity.
+   *
+   * @return true if reading from the channel is paused, false otherwise.
+   */
+  public boolean readPaused() {
+    return this.readPaused.get();
+  }
+
+  /**
+   * Schedules the drain of this lane on the shared dispatcher if no drain is scheduled or running yet.
+   */
+  private void scheduleDrain() {
+    if (this.scheduled.compareAndSet(false, true)) {
+      this.dispatcher.execute(this::drain);
+    }
+  }
+
+  /**
+   * Executes the tasks queued in this lane. After a fixed amount of tasks the drain re-schedules itself to give the
+   * lanes of other channels a chance to run on the shared dispatcher.
+   */
+  private void drain() {
+    try {
+      Runnable task;
+      var executedTasks = 0;
+      while (executedTasks++ < MAX_TASKS_PER_RUN && (task = this.queuedTasks.poll()) != null) {
+        try {
+          task.run();
+        } catch (Throwable throwable) {
+          LOGGER.severe("Exception while executing queued packet task", throwable);
+        }
+
+        // resume reading from the channel once the lane drained to half of its capacity
+        if (this.queueDepth.decrementAndGet() <= this.capacity / 2 && this.readPaused.compareAndSet(true, false)) {
+          this.updateAutoRead(true);
+        }
+      }
+    } finally {
+      this.scheduled.set(false);
+      // re-schedule if tasks were added after the last poll or the run limit was reached
+      if (!this.queuedTasks.isEmpty()) {
+        this.scheduleDrain();
+      }
+    }
+  }
+
+  /**
+   * Updates the auto read option of the channel on the event loop of it.
+   *
+   * @param autoRead if the channel should automatically read from the underlying connection.
+   */
+  private void updateAutoRead(boolean autoRead) {
+    var executor = this.channel.executor();
+    if (executor.inEventLoop()) {
+      this.channel.setOption(ChannelOption.AUTO_READ, autoRead);
+    } else {
+      executor.execute(() -> this.channel.setOption(ChannelOption.AUTO_READ, autoRead));
+    }
+  }
+}
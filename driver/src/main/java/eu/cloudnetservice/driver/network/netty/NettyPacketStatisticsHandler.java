@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty;
+
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.stats.PacketTrafficCounter;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.util.concurrent.Future;
+import lombok.NonNull;
+
+/**
+ * A channel handler located between the packet codec and the network handler of a channel, counting all packets which
+ * are received and sent through the channel. The counted bytes are the content bytes of the packets, before they are
+ * encoded or compressed and after they were decoded.
+ *
+ * @since 4.0
+ */
+final class NettyPacketStatisticsHandler implements ChannelHandler {
+
+  private final PacketTrafficCounter trafficCounter;
+
+  /**
+   * Constructs a new packet statistics handler instance.
+   *
+   * @param trafficCounter the counter to record the packets passing this handler into.
+   * @throws NullPointerException if the given traffic counter is null.
+   */
+  public NettyPacketStatisticsHandler(@NonNull PacketTrafficCounter trafficCounter) {
+    this.trafficCounter = trafficCounter;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void channelRead(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) {
+    if (msg instanceof Packet packet) {
+      this.trafficCounter.recordInbound(packet.channel(), packet.content().readableBytes());
+    }
+    ctx.fireChannelRead(msg);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Future<Void> write(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) {
+    if (msg instanceof Packet packet) {
+      this.trafficCounter.recordOutbound(packet.channel(), packet.content().readableBytes());
+    }
+    return ctx.write(msg);
+  }
+}
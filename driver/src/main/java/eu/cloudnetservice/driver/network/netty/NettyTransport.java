@@ -33,13 +33,16 @@
 import io.netty5.channel.kqueue.KQueueServerSocketChannel;
 import io.netty5.channel.kqueue.KQueueSocketChannel;
 import io.netty5.channel.nio.NioHandler;
+import io.netty5.channel.socket.SocketProtocolFamily;
 import io.netty5.channel.socket.nio.NioServerSocketChannel;
 import io.netty5.channel.socket.nio.NioSocketChannel;
 import java.util.function.Supplier;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Holds all supported transport types and functionality to retrieve model instances for servers/clients construction.
+ * The transports are listed in the order of preference, the first available transport is selected by default.
  *
  * @since 4.0
  */
@@ -51,7 +54,9 @@ public enum NettyTransport {
     true,
     EpollHandler::newFactory,
     EpollSocketChannel::new,
-    EpollServerSocketChannel::new
+    EpollServerSocketChannel::new,
+    eventLoop -> new EpollSocketChannel(eventLoop, SocketProtocolFamily.UNIX),
+    (eventLoop, childGroup) -> new EpollServerSocketChannel(eventLoop, childGroup, SocketProtocolFamily.UNIX)
   ),
   KQUEUE(
     "kqueue",
@@ -59,7 +64,9 @@ public enum NettyTransport {
     true,
     KQueueHandler::newFactory,
     KQueueSocketChannel::new,
-    KQueueServerSocketChannel::new
+    KQueueServerSocketChannel::new,
+    eventLoop -> new KQueueSocketChannel(eventLoop, SocketProtocolFamily.UNIX),
+    (eventLoop, childGroup) -> new KQueueServerSocketChannel(eventLoop, childGroup, SocketProtocolFamily.UNIX)
   ),
   NIO(
     "nio",
@@ -67,7 +74,9 @@ public enum NettyTransport {
     false,
     NioHandler::newFactory,
     NioSocketChannel::new,
-    NioServerSocketChannel::new
+    NioServerSocketChannel::new,
+    eventLoop -> new NioSocketChannel(eventLoop, SocketProtocolFamily.UNIX),
+    (eventLoop, childGroup) -> new NioServerSocketChannel(eventLoop, childGroup, SocketProtocolFamily.UNIX)
   );
 
   private final String name;
@@ -76,6 +85,8 @@ public enum NettyTransport {
   private final Supplier<IoHandlerFactory> ioHandlerFactory;
   private final ChannelFactory<? extends Channel> clientChannelFactory;
   private final ServerChannelFactory<? extends ServerChannel> serverChannelFactory;
+  private final ChannelFactory<? extends Channel> domainSocketClientChannelFactory;
+  private final ServerChannelFactory<? extends ServerChannel> domainSocketServerChannelFactory;
 
   /**
    * Constructs a new netty transport instance.
@@ -86,7 +97,9 @@ public enum NettyTransport {
    * @param ioHandlerFactory     the factory for io handlers.
    * @param clientChannelFactory the factory for client channels.
    * @param serverChannelFactory the factory for server channels.
-   * @throws NullPointerException if one of the given parameters is null.
+   * @param domainSocketClient   the factory for unix domain socket client channels, null if not supported.
+   * @param domainSocketServer   the factory for unix domain socket server channels, null if not supported.
+   * @throws NullPointerException if one of the given required parameters is null.
    */
   NettyTransport(
     @NonNull String name,
@@ -94,7 +107,9 @@ public enum NettyTransport {
     boolean nativeTransport,
     @NonNull Supplier<IoHandlerFactory> ioHandlerFactory,
     @NonNull ChannelFactory<? extends Channel> clientChannelFactory,
-    @NonNull ServerChannelFactory<? extends ServerChannel> serverChannelFactory
+    @NonNull ServerChannelFactory<? extends ServerChannel> serverChannelFactory,
+    @Nullable ChannelFactory<? extends Channel> domainSocketClient,
+    @Nullable ServerChannelFactory<? extends ServerChannel> domainSocketServer
   ) {
     this.name = name;
     this.available = available;
@@ -102,6 +117,8 @@ public enum NettyTransport {
     this.ioHandlerFactory = Suppliers.memoize(ioHandlerFactory::get);
     this.clientChannelFactory = clientChannelFactory;
     this.serverChannelFactory = serverChannelFactory;
+    this.domainSocketClientChannelFactory = domainSocketClient;
+    this.domainSocketServerChannelFactory = domainSocketServer;
   }
 
   /**
@@ -113,6 +130,29 @@ public enum NettyTransport {
    * @throws IllegalStateException if no transport is available, should normally never happen.
    */
   public static @NonNull NettyTransport availableTransport(boolean noNative) {
+    return availableTransport(noNative, null);
+  }
+
+  /**
+   * Selects and returns the transport with the given display name if it is available, falling back to the first
+   * available transport otherwise. If this method should not return native transports, it currently only returns nio.
+   *
+   * @param noNative           if no native transport should get included into the selection.
+   * @param preferredTransport the display name of the transport to prefer, null to select the first available one.
+   * @return the preferred transport if available, the first available transport otherwise.
+   * @throws IllegalStateException if no transport is available, should normally never happen.
+   */
+  public static @NonNull NettyTransport availableTransport(boolean noNative, @Nullable String preferredTransport) {
+    if (preferredTransport != null) {
+      for (var transport : values()) {
+        if (transport.available
+          && (!noNative || !transport.nativeTransport())
+          && transport.name.equalsIgnoreCase(preferredTransport)) {
+          return transport;
+        }
+      }
+    }
+
     for (var transport : values()) {
       // ignore native transports if no-native is selected
       if (noNative && transport.nativeTransport()) {
@@ -174,4 +214,39 @@ public boolean nativeTransport() {
   public @NonNull ServerChannelFactory<? extends ServerChannel> serverChannelFactory() {
     return this.serverChannelFactory;
   }
+
+  /**
+   * Get if this transport is able to connect to and listen on unix domain sockets.
+   *
+   * @return true if this transport supports unix domain sockets, false otherwise.
+   */
+  public boolean domainSocketSupport() {
+    return this.domainSocketClientChannelFactory != null;
+  }
+
+  /**
+   * Get the factory for unix domain socket client channels of this transport.
+   *
+   * @return the factory for unix domain socket client channels of this transport.
+   * @throws UnsupportedOperationException if this transport does not support unix domain sockets.
+   */
+  public @NonNull ChannelFactory<? extends Channel> domainSocketClientChannelFactory() {
+    if (this.domainSocketClientChannelFactory == null) {
+      throw new UnsupportedOperationException("Transport " + this.name + " does not support unix domain sockets");
+    }
+    return this.domainSocketClientChannelFactory;
+  }
+
+  /**
+   * Get the factory for unix domain socket server channels of this transport.
+   *
+   * @return the factory for unix domain socket server channels of this transport.
+   * @throws UnsupportedOperationException if this transport does not support unix domain sockets.
+   */
+  public @NonNull ServerChannelFactory<? extends ServerChannel> domainSocketServerChannelFactory() {
+    if (this.domainSocketServerChannelFactory == null) {
+      throw new UnsupportedOperationException("Transport " + this.name + " does not support unix domain sockets");
+    }
+    return this.domainSocketServerChannelFactory;
+  }
 }
@@ -53,9 +53,30 @@ public final class NettyUtil {
   private static final int[] VAR_INT_BYTE_LENGTHS = new int[33];
   // transport
   private static final boolean NO_NATIVE_TRANSPORT = Boolean.getBoolean("cloudnet.no-native");
-  private static final NettyTransport CURR_NETTY_TRANSPORT = NettyTransport.availableTransport(NO_NATIVE_TRANSPORT);
+  private static final String PREFERRED_TRANSPORT = System.getProperty("cloudnet.network.transport");
+  private static final NettyTransport CURR_NETTY_TRANSPORT = NettyTransport.availableTransport(
+    NO_NATIVE_TRANSPORT,
+    PREFERRED_TRANSPORT);
+  // writing
+  private static final long FLUSH_WINDOW_NANOS = TimeUnit.MICROSECONDS.toNanos(
+    Long.getLong("cloudnet.network.flush-window-micros", 0));
+  private static final int OUTBOUND_QUEUE_CAPACITY = Integer.getInteger(
+    "cloudnet.network.outbound-queue-capacity",
+    4096);
+  private static final long OUTBOUND_QUEUE_MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(
+    Long.getLong("cloudnet.network.outbound-queue-max-wait-millis", 5000));
+  // decoding
+  private static final boolean ZERO_COPY_DECODE = Boolean.getBoolean("cloudnet.network.zero-copy-decode");
+  private static final int MAX_DECOMPRESSED_LENGTH = Integer.getInteger(
+    "cloudnet.network.max-decompressed-length",
+    64 * 1024 * 1024);
+  // encoding
+  private static final int COMPOSITE_ENCODE_THRESHOLD = Integer.getInteger(
+    "cloudnet.network.composite-encode-threshold",
+    8192);
   // packet thread handling
   private static final RejectedExecutionHandler DEFAULT_REJECT_HANDLER = new ThreadPoolExecutor.CallerRunsPolicy();
+  private static final int DISPATCH_LANE_CAPACITY = Integer.getInteger("cloudnet.network.dispatch-lane-capacity", 512);
 
   static {
     // check if the leak detection level is set before overriding it
@@ -84,9 +105,13 @@ private NettyUtil() {
    * can idle for 30 seconds before they are terminated forcefully. One thread will always idle in the handler to speed
    * up just-in-time handling of packets. Given tasks are queued in the order they are given into the dispatcher and if
    * the dispatcher has no capacity to run the task, the caller will automatically call the task instead.
+   * <p>
+   * Packets are not submitted directly to the dispatcher, instead each channel has its own dispatch lane which executes
+   * the packets of the channel in order and is multiplexed over the shared dispatcher.
    *
    * @return a new packet dispatcher instance.
    * @see #threadAmount()
+   * @see NettyPacketDispatchLane
    */
   public static @NonNull Executor newPacketDispatcher() {
     // a cached pool with a thread idle-lifetime of 30 seconds
@@ -104,10 +129,57 @@ private NettyUtil() {
   }
 
   /**
-   * Creates a new nio or epoll event loop group based on their availability.
+   * Get the time in nanoseconds for which outbound packets are collected before they are flushed to the channel
+   * together. A window of 0 flushes all packets which were sent during the same event loop iteration together. The
+   * window can be changed by setting the system property {@code cloudnet.network.flush-window-micros} to the window in
+   * microseconds, by default it is set to 0. Latency-critical packets (prioritized packets, queries and their
+   * responses) are always flushed instantly.
+   *
+   * @return the flush window in nanoseconds.
+   */
+  public static long flushWindowNanos() {
+    return FLUSH_WINDOW_NANOS;
+  }
+
+  /**
+   * Get the amount of packets which can be waiting in the outbound queue of a channel before asynchronously sent
+   * packets are subject to the overflow policy given when sending them. The capacity can be changed by setting the
+   * system property {@code cloudnet.network.outbound-queue-capacity}, by default it is set to 4096.
+   *
+   * @return the capacity of the outbound packet queue of a channel.
+   */
+  public static int outboundQueueCapacity() {
+    return OUTBOUND_QUEUE_CAPACITY;
+  }
+
+  /**
+   * Get the maximum time in nanoseconds a thread sending a packet with the {@code WAIT} overflow policy is blocked
+   * until there is space in the outbound queue of a channel. The packet is rejected once the time elapsed. The time can
+   * be changed by setting the system property {@code cloudnet.network.outbound-queue-max-wait-millis} to the time in
+   * milliseconds, by default it is set to 5 seconds.
+   *
+   * @return the maximum time to wait for space in the outbound packet queue of a channel.
+   */
+  public static long outboundQueueMaxWaitNanos() {
+    return OUTBOUND_QUEUE_MAX_WAIT_NANOS;
+  }
+
+  /**
+   * Get the amount of queued packets in the dispatch lane of a channel from which reading from the channel is paused.
+   * The capacity can be changed by setting the system property {@code cloudnet.network.dispatch-lane-capacity}, by
+   * default it is set to 512.
+   *
+   * @return the capacity of the packet dispatch lane of a channel.
+   */
+  public static int packetDispatchLaneCapacity() {
+    return DISPATCH_LANE_CAPACITY;
+  }
+
+  /**
+   * Creates a new event loop group of the selected transport.
    *
    * @param threads the number of threads to use for the event loop.
-   * @return a new nio or epoll event loop group.
+   * @return a new event loop group of the selected transport.
    */
   public static @NonNull EventLoopGroup newEventLoopGroup(int threads) {
     return CURR_NETTY_TRANSPORT.createEventLoopGroup(threads);
@@ -131,6 +203,35 @@ private NettyUtil() {
     return CURR_NETTY_TRANSPORT.serverChannelFactory();
   }
 
+  /**
+   * Get if the selected transport is able to connect to and listen on unix domain sockets.
+   *
+   * @return true if the selected transport supports unix domain sockets, false otherwise.
+   */
+  public static boolean domainSocketSupport() {
+    return CURR_NETTY_TRANSPORT.domainSocketSupport();
+  }
+
+  /**
+   * Get the channel factory for unix domain socket network clients of the selected transport.
+   *
+   * @return the channel factory for unix domain socket network clients.
+   * @throws UnsupportedOperationException if the selected transport does not support unix domain sockets.
+   */
+  public static @NonNull ChannelFactory<? extends Channel> domainSocketClientChannelFactory() {
+    return CURR_NETTY_TRANSPORT.domainSocketClientChannelFactory();
+  }
+
+  /**
+   * Get the channel factory for unix domain socket network servers of the selected transport.
+   *
+   * @return the channel factory for unix domain socket network servers.
+   * @throws UnsupportedOperationException if the selected transport does not support unix domain sockets.
+   */
+  public static @NonNull ServerChannelFactory<? extends ServerChannel> domainSocketServerChannelFactory() {
+    return CURR_NETTY_TRANSPORT.domainSocketServerChannelFactory();
+  }
+
   /**
    * Writes the given integer value as a var int into the buffer.
    *
@@ -203,6 +304,62 @@ public static int varIntBytes(int contentLength) {
     return VAR_INT_BYTE_LENGTHS[Integer.numberOfLeadingZeros(contentLength)];
   }
 
+  /**
+   * Writes the given long value as a var long into the buffer.
+   *
+   * @param buffer the buffer to write to.
+   * @param value  the value to write into the buffer.
+   * @return the buffer used to call the method, for chaining.
+   * @throws NullPointerException if the given byte buf is null.
+   */
+  public static @NonNull Buffer writeVarLong(@NonNull Buffer buffer, long value) {
+    while (true) {
+      if ((value & ~0x7FL) == 0) {
+        buffer.writeByte((byte) value);
+        return buffer;
+      } else {
+        buffer.writeByte((byte) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+    }
+  }
+
+  /**
+   * Reads a var long from the given buffer.
+   *
+   * @param buffer the buffer to read from.
+   * @return the var long read from the buffer.
+   * @throws DecoderException     if the buf current position has no var long.
+   * @throws NullPointerException if the given buffer to read from is null.
+   */
+  public static long readVarLong(@NonNull Buffer buffer) {
+    var result = 0L;
+    var maxRead = Math.min(10, buffer.readableBytes());
+    for (var j = 0; j < maxRead; j++) {
+      var nextByte = buffer.readByte();
+      result |= (long) (nextByte & 0x7F) << j * 7;
+      if ((nextByte & 0x80) != 128) {
+        return result;
+      }
+    }
+
+    // unable to decode a var long at the current position
+    throw new DecoderException(String.format(
+      "Unable to decode VarLong at current buffer position (%d)",
+      buffer.readerOffset()));
+  }
+
+  /**
+   * Gets the number of bytes that writing the given number as a var long will take in the underlying buffer.
+   *
+   * @param value the number to get the amount of bytes for.
+   * @return the number of bytes writing the given number as a var long will take.
+   */
+  public static int varLongBytes(long value) {
+    // each byte holds 7 bits of the value, 0 is always one byte long
+    return value == 0 ? 1 : (70 - Long.numberOfLeadingZeros(value)) / 7;
+  }
+
   /**
    * Waits for the given future to complete, either returning the same future instance as given (but completed) or
    * rethrowing all exceptions that occurred during completion. This method throws an IllegalThreadStateException if the
@@ -238,8 +395,48 @@ public static int varIntBytes(int contentLength) {
     return environment.equals(DriverEnvironment.NODE) ? Math.max(8, Runtime.getRuntime().availableProcessors() * 2) : 4;
   }
 
+  /**
+   * Get if inbound frames and packet bodies should be decoded without copying them into a new buffer. When enabled the
+   * decoders hand out read-only split views of the received buffer instead, which share the underlying memory with the
+   * received frame. The memory of a frame is only freed once all views of it were released, which makes it crucial to
+   * release packet contents once they are no longer needed. For that reason, the content of a packet is released once
+   * all listeners were called when this mode is enabled. This option can be enabled by setting the system property
+   * {@code cloudnet.network.zero-copy-decode} to {@code true}.
+   *
+   * @return true if zero-copy decoding of inbound packets is enabled, false otherwise.
+   */
+  public static boolean zeroCopyDecode() {
+    return ZERO_COPY_DECODE;
+  }
+
+  /**
+   * Get the minimum amount of content bytes a packet must have to get encoded by composing the encoded header and the
+   * content instead of copying both into a new buffer. Below the threshold copying is cheaper than the bookkeeping of a
+   * composite buffer. A negative threshold disables composite encoding. The threshold can be changed by setting the
+   * system property {@code cloudnet.network.composite-encode-threshold}, by default it is set to 8 KiB.
+   *
+   * @return the content length from which packets get encoded as composite buffers, negative if disabled.
+   */
+  public static int compositeEncodeThreshold() {
+    return COMPOSITE_ENCODE_THRESHOLD;
+  }
+
+  /**
+   * Get the maximum amount of bytes the content of a compressed packet may have after decompressing it. Packets which
+   * exceed the limit are dropped without decompressing them. The limit can be changed by setting the system property
+   * {@code cloudnet.network.max-decompressed-length}, by default it is set to 64 MiB.
+   *
+   * @return the maximum length of the decompressed content of a packet.
+   */
+  public static int maxDecompressedLength() {
+    return MAX_DECOMPRESSED_LENGTH;
+  }
+
   /**
    * Get the selected netty transport which will be used for client/server channel and event loop group construction.
+   * A specific transport (for example {@code epoll} or {@code nio}) can be preferred by setting the system
+   * property {@code cloudnet.network.transport} to the display name of the transport. The default selection is used if
+   * the preferred transport is not available.
    *
    * @return the selected netty transport.
    */
@@ -77,6 +77,14 @@ public int readInt() {
     return this.hotRead(Buffer::readInt);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int readVarInt() {
+    return this.hotRead(NettyUtil::readVarInt);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -297,6 +305,17 @@ public void close() {
     this.release();
   }
 
+  /**
+   * Get if releasing of this buffer is currently enabled, for internal use only. If releasing is disabled the wrapped
+   * buffer is owned by another party and must not be released or taken over.
+   *
+   * @return true if releasing of this buffer is enabled, false otherwise.
+   */
+  @ApiStatus.Internal
+  public boolean releasable() {
+    return this.releasable;
+  }
+
   /**
    * Get the wrapped netty byte buf of this buffer, for internal use only.
    *
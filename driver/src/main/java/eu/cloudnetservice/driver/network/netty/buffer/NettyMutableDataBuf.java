@@ -62,6 +62,15 @@ public NettyMutableDataBuf(@NonNull Buffer buffer) {
     return this;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull DataBuf.Mutable writeVarInt(int integer) {
+    NettyUtil.writeVarInt(this.buffer, integer);
+    return this;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -35,6 +35,9 @@
 import io.netty5.handler.ssl.SslContextBuilder;
 import io.netty5.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty5.handler.ssl.util.SelfSignedCertificate;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
 import java.nio.file.Files;
 import java.util.Collection;
 import java.util.Collections;
@@ -109,8 +112,12 @@ public boolean sslEnabled() {
    */
   @Override
   public @NonNull Task<Void> connect(@NonNull HostAndPort hostAndPort) {
-    Task<Void> result = new Task<>();
-    new Bootstrap()
+    // a host without a port is the path of a unix domain socket
+    if (!hostAndPort.validPort()) {
+      return this.connectDomainSocket(hostAndPort);
+    }
+
+    var bootstrap = new Bootstrap()
       .group(this.eventLoopGroup)
       .channelFactory(NettyUtil.clientChannelFactory())
       .handler(new NettyNetworkClientInitializer(hostAndPort, this))
@@ -119,9 +126,47 @@ public boolean sslEnabled() {
       .option(ChannelOption.AUTO_READ, true)
       .option(ChannelOption.TCP_NODELAY, true)
       .option(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK)
-      .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECTION_TIMEOUT_MILLIS)
+      .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECTION_TIMEOUT_MILLIS);
+    return this.connect(bootstrap, new InetSocketAddress(hostAndPort.host(), hostAndPort.port()));
+  }
+
+  /**
+   * Connects this network client to the unix domain socket located at the host of the given address.
+   *
+   * @param hostAndPort the address holding the path of the socket to connect to.
+   * @return a task completed successfully, or with the exception thrown during the connection process.
+   * @throws NullPointerException if the given host and port is null.
+   */
+  protected @NonNull Task<Void> connectDomainSocket(@NonNull HostAndPort hostAndPort) {
+    if (!NettyUtil.domainSocketSupport()) {
+      return Task.completedTask(new UnsupportedOperationException(String.format(
+        "Transport %s does not support unix domain sockets",
+        NettyUtil.selectedNettyTransport().displayName())));
+    }
+
+    var bootstrap = new Bootstrap()
+      .group(this.eventLoopGroup)
+      .channelFactory(NettyUtil.domainSocketClientChannelFactory())
+      .handler(new NettyNetworkClientInitializer(hostAndPort, this))
+
+      .option(ChannelOption.AUTO_READ, true)
+      .option(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK)
+      .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECTION_TIMEOUT_MILLIS);
+    return this.connect(bootstrap, UnixDomainSocketAddress.of(hostAndPort.host()));
+  }
 
-      .connect(hostAndPort.host(), hostAndPort.port())
+  /**
+   * Connects the given bootstrap to the given address.
+   *
+   * @param bootstrap the bootstrap to connect.
+   * @param address   the socket address to connect to.
+   * @return a task completed successfully, or with the exception thrown during the connection process.
+   * @throws NullPointerException if the given bootstrap or address is null.
+   */
+  private @NonNull Task<Void> connect(@NonNull Bootstrap bootstrap, @NonNull SocketAddress address) {
+    Task<Void> result = new Task<>();
+    bootstrap
+      .connect(address)
       .addListener(future -> {
         if (future.isSuccess()) {
           // ok, we connected successfully
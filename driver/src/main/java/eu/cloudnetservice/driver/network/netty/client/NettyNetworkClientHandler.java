@@ -58,6 +58,7 @@ public NettyNetworkClientHandler(
   public void channelActive(@NonNull ChannelHandlerContext ctx) throws Exception {
     super.channel = new NettyNetworkChannel(
       ctx.channel(),
+      this.packetDispatcher(),
       this.nettyNetworkClient.packetRegistry(),
       this.nettyNetworkClient.handlerFactory.call(),
       this.connectedAddress,
@@ -24,7 +24,9 @@
 import io.netty5.buffer.Buffer;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.handler.codec.ByteToMessageDecoder;
-import java.util.UUID;
+import io.netty5.handler.codec.DecoderException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -36,9 +38,18 @@
  * A packet always contains the following data:
  * <ol>
  *   <li>The numeric id of the channel being sent to, by default a var int.
- *   <li>An optional query unique id if the packet is a query.
+ *   <li>A flag byte holding the priority of the packet, if it is compressed and if it is a query.
+ *   <li>An optional var long query id if the packet is a query.
  *   <li>The data transferred to this component, might be empty.
  * </ol>
+ * <p>
+ * When zero-copy decoding is enabled the content of the decoded packet is a read-only split view of the received frame
+ * instead of a copy of it. The view shares its memory with the frame, which is only freed once the content of the
+ * packet gets released. See {@link eu.cloudnetservice.driver.network.protocol.Packet#content()} for the release
+ * contract of packet contents.
+ * <p>
+ * Packets which are marked as compressed in their header are always inflated into a new buffer, regardless of the
+ * decoding mode. Compressed packets are only sent to components which announced that they support compression.
  *
  * @since 4.0
  */
@@ -47,6 +58,28 @@ public final class NettyPacketDecoder extends ByteToMessageDecoder {
 
   private static final Logger LOGGER = LogManager.logger(NettyPacketDecoder.class);
 
+  private final boolean zeroCopy;
+
+  private Inflater inflater;
+
+  /**
+   * Constructs a new packet decoder instance, using zero-copy decoding if enabled in the current environment.
+   *
+   * @see NettyUtil#zeroCopyDecode()
+   */
+  public NettyPacketDecoder() {
+    this(NettyUtil.zeroCopyDecode());
+  }
+
+  /**
+   * Constructs a new packet decoder instance.
+   *
+   * @param zeroCopy if the body of a packet should be a split view of the frame rather than a copy of it.
+   */
+  public NettyPacketDecoder(boolean zeroCopy) {
+    this.zeroCopy = zeroCopy;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -61,17 +94,19 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
     try {
       // read the required base data from the buffer
       var channel = NettyUtil.readVarInt(in);
-      var prioritized = in.readBoolean();
-      var queryUniqueId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+      var flags = in.readByte();
+      var prioritized = (flags & NettyPacketEncoder.FLAG_PRIORITIZED) != 0;
+      var queryId = (flags & NettyPacketEncoder.FLAG_QUERY) != 0 ? NettyUtil.readVarLong(in) : 0;
 
       // extract the body
       var bodyLength = NettyUtil.readVarInt(in);
-      var body = new NettyImmutableDataBuf(in.copy(in.readerOffset(), bodyLength, true));
-      in.skipReadableBytes(bodyLength);
+      var body = new NettyImmutableDataBuf((flags & NettyPacketEncoder.FLAG_COMPRESSED) != 0
+        ? this.decompressBody(ctx, in, bodyLength)
+        : this.extractBody(in, bodyLength));
 
       // construct the packet
       var packet = new BasePacket(channel, prioritized, body);
-      packet.uniqueId(queryUniqueId);
+      packet.queryId(queryId);
 
       // register the packet for further downstream handling
       ctx.fireChannelRead(packet);
@@ -79,4 +114,131 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
       LOGGER.severe("Exception while decoding packet", exception);
     }
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void handlerRemoved0(@NonNull ChannelHandlerContext ctx) throws Exception {
+    if (this.inflater != null) {
+      this.inflater.end();
+      this.inflater = null;
+    }
+    super.handlerRemoved0(ctx);
+  }
+
+  /**
+   * Extracts the body of the packet from the given input buffer, moving the reader offset of the input buffer behind
+   * the body. In zero-copy mode the returned buffer takes over the ownership of the body bytes from the input buffer,
+   * otherwise the bytes get copied into a newly allocated buffer.
+   *
+   * @param in         the buffer to extract the body from.
+   * @param bodyLength the length of the body to extract.
+   * @return a read-only buffer containing the body of the packet.
+   * @throws NullPointerException if the given input buffer is null.
+   */
+  private @NonNull Buffer extractBody(@NonNull Buffer in, int bodyLength) {
+    if (this.zeroCopy) {
+      return in.readSplit(bodyLength).makeReadOnly();
+    } else {
+      var body = in.copy(in.readerOffset(), bodyLength, true);
+      in.skipReadableBytes(bodyLength);
+      return body;
+    }
+  }
+
+  /**
+   * Decompresses the compressed body of a packet from the given input buffer, moving the reader offset of the input
+   * buffer behind the body. The compressed body starts with the uncompressed length of the body as a var int, followed
+   * by the deflated body bytes.
+   *
+   * @param ctx        the context of the channel the packet was received from.
+   * @param in         the buffer to decompress the body from.
+   * @param bodyLength the length of the compressed body.
+   * @return a read-only buffer containing the decompressed body of the packet.
+   * @throws NullPointerException if the given context or input buffer is null.
+   * @throws DecoderException     if the uncompressed length is invalid or doesn't match the decompressed body.
+   * @throws DataFormatException  if the compressed body is malformed.
+   */
+  private @NonNull Buffer decompressBody(
+    @NonNull ChannelHandlerContext ctx,
+    @NonNull Buffer in,
+    int bodyLength
+  ) throws DataFormatException {
+    var bodyStart = in.readerOffset();
+    var uncompressedLength = NettyUtil.readVarInt(in);
+    var compressedLength = bodyLength - (in.readerOffset() - bodyStart);
+    // validate the lengths before allocating any memory
+    if (uncompressedLength <= 0
+      || uncompressedLength > NettyUtil.maxDecompressedLength()
+      || compressedLength < 0
+      || compressedLength > in.readableBytes()) {
+      in.readerOffset(Math.min(bodyStart + bodyLength, in.writerOffset()));
+      throw new DecoderException(String.format(
+        "Invalid compressed packet body: %d compressed bytes, %d uncompressed bytes",
+        compressedLength,
+        uncompressedLength));
+    }
+
+    // lazy init the inflater, it is re-used for all packets decoded by this decoder
+    if (this.inflater == null) {
+      this.inflater = new Inflater();
+    }
+
+    var body = ctx.bufferAllocator().allocate(uncompressedLength);
+    try {
+      var length = this.inflate(in, compressedLength, body);
+      if (length != uncompressedLength) {
+        throw new DecoderException(String.format(
+          "Compressed packet body decompressed to %d bytes, expected %d bytes",
+          length,
+          uncompressedLength));
+      }
+      return body.makeReadOnly();
+    } catch (DataFormatException | RuntimeException exception) {
+      body.close();
+      throw exception;
+    } finally {
+      in.skipReadableBytes(compressedLength);
+    }
+  }
+
+  /**
+   * Inflates the given amount of compressed bytes from the components of the input buffer directly into the given
+   * output buffer, without copying them into heap arrays first. The reader offset of the input buffer is not moved.
+   *
+   * @param in               the buffer to read the compressed bytes from.
+   * @param compressedLength the amount of compressed bytes to read from the input buffer.
+   * @param body             the buffer to write the inflated bytes to, must not be a composite buffer.
+   * @return the amount of bytes which were inflated into the output buffer.
+   * @throws NullPointerException if the given input or output buffer is null.
+   * @throws DataFormatException  if the compressed bytes are malformed.
+   */
+  private int inflate(@NonNull Buffer in, int compressedLength, @NonNull Buffer body) throws DataFormatException {
+    this.inflater.reset();
+    try (var outputComponents = body.forEachComponent(); var inputComponents = in.forEachComponent()) {
+      var output = outputComponents.firstWritable();
+      var target = output.writableBuffer();
+
+      var remaining = compressedLength;
+      for (var input = inputComponents.firstReadable(); input != null && remaining > 0; input = input.nextReadable()) {
+        // only pass the bytes of the compressed body to the inflater, the input might hold more data
+        var source = input.readableBuffer();
+        source.limit(source.position() + Math.min(source.remaining(), remaining));
+        remaining -= source.remaining();
+
+        this.inflater.setInput(source);
+        while (target.hasRemaining()) {
+          // the inflater either needs more input or reached the end of the compressed data
+          if (this.inflater.inflate(target) == 0
+            && (this.inflater.needsInput() || this.inflater.finished() || this.inflater.needsDictionary())) {
+            break;
+          }
+        }
+      }
+
+      output.skipWritableBytes(target.position());
+      return target.position();
+    }
+  }
 }
@@ -19,11 +19,16 @@
 import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.network.netty.buffer.NettyImmutableDataBuf;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import io.netty5.buffer.Buffer;
 import io.netty5.channel.ChannelHandlerContext;
-import io.netty5.handler.codec.MessageToByteEncoder;
+import io.netty5.handler.codec.MessageToMessageEncoder;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * An internal implementation of the packet encoder used for client to server communication.
@@ -31,64 +36,153 @@
  * A packet always contains the following data:
  * <ol>
  *   <li>The numeric id of the channel being sent to, by default a var int.
- *   <li>An optional query unique id if the packet is a query.
+ *   <li>A flag byte holding the priority of the packet, if it is compressed and if it is a query.
+ *   <li>An optional var long query id if the packet is a query.
  *   <li>The data transferred to this component, might be empty.
  * </ol>
+ * <p>
+ * Packets with a content which reaches the composite encode threshold are not copied into a new buffer. Instead, only
+ * the header of the packet is written into a small buffer which is then composed with the untouched content buffer.
+ * <p>
+ * If packet compression was negotiated for the channel, the content of packets which reach the compression threshold
+ * is deflated and prefixed with its uncompressed length. Compressed packets are marked by a flag in the header. The
+ * compressed content is only used if it is actually smaller than the uncompressed content.
  *
+ * @see NettyUtil#compositeEncodeThreshold()
  * @since 4.0
  */
 @ApiStatus.Internal
-public final class NettyPacketEncoder extends MessageToByteEncoder<Packet> {
+public final class NettyPacketEncoder extends MessageToMessageEncoder<Packet> {
 
   public static final NettyPacketEncoder INSTANCE = new NettyPacketEncoder();
 
+  static final int FLAG_PRIORITIZED = 0x01;
+  static final int FLAG_COMPRESSED = 0x02;
+  static final int FLAG_QUERY = 0x04;
+
+  private static final LongAdder COPIED_BYTES = new LongAdder();
+  private static final LongAdder COMPOSED_BYTES = new LongAdder();
+
+  private final int compositeThreshold;
+  private final PacketCompression compression;
+
+  private Deflater deflater;
+
   /**
-   * {@inheritDoc}
+   * Constructs a new packet encoder instance using the composite encode threshold of the current environment.
+   *
+   * @see NettyUtil#compositeEncodeThreshold()
    */
-  @Override
-  protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg) {
-    // we allocate 2 booleans (prioritized and isQuery) + content length + channel in advance
-    var bufferLength = 2
-      + msg.content().readableBytes()
-      + NettyUtil.varIntBytes(msg.channel())
-      + NettyUtil.varIntBytes(msg.content().readableBytes());
-    // if the given packet has a query unique id we need two longs for that unique id as well
-    if (msg.uniqueId() != null) {
-      bufferLength += 16;
-    }
+  public NettyPacketEncoder() {
+    this(NettyUtil.compositeEncodeThreshold());
+  }
 
-    // allocate the buffer
-    return ctx.bufferAllocator().allocate(bufferLength);
+  /**
+   * Constructs a new packet encoder instance.
+   *
+   * @param compositeThreshold the content length from which packets get composed instead of copied, negative to always
+   *                           copy the packet content.
+   */
+  public NettyPacketEncoder(int compositeThreshold) {
+    this(compositeThreshold, PacketCompression.DISABLED);
+  }
+
+  /**
+   * Constructs a new packet encoder instance which compresses packets according to the given compression settings.
+   * Note that encoders which compress packets cannot be shared between channels.
+   *
+   * @param compositeThreshold the content length from which packets get composed instead of copied, negative to always
+   *                           copy the packet content.
+   * @param compression        the compression settings negotiated for the channel.
+   * @throws NullPointerException if the given compression settings are null.
+   */
+  public NettyPacketEncoder(int compositeThreshold, @NonNull PacketCompression compression) {
+    this.compositeThreshold = compositeThreshold;
+    this.compression = compression;
+  }
+
+  /**
+   * Get the total amount of bytes which were copied while encoding outbound packets and frames.
+   *
+   * @return the total amount of bytes copied during encoding.
+   */
+  public static long copiedBytes() {
+    return COPIED_BYTES.sum();
+  }
+
+  /**
+   * Get the total amount of bytes which were passed through to the channel without copying them during encoding.
+   *
+   * @return the total amount of bytes composed during encoding.
+   */
+  public static long composedBytes() {
+    return COMPOSED_BYTES.sum();
+  }
+
+  /**
+   * Records that the given amount of bytes were copied or composed during encoding.
+   *
+   * @param bytes    the amount of bytes.
+   * @param composed true if the bytes were composed, false if they were copied.
+   */
+  static void recordEncodedBytes(int bytes, boolean composed) {
+    (composed ? COMPOSED_BYTES : COPIED_BYTES).add(bytes);
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @NonNull Buffer out) {
-    // channel
-    NettyUtil.writeVarInt(out, msg.channel());
-    // packet priority
-    out.writeBoolean(msg.prioritized());
-    // query id (if present)
-    var queryUniqueId = msg.uniqueId();
-    out.writeBoolean(queryUniqueId != null);
-    if (queryUniqueId != null) {
-      out
-        .writeLong(queryUniqueId.getMostSignificantBits())
-        .writeLong(queryUniqueId.getLeastSignificantBits());
-    }
-    // body
+  protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @NonNull List<Object> out) {
     // we only support netty buf
-    var content = ((NettyImmutableDataBuf) msg.content()).buffer();
-    // write information to buffer
-    var length = content.readableBytes();
-    NettyUtil.writeVarInt(out, length);
-    // copy the content and move the cursor of the destination buffer
-    content.copyInto(0, out, out.writerOffset(), length);
-    out.skipWritableBytes(length);
+    var content = (NettyImmutableDataBuf) msg.content();
+    var contentLength = content.buffer().readableBytes();
+
+    // compress the content if requested, null if the content should not or could not be compressed
+    var compressed = this.compression.shouldCompress(contentLength) ? this.compress(ctx, content.buffer()) : null;
+    var bodyLength = compressed == null ? contentLength : compressed.readableBytes();
+
+    // we allocate 1 byte (flags) + body length + channel in advance
+    var headerLength = 1 + NettyUtil.varIntBytes(msg.channel()) + NettyUtil.varIntBytes(bodyLength);
+    // if the given packet has a query id we need a var long for that query id as well
+    if (msg.queryId() != 0) {
+      headerLength += NettyUtil.varLongBytes(msg.queryId());
+    }
+
+    // check if we can pass the content through without copying it
+    var body = compressed == null && this.compositeThreshold >= 0 && contentLength >= this.compositeThreshold
+      ? this.takeContent(content)
+      : null;
+    if (compressed != null) {
+      var header = ctx.bufferAllocator().allocate(headerLength);
+      this.writeHeader(msg, header, bodyLength, true);
+
+      recordEncodedBytes(bodyLength, false);
+      out.add(ctx.bufferAllocator().compose(List.of(header.send(), compressed.send())));
+    } else if (body != null) {
+      var header = ctx.bufferAllocator().allocate(headerLength);
+      this.writeHeader(msg, header, contentLength, false);
+      // composite buffers can only be made of buffers with the same read-only state
+      if (body.readOnly()) {
+        header.makeReadOnly();
+      }
+
+      recordEncodedBytes(contentLength, true);
+      out.add(ctx.bufferAllocator().compose(List.of(header.send(), body.send())));
+    } else {
+      var buffer = ctx.bufferAllocator().allocate(headerLength + contentLength);
+      this.writeHeader(msg, buffer, contentLength, false);
+      // copy the content and move the cursor of the destination buffer
+      var contentBuffer = content.buffer();
+      contentBuffer.copyInto(contentBuffer.readerOffset(), buffer, buffer.writerOffset(), contentLength);
+      buffer.skipWritableBytes(contentLength);
+
+      recordEncodedBytes(contentLength, false);
+      out.add(buffer);
+    }
+
     // release the content of the packet now, don't use the local field to respect if releasing was disabled in the
-    // original buffer.
+    // original buffer. This is a no-op if the content buffer was taken over.
     msg.content().release();
   }
 
@@ -97,6 +191,144 @@ protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @
    */
   @Override
   public boolean isSharable() {
-    return true;
+    // the deflater of the encoder is bound to a single channel
+    return !this.compression.enabled();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handlerRemoved(@NonNull ChannelHandlerContext ctx) throws Exception {
+    if (this.deflater != null) {
+      this.deflater.end();
+      this.deflater = null;
+    }
+    super.handlerRemoved(ctx);
+  }
+
+  /**
+   * Writes the header of the given packet into the given buffer, ending with the length of the packet content.
+   *
+   * @param packet        the packet to write the header of.
+   * @param buffer        the buffer to write the header to.
+   * @param contentLength the length of the content of the packet.
+   * @param compressed    if the content of the packet is compressed.
+   * @throws NullPointerException if the given packet or buffer is null.
+   */
+  private void writeHeader(@NonNull Packet packet, @NonNull Buffer buffer, int contentLength, boolean compressed) {
+    // channel
+    NettyUtil.writeVarInt(buffer, packet.channel());
+    // packet flags (priority, compression and query)
+    var queryId = packet.queryId();
+    var flags = packet.prioritized() ? FLAG_PRIORITIZED : 0;
+    if (compressed) {
+      flags |= FLAG_COMPRESSED;
+    }
+    if (queryId != 0) {
+      flags |= FLAG_QUERY;
+    }
+    buffer.writeByte((byte) flags);
+    // query id (if present)
+    if (queryId != 0) {
+      NettyUtil.writeVarLong(buffer, queryId);
+    }
+    // body length
+    NettyUtil.writeVarInt(buffer, contentLength);
+  }
+
+  /**
+   * Tries to get a buffer holding the readable bytes of the given content without copying them. If the content is
+   * releasable it is owned by the encoder, in which case the readable part of the buffer is split off and taken over.
+   * If releasing was disabled but the buffer is read-only, a read-only view sharing the memory with the content is
+   * returned. In all other cases the content must get copied and null is returned.
+   *
+   * @param content the content to get the readable bytes of.
+   * @return a buffer holding the readable bytes of the content, null if the content must be copied.
+   * @throws NullPointerException if the given content is null.
+   */
+  private @Nullable Buffer takeContent(@NonNull NettyImmutableDataBuf content) {
+    var buffer = content.buffer();
+    if (content.releasable()) {
+      // drop the bytes which were read already, they must not be part of the composed buffer
+      if (buffer.readerOffset() > 0) {
+        buffer.readSplit(0).close();
+      }
+      return buffer.split();
+    } else if (buffer.readOnly()) {
+      // read-only copies of read-only buffers share the memory instead of copying it
+      return buffer.copy(buffer.readerOffset(), buffer.readableBytes(), true);
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * Compresses the readable bytes of the given content buffer without moving its reader offset. The returned buffer
+   * starts with the uncompressed length of the content as a var int, followed by the deflated content.
+   *
+   * @param ctx     the context of the channel the packet is encoded for.
+   * @param content the content buffer to compress.
+   * @return a buffer holding the compressed content, null if compressing did not reduce the content size.
+   * @throws NullPointerException if the given context or content buffer is null.
+   */
+  private @Nullable Buffer compress(@NonNull ChannelHandlerContext ctx, @NonNull Buffer content) {
+    var contentLength = content.readableBytes();
+    var lengthBytes = NettyUtil.varIntBytes(contentLength);
+    // the compressed content must be smaller than the uncompressed content to be worth it
+    var maxCompressedLength = contentLength - lengthBytes - 1;
+    if (maxCompressedLength <= 0) {
+      return null;
+    }
+
+    // lazy init the deflater, it is re-used for all packets encoded by this encoder
+    if (this.deflater == null) {
+      this.deflater = new Deflater(this.compression.level());
+    }
+
+    var buffer = ctx.bufferAllocator().allocate(lengthBytes + maxCompressedLength);
+    NettyUtil.writeVarInt(buffer, contentLength);
+    if (!this.deflate(content, buffer)) {
+      // the output exceeded the maximum length before the deflater was able to finish
+      buffer.close();
+      return null;
+    }
+    return buffer;
+  }
+
+  /**
+   * Deflates the readable bytes of the given content buffer directly into the writable bytes of the given output
+   * buffer, without copying them into heap arrays first. The reader offset of the content buffer is not moved.
+   *
+   * @param content the content buffer to deflate.
+   * @param buffer  the buffer to write the deflated content to, must not be a composite buffer.
+   * @return true if the whole content was deflated into the output buffer, false if the output buffer is too small.
+   * @throws NullPointerException if the given content or output buffer is null.
+   */
+  private boolean deflate(@NonNull Buffer content, @NonNull Buffer buffer) {
+    this.deflater.reset();
+    try (var outputComponents = buffer.forEachComponent(); var inputComponents = content.forEachComponent()) {
+      var output = outputComponents.firstWritable();
+      var target = output.writableBuffer();
+
+      for (var input = inputComponents.firstReadable(); input != null; input = input.nextReadable()) {
+        this.deflater.setInput(input.readableBuffer());
+        while (!this.deflater.needsInput() && target.hasRemaining()) {
+          this.deflater.deflate(target);
+        }
+        // the output reached the maximum length before all input was consumed
+        if (!this.deflater.needsInput()) {
+          return false;
+        }
+      }
+
+      this.deflater.finish();
+      while (!this.deflater.finished() && target.hasRemaining()) {
+        this.deflater.deflate(target);
+      }
+
+      output.skipWritableBytes(target.position());
+      return this.deflater.finished();
+    }
   }
 }
@@ -26,6 +26,26 @@
 @ApiStatus.Internal
 public final class VarInt32FrameDecoder extends ByteToMessageDecoder {
 
+  private final boolean zeroCopy;
+
+  /**
+   * Constructs a new frame decoder instance, using zero-copy decoding if enabled in the current environment.
+   *
+   * @see NettyUtil#zeroCopyDecode()
+   */
+  public VarInt32FrameDecoder() {
+    this(NettyUtil.zeroCopyDecode());
+  }
+
+  /**
+   * Constructs a new frame decoder instance.
+   *
+   * @param zeroCopy if frames should be split from the cumulated input buffer rather than being copied out of it.
+   */
+  public VarInt32FrameDecoder(boolean zeroCopy) {
+    this.zeroCopy = zeroCopy;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -56,9 +76,13 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
 
     // check if the packet data supplied in the buffer is actually at least the transmitted size
     if (in.readableBytes() >= length) {
-      // fire the channel read
-      ctx.fireChannelRead(in.copy(in.readerOffset(), length, true));
-      in.skipReadableBytes(length);
+      // fire the channel read, the split frame takes over the ownership of the frame bytes from the input buffer
+      if (this.zeroCopy) {
+        ctx.fireChannelRead(in.readSplit(length));
+      } else {
+        ctx.fireChannelRead(in.copy(in.readerOffset(), length, true));
+        in.skipReadableBytes(length);
+      }
     } else {
       // reset the reader index, there is still data missing
       in.readerOffset(readerIndex);
@@ -19,31 +19,63 @@
 import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import io.netty5.buffer.Buffer;
 import io.netty5.channel.ChannelHandlerContext;
-import io.netty5.handler.codec.MessageToByteEncoder;
+import io.netty5.handler.codec.MessageToMessageEncoder;
+import java.util.List;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
-public final class VarInt32FramePrepender extends MessageToByteEncoder<Buffer> {
+public final class VarInt32FramePrepender extends MessageToMessageEncoder<Buffer> {
 
   public static final VarInt32FramePrepender INSTANCE = new VarInt32FramePrepender();
 
+  private final int compositeThreshold;
+
   /**
-   * {@inheritDoc}
+   * Constructs a new frame prepender instance using the composite encode threshold of the current environment.
+   *
+   * @see NettyUtil#compositeEncodeThreshold()
    */
-  @Override
-  protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Buffer msg) {
-    var bufferSize = NettyUtil.varIntBytes(msg.readableBytes()) + msg.readableBytes();
-    return ctx.bufferAllocator().allocate(bufferSize);
+  public VarInt32FramePrepender() {
+    this(NettyUtil.compositeEncodeThreshold());
+  }
+
+  /**
+   * Constructs a new frame prepender instance.
+   *
+   * @param compositeThreshold the frame length from which the length prefix gets composed with the frame instead of
+   *                           copying both into a new buffer, negative to always copy.
+   */
+  public VarInt32FramePrepender(int compositeThreshold) {
+    this.compositeThreshold = compositeThreshold;
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer msg, @NonNull Buffer out) {
-    NettyUtil.writeVarInt(out, msg.readableBytes());
-    out.writeBytes(msg);
+  protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer msg, @NonNull List<Object> out) {
+    var length = msg.readableBytes();
+    var prefixLength = NettyUtil.varIntBytes(length);
+    if (this.compositeThreshold >= 0 && length >= this.compositeThreshold) {
+      var prefix = ctx.bufferAllocator().allocate(prefixLength);
+      NettyUtil.writeVarInt(prefix, length);
+      // composite buffers can only be made of buffers with the same read-only state
+      if (msg.readOnly()) {
+        prefix.makeReadOnly();
+      }
+
+      // the split frame takes over the ownership of the message bytes, the emptied message is disposed afterwards
+      NettyPacketEncoder.recordEncodedBytes(length, true);
+      out.add(ctx.bufferAllocator().compose(List.of(prefix.send(), msg.split().send())));
+    } else {
+      var buffer = ctx.bufferAllocator().allocate(prefixLength + length);
+      NettyUtil.writeVarInt(buffer, length);
+      buffer.writeBytes(msg);
+
+      NettyPacketEncoder.recordEncodedBytes(length, false);
+      out.add(buffer);
+    }
   }
 
   /**
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.driver.network.netty.server;
 
 import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.common.io.FileUtil;
 import eu.cloudnetservice.driver.network.DefaultNetworkComponent;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
@@ -33,6 +34,10 @@
 import io.netty5.channel.EventLoopGroup;
 import io.netty5.channel.WriteBufferWaterMark;
 import io.netty5.util.concurrent.Future;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -114,8 +119,12 @@ public boolean sslEnabled() {
    */
   @Override
   public @NonNull Task<Void> addListener(@NonNull HostAndPort hostAndPort) {
-    Task<Void> result = new Task<>();
-    new ServerBootstrap()
+    // a host without a port is the path of a unix domain socket
+    if (!hostAndPort.validPort()) {
+      return this.addDomainSocketListener(hostAndPort);
+    }
+
+    var bootstrap = new ServerBootstrap()
       .channelFactory(NettyUtil.serverChannelFactory())
       .group(this.bossEventLoopGroup, this.workerEventLoopGroup)
       .childHandler(new NettyNetworkServerInitializer(this, hostAndPort))
@@ -124,9 +133,57 @@ public boolean sslEnabled() {
       .childOption(ChannelOption.AUTO_READ, true)
       .childOption(ChannelOption.TCP_NODELAY, true)
       .childOption(ChannelOption.SO_REUSEADDR, true)
-      .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK)
+      .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK);
+    return this.bind(bootstrap, new InetSocketAddress(hostAndPort.host(), hostAndPort.port()), hostAndPort);
+  }
 
-      .bind(hostAndPort.host(), hostAndPort.port())
+  /**
+   * Binds this network server to the unix domain socket located at the host of the given address. A file left behind at
+   * the socket path by a previous run is removed before binding. Clients on the same host can connect to the socket
+   * instead of using the loopback interface, skipping the tcp stack for the connection.
+   *
+   * @param hostAndPort the address holding the path of the socket to bind to.
+   * @return a future completed exceptionally if the bind fails, normally if the bind succeeded.
+   * @throws NullPointerException if the given host and port is null.
+   */
+  protected @NonNull Task<Void> addDomainSocketListener(@NonNull HostAndPort hostAndPort) {
+    if (!NettyUtil.domainSocketSupport()) {
+      return Task.completedTask(new UnsupportedOperationException(String.format(
+        "Transport %s does not support unix domain sockets",
+        NettyUtil.selectedNettyTransport().displayName())));
+    }
+
+    // remove the socket file of a previous run, the bind fails otherwise
+    var socketPath = Path.of(hostAndPort.host());
+    FileUtil.delete(socketPath);
+
+    var bootstrap = new ServerBootstrap()
+      .channelFactory(NettyUtil.domainSocketServerChannelFactory())
+      .group(this.bossEventLoopGroup, this.workerEventLoopGroup)
+      .childHandler(new NettyNetworkServerInitializer(this, hostAndPort))
+
+      .childOption(ChannelOption.AUTO_READ, true)
+      .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, WATER_MARK);
+    return this.bind(bootstrap, UnixDomainSocketAddress.of(socketPath), hostAndPort);
+  }
+
+  /**
+   * Binds the given bootstrap to the given address, registering the close future of the listener once bound.
+   *
+   * @param bootstrap   the bootstrap to bind.
+   * @param address     the socket address to bind to.
+   * @param hostAndPort the address to register the listener for.
+   * @return a future completed exceptionally if the bind fails, normally if the bind succeeded.
+   * @throws NullPointerException if one of the given parameters is null.
+   */
+  private @NonNull Task<Void> bind(
+    @NonNull ServerBootstrap bootstrap,
+    @NonNull SocketAddress address,
+    @NonNull HostAndPort hostAndPort
+  ) {
+    Task<Void> result = new Task<>();
+    bootstrap
+      .bind(address)
       .addListener(future -> {
         if (future.isSuccess()) {
           // ok, we bound successfully
@@ -148,8 +205,12 @@ public boolean sslEnabled() {
   public void close() {
     this.closeChannels();
 
-    for (var entry : this.channelFutures.values()) {
-      entry.cancel();
+    for (var entry : this.channelFutures.entrySet()) {
+      entry.getValue().cancel();
+      // remove the files of bound unix domain sockets
+      if (!entry.getKey().validPort()) {
+        FileUtil.delete(Path.of(entry.getKey().host()));
+      }
     }
 
     this.bossEventLoopGroup.shutdownGracefully();
@@ -55,6 +55,7 @@ public NettyNetworkServerHandler(@NonNull NettyNetworkServer networkServer, @Non
   public void channelActive(@NonNull ChannelHandlerContext ctx) throws Exception {
     this.networkServer.channels.add(this.channel = new NettyNetworkChannel(
       ctx.channel(),
+      this.packetDispatcher(),
       this.networkServer.packetRegistry(),
       this.networkServer.handlerFactory.call(),
       this.serverLocalAddress,
@@ -18,11 +18,9 @@
 
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import java.time.Instant;
-import java.util.UUID;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.ToString;
-import org.jetbrains.annotations.Nullable;
 
 /**
  * The default implementation of a packet. Each subclass of a packet might implement the packet interface themselves,
@@ -39,7 +37,7 @@ public class BasePacket implements Packet {
   protected final boolean prioritized;
   protected final Instant creationStamp;
 
-  protected UUID uniqueId;
+  protected long queryId;
 
   /**
    * Constructs a new base packet instance.
@@ -73,7 +71,7 @@ public BasePacket(int channel, boolean prioritized, @NonNull DataBuf dataBuf) {
   @Override
   public @NonNull Packet constructResponse(@NonNull DataBuf content) {
     var packet = new BasePacket(-1, content);
-    packet.uniqueId(this.uniqueId());
+    packet.queryId(this.queryId());
     return packet;
   }
 
@@ -81,16 +79,16 @@ public BasePacket(int channel, boolean prioritized, @NonNull DataBuf dataBuf) {
    * {@inheritDoc}
    */
   @Override
-  public @Nullable UUID uniqueId() {
-    return this.uniqueId;
+  public long queryId() {
+    return this.queryId;
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void uniqueId(@Nullable UUID uniqueId) {
-    this.uniqueId = uniqueId;
+  public void queryId(long queryId) {
+    this.queryId = queryId;
   }
 
   /**
@@ -18,9 +18,7 @@
 
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import java.time.Instant;
-import java.util.UUID;
 import lombok.NonNull;
-import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents a packet with no content in it, throwing an exception when trying to construct a response for or trying to
@@ -51,15 +49,15 @@ private EmptyPacket() {
    * {@inheritDoc}
    */
   @Override
-  public @Nullable UUID uniqueId() {
-    return null;
+  public long queryId() {
+    return 0;
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void uniqueId(@Nullable UUID uniqueId) {
+  public void queryId(long queryId) {
     // no-op
   }
 
@@ -29,7 +29,7 @@
  * <ol>
  *   <li>The channel id of the channel to send the packet to, for later identification. (Required)
  *   <li>The data buf, representing the content of the packet which gets transferred. (Required)
- *   <li>The query unique id for identification of the query when a network component responds. (Optional)
+ *   <li>The query id for identification of the query when a network component responds. (Optional)
  * </ol>
  * <p>
  * A packet channel id must be unique within the network and represents the first identification point when receiving a
@@ -37,9 +37,10 @@
  * which must get called in order to process the packet. Later identification in more detail can be made by reading from
  * the content of the buffer.
  * <p>
- * The query unique id of the packet is only set in two cases, either if the packet sender expects a response from the
- * component to which the packet got sent, or if the packet is a response to a query, in which case the packet unique id
- * should be -1.
+ * The query id of the packet is only set in two cases, either if the packet sender expects a response from the
+ * component to which the packet got sent, or if the packet is a response to a query, in which case the packet channel
+ * id should be -1. Query ids are assigned from a sequence of the channel the query is sent to, a query id of 0
+ * indicates that the packet is neither a query nor a response to a query.
  *
  * @since 4.0
  */
@@ -60,7 +61,7 @@ public interface Packet {
    * query is very common. The resulting packet will
    * <ol>
    *   <li>have a packet id set to -1 for query identification.
-   *   <li>have the same query unique id as this packet has.
+   *   <li>have the same query id as this packet has.
    *   <li>have the given content buffer as the content set.
    * </ol>
    *
@@ -71,23 +72,52 @@ public interface Packet {
   @NonNull Packet constructResponse(@NonNull DataBuf content);
 
   /**
-   * Get the unique id of this packet. The unique id of the packet is only set when this packet is a query packet and
+   * Get the query id of this packet. The query id of the packet is only set when this packet is a query packet and
    * expects a response. In this case the response to this packet should have the packet id set to -1 and the same query
-   * unique id as this packet has. Normally a response is constructed by {@link #constructResponse(DataBuf)}.
+   * id as this packet has. Normally a response is constructed by {@link #constructResponse(DataBuf)}.
    *
-   * @return the unique id of this packet, or null if this packet is not a query packet.
+   * @return the query id of this packet, or 0 if this packet is not a query packet.
    */
-  @Nullable UUID uniqueId();
+  long queryId();
 
   /**
-   * Sets the unique id of this packet. If the unique id is set and the packet is sent the packet will be handled as a
-   * query packet. This method should not be used directly to set or change the unique id of a packet. The unique id
+   * Sets the query id of this packet. If the query id is set and the packet is sent the packet will be handled as a
+   * query packet. This method should not be used directly to set or change the query id of a packet. The query id
    * handling is made by the query manager used to send the packet as a query.
    *
-   * @param uniqueId the new unique id of this packet or null if this packet is not a query packet.
+   * @param queryId the new query id of this packet or 0 if this packet is not a query packet.
    */
   @ApiStatus.Internal
-  void uniqueId(@Nullable UUID uniqueId);
+  void queryId(long queryId);
+
+  /**
+   * Get the query id of this packet as a unique id, for compatibility with code written before queries were identified
+   * by a sequence of numeric ids. The query id is stored in the least significant bits of the returned unique id.
+   *
+   * @return the query id of this packet as a unique id, or null if this packet is not a query packet.
+   * @deprecated queries are identified by numeric ids now, use {@link #queryId()} instead.
+   */
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
+  default @Nullable UUID uniqueId() {
+    var queryId = this.queryId();
+    return queryId == 0 ? null : new UUID(0, queryId);
+  }
+
+  /**
+   * Sets the query id of this packet from the given unique id, for compatibility with code written before queries were
+   * identified by a sequence of numeric ids. Only the least significant bits of the given unique id are used as query
+   * id, which means that only unique ids previously returned by {@link #uniqueId()} are converted losslessly.
+   *
+   * @param uniqueId the unique id holding the new query id of this packet or null if this packet is not a query packet.
+   * @deprecated queries are identified by numeric ids now, use {@link #queryId(long)} instead.
+   */
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
+  @ApiStatus.Internal
+  default void uniqueId(@Nullable UUID uniqueId) {
+    this.queryId(uniqueId == null ? 0 : uniqueId.getLeastSignificantBits());
+  }
 
   /**
    * Get the channel id to which this packet was sent. Listeners can be registered to that channel and will be notified
@@ -121,6 +151,17 @@ public interface Packet {
    * Get the content of this packet. This method call always returns the same buffer to the caller, handling the buffer
    * release and transactional reading is crucial to not run into exceptions when multiple handlers are handling the
    * same packet.
+   * <p>
+   * When zero-copy decoding is enabled, the content of a received packet shares its memory with the received data and
+   * is owned by the network component which received it. Listeners may then only read from the content while being
+   * called, the content gets released once all listeners were called. A listener which needs the content after
+   * returning must take over the ownership by calling {@link DataBuf#disableReleasing()} and is then responsible to
+   * release the content using {@code enableReleasing().release()} once done. A leaked content might keep much more
+   * memory alive than its own size in that mode. Without zero-copy decoding the content is a copy of the received data
+   * which listeners may keep or pass on after returning.
+   * <p>
+   * The content of a query response is owned by the sender of the query, which should read it fully or release it
+   * explicitly. Releasing an already released content has no effect.
    *
    * @return the content of this packet.
    */
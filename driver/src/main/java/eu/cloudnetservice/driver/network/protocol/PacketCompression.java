@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.protocol;
+
+import java.util.zip.Deflater;
+
+/**
+ * Represents the compression settings of the packets sent through a network channel. Compression is negotiated during
+ * the authorization of a channel, a component never sends compressed packets to a component which did not announce
+ * that it is able to decompress them. Packets with a content smaller than the threshold are never compressed, as the
+ * overhead of compressing them outweighs the saved bandwidth.
+ *
+ * @param enabled   if packet compression is enabled.
+ * @param threshold the content length in bytes from which packets get compressed.
+ * @param level     the deflate compression level to use, between 0 and 9 or -1 for the default compression level.
+ * @since 4.0
+ */
+public record PacketCompression(boolean enabled, int threshold, int level) {
+
+  /**
+   * The compression settings which disable packet compression.
+   */
+  public static final PacketCompression DISABLED = new PacketCompression(false, 0, Deflater.DEFAULT_COMPRESSION);
+
+  /**
+   * Get if a packet with a content of the given length should get compressed according to these settings.
+   *
+   * @param contentLength the length of the content of the packet.
+   * @return true if the packet should get compressed, false otherwise.
+   */
+  public boolean shouldCompress(int contentLength) {
+    return this.enabled && contentLength >= this.threshold;
+  }
+}
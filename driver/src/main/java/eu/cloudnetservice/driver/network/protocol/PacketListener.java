@@ -33,6 +33,10 @@ public interface PacketListener {
    * Handles the incoming packet. A packet handle should be release-safe and transactional to preserve the content of
    * the packet for listeners which are following in the chain. If a packet listener is not doing that, it might lead to
    * unexpected exceptions in other packet listener implementations for the same packet.
+   * <p>
+   * When zero-copy decoding is enabled, the content of the packet is released once all listeners were called. A
+   * listener which keeps the content or hands it to another thread must take over its ownership first, see
+   * {@link Packet#content()}.
    *
    * @param channel the channel from which the original packet came.
    * @param packet  the packet which was received.
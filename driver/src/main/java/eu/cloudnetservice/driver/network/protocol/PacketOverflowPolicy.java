@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.protocol;
+
+/**
+ * The policies which can be applied when a packet is sent asynchronously into a channel whose outbound queue is full.
+ * The outbound queue of a channel fills up when the other side of the channel is not reading the packets as fast as
+ * they are sent, for example because its network connection is slow or because it is overloaded.
+ *
+ * @since 4.0
+ */
+public enum PacketOverflowPolicy {
+
+  /**
+   * Blocks the sending thread until there is space in the outbound queue again, or until the channel gets closed. The
+   * thread is blocked for a limited time only (5 seconds by default), the packet is rejected like with {@link #FAIL} if
+   * there is still no space afterwards. When called from the event loop of the channel the packet is queued regardless
+   * of the capacity of the queue, as blocking the event loop would prevent the queue from draining.
+   */
+  WAIT,
+  /**
+   * Drops the oldest packet from the outbound queue which is neither prioritized nor part of a query to make space for
+   * the new packet. The send task of the dropped packet is completed with a {@link PacketQueueFullException}. If there
+   * is no packet which can be dropped, the new packet is rejected instead.
+   */
+  DROP_OLDEST,
+  /**
+   * Rejects the new packet, completing its send task with a {@link PacketQueueFullException}.
+   */
+  FAIL
+}
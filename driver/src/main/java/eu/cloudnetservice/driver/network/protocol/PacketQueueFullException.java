@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.protocol;
+
+import lombok.NonNull;
+
+/**
+ * A runtime exception used to complete the send task of a packet which was either rejected or dropped because the
+ * outbound queue of the target channel was full.
+ *
+ * @since 4.0
+ * @see PacketOverflowPolicy
+ */
+public class PacketQueueFullException extends RuntimeException {
+
+  /**
+   * Constructs a new packet queue full exception instance.
+   *
+   * @param packet  the packet which was rejected or dropped.
+   * @param dropped true if the packet was dropped from the queue, false if it was rejected.
+   * @throws NullPointerException if the given packet is null.
+   */
+  public PacketQueueFullException(@NonNull Packet packet, boolean dropped) {
+    super(String.format(
+      "Packet on channel %d was %s because the outbound queue is full",
+      packet.channel(),
+      dropped ? "dropped" : "rejected"), null, false, false);
+  }
+}
@@ -18,10 +18,12 @@
 
 import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.stats.QueryLatencyHistogram;
 import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
 import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
@@ -49,44 +51,67 @@ public interface QueryPacketManager {
   @NonNull NetworkChannel networkChannel();
 
   /**
-   * Get all registered queries which are currently waiting for a response.
+   * Get a snapshot of all registered queries which are currently waiting for a response, mapped by their query id.
+   * <p>
+   * Note: queries were previously identified by unique ids, in which case this map was keyed by those. The query ids
+   * of the keys can be converted to the former unique id representation using {@code new UUID(0, queryId)}.
    *
    * @return all waiting queries.
    */
   @NonNull
-  @UnmodifiableView Map<UUID, Task<Packet>> waitingHandlers();
+  @UnmodifiableView Map<Long, Task<Packet>> waitingHandlers();
 
   /**
-   * Checks if a waiting handler is registered (and therefore still waiting for a result) for the given unique id.
+   * Get the amount of queries which are currently waiting for a response. Unlike {@link #waitingHandlers()} this method
+   * does not copy the waiting handlers.
    *
-   * @param queryUniqueId the unique id of the query to check for.
+   * @return the amount of waiting queries.
+   */
+  int waitingHandlerCount();
+
+  /**
+   * Get a snapshot of the round trip latencies of all queries sent by this manager which received a response.
+   *
+   * @return a snapshot of the query round trip latencies.
+   */
+  @NonNull QueryLatencyHistogram queryLatency();
+
+  /**
+   * Checks if a waiting handler is registered (and therefore still waiting for a result) for the given query id.
+   *
+   * @param queryId the id of the query to check for.
    * @return true if the handler is still registered, false otherwise.
-   * @throws NullPointerException if the given unique id is null.
    */
-  boolean hasWaitingHandler(@NonNull UUID queryUniqueId);
+  boolean hasWaitingHandler(long queryId);
 
   /**
-   * Unregisters the waiting handler by the given unique id.
+   * Unregisters the waiting handler by the given query id.
    *
-   * @param queryUniqueId the unique id of the handler to unregister.
+   * @param queryId the id of the query to unregister the handler of.
    * @return true if the handler was unregistered, false otherwise.
-   * @throws NullPointerException if the given handler unique id is null.
    */
-  boolean unregisterWaitingHandler(@NonNull UUID queryUniqueId);
+  boolean unregisterWaitingHandler(long queryId);
 
   /**
-   * Gets, but does not remove the waiting handler for the given unique id. Null if no handler with the given unique id
-   * is still registered.
+   * Gets and removes the waiting handler for the given query id. Null if no handler with the given query id is still
+   * registered. The round trip latency of the query is recorded when its handler gets removed by this method.
    *
-   * @param queryUniqueId the unique id of the handler to get.
-   * @return the waiting handler associated with the given unique id, null if no handler with that id is waiting.
-   * @throws NullPointerException if the given unique id is null.
+   * @param queryId the id of the query to get the handler of.
+   * @return the waiting handler associated with the given query id, null if no handler with that id is waiting.
+   */
+  @Nullable Task<Packet> waitingHandler(long queryId);
+
+  /**
+   * Get the next query id from the query id sequence of the associated channel. The ids assigned by both sides of a
+   * channel never collide with each other.
+   *
+   * @return the next query id of the associated channel.
    */
-  @Nullable Task<Packet> waitingHandler(@NonNull UUID queryUniqueId);
+  long nextQueryId();
 
   /**
    * Sends a query packet to the associated network channel, automatically selecting a query id for the packet and
-   * setting it. Equivalent to {@code manager.sendQueryPacket(packet, UUID.randomUUID()}. An existing query unique id in
+   * setting it. Equivalent to {@code manager.sendQueryPacket(packet, manager.nextQueryId()}. An existing query id in
    * the packet will get overridden.
    *
    * @param packet the packet to convert to a query packet and send to the channel.
@@ -97,12 +122,72 @@ public interface QueryPacketManager {
 
   /**
    * Sends a query packet to the associated network channel, automatically setting the id in the packet. An existing
-   * query unique id in the packet will get overridden.
+   * query id in the packet will get overridden.
+   *
+   * @param packet  the packet to convert to a query packet and send to the channel.
+   * @param queryId the query id to use when sending the packet, must not be 0.
+   * @return a future completed with either the response to the packet or an empty packet if the waiting time expires.
+   * @throws NullPointerException     if the given packet is null.
+   * @throws IllegalArgumentException if the given query id is 0.
+   */
+  @NonNull Task<Packet> sendQueryPacket(@NonNull Packet packet, long queryId);
+
+  /**
+   * Checks if a waiting handler is registered (and therefore still waiting for a result) for the given query.
+   *
+   * @param queryUniqueId the query id as unique id, as returned by {@link Packet#uniqueId()}.
+   * @return true if the handler is still registered, false otherwise.
+   * @throws NullPointerException if the given unique id is null.
+   * @deprecated queries are identified by numeric ids now, use {@link #hasWaitingHandler(long)} instead.
+   */
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
+  default boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
+    return this.hasWaitingHandler(queryUniqueId.getLeastSignificantBits());
+  }
+
+  /**
+   * Unregisters the waiting handler of the given query.
+   *
+   * @param queryUniqueId the query id as unique id, as returned by {@link Packet#uniqueId()}.
+   * @return true if the handler was unregistered, false otherwise.
+   * @throws NullPointerException if the given unique id is null.
+   * @deprecated queries are identified by numeric ids now, use {@link #unregisterWaitingHandler(long)} instead.
+   */
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
+  default boolean unregisterWaitingHandler(@NonNull UUID queryUniqueId) {
+    return this.unregisterWaitingHandler(queryUniqueId.getLeastSignificantBits());
+  }
+
+  /**
+   * Gets and removes the waiting handler of the given query. Null if no handler of the given query is still registered.
+   *
+   * @param queryUniqueId the query id as unique id, as returned by {@link Packet#uniqueId()}.
+   * @return the waiting handler associated with the given query, null if no handler of the query is waiting.
+   * @throws NullPointerException if the given unique id is null.
+   * @deprecated queries are identified by numeric ids now, use {@link #waitingHandler(long)} instead.
+   */
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
+  default @Nullable Task<Packet> waitingHandler(@NonNull UUID queryUniqueId) {
+    return this.waitingHandler(queryUniqueId.getLeastSignificantBits());
+  }
+
+  /**
+   * Sends a query packet to the associated network channel. Arbitrary unique ids could collide with the query ids
+   * assigned by the channel, therefore the given unique id is ignored and the next query id of the channel is used
+   * instead. The assigned id can be obtained from the packet after calling this method.
    *
    * @param packet        the packet to convert to a query packet and send to the channel.
-   * @param queryUniqueId the unique id to use when sending the packet.
+   * @param queryUniqueId the formerly used query unique id, ignored.
    * @return a future completed with either the response to the packet or an empty packet if the waiting time expires.
-   * @throws NullPointerException if either the given packet or unique id is null.
+   * @throws NullPointerException if the given packet or unique id is null.
+   * @deprecated query ids are assigned from a sequence of the channel now, use {@link #sendQueryPacket(Packet)}.
    */
-  @NonNull Task<Packet> sendQueryPacket(@NonNull Packet packet, @NonNull UUID queryUniqueId);
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
+  default @NonNull Task<Packet> sendQueryPacket(@NonNull Packet packet, @NonNull UUID queryUniqueId) {
+    return this.sendQueryPacket(packet);
+  }
 }
@@ -16,25 +16,29 @@
 
 package eu.cloudnetservice.driver.network.protocol.defaults;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.RemovalListener;
-import com.github.benmanes.caffeine.cache.Scheduler;
 import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketOverflowPolicy;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import eu.cloudnetservice.driver.network.stats.QueryLatencyHistogram;
+import eu.cloudnetservice.driver.network.stats.QueryLatencyRecorder;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 /**
  * The default implementation of the query manager.
+ * <p>
+ * Query ids are taken from a sequence of the associated channel. The side of the channel which was provided by a client
+ * uses odd ids, the other side even ids, which ensures that the ids of queries sent from both sides never collide. The
+ * waiting queries are held in a map keyed by the primitive query id and expire using a shared timing wheel.
  *
  * @since 4.0
  */
@@ -43,8 +47,11 @@ public class DefaultQueryPacketManager implements QueryPacketManager {
   private static final Duration DEFAULT_TIMEOUT_DURATION = Duration.ofSeconds(30);
 
   private final Duration queryTimeout;
+  private final long queryTimeoutNanos;
   private final NetworkChannel networkChannel;
-  private final Cache<UUID, Task<Packet>> waitingHandlers;
+  private final AtomicLong queryIdSequence;
+  private final LongObjectMap<PendingQuery> waitingHandlers;
+  private final QueryLatencyRecorder queryLatencyRecorder;
 
   /**
    * Constructs a new query manager for the given network channel and a timeout of 30 seconds for each query.
@@ -66,12 +73,11 @@ public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel) {
   public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel, @NonNull Duration queryTimeout) {
     this.networkChannel = networkChannel;
     this.queryTimeout = queryTimeout;
-    // construct the cache based on the given information
-    this.waitingHandlers = Caffeine.newBuilder()
-      .expireAfterWrite(queryTimeout)
-      .scheduler(Scheduler.systemScheduler())
-      .removalListener(this.newRemovalListener())
-      .build();
+    this.queryTimeoutNanos = queryTimeout.toNanos();
+    this.waitingHandlers = new LongObjectMap<>();
+    this.queryLatencyRecorder = new QueryLatencyRecorder();
+    // odd ids (starting at 1) for the client side of the channel, even ids (starting at 2) for the other side
+    this.queryIdSequence = new AtomicLong(networkChannel.clientProvidedChannel() ? -1 : 0);
   }
 
   /**
@@ -94,37 +100,72 @@ public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel, @NonNul
    * {@inheritDoc}
    */
   @Override
-  public @NonNull @UnmodifiableView Map<UUID, Task<Packet>> waitingHandlers() {
-    return Collections.unmodifiableMap(this.waitingHandlers.asMap());
+  public @NonNull @UnmodifiableView Map<Long, Task<Packet>> waitingHandlers() {
+    synchronized (this.waitingHandlers) {
+      return Collections.unmodifiableMap(this.waitingHandlers.toMap());
+    }
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
-    return this.waitingHandlers.getIfPresent(queryUniqueId) != null;
+  public int waitingHandlerCount() {
+    synchronized (this.waitingHandlers) {
+      return this.waitingHandlers.size();
+    }
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public boolean unregisterWaitingHandler(@NonNull UUID queryUniqueId) {
-    this.waitingHandlers.invalidate(queryUniqueId);
-    return true;
+  public @NonNull QueryLatencyHistogram queryLatency() {
+    return this.queryLatencyRecorder.snapshot();
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public @Nullable Task<Packet> waitingHandler(@NonNull UUID queryUniqueId) {
-    var task = this.waitingHandlers.getIfPresent(queryUniqueId);
-    if (task != null) {
-      this.waitingHandlers.invalidate(queryUniqueId);
+  public boolean hasWaitingHandler(long queryId) {
+    synchronized (this.waitingHandlers) {
+      return this.waitingHandlers.get(queryId) != null;
     }
-    return task;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean unregisterWaitingHandler(long queryId) {
+    synchronized (this.waitingHandlers) {
+      return this.waitingHandlers.remove(queryId) != null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @Nullable Task<Packet> waitingHandler(long queryId) {
+    PendingQuery query;
+    synchronized (this.waitingHandlers) {
+      query = this.waitingHandlers.remove(queryId);
+    }
+
+    if (query != null) {
+      this.queryLatencyRecorder.record(System.nanoTime() - query.sentNanos);
+    }
+    return query;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long nextQueryId() {
+    return this.queryIdSequence.addAndGet(2);
   }
 
   /**
@@ -132,35 +173,70 @@ public boolean unregisterWaitingHandler(@NonNull UUID queryUniqueId) {
    */
   @Override
   public @NonNull Task<Packet> sendQueryPacket(@NonNull Packet packet) {
-    return this.sendQueryPacket(packet, UUID.randomUUID());
+    return this.sendQueryPacket(packet, this.nextQueryId());
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public @NonNull Task<Packet> sendQueryPacket(@NonNull Packet packet, @NonNull UUID queryUniqueId) {
+  public @NonNull Task<Packet> sendQueryPacket(@NonNull Packet packet, long queryId) {
+    if (queryId == 0) {
+      throw new IllegalArgumentException("0 is not a valid query id");
+    }
+
     // create & register the result handler
-    var task = new Task<Packet>();
-    this.waitingHandlers.put(queryUniqueId, task);
-    // set the unique id of the packet and send
-    packet.uniqueId(queryUniqueId);
-    this.networkChannel.sendPacketSync(packet);
+    var task = new PendingQuery(System.nanoTime());
+    synchronized (this.waitingHandlers) {
+      this.waitingHandlers.put(queryId, task);
+    }
+    QueryTimeoutWheel.INSTANCE.schedule(this, queryId, this.queryTimeoutNanos);
+    // set the query id of the packet and send, waiting for a limited time if the outbound queue of the channel is full
+    packet.queryId(queryId);
+    this.networkChannel.sendPacketAsync(packet, PacketOverflowPolicy.WAIT).exceptionally(throwable -> {
+      // the query will never get a response if the packet could not be written
+      if (this.unregisterWaitingHandler(queryId)) {
+        task.completeExceptionally(throwable);
+      }
+      return null;
+    });
     // return the created handler
     return task;
   }
 
   /**
-   * Constructs a new removal listener for the cache, completing the future of a query packet with a timeout exception
-   * when evicted from the cache.
+   * Expires the query with the given id, completing its future with a timeout exception if the query is still waiting
+   * for a response. The future is completed asynchronously to not block the timing wheel with its dependents.
    *
-   * @return a new removal listeners for unanswered packet future completion.
+   * @param queryId the id of the query to expire.
    */
-  protected @NonNull RemovalListener<UUID, Task<Packet>> newRemovalListener() {
-    return ($, value, cause) -> {
-      if (cause.wasEvicted() && value != null) {
-        value.completeExceptionally(new TimeoutException());
-      }
-    };
+  void expireQuery(long queryId) {
+    PendingQuery query;
+    synchronized (this.waitingHandlers) {
+      query = this.waitingHandlers.remove(queryId);
+    }
+
+    if (query != null) {
+      ForkJoinPool.commonPool().execute(() -> query.completeExceptionally(new TimeoutException()));
+    }
+  }
+
+  /**
+   * A task waiting for the response to a query, holding the time when the query was sent.
+   *
+   * @since 4.0
+   */
+  private static final class PendingQuery extends Task<Packet> {
+
+    private final long sentNanos;
+
+    /**
+     * Constructs a new pending query instance.
+     *
+     * @param sentNanos the value of {@link System#nanoTime()} when the query was sent.
+     */
+    private PendingQuery(long sentNanos) {
+      this.sentNanos = sentNanos;
+    }
   }
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.protocol.defaults;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A minimal open addressing hash map using primitive long keys, avoiding the boxing of the keys and the allocation of
+ * entry objects on insertion. Entries are located using linear probing, removed entries are filled by shifting back the
+ * following entries of the same probe sequence instead of leaving tombstones behind. This map is not thread-safe.
+ *
+ * @param <V> the type of values stored in the map.
+ * @since 4.0
+ */
+final class LongObjectMap<V> {
+
+  private static final int DEFAULT_CAPACITY = 32;
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  private long[] keys;
+  private Object[] values;
+
+  private int size;
+  private int shift;
+  private int mask;
+
+  /**
+   * Constructs a new, empty map with the default capacity.
+   */
+  public LongObjectMap() {
+    this.allocate(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Get the value which is mapped to the given key.
+   *
+   * @param key the key to get the value of.
+   * @return the value mapped to the given key, null if no value is mapped to the key.
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable V get(long key) {
+    var index = this.slot(key);
+    while (this.values[index] != null) {
+      if (this.keys[index] == key) {
+        return (V) this.values[index];
+      }
+      index = (index + 1) & this.mask;
+    }
+    return null;
+  }
+
+  /**
+   * Maps the given value to the given key, replacing the value which was previously mapped to the key.
+   *
+   * @param key   the key to map the value to.
+   * @param value the value to map to the key.
+   * @return the value which was previously mapped to the key, null if no value was mapped to the key.
+   * @throws NullPointerException if the given value is null.
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable V put(long key, @NonNull V value) {
+    var index = this.slot(key);
+    while (this.values[index] != null) {
+      if (this.keys[index] == key) {
+        var previous = (V) this.values[index];
+        this.values[index] = value;
+        return previous;
+      }
+      index = (index + 1) & this.mask;
+    }
+
+    this.keys[index] = key;
+    this.values[index] = value;
+    // keep the load factor at 0.5 at most to keep the probe sequences short
+    if (++this.size > (this.mask + 1) >>> 1) {
+      this.rehash((this.mask + 1) << 1);
+    }
+    return null;
+  }
+
+  /**
+   * Removes the value which is mapped to the given key.
+   *
+   * @param key the key to remove the value of.
+   * @return the value which was mapped to the key, null if no value was mapped to the key.
+   */
+  @SuppressWarnings("unchecked")
+  public @Nullable V remove(long key) {
+    var index = this.slot(key);
+    while (this.values[index] != null) {
+      if (this.keys[index] == key) {
+        var previous = (V) this.values[index];
+        this.shiftBack(index);
+        this.size--;
+        return previous;
+      }
+      index = (index + 1) & this.mask;
+    }
+    return null;
+  }
+
+  /**
+   * Get the amount of entries in this map.
+   *
+   * @return the amount of entries in this map.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Copies all entries of this map into a new boxed map.
+   *
+   * @return a new map containing all entries of this map.
+   */
+  @SuppressWarnings("unchecked")
+  public @NonNull Map<Long, V> toMap() {
+    Map<Long, V> result = new HashMap<>(this.size);
+    for (var index = 0; index < this.values.length; index++) {
+      if (this.values[index] != null) {
+        result.put(this.keys[index], (V) this.values[index]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get the home slot of the given key, which is the first slot of its probe sequence.
+   *
+   * @param key the key to get the slot of.
+   * @return the home slot of the given key.
+   */
+  private int slot(long key) {
+    return (int) ((key * HASH_MULTIPLIER) >>> this.shift);
+  }
+
+  /**
+   * Fills the slot at the given index by moving back the following entries of the probe sequence which are allowed to
+   * be located in the slot, until an empty slot is reached.
+   *
+   * @param gap the index of the slot to fill.
+   */
+  private void shiftBack(int gap) {
+    var index = gap;
+    while (true) {
+      index = (index + 1) & this.mask;
+      if (this.values[index] == null) {
+        break;
+      }
+
+      // the entry can only be moved if its home slot is not located cyclically between the gap and its current slot
+      var home = this.slot(this.keys[index]);
+      var movable = index > gap ? (home <= gap || home > index) : (home <= gap && home > index);
+      if (movable) {
+        this.keys[gap] = this.keys[index];
+        this.values[gap] = this.values[index];
+        gap = index;
+      }
+    }
+
+    this.keys[gap] = 0;
+    this.values[gap] = null;
+  }
+
+  /**
+   * Allocates new, empty backing arrays with the given capacity.
+   *
+   * @param capacity the new capacity, must be a power of two.
+   */
+  private void allocate(int capacity) {
+    this.keys = new long[capacity];
+    this.values = new Object[capacity];
+    this.mask = capacity - 1;
+    this.shift = Long.numberOfLeadingZeros(capacity - 1);
+  }
+
+  /**
+   * Moves all entries of this map into new backing arrays with the given capacity.
+   *
+   * @param capacity the new capacity, must be a power of two.
+   */
+  private void rehash(int capacity) {
+    var oldKeys = this.keys;
+    var oldValues = this.values;
+    this.allocate(capacity);
+
+    for (var index = 0; index < oldValues.length; index++) {
+      if (oldValues[index] != null) {
+        var slot = this.slot(oldKeys[index]);
+        while (this.values[slot] != null) {
+          slot = (slot + 1) & this.mask;
+        }
+
+        this.keys[slot] = oldKeys[index];
+        this.values[slot] = oldValues[index];
+      }
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.protocol.defaults;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.NonNull;
+
+/**
+ * A hashed timing wheel which expires the queries of all query managers once their timeout was reached. Each bucket
+ * of the wheel holds the queries whose deadline falls into one tick of the wheel, queries with a deadline beyond one
+ * rotation of the wheel are kept in their bucket until the rotation of their deadline was reached.
+ * <p>
+ * Registering a query only appends the query id to the arrays backing the target bucket, no objects are allocated for a
+ * single registration. Queries which were answered before their deadline are not removed from the wheel, the query
+ * manager simply ignores the expiration of queries which are no longer waiting for a response.
+ *
+ * @since 4.0
+ */
+final class QueryTimeoutWheel {
+
+  static final QueryTimeoutWheel INSTANCE = new QueryTimeoutWheel(TimeUnit.MILLISECONDS.toNanos(50), 512);
+
+  private final long tickNanos;
+  private final long startNanos;
+  private final Bucket[] buckets;
+
+  /**
+   * Constructs a new timing wheel and starts the worker thread of it.
+   *
+   * @param tickNanos the duration of one tick in nanoseconds.
+   * @param size      the amount of buckets of the wheel, must be a power of two.
+   */
+  private QueryTimeoutWheel(long tickNanos, int size) {
+    this.tickNanos = tickNanos;
+    this.startNanos = System.nanoTime();
+    this.buckets = new Bucket[size];
+    for (var i = 0; i < size; i++) {
+      this.buckets[i] = new Bucket();
+    }
+
+    var worker = new Thread(this::run, "Query-Timeout-Wheel");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Schedules the expiration of the given query of the given manager after the given timeout.
+   *
+   * @param manager      the manager to which the query belongs.
+   * @param queryId      the id of the query to expire.
+   * @param timeoutNanos the time in nanoseconds after which the query should expire.
+   * @throws NullPointerException if the given manager is null.
+   */
+  void schedule(@NonNull DefaultQueryPacketManager manager, long queryId, long timeoutNanos) {
+    var deadline = System.nanoTime() - this.startNanos + timeoutNanos;
+    // round up to the next tick to never expire a query before its deadline
+    var tick = (deadline + this.tickNanos - 1) / this.tickNanos;
+    this.buckets[(int) (tick & (this.buckets.length - 1))].add(manager, queryId, deadline);
+  }
+
+  /**
+   * Runs the worker of this wheel, expiring the queries of the bucket of the current tick each tick.
+   */
+  private void run() {
+    var tick = 0L;
+    while (true) {
+      // wait for the next tick to begin
+      var tickDeadline = (tick + 1) * this.tickNanos;
+      var now = System.nanoTime() - this.startNanos;
+      while (now < tickDeadline) {
+        LockSupport.parkNanos(tickDeadline - now);
+        now = System.nanoTime() - this.startNanos;
+      }
+
+      tick++;
+      this.buckets[(int) (tick & (this.buckets.length - 1))].expire(now);
+    }
+  }
+
+  /**
+   * A bucket of the wheel, holding the queries which expire during the ticks of the bucket in parallel arrays.
+   *
+   * @since 4.0
+   */
+  private static final class Bucket {
+
+    private DefaultQueryPacketManager[] managers = new DefaultQueryPacketManager[16];
+    private long[] queryIds = new long[16];
+    private long[] deadlines = new long[16];
+    private int size;
+
+    /**
+     * Adds the given query to this bucket.
+     *
+     * @param manager  the manager to which the query belongs.
+     * @param queryId  the id of the query.
+     * @param deadline the deadline of the query, relative to the start of the wheel.
+     */
+    private synchronized void add(@NonNull DefaultQueryPacketManager manager, long queryId, long deadline) {
+      if (this.size == this.queryIds.length) {
+        var capacity = this.size << 1;
+        this.managers = Arrays.copyOf(this.managers, capacity);
+        this.queryIds = Arrays.copyOf(this.queryIds, capacity);
+        this.deadlines = Arrays.copyOf(this.deadlines, capacity);
+      }
+
+      this.managers[this.size] = manager;
+      this.queryIds[this.size] = queryId;
+      this.deadlines[this.size] = deadline;
+      this.size++;
+    }
+
+    /**
+     * Expires all queries of this bucket whose deadline was reached, compacting the remaining queries.
+     *
+     * @param now the current time, relative to the start of the wheel.
+     */
+    private synchronized void expire(long now) {
+      var remaining = 0;
+      for (var i = 0; i < this.size; i++) {
+        if (this.deadlines[i] <= now) {
+          this.managers[i].expireQuery(this.queryIds[i]);
+        } else {
+          // the deadline is in a later rotation of the wheel
+          this.managers[remaining] = this.managers[i];
+          this.queryIds[remaining] = this.queryIds[i];
+          this.deadlines[remaining] = this.deadlines[i];
+          remaining++;
+        }
+      }
+
+      // release the references to the managers of the expired queries
+      Arrays.fill(this.managers, remaining, this.size, null);
+      this.size = remaining;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc;
+
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.rpc.exception.RPCException;
+import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
+import java.util.Collection;
+import lombok.NonNull;
+import org.jetbrains.annotations.Blocking;
+import org.jetbrains.annotations.NonBlocking;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * A batch of independent rpc calls which are sent to the remote component in a single packet. Unlike a rpc chain, the
+ * calls in a batch are not related to each other and the remote component is free to execute them in parallel. The
+ * results (or exceptions) of all calls are sent back in a single response packet and are made available through the
+ * task returned when adding the call to the batch.
+ * <p>
+ * A batch can only be fired once, adding calls to a batch which was already fired is not possible.
+ *
+ * @since 4.0
+ */
+public interface RPCBatch {
+
+  /**
+   * Adds the given rpc to this batch. The returned task is completed with the result of the method invocation once the
+   * response of the batch was received, or exceptionally if the remote method threw an exception. If the given rpc
+   * does not expect a result, the returned task is completed with null as soon as the batch was sent.
+   *
+   * @param rpc the rpc to add to this batch.
+   * @param <T> the expected return type.
+   * @return a task completed with the result of the method invocation, null if the remote method returned null.
+   * @throws NullPointerException  if the given rpc is null.
+   * @throws IllegalStateException if this batch was already fired.
+   */
+  @NonNull <T> Task<T> add(@NonNull RPC rpc);
+
+  /**
+   * Get all rpc calls which were added to this batch, in the order in which they were added.
+   *
+   * @return all rpc calls which were added to this batch.
+   */
+  @NonNull
+  @UnmodifiableView Collection<RPC> calls();
+
+  /**
+   * Fires this batch into the first channel of the network component associated with the first rpc in this batch and
+   * doesn't wait for the results of the calls to become available. This method will not suspend the current thread.
+   *
+   * @throws NullPointerException  if the associated network component has no channels available.
+   * @throws IllegalStateException if this batch was already fired.
+   */
+  @NonBlocking
+  void fireAndForget();
+
+  /**
+   * Fires this batch into the first channel of the network component associated with the first rpc in this batch and
+   * waits for the results of all calls to become available. This method will suspend the calling thread. Exceptions
+   * which were thrown by one of the remote methods are only available through the task of the associated call.
+   *
+   * @throws NullPointerException  if the associated network component has no channels available.
+   * @throws IllegalStateException if this batch was already fired.
+   * @throws RPCException          if the batch could not be sent or no response was received.
+   */
+  @Blocking
+  void fireSync();
+
+  /**
+   * Fires this batch into the first channel of the network component associated with the first rpc in this batch. The
+   * returned task is completed once the results of all calls are available, the results themselves are available
+   * through the tasks of the associated calls.
+   *
+   * @return a task completed once the results of all calls in this batch are available.
+   * @throws NullPointerException  if the associated network component has no channels available.
+   * @throws IllegalStateException if this batch was already fired.
+   */
+  @NonNull Task<Void> fire();
+
+  /**
+   * Fires this batch into the given network channel and doesn't wait for the results of the calls to become available.
+   * This method will not suspend the current thread.
+   *
+   * @param component the network channel to which the batch should be sent.
+   * @throws NullPointerException  if the given network channel is null.
+   * @throws IllegalStateException if this batch was already fired.
+   */
+  @NonBlocking
+  void fireAndForget(@NonNull NetworkChannel component);
+
+  /**
+   * Fires this batch into the given network channel and waits for the results of all calls to become available. This
+   * method will suspend the calling thread. Exceptions which were thrown by one of the remote methods are only
+   * available through the task of the associated call.
+   *
+   * @param component the network channel to which the batch should be sent.
+   * @throws NullPointerException  if the given network channel is null.
+   * @throws IllegalStateException if this batch was already fired.
+   * @throws RPCException          if the batch could not be sent or no response was received.
+   */
+  @Blocking
+  void fireSync(@NonNull NetworkChannel component);
+
+  /**
+   * Fires this batch into the given network channel. The returned task is completed once the results of all calls are
+   * available, the results themselves are available through the tasks of the associated calls. Exceptions thrown by
+   * the remote methods are wrapped in a {@link RPCExecutionException} and used to complete the task of the call.
+   *
+   * @param component the network channel to which the batch should be sent.
+   * @return a task completed once the results of all calls in this batch are available.
+   * @throws NullPointerException  if the given network channel is null.
+   * @throws IllegalStateException if this batch was already fired.
+   */
+  @NonNull Task<Void> fire(@NonNull NetworkChannel component);
+}
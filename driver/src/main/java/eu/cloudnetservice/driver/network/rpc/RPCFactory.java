@@ -73,6 +73,13 @@ public interface RPCFactory {
     @NonNull ObjectMapper objectMapper,
     @NonNull DataBufFactory dataBufFactory);
 
+  /**
+   * Constructs a new, empty batch which can be used to send multiple independent rpc calls in a single packet.
+   *
+   * @return a new, empty rpc batch.
+   */
+  @NonNull RPCBatch newBatch();
+
   /**
    * Generates an api implementation for the given base class, invoking all of its method using rpc. This method only
    * overrides methods which are abstract in the given class tree. In other words, if you're passing an implementation
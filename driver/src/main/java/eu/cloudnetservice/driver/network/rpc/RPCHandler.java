@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.network.rpc;
 
+import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.network.rpc.defaults.MethodInformation;
 import lombok.NonNull;
 import org.jetbrains.annotations.UnknownNullability;
@@ -58,6 +59,20 @@ public interface RPCHandler extends RPCProvider {
    */
   @NonNull HandlingResult handle(@NonNull RPCInvocationContext context);
 
+  /**
+   * Handles the given rpc context like {@link #handle(RPCInvocationContext)}, but does not wait for the completion of
+   * target methods which are returning a future. The returned task is completed with the result of the future once it
+   * completes instead. All arguments are read from the context before this method returns. By default, this method
+   * returns a task which is completed with the result of {@link #handle(RPCInvocationContext)}.
+   *
+   * @param context the context of the handler invocation.
+   * @return a task completed with the result of the handler execution.
+   * @throws NullPointerException if the given context is null.
+   */
+  default @NonNull Task<HandlingResult> handleAsync(@NonNull RPCInvocationContext context) {
+    return Task.completedTask(this.handle(context));
+  }
+
   /**
    * Represents the result of a method invocation with rpc.
    *
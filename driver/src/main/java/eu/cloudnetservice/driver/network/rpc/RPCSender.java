@@ -67,4 +67,12 @@ public interface RPCSender extends RPCProvider {
    * @throws CannotDecideException if either none or multiple methods are matching the given method name.
    */
   @NonNull RPC invokeMethod(@NonNull String methodName, Object... args);
+
+  /**
+   * Constructs a new, empty batch which can be used to send multiple independent rpc calls in a single packet. The
+   * calls added to the batch are not required to target the class of this sender.
+   *
+   * @return a new, empty rpc batch.
+   */
+  @NonNull RPCBatch newBatch();
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.annotation;
+
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCResultCache;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method in an api class whose result can be cached on the calling side. Generated api implementations keep
+ * the result of such a method call in a bounded local cache and return the cached result when the method is called
+ * again with equal arguments. The cached results are dropped when one of the given tags gets invalidated, which
+ * usually happens when the remote component broadcasts a change of the underlying data.
+ * <p>
+ * This annotation has no effect on methods which return void or a task, or which are annotated with
+ * {@link RPCNoResult}. The returned cached instances are shared between all callers and must not be modified.
+ *
+ * @see RPCResultCache#invalidate(String)
+ * @since 4.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RPCCacheable {
+
+  /**
+   * Get the tags which invalidate the cached results of the annotated method.
+   *
+   * @return the tags which invalidate the cached results of the annotated method.
+   */
+  String[] value();
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method in an api class which returns a collection or map whose result should be transferred to the caller
+ * in multiple bounded chunks rather than in one response. The remote side only sends new chunks after the caller
+ * consumed the previous ones, which keeps the memory usage on both sides bounded for large results. The caller
+ * collects all chunks into a new collection before returning it.
+ * <p>
+ * Methods returning a {@link java.util.stream.Stream} or {@link java.util.Iterator} are always streamed, even when not
+ * annotated. The elements of these results are read lazily while the caller consumes them.
+ *
+ * @since 4.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RPCStreaming {
+
+}
@@ -18,11 +18,15 @@
 
 import com.google.common.reflect.TypeToken;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCIgnore;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCStreaming;
 import eu.cloudnetservice.driver.network.rpc.defaults.handler.invoker.MethodInvoker;
 import eu.cloudnetservice.driver.network.rpc.defaults.handler.invoker.MethodInvokerGenerator;
 import eu.cloudnetservice.driver.network.rpc.exception.CannotDecideException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
@@ -38,6 +42,8 @@ public class MethodInformation {
   private final Type returnType;
   private final Type[] arguments;
   private final boolean voidMethod;
+  private final boolean asyncMethod;
+  private final boolean streamingMethod;
   private final Object sourceInstance;
   private final Class<?> rawReturnType;
   private final Class<?> definingClass;
@@ -49,6 +55,7 @@ public class MethodInformation {
    * @param name           the name of the method.
    * @param rType          the return type of the method.
    * @param arguments      the argument types of the method.
+   * @param streaming      if the method is annotated to stream its result.
    * @param sourceInstance the original instance the method was located in or null if not bound.
    * @param definingClass  the class in which the method is located.
    * @param generator      the generator to use to make a method invoker or null if no method invoker is needed.
@@ -58,6 +65,7 @@ protected MethodInformation(
     @NonNull String name,
     @NonNull Type rType,
     @NonNull Type[] arguments,
+    boolean streaming,
     @Nullable Object sourceInstance,
     @NonNull Class<?> definingClass,
     @Nullable MethodInvokerGenerator generator
@@ -68,6 +76,10 @@ protected MethodInformation(
     this.voidMethod = rType.equals(void.class);
     this.sourceInstance = sourceInstance;
     this.rawReturnType = TypeToken.of(rType).getRawType();
+    this.asyncMethod = CompletableFuture.class.isAssignableFrom(this.rawReturnType);
+    this.streamingMethod = streaming
+      || Stream.class.isAssignableFrom(this.rawReturnType)
+      || Iterator.class.isAssignableFrom(this.rawReturnType);
     this.definingClass = definingClass;
     this.methodInvoker = generator == null ? null : generator.makeMethodInvoker(this);
   }
@@ -117,6 +129,7 @@ protected MethodInformation(
       name,
       method.getGenericReturnType(),
       method.getGenericParameterTypes(),
+      method.isAnnotationPresent(RPCStreaming.class),
       instance,
       method.getDeclaringClass(),
       generator);
@@ -168,6 +181,25 @@ public boolean voidMethod() {
     return this.voidMethod;
   }
 
+  /**
+   * Get if the method returns a future, in which case the result of the future is sent to the caller once available.
+   *
+   * @return true if the method returns a future, false otherwise.
+   */
+  public boolean asyncMethod() {
+    return this.asyncMethod;
+  }
+
+  /**
+   * Get if the result of the method is streamed to the caller in multiple chunks rather than sent in one response.
+   * This is the case for methods returning a stream or iterator, or which are annotated with {@link RPCStreaming}.
+   *
+   * @return true if the result of the method is streamed, false otherwise.
+   */
+  public boolean streamingMethod() {
+    return this.streamingMethod;
+  }
+
   /**
    * Get the instance to which this method is bound, used for chained rpc call lookups to process on the instance
    * returned by the previous rpc rather than a global one.
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCCancelPacket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Keeps track of the rpc calls which are executed on this component on behalf of the other side of a network channel
+ * and propagates the cancellation of rpc calls to the handling side. Each channel has its own tracker, all tracked
+ * calls are dropped together with the channel.
+ * <p>
+ * Each rpc request carries the time the caller is going to wait for the result. The handling side uses that time to
+ * skip calls for which the caller already stopped waiting, for example because the request was queued for too long.
+ * In addition, the caller sends a {@link RPCCancelPacket} when the query times out or its task gets cancelled, which
+ * cancels the future of asynchronous handler methods and drops the result of the call.
+ * <p>
+ * Cancellations are prioritized and might therefore be received before the associated request. As query ids are
+ * assigned in ascending order, a cancellation for a query id above all ids received so far is remembered until the
+ * request arrives. Cancellations of all other unknown query ids are ignored, the call was completed already.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class RPCCallTracker {
+
+  // the amount of cancellations which are kept per channel while their request was not received yet
+  private static final int MAX_EARLY_CANCELLATIONS = 1024;
+  private static final Cache<NetworkChannel, RPCCallTracker> CHANNEL_TRACKERS = Caffeine.newBuilder()
+    .weakKeys()
+    .build();
+
+  private final Map<Long, Call> calls = new HashMap<>();
+  private final Set<Long> earlyCancellations = new HashSet<>();
+  private long highestQueryId;
+
+  private RPCCallTracker() {
+  }
+
+  /**
+   * Get the call tracker associated with the given network channel, creating a new one if none exists yet.
+   *
+   * @param channel the channel to get the tracker of.
+   * @return the call tracker of the given channel.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static @NonNull RPCCallTracker forChannel(@NonNull NetworkChannel channel) {
+    return CHANNEL_TRACKERS.get(channel, $ -> new RPCCallTracker());
+  }
+
+  /**
+   * Get the time in milliseconds the caller waits for the result of a rpc sent to the given channel. The returned value
+   * is written into the rpc request to allow the handling side to skip calls for which the caller stopped waiting.
+   *
+   * @param channel the channel to which the rpc is sent.
+   * @return the time in milliseconds the caller waits for the result of a rpc.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static int deadlineMillis(@NonNull NetworkChannel channel) {
+    return (int) Math.min(Integer.MAX_VALUE, channel.queryPacketManager().queryTimeout().toMillis());
+  }
+
+  /**
+   * Registers the rpc call which was sent in the given packet. Calls which are not sent as a query, or which were sent
+   * without a deadline, are not tracked and can never be aborted. Each registered call must be completed, regardless
+   * of whether the handling of it succeeded.
+   *
+   * @param packet         the packet which contained the rpc request.
+   * @param deadlineMillis the time in milliseconds the caller waits for the result, 0 if there is no deadline.
+   * @return the registered call, already aborted if the call was cancelled before.
+   * @throws NullPointerException if the given packet is null.
+   */
+  public @NonNull Call register(@NonNull Packet packet, int deadlineMillis) {
+    var queryId = packet.queryId();
+    if (queryId == 0 || deadlineMillis <= 0) {
+      return new Call(Long.MAX_VALUE);
+    }
+
+    // the time the packet was waiting for its handling is subtracted from the deadline
+    var waited = Duration.between(packet.creation(), Instant.now()).toNanos();
+    var call = new Call(System.nanoTime() + Duration.ofMillis(deadlineMillis).toNanos() - waited);
+    synchronized (this) {
+      this.highestQueryId = Math.max(this.highestQueryId, queryId);
+      if (this.earlyCancellations.remove(queryId)) {
+        call.cancel();
+      }
+      this.calls.put(queryId, call);
+    }
+    return call;
+  }
+
+  /**
+   * Removes the call with the given query id from the tracked calls, should be called when the result of the call was
+   * sent or the handling of the call failed.
+   *
+   * @param queryId the query id of the rpc request.
+   */
+  public void complete(long queryId) {
+    if (queryId != 0) {
+      synchronized (this) {
+        this.calls.remove(queryId);
+      }
+    }
+  }
+
+  /**
+   * Cancels the call with the given query id. If the request of the call was not received yet, the cancellation is
+   * remembered and the request skipped when received. Cancellations of calls which were completed already are ignored.
+   *
+   * @param queryId the query id of the rpc request.
+   */
+  public void cancel(long queryId) {
+    Call call;
+    synchronized (this) {
+      call = this.calls.get(queryId);
+      if (call == null) {
+        // only remember the cancellation if the request might still arrive
+        if (queryId > this.highestQueryId && this.earlyCancellations.size() < MAX_EARLY_CANCELLATIONS) {
+          this.earlyCancellations.add(queryId);
+        }
+        return;
+      }
+    }
+    call.cancel();
+  }
+
+  /**
+   * Get the amount of calls which are currently tracked by this tracker.
+   *
+   * @return the amount of tracked calls.
+   */
+  int trackedCallCount() {
+    synchronized (this) {
+      return this.calls.size();
+    }
+  }
+
+  /**
+   * Sends a cancellation of the rpc with the given query id to the handling side when the query times out or the task
+   * returned to the caller of the rpc is cancelled.
+   *
+   * @param channel the channel to which the rpc request was sent.
+   * @param queryId the query id of the rpc request.
+   * @param query   the future waiting for the response to the rpc request.
+   * @param result  the future returned to the caller of the rpc.
+   * @throws NullPointerException if either the given channel, query future or result future is null.
+   */
+  public static void propagateCancellation(
+    @NonNull NetworkChannel channel,
+    long queryId,
+    @NonNull CompletableFuture<?> query,
+    @NonNull CompletableFuture<?> result
+  ) {
+    // stop waiting for the response when the caller is no longer interested in the result
+    result.whenComplete(($, throwable) -> {
+      if (throwable instanceof CancellationException) {
+        query.cancel(false);
+      }
+    });
+    query.whenComplete(($, throwable) -> {
+      if (throwable instanceof CancellationException || throwable instanceof TimeoutException) {
+        channel.queryPacketManager().unregisterWaitingHandler(queryId);
+        channel.sendPacket(new RPCCancelPacket(queryId));
+      }
+    });
+  }
+
+  /**
+   * A rpc call which is executed on this component on behalf of a remote caller.
+   *
+   * @since 4.0
+   */
+  public static final class Call {
+
+    private final long deadlineNanos;
+    private final List<CompletableFuture<?>> executions = new ArrayList<>(1);
+
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs a new call instance.
+     *
+     * @param deadlineNanos the {@link System#nanoTime()} after which the caller is no longer waiting for the result.
+     */
+    private Call(long deadlineNanos) {
+      this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Get if the caller is no longer waiting for the result of this call, either because the call was cancelled or
+     * because the deadline of the call passed.
+     *
+     * @return true if the call was aborted, false otherwise.
+     */
+    public boolean aborted() {
+      return this.cancelled || (this.deadlineNanos != Long.MAX_VALUE && System.nanoTime() - this.deadlineNanos > 0);
+    }
+
+    /**
+     * Attaches the given execution future to this call. The future gets cancelled when the call gets cancelled, or
+     * immediately if the call was already cancelled.
+     *
+     * @param execution the future of the execution of the call.
+     * @throws NullPointerException if the given future is null.
+     */
+    public void attach(@NonNull CompletableFuture<?> execution) {
+      synchronized (this.executions) {
+        if (!this.cancelled) {
+          this.executions.add(execution);
+          return;
+        }
+      }
+      execution.cancel(true);
+    }
+
+    /**
+     * Cancels this call and all executions which are attached to it.
+     */
+    private void cancel() {
+      List<CompletableFuture<?>> executions;
+      synchronized (this.executions) {
+        this.cancelled = true;
+        executions = List.copyOf(this.executions);
+        this.executions.clear();
+      }
+      executions.forEach(execution -> execution.cancel(true));
+    }
+  }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.rpc.RPCHandler;
+import eu.cloudnetservice.driver.network.rpc.RPCHandlerRegistry;
+import eu.cloudnetservice.driver.network.rpc.RPCInvocationContext;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.DefaultRPCHandler;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.DefaultRPCHandlerRegistry;
+import eu.cloudnetservice.driver.network.rpc.exception.CannotDecideException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Interns the (class, method, argument count) triples of rpc calls into compact integer ids per network channel. The
+ * first packet which uses a method on a channel carries the full definition of the method in front of the rpc data,
+ * all following packets only reference the method by its id. The receiving side resolves the ids using a plain array.
+ * The handler and method information of an id are resolved once and cached in the table as well, so that handling a
+ * call neither needs to look up the handler by its class name nor the method by its name.
+ * <p>
+ * The ids of a method are assigned once per jvm and are never reused. A method is only marked as announced on a
+ * channel after the packet carrying its definition was written to the channel (or a response to it was received).
+ * Packets might get dropped or their write might get cancelled before that. Until then, concurrent callers re-send
+ * the definition which is safe as packets are written in the order they were queued.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class RPCMethodIdTable {
+
+  private static final int INITIAL_TABLE_SIZE = 64;
+  // the ids are assigned sequentially, no jvm will ever have that many rpc methods
+  private static final int MAX_METHOD_ID = 1 << 16;
+
+  private static final AtomicInteger METHOD_ID_SEQUENCE = new AtomicInteger();
+  private static final Map<MethodKey, MethodEntry> LOCAL_METHODS = new ConcurrentHashMap<>();
+  private static final Cache<NetworkChannel, RPCMethodIdTable> CHANNEL_TABLES = Caffeine.newBuilder()
+    .weakKeys()
+    .build();
+
+  // the local method ids which were announced to the other side of the channel
+  private volatile boolean[] announcedMethods = new boolean[INITIAL_TABLE_SIZE];
+  // the methods announced by the other side of the channel, indexed by their id
+  private volatile MethodEntry[] remoteMethods = new MethodEntry[INITIAL_TABLE_SIZE];
+  // the handlers and method information resolved for the remote methods, indexed by their id
+  private volatile ResolvedMethod[] resolvedMethods = new ResolvedMethod[INITIAL_TABLE_SIZE];
+
+  private RPCMethodIdTable() {
+  }
+
+  /**
+   * Get the method id table associated with the given network channel, creating a new one if none exists yet.
+   *
+   * @param channel the channel to get the table of.
+   * @return the method id table of the given channel.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static @NonNull RPCMethodIdTable forChannel(@NonNull NetworkChannel channel) {
+    return CHANNEL_TABLES.get(channel, $ -> new RPCMethodIdTable());
+  }
+
+  /**
+   * Get the local method entry for the given method, assigning a new id to it if the method was never called before.
+   *
+   * @param className     the name of the class in which the method is located.
+   * @param methodName    the name of the method.
+   * @param argumentCount the amount of arguments the method takes.
+   * @return the local method entry of the given method.
+   * @throws NullPointerException if the given class or method name is null.
+   */
+  public static @NonNull MethodEntry localMethod(
+    @NonNull String className,
+    @NonNull String methodName,
+    int argumentCount
+  ) {
+    return LOCAL_METHODS.computeIfAbsent(
+      new MethodKey(className, methodName, argumentCount),
+      key -> new MethodEntry(METHOD_ID_SEQUENCE.getAndIncrement(), className, methodName, argumentCount));
+  }
+
+  /**
+   * Writes the definitions of all given methods which were not yet announced on the channel of this table into the
+   * given buffer. The definitions must be written before any of the given methods are referenced in the buffer.
+   *
+   * @param dataBuf the buffer to write the definitions to.
+   * @param methods the methods which get referenced in the buffer.
+   * @return the same buffer as given, for chaining.
+   * @throws NullPointerException if the given buffer or methods array is null.
+   */
+  public @NonNull DataBuf.Mutable writeDefinitions(@NonNull DataBuf.Mutable dataBuf, @NonNull MethodEntry... methods) {
+    var announced = this.announcedMethods;
+    // count the methods which need to be announced first
+    var definitions = 0;
+    for (var method : methods) {
+      if (!isAnnounced(announced, method.id())) {
+        definitions++;
+      }
+    }
+    // write the definitions, the receiver might get some definitions twice (in case of a chain) which is fine
+    dataBuf.writeVarInt(definitions);
+    if (definitions > 0) {
+      for (var method : methods) {
+        if (!isAnnounced(announced, method.id())) {
+          dataBuf
+            .writeVarInt(method.id())
+            .writeString(method.className())
+            .writeString(method.methodName())
+            .writeVarInt(method.argumentCount());
+        }
+      }
+    }
+    return dataBuf;
+  }
+
+  /**
+   * Marks the given methods as announced to the other side of the channel once the given task completes successfully.
+   * The task must either be the write task of the packet which contains the definitions of the methods or the query
+   * task of it, as a response proves that the definitions were received. Nothing is marked if the task fails.
+   *
+   * @param deliveryTask the task which completes successfully once the packet was delivered.
+   * @param methods      the methods to mark as announced.
+   * @throws NullPointerException if the given task or methods array is null.
+   */
+  public void markAnnouncedOnSuccess(@NonNull CompletableFuture<?> deliveryTask, @NonNull MethodEntry... methods) {
+    deliveryTask.thenRun(() -> this.markAnnounced(methods));
+  }
+
+  /**
+   * Marks the given methods as announced to the other side of the channel. This method must only be called after the
+   * packet which contains the definitions of the methods was written to the channel.
+   *
+   * @param methods the methods to mark as announced.
+   * @throws NullPointerException if the given methods array is null.
+   */
+  public void markAnnounced(@NonNull MethodEntry... methods) {
+    // fast path: no change needed
+    var announced = this.announcedMethods;
+    var changed = false;
+    for (var method : methods) {
+      if (!isAnnounced(announced, method.id())) {
+        changed = true;
+        break;
+      }
+    }
+    // copy-on-write, announcements are rare compared to lookups
+    if (changed) {
+      synchronized (this) {
+        announced = this.announcedMethods;
+        for (var method : methods) {
+          if (method.id() >= announced.length) {
+            announced = Arrays.copyOf(announced, Math.max(announced.length << 1, method.id() + 1));
+          } else if (announced == this.announcedMethods) {
+            announced = announced.clone();
+          }
+          announced[method.id()] = true;
+        }
+        this.announcedMethods = announced;
+      }
+    }
+  }
+
+  /**
+   * Reads all method definitions which were written by the other side of the channel into the given buffer, and
+   * registers them to this table.
+   *
+   * @param dataBuf the buffer to read the definitions from.
+   * @throws NullPointerException  if the given buffer is null.
+   * @throws IllegalStateException if the other side of the channel announced an invalid method id.
+   */
+  public void readDefinitions(@NonNull DataBuf dataBuf) {
+    var definitions = dataBuf.readVarInt();
+    for (var i = 0; i < definitions; i++) {
+      // the id is used as array index, don't let the other side allocate an arbitrarily large table
+      var id = dataBuf.readVarInt();
+      if (id < 0 || id >= MAX_METHOD_ID) {
+        throw new IllegalStateException("Received definition of rpc method with invalid id " + id);
+      }
+
+      var entry = new MethodEntry(id, dataBuf.readString(), dataBuf.readString(), dataBuf.readVarInt());
+      synchronized (this) {
+        var remote = this.remoteMethods;
+        if (entry.id() >= remote.length) {
+          remote = Arrays.copyOf(remote, Math.max(remote.length << 1, entry.id() + 1));
+        } else {
+          remote = remote.clone();
+        }
+        remote[entry.id()] = entry;
+        this.remoteMethods = remote;
+      }
+    }
+  }
+
+  /**
+   * Reads the id of a method from the given buffer and resolves it to the method which was previously announced by
+   * the other side of the channel.
+   *
+   * @param dataBuf the buffer to read the method id from.
+   * @return the method which is associated with the read id.
+   * @throws NullPointerException  if the given buffer is null.
+   * @throws IllegalStateException if the other side of the channel did not announce the read method id.
+   */
+  public @NonNull MethodEntry readMethod(@NonNull DataBuf dataBuf) {
+    var id = dataBuf.readVarInt();
+    var remote = this.remoteMethods;
+    // check if the method was announced
+    var entry = id >= 0 && id < remote.length ? remote[id] : null;
+    if (entry == null) {
+      throw new IllegalStateException("Received call to rpc method id " + id + " which was never announced");
+    }
+    return entry;
+  }
+
+  /**
+   * Resolves the handler of the given remote method from the given registry. The resolved handler and the information
+   * of the method in the instance the handler is bound to are cached until the registry changes, if the given
+   * registry is the default registry implementation.
+   *
+   * @param method   the remote method to resolve, previously read from this table.
+   * @param registry the registry to get the handler of the method from.
+   * @return the resolved method, null if no handler is registered for the class of the method.
+   * @throws NullPointerException  if the given method or registry is null.
+   * @throws CannotDecideException if none or multiple methods are matching the given method in the handler.
+   */
+  public @Nullable ResolvedMethod resolveMethod(@NonNull MethodEntry method, @NonNull RPCHandlerRegistry registry) {
+    // only the default registry tells us when the cached handlers are outdated
+    if (!(registry instanceof DefaultRPCHandlerRegistry defaultRegistry)) {
+      return resolve(method, registry, -1);
+    }
+
+    // fast path: the method was already resolved using the current handlers of the registry
+    var generation = defaultRegistry.generation();
+    var resolved = this.resolvedMethods;
+    var cached = method.id() < resolved.length ? resolved[method.id()] : null;
+    if (cached != null && cached.method() == method && cached.registry() == registry
+      && cached.generation() == generation) {
+      return cached;
+    }
+
+    // resolve the method, the generation must be read before the handler to not cache an outdated handler
+    var resolvedMethod = resolve(method, registry, generation);
+    if (resolvedMethod != null) {
+      synchronized (this) {
+        resolved = this.resolvedMethods;
+        if (method.id() >= resolved.length) {
+          resolved = Arrays.copyOf(resolved, Math.max(resolved.length << 1, method.id() + 1));
+        } else {
+          resolved = resolved.clone();
+        }
+        resolved[method.id()] = resolvedMethod;
+        this.resolvedMethods = resolved;
+      }
+    }
+    return resolvedMethod;
+  }
+
+  /**
+   * Resolves the handler of the given method and the information of the method in the instance the handler is bound
+   * to, if the handler is the default handler implementation.
+   *
+   * @param method     the method to resolve.
+   * @param registry   the registry to get the handler of the method from.
+   * @param generation the generation of the registry which was read before resolving the handler.
+   * @return the resolved method, null if no handler is registered for the class of the method.
+   * @throws NullPointerException  if the given method or registry is null.
+   * @throws CannotDecideException if none or multiple methods are matching the given method in the handler.
+   */
+  private static @Nullable ResolvedMethod resolve(
+    @NonNull MethodEntry method,
+    @NonNull RPCHandlerRegistry registry,
+    int generation
+  ) {
+    var handler = registry.handler(method.className());
+    if (handler == null) {
+      return null;
+    }
+
+    var information = handler instanceof DefaultRPCHandler defaultHandler
+      ? defaultHandler.boundMethodInformation(method.methodName(), method.argumentCount())
+      : null;
+    return new ResolvedMethod(method, registry, generation, handler, information);
+  }
+
+  /**
+   * Checks if the method with the given id is marked as announced in the given table.
+   *
+   * @param announced the table to check.
+   * @param id        the id of the method to check.
+   * @return true if the method was announced, false otherwise.
+   */
+  private static boolean isAnnounced(boolean[] announced, int id) {
+    return id < announced.length && announced[id];
+  }
+
+  /**
+   * A method which is associated with a compact integer id.
+   *
+   * @param id            the id of the method.
+   * @param className     the name of the class in which the method is located.
+   * @param methodName    the name of the method.
+   * @param argumentCount the amount of arguments the method takes.
+   * @since 4.0
+   */
+  public record MethodEntry(int id, @NonNull String className, @NonNull String methodName, int argumentCount) {
+
+  }
+
+  /**
+   * A remote method which was resolved to the handler of its class.
+   *
+   * @param method      the remote method which was resolved.
+   * @param registry    the registry from which the handler was resolved.
+   * @param generation  the generation of the registry when the handler was resolved, -1 if not known.
+   * @param handler     the handler which is registered for the class of the method.
+   * @param information the information of the method in the instance the handler is bound to, null if unknown.
+   * @since 4.0
+   */
+  public record ResolvedMethod(
+    @NonNull MethodEntry method,
+    @NonNull RPCHandlerRegistry registry,
+    int generation,
+    @NonNull RPCHandler handler,
+    @Nullable MethodInformation information
+  ) {
+
+    /**
+     * Posts the given method invocation to the resolved handler. The invocation skips the method lookup in the handler
+     * if the method gets invoked on the instance the handler is bound to.
+     *
+     * @param context the context of the method invocation.
+     * @return a task completed with the result of the method invocation.
+     * @throws NullPointerException if the given context is null.
+     */
+    public @NonNull Task<RPCHandler.HandlingResult> handleAsync(@NonNull RPCInvocationContext context) {
+      if (this.information != null
+        && context.workingInstance() == null
+        && !context.strictInstanceUsage()
+        && this.handler instanceof DefaultRPCHandler defaultHandler) {
+        return defaultHandler.handleBoundAsync(context, this.information);
+      }
+      return this.handler.handleAsync(context);
+    }
+  }
+
+  /**
+   * The key used to look up the local id of a method.
+   *
+   * @param className     the name of the class in which the method is located.
+   * @param methodName    the name of the method.
+   * @param argumentCount the amount of arguments the method takes.
+   * @since 4.0
+   */
+  private record MethodKey(@NonNull String className, @NonNull String methodName, int argumentCount) {
+
+  }
+}
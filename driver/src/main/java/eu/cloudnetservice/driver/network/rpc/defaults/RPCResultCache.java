@@ -0,0 +1,220 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.rpc.RPC;
+import eu.cloudnetservice.driver.network.rpc.RPCChain;
+import eu.cloudnetservice.driver.network.rpc.RPCExecutable;
+import eu.cloudnetservice.driver.network.rpc.RPCProvider;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCCacheable;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnknownNullability;
+
+/**
+ * The caller side cache for the results of rpc based api methods which are annotated with {@link RPCCacheable}. The
+ * cache is bounded in size and entries expire after a fixed amount of time, even if none of their tags was
+ * invalidated. The size of the cache can be set using the {@code cloudnet.rpc.result-cache-size} system property, the
+ * expiration time in seconds using the {@code cloudnet.rpc.result-cache-expiration} system property.
+ * <p>
+ * Results are cached in their serialized form and deserialized again for every cache hit, exactly like a result which
+ * was received from the network. Each caller therefore gets its own instance which it can freely modify (for example
+ * by appending to the properties of a returned task) without affecting the results returned to other callers.
+ *
+ * @since 4.0
+ */
+public final class RPCResultCache {
+
+  private static final Object NULL_RESULT = new Object();
+  private static final AtomicLong INVALIDATIONS = new AtomicLong();
+  private static final Cache<CacheKey, Object> RESULTS = Caffeine.newBuilder()
+    .maximumSize(Long.getLong("cloudnet.rpc.result-cache-size", 1024))
+    .expireAfterWrite(Duration.ofSeconds(Long.getLong("cloudnet.rpc.result-cache-expiration", 30)))
+    .build();
+
+  private RPCResultCache() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the cached result of the given rpc, or fires the rpc into the first channel of the associated network
+   * component and caches the result of it. This method is called by generated api implementations.
+   *
+   * @param executable the rpc to get the result of.
+   * @param tags       the tags which invalidate the cached result.
+   * @return the cached or fresh result of the given rpc.
+   * @throws NullPointerException if the given rpc or tags array is null.
+   */
+  public static @UnknownNullability Object fireSync(@NonNull RPCExecutable executable, @NonNull String[] tags) {
+    return fireSync(executable, null, tags);
+  }
+
+  /**
+   * Get the cached result of the given rpc, or fires the rpc into the given channel and caches the result of it. This
+   * method is called by generated api implementations.
+   *
+   * @param executable the rpc to get the result of.
+   * @param channel    the channel to fire the rpc to, null to use the first channel of the associated component.
+   * @param tags       the tags which invalidate the cached result.
+   * @return the cached or fresh result of the given rpc.
+   * @throws NullPointerException if the given rpc or tags array is null.
+   */
+  public static @UnknownNullability Object fireSync(
+    @NonNull RPCExecutable executable,
+    @Nullable NetworkChannel channel,
+    @NonNull String[] tags
+  ) {
+    // check if the result is already cached
+    var key = new CacheKey(channel, describeCalls(executable), Arrays.asList(tags));
+    var cached = RESULTS.getIfPresent(key);
+    if (cached != null) {
+      return cached == NULL_RESULT ? null : deserialize((RPCProvider) executable, resultType(executable), cached);
+    }
+
+    // fire the rpc, only cache the result if no invalidation happened while waiting for it
+    // as the result might be based on the data before the invalidation
+    var invalidations = INVALIDATIONS.get();
+    Object result = channel == null ? executable.fireSync() : executable.fireSync(channel);
+    if (invalidations == INVALIDATIONS.get()) {
+      RESULTS.put(key, result == null ? NULL_RESULT : serialize((RPCProvider) executable, result));
+    }
+    return result;
+  }
+
+  /**
+   * Removes all cached results which are associated with the given tag.
+   *
+   * @param tag the tag to invalidate.
+   * @throws NullPointerException if the given tag is null.
+   */
+  public static void invalidate(@NonNull String tag) {
+    INVALIDATIONS.incrementAndGet();
+    RESULTS.asMap().keySet().removeIf(key -> key.tags().contains(tag));
+  }
+
+  /**
+   * Removes all cached results.
+   */
+  public static void invalidateAll() {
+    INVALIDATIONS.incrementAndGet();
+    RESULTS.invalidateAll();
+  }
+
+  /**
+   * Serializes the given result using the object mapper of the given rpc.
+   *
+   * @param provider the rpc which returned the given result.
+   * @param result   the result to serialize.
+   * @return the serialized result.
+   * @throws NullPointerException if the given rpc or result is null.
+   */
+  private static byte[] serialize(@NonNull RPCProvider provider, @NonNull Object result) {
+    try (var dataBuf = provider.dataBufFactory().createEmpty()) {
+      return provider.objectMapper().writeObject(dataBuf, result).toByteArray();
+    }
+  }
+
+  /**
+   * Deserializes a new instance of the given serialized result using the object mapper of the given rpc.
+   *
+   * @param provider   the rpc which returned the given result.
+   * @param resultType the type of the result.
+   * @param cached     the serialized result.
+   * @return a new instance of the serialized result.
+   * @throws NullPointerException if the given rpc, result type or serialized result is null.
+   */
+  private static @UnknownNullability Object deserialize(
+    @NonNull RPCProvider provider,
+    @NonNull Type resultType,
+    @NonNull Object cached
+  ) {
+    var dataBuf = provider.dataBufFactory().fromBytes((byte[]) cached);
+    return provider.objectMapper().readObject(dataBuf, resultType);
+  }
+
+  /**
+   * Get the type of the result returned by the given rpc.
+   *
+   * @param executable the rpc to get the result type of.
+   * @return the type of the result returned by the given rpc.
+   * @throws NullPointerException     if the given rpc is null.
+   * @throws IllegalArgumentException if the given rpc is neither a single rpc nor a chain.
+   */
+  private static @NonNull Type resultType(@NonNull RPCExecutable executable) {
+    if (executable instanceof RPCChain chain) {
+      return chain.head().expectedResultType();
+    } else if (executable instanceof RPC rpc) {
+      return rpc.expectedResultType();
+    } else {
+      throw new IllegalArgumentException("Unsupported rpc executable " + executable.getClass().getName());
+    }
+  }
+
+  /**
+   * Describes all calls made by the given rpc by their target class, method name and arguments.
+   *
+   * @param executable the rpc to describe.
+   * @return a description of all calls made by the given rpc, usable as a cache key.
+   * @throws NullPointerException if the given rpc is null.
+   */
+  private static @NonNull List<Object> describeCalls(@NonNull RPCExecutable executable) {
+    List<Object> calls = new ArrayList<>();
+    if (executable instanceof RPCChain chain) {
+      describeCall(chain.head(), calls);
+      chain.joins().forEach(rpc -> describeCall(rpc, calls));
+    } else if (executable instanceof RPC rpc) {
+      describeCall(rpc, calls);
+    } else {
+      throw new IllegalArgumentException("Unsupported rpc executable " + executable.getClass().getName());
+    }
+    return calls;
+  }
+
+  /**
+   * Adds the target class, method name and arguments of the given rpc to the given list.
+   *
+   * @param rpc    the rpc to describe.
+   * @param target the list to add the description to.
+   * @throws NullPointerException if the given rpc or target list is null.
+   */
+  private static void describeCall(@NonNull RPC rpc, @NonNull List<Object> target) {
+    target.add(rpc.className());
+    target.add(rpc.methodName());
+    target.add(Arrays.asList(rpc.arguments()));
+  }
+
+  /**
+   * The key of a cached rpc result.
+   *
+   * @param channel the channel the rpc was sent to, null if sent to the first channel of the associated component.
+   * @param calls   the description of all calls made by the rpc.
+   * @param tags    the tags which invalidate the cached result.
+   * @since 4.0
+   */
+  private record CacheKey(@Nullable NetworkChannel channel, @NonNull List<Object> calls, @NonNull List<String> tags) {
+
+  }
+}
@@ -28,6 +28,7 @@
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 import static org.objectweb.asm.Opcodes.IRETURN;
 import static org.objectweb.asm.Opcodes.POP;
 import static org.objectweb.asm.Opcodes.PUTFIELD;
@@ -42,8 +43,10 @@
 import eu.cloudnetservice.driver.network.rpc.RPCExecutable;
 import eu.cloudnetservice.driver.network.rpc.RPCFactory;
 import eu.cloudnetservice.driver.network.rpc.RPCSender;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCCacheable;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCIgnore;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCNoResult;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCResultCache;
 import eu.cloudnetservice.driver.network.rpc.exception.ClassCreationException;
 import eu.cloudnetservice.driver.network.rpc.generation.GenerationContext;
 import eu.cloudnetservice.driver.util.asm.AsmHelper;
@@ -54,6 +57,7 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -96,6 +100,17 @@ public final class ApiImplementationGenerator {
   static final String EXECUTABLE_FIRE_FORGET_CHANNEL = Type.getMethodDescriptor(Type.VOID_TYPE, CHANNEL_TYPE);
   static final String EXECUTABLE_FIRE_CHANNEL = Type.getMethodDescriptor(Type.getType(Task.class), CHANNEL_TYPE);
   static final String EXECUTABLE_FIRE_SYNC_CHANNEL = Type.getMethodDescriptor(Type.getType(Object.class), CHANNEL_TYPE);
+  // result cache stuff
+  static final String RESULT_CACHE_NAME = Type.getInternalName(RPCResultCache.class);
+  static final String RESULT_CACHE_FIRE_SYNC = Type.getMethodDescriptor(
+    Type.getType(Object.class),
+    Type.getType(RPCExecutable.class),
+    Type.getType(String[].class));
+  static final String RESULT_CACHE_FIRE_SYNC_CHANNEL = Type.getMethodDescriptor(
+    Type.getType(Object.class),
+    Type.getType(RPCExecutable.class),
+    CHANNEL_TYPE,
+    Type.getType(String[].class));
   // information regarding the generated class
   static final String GENERATED_CLASS_NAME_FORMAT = "%s$Impl_%s";
   // the main checker function if a method should be overridden or not, only applying the base checks
@@ -287,7 +302,7 @@ static void visitFireMethod(
     var voidMethod = method.getReturnType().equals(void.class);
     if (!voidMethod || !method.isAnnotationPresent(RPCNoResult.class)) {
       // fire async if the result type is a completable future
-      if (Task.class.isAssignableFrom(method.getReturnType())) {
+      if (Task.class.isAssignableFrom(method.getReturnType()) || method.getReturnType() == CompletableFuture.class) {
         // fire the rpc async
         mv.visitMethodInsn(
           INVOKEINTERFACE,
@@ -295,6 +310,25 @@ static void visitFireMethod(
           "fire",
           hasChannelSupplier ? EXECUTABLE_FIRE_CHANNEL : EXECUTABLE_FIRE,
           true);
+      } else if (!voidMethod && method.isAnnotationPresent(RPCCacheable.class)) {
+        // fire the rpc sync through the result cache, pushing the invalidation tags first
+        var tags = method.getAnnotation(RPCCacheable.class).value();
+        AsmHelper.pushInt(mv, tags.length);
+        mv.visitTypeInsn(ANEWARRAY, Type.getInternalName(String.class));
+        for (var i = 0; i < tags.length; i++) {
+          mv.visitInsn(DUP);
+          AsmHelper.pushInt(mv, i);
+          mv.visitLdcInsn(tags[i]);
+          mv.visitInsn(AASTORE);
+        }
+        mv.visitMethodInsn(
+          INVOKESTATIC,
+          RESULT_CACHE_NAME,
+          "fireSync",
+          hasChannelSupplier ? RESULT_CACHE_FIRE_SYNC_CHANNEL : RESULT_CACHE_FIRE_SYNC,
+          false);
+        // convert the cached result to the return type
+        unwrapReturnValue(method, mv);
       } else {
         // fire the rpc sync
         mv.visitMethodInsn(
@@ -305,12 +339,7 @@ static void visitFireMethod(
           true);
         // unwrap primitive types
         if (!voidMethod) {
-          if (method.getReturnType().isPrimitive()) {
-            // convert the wrapper to the primitive value
-            AsmHelper.wrapperToPrimitive(mv, method.getReturnType());
-          } else {
-            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getReturnType()));
-          }
+          unwrapReturnValue(method, mv);
         }
       }
       // if no result was expected pop the result, else return it
@@ -333,6 +362,23 @@ static void visitFireMethod(
     }
   }
 
+  /**
+   * Converts the object on top of the stack to the return type of the given method, either by unwrapping it to the
+   * primitive return type or by casting it to the return type.
+   *
+   * @param method the method to convert the return value for.
+   * @param mv     the method visitor for the current method.
+   * @throws NullPointerException if the given method or method visitor is null.
+   */
+  static void unwrapReturnValue(@NonNull Method method, @NonNull MethodVisitor mv) {
+    if (method.getReturnType().isPrimitive()) {
+      // convert the wrapper to the primitive value
+      AsmHelper.wrapperToPrimitive(mv, method.getReturnType());
+    } else {
+      mv.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getReturnType()));
+    }
+  }
+
   /**
    * Collects all methods based on the given context which should get implemented.
    *
@@ -19,6 +19,7 @@
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Defaults;
+import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.CloudNetDriver;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.rpc.RPCHandler;
@@ -27,7 +28,11 @@
 import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCProvider;
 import eu.cloudnetservice.driver.network.rpc.defaults.MethodInformation;
 import eu.cloudnetservice.driver.network.rpc.defaults.handler.invoker.MethodInvokerGenerator;
+import eu.cloudnetservice.driver.network.rpc.exception.CannotDecideException;
 import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -42,7 +47,7 @@ public class DefaultRPCHandler extends DefaultRPCProvider implements RPCHandler
   protected final Object bindingInstance;
   protected final MethodInvokerGenerator generator;
 
-  protected final Cache<String, MethodInformation> methodCache = Caffeine.newBuilder().build();
+  protected final Cache<MethodCacheKey, MethodInformation> methodCache = Caffeine.newBuilder().build();
 
   /**
    * Constructs a new default rpc handler instance.
@@ -93,20 +98,87 @@ public void registerTo(@NonNull RPCHandlerRegistry registry) {
       inst = context.strictInstanceUsage() ? null : this.bindingInstance;
     }
     // now we try to find the associated method information to the given method name or try to read it
-    var instance = inst; // pail
-    var information = this.methodCache.get(
-      String.format(
-        "%d@%s@%s@%d",
-        inst == null ? -1 : inst.hashCode(),
-        this.bindingClass.getCanonicalName(),
-        context.methodName(),
-        context.argumentCount()),
+    var information = this.methodInformation(inst, context.methodName(), context.argumentCount());
+    return this.invoke(context, inst, information);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Task<HandlingResult> handleAsync(@NonNull RPCInvocationContext context) {
+    return this.awaitResult(this.handle(context));
+  }
+
+  /**
+   * Handles the given method invocation on the instance this handler is bound to, using the given method information
+   * which was previously resolved using {@link #boundMethodInformation(String, int)}. This skips the lookup of the
+   * method information, the given context must not have a working instance.
+   *
+   * @param context     the context of the method invocation.
+   * @param information the information of the method to invoke on the bound instance.
+   * @return a task completed with the result of the method invocation.
+   * @throws NullPointerException if the given context or method information is null.
+   */
+  public @NonNull Task<HandlingResult> handleBoundAsync(
+    @NonNull RPCInvocationContext context,
+    @NonNull MethodInformation information
+  ) {
+    return this.awaitResult(this.invoke(context, this.bindingInstance, information));
+  }
+
+  /**
+   * Resolves the information of the given method in the instance this handler is bound to.
+   *
+   * @param methodName    the name of the method to resolve.
+   * @param argumentCount the amount of arguments the method takes.
+   * @return the information of the method in the bound instance.
+   * @throws NullPointerException  if the given method name is null.
+   * @throws CannotDecideException if none or multiple methods are matching the given method.
+   */
+  public @NonNull MethodInformation boundMethodInformation(@NonNull String methodName, int argumentCount) {
+    return this.methodInformation(this.bindingInstance, methodName, argumentCount);
+  }
+
+  /**
+   * Resolves the information of the given method in the given instance, caching the result.
+   *
+   * @param instance      the instance the method gets invoked on, null if the invocation has no target.
+   * @param methodName    the name of the method to resolve.
+   * @param argumentCount the amount of arguments the method takes.
+   * @return the information of the method in the given instance.
+   * @throws NullPointerException  if the given method name is null.
+   * @throws CannotDecideException if none or multiple methods are matching the given method.
+   */
+  protected @NonNull MethodInformation methodInformation(
+    @Nullable Object instance,
+    @NonNull String methodName,
+    int argumentCount
+  ) {
+    return this.methodCache.get(
+      new MethodCacheKey(instance == null ? -1 : instance.hashCode(), methodName, argumentCount),
       $ -> MethodInformation.find(
         instance,
         this.bindingClass,
-        context.methodName(),
+        methodName,
         instance == null ? null : this.generator,
-        context.argumentCount()));
+        argumentCount));
+  }
+
+  /**
+   * Reads the arguments of the given method from the invocation context and invokes the method on the given instance.
+   *
+   * @param context     the context of the method invocation.
+   * @param instance    the instance to invoke the method on, null if the invocation has no target.
+   * @param information the information of the method to invoke.
+   * @return the result of the method invocation.
+   * @throws NullPointerException if the given context or method information is null.
+   */
+  protected @NonNull HandlingResult invoke(
+    @NonNull RPCInvocationContext context,
+    @Nullable Object instance,
+    @NonNull MethodInformation information
+  ) {
     // now as we have the method info, try to read all arguments needed
     var arguments = new Object[information.arguments().length];
     for (var i = 0; i < arguments.length; i++) {
@@ -141,4 +213,54 @@ public void registerTo(@NonNull RPCHandlerRegistry registry) {
     // return the result
     return result;
   }
+
+  /**
+   * Wraps the given handling result into a task, waiting for the future returned by the invoked method first if the
+   * method is async.
+   *
+   * @param result the result of the method invocation.
+   * @return a task completed with the final result of the method invocation.
+   * @throws NullPointerException if the given result is null.
+   */
+  protected @NonNull Task<HandlingResult> awaitResult(@NonNull HandlingResult result) {
+    // check if the method returned a future which we need to wait for
+    var information = result.targetMethodInformation();
+    if (result.wasSuccessful()
+      && information.asyncMethod()
+      && result.invocationResult() instanceof CompletableFuture<?> future) {
+      var task = Task.wrapFuture(future.handle((value, throwable) -> {
+        if (throwable == null) {
+          return DefaultHandlingResult.success(information, this, value);
+        } else {
+          // unwrap the exception which caused the future to complete exceptionally
+          var cause = throwable instanceof CompletionException && throwable.getCause() != null
+            ? throwable.getCause()
+            : throwable;
+          return DefaultHandlingResult.failure(information, this, cause);
+        }
+      }));
+      // cancel the future returned by the method if the result is no longer needed
+      task.whenComplete(($, throwable) -> {
+        if (throwable instanceof CancellationException) {
+          future.cancel(true);
+        }
+      });
+      return task;
+    }
+    // the result is already available
+    return Task.completedTask(result);
+  }
+
+  /**
+   * The key used to cache the resolved method information of a method invocation. As a handler is always bound to a
+   * single class, the class does not need to be part of the key.
+   *
+   * @param instanceHash  the hash code of the instance the method gets invoked on, -1 if not bound to an instance.
+   * @param methodName    the name of the invoked method.
+   * @param argumentCount the amount of arguments supplied to the method.
+   * @since 4.0
+   */
+  protected record MethodCacheKey(int instanceHash, @NonNull String methodName, int argumentCount) {
+
+  }
 }
@@ -21,7 +21,9 @@
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
@@ -33,6 +35,18 @@
 public class DefaultRPCHandlerRegistry implements RPCHandlerRegistry {
 
   protected final Map<String, RPCHandler> handlers = new ConcurrentHashMap<>();
+  protected final AtomicInteger generation = new AtomicInteger();
+
+  /**
+   * Get the generation of this registry which changes each time a handler gets registered or unregistered. Handlers
+   * resolved from this registry can be cached as long as the generation did not change.
+   *
+   * @return the current generation of this registry.
+   */
+  @ApiStatus.Internal
+  public int generation() {
+    return this.generation.get();
+  }
 
   /**
    * {@inheritDoc}
@@ -79,7 +93,9 @@ public boolean hasHandler(@NonNull String targetClassName) {
    */
   @Override
   public boolean registerHandler(@NonNull RPCHandler rpcHandler) {
-    return this.handlers.put(rpcHandler.targetClass().getCanonicalName(), rpcHandler) == null;
+    var previous = this.handlers.put(rpcHandler.targetClass().getCanonicalName(), rpcHandler);
+    this.generation.incrementAndGet();
+    return previous == null;
   }
 
   /**
@@ -91,6 +107,7 @@ public boolean unregisterHandler(@NonNull RPCHandler rpcHandler) {
     var handler = this.handler(rpcHandler.targetClass());
     if (handler == rpcHandler) {
       this.handlers.remove(handler.targetClass().getCanonicalName());
+      this.generation.incrementAndGet();
       return true;
     }
     // the handlers did not match and was no unregistered
@@ -110,7 +127,11 @@ public boolean unregisterHandler(@NonNull Class<?> rpcHandlerTargetClass) {
    */
   @Override
   public boolean unregisterHandler(@NonNull String rpcHandlerTargetClassName) {
-    return this.handlers.remove(rpcHandlerTargetClassName) != null;
+    if (this.handlers.remove(rpcHandlerTargetClassName) != null) {
+      this.generation.incrementAndGet();
+      return true;
+    }
+    return false;
   }
 
   /**
@@ -120,7 +141,9 @@ public boolean unregisterHandler(@NonNull String rpcHandlerTargetClassName) {
   public void unregisterHandlers(@NonNull ClassLoader classLoader) {
     for (var entry : this.handlers.entrySet()) {
       if (entry.getValue().getClass().getClassLoader().equals(classLoader)) {
-        this.handlers.remove(entry.getKey(), entry.getValue());
+        if (this.handlers.remove(entry.getKey(), entry.getValue())) {
+          this.generation.incrementAndGet();
+        }
       }
     }
   }
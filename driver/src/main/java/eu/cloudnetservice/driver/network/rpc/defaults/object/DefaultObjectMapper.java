@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.network.rpc.defaults.object;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.Scheduler;
@@ -143,6 +144,14 @@ public class DefaultObjectMapper implements ObjectMapper {
   }
 
   private final Map<Type, ObjectSerializer<?>> registeredSerializers = new ConcurrentHashMap<>();
+  // the serializers resolved for a type, dropped when the registered serializers change
+  private final Cache<Type, ObjectSerializer<?>> resolvedReadSerializers = Caffeine.newBuilder()
+    .expireAfterAccess(Duration.ofDays(1))
+    .scheduler(Scheduler.systemScheduler())
+    .build();
+  private final Cache<Class<?>, ObjectSerializer<?>> resolvedWriteSerializers = Caffeine.newBuilder()
+    .weakKeys()
+    .build();
   private final LoadingCache<Type, Collection<Pair<Type, Type>>> typeCache = Caffeine.newBuilder()
     .expireAfterAccess(Duration.ofDays(1))
     .scheduler(Scheduler.systemScheduler())
@@ -190,6 +199,7 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
       // we don't need to unregister the subtypes of the type, skip the lookup
       this.registeredSerializers.remove(type);
     }
+    this.invalidateResolvedSerializers();
     return this;
   }
 
@@ -203,6 +213,7 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
         this.registeredSerializers.remove(entry.getKey(), entry.getValue());
       }
     }
+    this.invalidateResolvedSerializers();
     // for chaining
     return this;
   }
@@ -227,6 +238,7 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
       // we don't need to register the subtypes of the type, skip the lookup
       this.registeredSerializers.putIfAbsent(type, serializer);
     }
+    this.invalidateResolvedSerializers();
     return this;
   }
 
@@ -236,19 +248,24 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
   @Override
   public @NonNull <T> DataBuf.Mutable writeObject(@NonNull DataBuf.Mutable dataBuf, @Nullable T object) {
     return dataBuf.writeNullable(object, (buffer, obj) -> {
-      // Get the type token of the type
-      var subTypes = this.typeCache.get(obj.getClass());
-      // get the registered serializer for the type
-      ObjectSerializer<T> serializer = null;
-      for (var subType : subTypes) {
-        serializer = this.serializerForType(subType);
-        if (serializer != null && serializer.preWriteCheckAccepts(obj, this)) {
-          break;
-        }
-      }
-      // check if a serializer was found
+      // use the serializer which was resolved for the type of the object before if it accepts the object
+      @SuppressWarnings("unchecked")
+      var serializer = (ObjectSerializer<T>) this.resolvedWriteSerializers.getIfPresent(obj.getClass());
       if (serializer == null || !serializer.preWriteCheckAccepts(obj, this)) {
-        throw new MissingObjectSerializerException(obj.getClass());
+        // Get the type token of the type
+        var subTypes = this.typeCache.get(obj.getClass());
+        // get the registered serializer for the type
+        for (var subType : subTypes) {
+          serializer = this.serializerForType(subType);
+          if (serializer != null && serializer.preWriteCheckAccepts(obj, this)) {
+            break;
+          }
+        }
+        // check if a serializer was found
+        if (serializer == null || !serializer.preWriteCheckAccepts(obj, this)) {
+          throw new MissingObjectSerializerException(obj.getClass());
+        }
+        this.resolvedWriteSerializers.put(obj.getClass(), serializer);
       }
       // serialize the object into the buffer
       serializer.write(buffer, obj, obj.getClass(), this);
@@ -262,25 +279,65 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
   @SuppressWarnings("unchecked")
   public <T> @Nullable T readObject(@NonNull DataBuf dataBuf, @NonNull Type type) {
     return dataBuf.readNullable(buffer -> {
-      // Get the type token of the type
-      var subTypes = this.typeCache.get(type);
-      // get the registered serializer for the type
-      ObjectSerializer<?> serializer = null;
-      for (var subType : subTypes) {
-        serializer = this.serializerForType(subType);
-        if (serializer != null && serializer.preReadCheckAccepts(type, this)) {
-          break;
-        }
-      }
-      // check if a serializer was found
-      if (serializer == null || !serializer.preReadCheckAccepts(type, this)) {
-        throw new MissingObjectSerializerException(type);
+      // the accepting serializer only depends on the type, resolve it once
+      var serializer = this.resolvedReadSerializers.getIfPresent(type);
+      if (serializer == null) {
+        serializer = this.resolveReadSerializer(type);
+        this.resolvedReadSerializers.put(type, serializer);
       }
       // read the object from the buffer
       return (T) serializer.read(buffer, type, this);
     });
   }
 
+  /**
+   * Resolves the serializer to use to read an object of the given type from a buffer.
+   *
+   * @param type the type of the object to read.
+   * @return the serializer to use to read an object of the given type.
+   * @throws NullPointerException            if the given type is null.
+   * @throws MissingObjectSerializerException if no serializer accepts the given type.
+   */
+  protected @NonNull ObjectSerializer<?> resolveReadSerializer(@NonNull Type type) {
+    // Get the type token of the type
+    var subTypes = this.typeCache.get(type);
+    // get the registered serializer for the type
+    ObjectSerializer<?> serializer = null;
+    for (var subType : subTypes) {
+      serializer = this.serializerForType(subType);
+      if (serializer != null && serializer.preReadCheckAccepts(type, this)) {
+        break;
+      }
+    }
+    // check if a serializer was found
+    if (serializer == null || !serializer.preReadCheckAccepts(type, this)) {
+      throw new MissingObjectSerializerException(type);
+    }
+    return serializer;
+  }
+
+  /**
+   * Checks if the serializer for exactly the given type is still the default serializer of this mapper, in which case
+   * serializers may encode values of the type directly without looking up the serializer.
+   *
+   * @param type the type to check.
+   * @return true if the default serializer is registered for the given type, false otherwise.
+   * @throws NullPointerException if the given type is null.
+   */
+  public boolean defaultSerializerRegistered(@NonNull Type type) {
+    var serializer = this.registeredSerializers.get(type);
+    return serializer != null && serializer == DEFAULT_SERIALIZERS.get(type);
+  }
+
+  /**
+   * Drops all serializers which were resolved for a type, as the resolved serializer might change after a serializer
+   * was registered or unregistered.
+   */
+  protected void invalidateResolvedSerializers() {
+    this.resolvedReadSerializers.invalidateAll();
+    this.resolvedWriteSerializers.invalidateAll();
+  }
+
   /**
    * Finds the best matching serializer for the given type. The method first tries to get the serializer by the exact
    * type of the supplied type token, then by the raw type.
@@ -93,6 +93,20 @@ public void write(
     var arrayType = clazz.getComponentType();
     // read the serialized array information
     var size = source.readInt();
+    // int and long arrays are written without a null marker for each element
+    if (arrayType == int.class) {
+      var array = new int[size];
+      for (var i = 0; i < size; i++) {
+        array[i] = source.readInt();
+      }
+      return array;
+    } else if (arrayType == long.class) {
+      var array = new long[size];
+      for (var i = 0; i < size; i++) {
+        array[i] = source.readLong();
+      }
+      return array;
+    }
     var array = Array.newInstance(arrayType, size);
     // read the objects of the component type from the buffer
     for (var i = 0; i < size; i++) {
@@ -115,6 +129,18 @@ protected void writeArray(@NonNull DataBuf.Mutable dataBuf, @NonNull Object obje
     var arraySize = Array.getLength(object);
     // write the information about the array into the buffer
     dataBuf.writeInt(arraySize);
+    // int and long arrays are written without a null marker for each element
+    if (object instanceof int[] ints) {
+      for (var i : ints) {
+        dataBuf.writeInt(i);
+      }
+      return;
+    } else if (object instanceof long[] longs) {
+      for (var l : longs) {
+        dataBuf.writeLong(l);
+      }
+      return;
+    }
     for (var i = 0; i < arraySize; i++) {
       caller.writeObject(dataBuf, Array.get(object, i));
     }
@@ -22,13 +22,16 @@
 import eu.cloudnetservice.driver.network.rpc.object.ObjectSerializer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * An object serializer which can read and write any type of collection to/from a buffer.
+ * An object serializer which can read and write any type of collection to/from a buffer. Collections which only contain
+ * ints, longs, uuids or strings are written in a packed form, without resolving the serializer of each element.
  *
  * @since 4.0
  */
@@ -80,8 +83,9 @@ protected CollectionObjectSerializer(@NonNull Supplier<Collection<?>> collection
     // read the parameter type of the collection
     var parameterType = ((ParameterizedType) type).getActualTypeArguments()[0];
     // read the collection content
+    var encoding = ElementEncoding.read(source);
     for (var i = 0; i < collectionSize; i++) {
-      collection.add(caller.readObject(source, parameterType));
+      collection.add(encoding.readElement(source, parameterType, caller));
     }
     // read done
     return collection;
@@ -97,10 +101,15 @@ public void write(
     @NonNull Type type,
     @NonNull ObjectMapper caller
   ) {
-    dataBuf.writeInt(object == null ? 0 : object.size());
-    if (object != null) {
-      for (Object o : object) {
-        caller.writeObject(dataBuf, o);
+    // iterate the collection only once, it might be modified concurrently
+    var elements = object == null ? List.of() : Arrays.asList(object.toArray());
+    dataBuf.writeInt(elements.size());
+    if (!elements.isEmpty()) {
+      // select the most compact encoding for the elements
+      var encoding = ElementEncoding.select(elements, caller);
+      encoding.write(dataBuf);
+      for (Object o : elements) {
+        encoding.writeElement(dataBuf, o, caller);
       }
     }
   }
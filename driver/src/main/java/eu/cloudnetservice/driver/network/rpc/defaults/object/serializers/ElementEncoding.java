@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults.object.serializers;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
+import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.UUID;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The encodings of the elements in a serialized collection or map. If all elements are non-null values of one of the
+ * common types (int, long, uuid or string) the elements are written directly without null marker and without looking
+ * up the serializer for each element. All other element types are written one by one through the object mapper. The
+ * direct encodings are only used if the object mapper still uses its default serializer for the element type, custom
+ * serializers registered for the common types are always respected.
+ * <p>
+ * The elements are iterated twice, once to select the encoding and once to write them. Callers must therefore pass a
+ * snapshot of the elements, otherwise elements added concurrently might not match the selected encoding.
+ *
+ * @since 4.0
+ */
+enum ElementEncoding {
+
+  /**
+   * Each element is written using the object mapper, supporting null elements and all element types.
+   */
+  GENERIC(null),
+  /**
+   * Each element is a non-null integer, written as a plain int.
+   */
+  INT(Integer.class),
+  /**
+   * Each element is a non-null long, written as a plain long.
+   */
+  LONG(Long.class),
+  /**
+   * Each element is a non-null uuid, written as its most and least significant bits.
+   */
+  UNIQUE_ID(UUID.class),
+  /**
+   * Each element is a non-null string, written as a plain string.
+   */
+  STRING(String.class);
+
+  private static final ElementEncoding[] ENCODINGS = values();
+
+  private final Class<?> elementType;
+
+  /**
+   * Constructs a new element encoding.
+   *
+   * @param elementType the exact type all elements must have to use this encoding, null if all types are allowed.
+   */
+  ElementEncoding(@Nullable Class<?> elementType) {
+    this.elementType = elementType;
+  }
+
+  /**
+   * Selects the most compact encoding for the given elements.
+   *
+   * @param elements the snapshot of the elements to select the encoding for.
+   * @param caller   the object mapper which is used to write the elements.
+   * @return the most compact encoding to write the given elements.
+   * @throws NullPointerException if the given collection or object mapper is null.
+   */
+  static @NonNull ElementEncoding select(@NonNull Collection<?> elements, @NonNull ObjectMapper caller) {
+    var iterator = elements.iterator();
+    if (!iterator.hasNext()) {
+      return GENERIC;
+    }
+
+    // find the encoding matching the type of the first element
+    var first = iterator.next();
+    var encoding = GENERIC;
+    for (var candidate : ENCODINGS) {
+      if (candidate.elementType != null && first != null && candidate.elementType == first.getClass()) {
+        encoding = candidate;
+        break;
+      }
+    }
+
+    // the direct encodings would bypass a custom serializer registered for the element type
+    if (encoding != GENERIC
+      && !(caller instanceof DefaultObjectMapper mapper && mapper.defaultSerializerRegistered(encoding.elementType))) {
+      return GENERIC;
+    }
+
+    // ensure that all other elements have the same type
+    if (encoding != GENERIC) {
+      while (iterator.hasNext()) {
+        var element = iterator.next();
+        if (element == null || element.getClass() != encoding.elementType) {
+          return GENERIC;
+        }
+      }
+    }
+    return encoding;
+  }
+
+  /**
+   * Reads the encoding which was written by {@link #write(DataBuf.Mutable)} from the given buffer.
+   *
+   * @param source the buffer to read the encoding from.
+   * @return the encoding read from the buffer.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  static @NonNull ElementEncoding read(@NonNull DataBuf source) {
+    return ENCODINGS[source.readByte()];
+  }
+
+  /**
+   * Writes this encoding into the given buffer.
+   *
+   * @param target the buffer to write the encoding to.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  void write(@NonNull DataBuf.Mutable target) {
+    target.writeByte((byte) this.ordinal());
+  }
+
+  /**
+   * Writes the given element into the buffer using this encoding.
+   *
+   * @param target  the buffer to write the element to.
+   * @param element the element to write.
+   * @param caller  the object mapper to use for generically encoded elements.
+   * @throws NullPointerException if the given buffer or object mapper is null.
+   */
+  void writeElement(@NonNull DataBuf.Mutable target, @Nullable Object element, @NonNull ObjectMapper caller) {
+    switch (this) {
+      case INT -> target.writeInt((Integer) element);
+      case LONG -> target.writeLong((Long) element);
+      case UNIQUE_ID -> {
+        var uuid = (UUID) element;
+        target.writeLong(uuid.getMostSignificantBits()).writeLong(uuid.getLeastSignificantBits());
+      }
+      case STRING -> target.writeString((String) element);
+      default -> caller.writeObject(target, element);
+    }
+  }
+
+  /**
+   * Reads the next element from the buffer using this encoding.
+   *
+   * @param source      the buffer to read the element from.
+   * @param elementType the generic type of the element, used for generically encoded elements.
+   * @param caller      the object mapper to use for generically encoded elements.
+   * @return the read element.
+   * @throws NullPointerException if the given buffer, element type or object mapper is null.
+   */
+  @Nullable Object readElement(@NonNull DataBuf source, @NonNull Type elementType, @NonNull ObjectMapper caller) {
+    return switch (this) {
+      case INT -> source.readInt();
+      case LONG -> source.readLong();
+      case UNIQUE_ID -> new UUID(source.readLong(), source.readLong());
+      case STRING -> source.readString();
+      default -> caller.readObject(source, elementType);
+    };
+  }
+}
@@ -25,12 +25,16 @@
 import org.jetbrains.annotations.Nullable;
 
 /**
- * An object serializer which can write and read a json document to/from the buffer.
+ * An object serializer which can write and read a json document to/from the buffer. Documents are written in their
+ * compact binary form unless disabled, reading accepts both the binary and the json string representation.
  *
  * @since 4.0
  */
 public class JsonDocumentObjectSerializer implements ObjectSerializer<JsonDocument> {
 
+  private static final boolean BINARY_DOCUMENTS = Boolean.parseBoolean(
+    System.getProperty("cloudnet.rpc.binary-documents", "true"));
+
   /**
    * {@inheritDoc}
    */
@@ -40,7 +44,8 @@ public class JsonDocumentObjectSerializer implements ObjectSerializer<JsonDocume
     @NonNull Type type,
     @NonNull ObjectMapper caller
   ) {
-    return JsonDocument.fromJsonString(source.readString());
+    // the json string is written with the same length prefix as a byte array, so both formats can be read this way
+    return JsonDocument.fromBinary(source.readByteArray());
   }
 
   /**
@@ -53,6 +58,10 @@ public void write(
     @NonNull Type type,
     @NonNull ObjectMapper caller
   ) {
-    dataBuf.writeString(object.toString());
+    if (BINARY_DOCUMENTS) {
+      dataBuf.writeByteArray(object.toBinary());
+    } else {
+      dataBuf.writeString(object.toString());
+    }
   }
 }
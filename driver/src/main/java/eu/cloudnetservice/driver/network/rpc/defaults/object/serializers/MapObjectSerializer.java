@@ -22,13 +22,16 @@
 import eu.cloudnetservice.driver.network.rpc.object.ObjectSerializer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * An object serializer which can de- serialize any kind of map from/to a buffer.
+ * An object serializer which can de- serialize any kind of map from/to a buffer. The keys and values of a map are
+ * written in a packed form if they only consist of ints, longs, uuids or strings.
  *
  * @since 4.0
  */
@@ -80,8 +83,12 @@ protected MapObjectSerializer(@NonNull Supplier<Map<?, ?>> mapFactory) {
     var keyType = ((ParameterizedType) type).getActualTypeArguments()[0];
     var valueType = ((ParameterizedType) type).getActualTypeArguments()[1];
     // read the map content
+    var keyEncoding = ElementEncoding.read(source);
+    var valueEncoding = ElementEncoding.read(source);
     for (var i = 0; i < mapSize; i++) {
-      map.put(caller.readObject(source, keyType), caller.readObject(source, valueType));
+      map.put(
+        keyEncoding.readElement(source, keyType, caller),
+        valueEncoding.readElement(source, valueType, caller));
     }
     // read done
     return map;
@@ -97,11 +104,27 @@ public void write(
     @NonNull Type type,
     @NonNull ObjectMapper caller
   ) {
-    dataBuf.writeInt(object == null ? 0 : object.size());
+    // iterate the map only once, it might be modified concurrently
+    var size = object == null ? 0 : object.size();
+    List<Object> keys = new ArrayList<>(size);
+    List<Object> values = new ArrayList<>(size);
     if (object != null) {
       for (Map.Entry<?, ?> entry : object.entrySet()) {
-        caller.writeObject(dataBuf, entry.getKey());
-        caller.writeObject(dataBuf, entry.getValue());
+        keys.add(entry.getKey());
+        values.add(entry.getValue());
+      }
+    }
+
+    dataBuf.writeInt(keys.size());
+    if (!keys.isEmpty()) {
+      // select the most compact encodings for the keys and values
+      var keyEncoding = ElementEncoding.select(keys, caller);
+      var valueEncoding = ElementEncoding.select(values, caller);
+      keyEncoding.write(dataBuf);
+      valueEncoding.write(dataBuf);
+      for (var i = 0; i < keys.size(); i++) {
+        keyEncoding.writeElement(dataBuf, keys.get(i), caller);
+        valueEncoding.writeElement(dataBuf, values.get(i), caller);
       }
     }
   }
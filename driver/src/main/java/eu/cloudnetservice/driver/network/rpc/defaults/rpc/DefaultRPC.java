@@ -19,10 +19,13 @@
 import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.protocol.PacketOverflowPolicy;
 import eu.cloudnetservice.driver.network.rpc.RPC;
 import eu.cloudnetservice.driver.network.rpc.RPCChain;
 import eu.cloudnetservice.driver.network.rpc.RPCSender;
 import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCProvider;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCCallTracker;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCMethodIdTable;
 import eu.cloudnetservice.driver.network.rpc.exception.RPCException;
 import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
 import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
@@ -202,13 +205,15 @@ public void fireAndForget(@NonNull NetworkChannel component) {
    */
   @Override
   public @NonNull <T> Task<T> fire(@NonNull NetworkChannel component) {
+    // resolve the id of the target method, the definition is only sent on first use on the channel
+    var methodIdTable = RPCMethodIdTable.forChannel(component);
+    var method = RPCMethodIdTable.localMethod(this.className, this.methodName, this.arguments.length);
     // write the default needed information we need
-    var dataBuf = this.dataBufFactory.createEmpty()
-      .writeBoolean(false) // not a method chain
-      .writeString(this.className)
-      .writeString(this.methodName)
-      .writeBoolean(this.resultExpectation)
-      .writeInt(this.arguments.length);
+    var dataBuf = methodIdTable.writeDefinitions(this.dataBufFactory.createEmpty(), method)
+      .writeVarInt(this.resultExpectation ? RPCCallTracker.deadlineMillis(component) : 0)
+      .writeByte(RPCRequestPacket.REQUEST_TYPE_SINGLE)
+      .writeVarInt(method.id())
+      .writeBoolean(this.resultExpectation);
     // write the arguments provided
     for (var argument : this.arguments) {
       this.objectMapper.writeObject(dataBuf, argument);
@@ -216,12 +221,21 @@ public void fireAndForget(@NonNull NetworkChannel component) {
     // send query if result is needed
     if (this.resultExpectation) {
       // now send the query and read the response
-      return Task.wrapFuture(component
-        .sendQueryAsync(new RPCRequestPacket(dataBuf))
-        .thenApply(new RPCResultMapper<>(this.expectedResultType, this.objectMapper)));
+      var packet = new RPCRequestPacket(dataBuf);
+      var queryTask = component.sendQueryAsync(packet);
+      // the definitions were received once the other side responded to the query
+      methodIdTable.markAnnouncedOnSuccess(queryTask, method);
+      var resultTask = Task.wrapFuture(queryTask.thenCompose(
+        new RPCResultMapper<T>(this.expectedResultType, this.objectMapper, component)));
+      // notify the handling side when the caller stopped waiting for the result
+      RPCCallTracker.propagateCancellation(component, packet.queryId(), queryTask, resultTask);
+      return resultTask;
     } else {
       // just send the method invocation request
-      component.sendPacket(new RPCRequestPacket(dataBuf));
+      // firing without expecting a result must not block, the request is rejected if the outbound queue is full
+      // the packet might get dropped or its write cancelled, only mark the methods as announced once it was written
+      var writeTask = component.sendPacketAsync(new RPCRequestPacket(dataBuf), PacketOverflowPolicy.FAIL);
+      methodIdTable.markAnnouncedOnSuccess(writeTask, method);
       return Task.completedTask(null);
     }
   }
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults.rpc;
+
+import com.google.common.util.concurrent.UncheckedTimeoutException;
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketOverflowPolicy;
+import eu.cloudnetservice.driver.network.rpc.RPC;
+import eu.cloudnetservice.driver.network.rpc.RPCBatch;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCCallTracker;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCMethodIdTable;
+import eu.cloudnetservice.driver.network.rpc.exception.RPCException;
+import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The default implementation of a rpc batch.
+ *
+ * @since 4.0
+ */
+public class DefaultRPCBatch implements RPCBatch {
+
+  protected final DataBufFactory dataBufFactory;
+  protected final List<BatchEntry> entries = new ArrayList<>();
+  protected final AtomicBoolean fired = new AtomicBoolean();
+
+  /**
+   * Constructs a new default rpc batch instance.
+   *
+   * @param dataBufFactory the data buf factory to use for the allocation of the request buffer.
+   * @throws NullPointerException if the given data buf factory is null.
+   */
+  public DefaultRPCBatch(@NonNull DataBufFactory dataBufFactory) {
+    this.dataBufFactory = dataBufFactory;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public @NonNull <T> Task<T> add(@NonNull RPC rpc) {
+    synchronized (this.entries) {
+      // ensure that the batch was not yet fired
+      if (this.fired.get()) {
+        throw new IllegalStateException("Unable to add a call to a rpc batch which was already fired");
+      }
+
+      var task = new Task<T>();
+      this.entries.add(new BatchEntry(rpc, (Task<Object>) task));
+      return task;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Collection<RPC> calls() {
+    synchronized (this.entries) {
+      return this.entries.stream().map(BatchEntry::rpc).toList();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void fireAndForget() {
+    var channel = this.firstChannel();
+    if (channel != null) {
+      this.fireAndForget(channel);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void fireSync() {
+    var channel = this.firstChannel();
+    if (channel != null) {
+      this.fireSync(channel);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Task<Void> fire() {
+    var channel = this.firstChannel();
+    return channel == null ? Task.completedTask(null) : this.fire(channel);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void fireAndForget(@NonNull NetworkChannel component) {
+    synchronized (this.entries) {
+      for (var entry : this.entries) {
+        entry.rpc().disableResultExpectation();
+      }
+    }
+    this.fire(component);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void fireSync(@NonNull NetworkChannel component) {
+    try {
+      this.fire(component).get();
+    } catch (ExecutionException exception) {
+      throw new RPCException(this, exception);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt(); // reset the interrupted state of the thread
+      throw new IllegalThreadStateException();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Task<Void> fire(@NonNull NetworkChannel component) {
+    List<BatchEntry> entries;
+    synchronized (this.entries) {
+      // ensure that the batch is only fired once
+      if (!this.fired.compareAndSet(false, true)) {
+        throw new IllegalStateException("Unable to fire a rpc batch twice");
+      }
+      entries = List.copyOf(this.entries);
+    }
+
+    // nothing to send
+    if (entries.isEmpty()) {
+      return Task.completedTask(null);
+    }
+
+    // resolve the ids of all methods in the batch, the definitions are only sent on first use on the channel
+    var methodIdTable = RPCMethodIdTable.forChannel(component);
+    var methods = new RPCMethodIdTable.MethodEntry[entries.size()];
+    for (var i = 0; i < methods.length; i++) {
+      var rpc = entries.get(i).rpc();
+      methods[i] = RPCMethodIdTable.localMethod(rpc.className(), rpc.methodName(), rpc.arguments().length);
+    }
+
+    // write the information about the batch
+    var resultExpected = entries.stream().anyMatch(entry -> entry.rpc().expectsResult());
+    var dataBuf = methodIdTable.writeDefinitions(this.dataBufFactory.createEmpty(), methods)
+      .writeVarInt(resultExpected ? RPCCallTracker.deadlineMillis(component) : 0)
+      .writeByte(RPCRequestPacket.REQUEST_TYPE_BATCH)
+      .writeVarInt(methods.length);
+    for (var i = 0; i < methods.length; i++) {
+      var rpc = entries.get(i).rpc();
+      dataBuf.writeVarInt(methods[i].id()).writeBoolean(rpc.expectsResult());
+      // the arguments of each call are written into a separate buffer which allows the receiver to execute the calls
+      // without reading the arguments of the previous calls first
+      try (var arguments = rpc.dataBufFactory().createEmpty()) {
+        for (var argument : rpc.arguments()) {
+          rpc.objectMapper().writeObject(arguments, argument);
+        }
+        dataBuf.writeDataBuf(arguments);
+      }
+    }
+
+    // send query if result is needed
+    if (resultExpected) {
+      var batchTask = new Task<Void>();
+      var packet = new RPCRequestPacket(dataBuf);
+      var queryTask = component.sendQueryAsync(packet);
+      // the definitions were received once the other side responded to the query
+      methodIdTable.markAnnouncedOnSuccess(queryTask, methods);
+      queryTask.whenComplete(
+        (response, throwable) -> this.completeCalls(entries, batchTask, component, response, throwable));
+      // notify the handling side when the caller stopped waiting for the result
+      RPCCallTracker.propagateCancellation(component, packet.queryId(), queryTask, batchTask);
+      return batchTask;
+    } else {
+      // just send the method invocation request
+      // firing without expecting a result must not block, the request is rejected if the outbound queue is full
+      // the packet might get dropped or its write cancelled, only mark the methods as announced once it was written
+      var writeTask = component.sendPacketAsync(new RPCRequestPacket(dataBuf), PacketOverflowPolicy.FAIL);
+      methodIdTable.markAnnouncedOnSuccess(writeTask, methods);
+      entries.forEach(entry -> entry.task().complete(null));
+      return Task.completedTask(null);
+    }
+  }
+
+  /**
+   * Completes the tasks of all given calls based on the given response of the remote component.
+   *
+   * @param entries   the calls which were sent in the batch, in the order they were written.
+   * @param batchTask the task of the whole batch to complete once all calls were completed.
+   * @param component the channel to which the batch was sent.
+   * @param response  the response of the remote component, null if the query failed.
+   * @param throwable the exception which caused the query to fail, null if the query succeeded.
+   * @throws NullPointerException if the given entry list, batch task or channel is null.
+   */
+  protected void completeCalls(
+    @NonNull List<BatchEntry> entries,
+    @NonNull Task<Void> batchTask,
+    @NonNull NetworkChannel component,
+    @Nullable Packet response,
+    @Nullable Throwable throwable
+  ) {
+    // check if the query failed or timed out before trying to read from the buffer
+    if (throwable != null || response == null || !response.readable()) {
+      var cause = throwable != null
+        ? new ExecutionException(throwable)
+        : new UncheckedTimeoutException("Query future was completed before rpc batch was able to respond");
+      for (var entry : entries) {
+        entry.task().completeExceptionally(new RPCException(entry.rpc(), cause));
+      }
+      batchTask.completeExceptionally(cause);
+      return;
+    }
+
+    // the content of the response is owned by us, ensure that it gets released even if the result was not fully read
+    try (var content = response.content()) {
+      for (var entry : entries) {
+        // calls which are not expecting a result have no entry in the response
+        if (!entry.rpc().expectsResult()) {
+          entry.task().complete(null);
+          continue;
+        }
+
+        // each result is written into a separate buffer to not break the other results if one is not fully read
+        try (var result = content.readDataBuf()) {
+          var mapper = new RPCResultMapper<>(entry.rpc().expectedResultType(), entry.rpc().objectMapper(), component);
+          mapper.readResult(result).whenComplete((value, exception) -> {
+            // streamed results are only available once all chunks were received
+            if (exception == null) {
+              entry.task().complete(value);
+            } else {
+              entry.task().completeExceptionally(exception);
+            }
+          });
+        } catch (RPCExecutionException exception) {
+          // the remote method threw an exception
+          entry.task().completeExceptionally(exception);
+        } catch (Exception exception) {
+          entry.task().completeExceptionally(new RPCException(entry.rpc(), exception));
+        }
+      }
+    }
+    batchTask.complete(null);
+  }
+
+  /**
+   * Get the first channel of the network component associated with the first call in this batch.
+   *
+   * @return the first channel of the component associated with the first call, null if this batch has no calls.
+   * @throws NullPointerException if the associated network component has no channels available.
+   */
+  protected @Nullable NetworkChannel firstChannel() {
+    synchronized (this.entries) {
+      if (this.entries.isEmpty()) {
+        // mark the batch as fired even though nothing was sent
+        this.fired.set(true);
+        return null;
+      }
+      var rpc = this.entries.get(0).rpc();
+      return Objects.requireNonNull(rpc.sender().associatedComponent().firstChannel());
+    }
+  }
+
+  /**
+   * A call added to this batch.
+   *
+   * @param rpc  the rpc of the call.
+   * @param task the task to complete with the result of the call.
+   * @since 4.0
+   */
+  protected record BatchEntry(@NonNull RPC rpc, @NonNull Task<Object> task) {
+
+  }
+}
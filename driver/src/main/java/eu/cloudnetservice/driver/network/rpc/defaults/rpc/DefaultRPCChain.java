@@ -19,9 +19,12 @@
 import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.PacketOverflowPolicy;
 import eu.cloudnetservice.driver.network.rpc.RPC;
 import eu.cloudnetservice.driver.network.rpc.RPCChain;
 import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCProvider;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCCallTracker;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCMethodIdTable;
 import eu.cloudnetservice.driver.network.rpc.exception.RPCException;
 import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
 import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
@@ -165,44 +168,77 @@ public void fireAndForget(@NonNull NetworkChannel component) {
    */
   @Override
   public @NonNull <T> Task<T> fire(@NonNull NetworkChannel component) {
+    // resolve the ids of all methods in the chain, the definitions are only sent on first use on the channel
+    var methodIdTable = RPCMethodIdTable.forChannel(component);
+    var methods = new RPCMethodIdTable.MethodEntry[this.rpcChain.size() + 1];
+    methods[0] = this.methodEntry(this.rootRPC);
+    for (var i = 0; i < this.rpcChain.size(); i++) {
+      methods[i + 1] = this.methodEntry(this.rpcChain.get(i));
+    }
     // information about the root invocation
-    var dataBuf = this.dataBufFactory.createEmpty()
-      .writeBoolean(true) // method chain
-      .writeInt(this.rpcChain.size() + 1); // chain length (+1 because the root chain is not included)
+    var dataBuf = methodIdTable.writeDefinitions(this.dataBufFactory.createEmpty(), methods)
+      .writeVarInt(this.headRPC.expectsResult() ? RPCCallTracker.deadlineMillis(component) : 0)
+      .writeByte(RPCRequestPacket.REQUEST_TYPE_CHAIN)
+      .writeInt(methods.length); // chain length, including the root rpc
     // write the root rpc first
-    this.writeRPCInformation(dataBuf, this.rootRPC, false); // the root rpc can never the last
+    this.writeRPCInformation(dataBuf, this.rootRPC, methods[0], false); // the root rpc can never the last
     // write the full chain
     for (var i = 0; i < this.rpcChain.size(); i++) {
-      this.writeRPCInformation(dataBuf, this.rpcChain.get(i), i < (this.rpcChain.size() - 1));
+      this.writeRPCInformation(dataBuf, this.rpcChain.get(i), methods[i + 1], i < (this.rpcChain.size() - 1));
     }
     // send query if result is needed
     if (this.headRPC.expectsResult()) {
       // now send the query and read the response
-      return Task.wrapFuture(component
-        .sendQueryAsync(new RPCRequestPacket(dataBuf))
-        .thenApply(new RPCResultMapper<>(this.headRPC.expectedResultType(), this.objectMapper)));
+      var packet = new RPCRequestPacket(dataBuf);
+      var queryTask = component.sendQueryAsync(packet);
+      // the definitions were received once the other side responded to the query
+      methodIdTable.markAnnouncedOnSuccess(queryTask, methods);
+      var resultTask = Task.wrapFuture(
+        queryTask.thenCompose(
+          new RPCResultMapper<T>(this.headRPC.expectedResultType(), this.objectMapper, component)));
+      // notify the handling side when the caller stopped waiting for the result
+      RPCCallTracker.propagateCancellation(component, packet.queryId(), queryTask, resultTask);
+      return resultTask;
     } else {
       // just send the method invocation request
-      component.sendPacket(new RPCRequestPacket(dataBuf));
+      // firing without expecting a result must not block, the request is rejected if the outbound queue is full
+      // the packet might get dropped or its write cancelled, only mark the methods as announced once it was written
+      var writeTask = component.sendPacketAsync(new RPCRequestPacket(dataBuf), PacketOverflowPolicy.FAIL);
+      methodIdTable.markAnnouncedOnSuccess(writeTask, methods);
       return Task.completedTask(null);
     }
   }
 
+  /**
+   * Resolves the interned method entry of the method which gets called by the given rpc.
+   *
+   * @param rpc the rpc to get the method entry of.
+   * @return the interned method entry of the method called by the given rpc.
+   * @throws NullPointerException if the given rpc is null.
+   */
+  protected @NonNull RPCMethodIdTable.MethodEntry methodEntry(@NonNull RPC rpc) {
+    return RPCMethodIdTable.localMethod(rpc.className(), rpc.methodName(), rpc.arguments().length);
+  }
+
   /**
    * Writes the given rpc into the given buffer.
    *
    * @param dataBuf the data buffer to write the rpc to.
    * @param rpc     the rpc to serialize.
+   * @param method  the interned method entry of the method called by the rpc.
    * @param last    true if the given rpc is the last rpc in the call chain, false otherwise.
-   * @throws NullPointerException if either the given buffer or rpc is null.
+   * @throws NullPointerException if either the given buffer, rpc or method entry is null.
    */
-  protected void writeRPCInformation(@NonNull DataBuf.Mutable dataBuf, @NonNull RPC rpc, boolean last) {
+  protected void writeRPCInformation(
+    @NonNull DataBuf.Mutable dataBuf,
+    @NonNull RPC rpc,
+    @NonNull RPCMethodIdTable.MethodEntry method,
+    boolean last
+  ) {
     // general information about the rpc invocation
     dataBuf
-      .writeString(rpc.className())
-      .writeString(rpc.methodName())
-      .writeBoolean(!last || rpc.expectsResult())
-      .writeInt(rpc.arguments().length);
+      .writeVarInt(method.id())
+      .writeBoolean(!last || rpc.expectsResult());
     // write the arguments provided
     for (var argument : rpc.arguments()) {
       this.objectMapper.writeObject(dataBuf, argument);
@@ -16,47 +16,91 @@
 
 package eu.cloudnetservice.driver.network.rpc.defaults.rpc;
 
+import com.google.common.reflect.TypeToken;
 import com.google.common.util.concurrent.UncheckedTimeoutException;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.rpc.defaults.handler.util.ExceptionalResultUtil;
+import eu.cloudnetservice.driver.network.rpc.defaults.stream.RPCStreams;
+import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
 import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCStreamPacket;
 import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import lombok.NonNull;
 import org.jetbrains.annotations.UnknownNullability;
 
 /**
  * The shared mapping function between the rpc chain and default rpc handling the result of a remote code execution and
- * mapping the result in a convenient way.
+ * mapping the result in a convenient way. Streamed results are completed once the stream was fully received, or
+ * directly if the result is a stream or iterator which is read lazily.
  *
  * @param <T> the generic expected result type of the rpc.
  * @since 4.0
  */
 record RPCResultMapper<T>(
   @NonNull Type expectedResultType,
-  @NonNull ObjectMapper objectMapper
-) implements Function<Packet, T> {
+  @NonNull ObjectMapper objectMapper,
+  @NonNull NetworkChannel channel
+) implements Function<Packet, CompletableFuture<T>> {
+
+  /**
+   * Constructs a new rpc result mapper instance. If the expected result type is a future, the type of the future value
+   * is expected instead, as the remote handler only sends the result once the future completed.
+   *
+   * @param expectedResultType the generic expected result type of the rpc.
+   * @param objectMapper       the object mapper to use to read the result.
+   * @param channel            the channel to which the rpc was sent.
+   * @throws NullPointerException if either the given type, object mapper or channel is null.
+   */
+  RPCResultMapper {
+    var resultType = TypeToken.of(expectedResultType);
+    if (CompletableFuture.class.isAssignableFrom(resultType.getRawType())) {
+      expectedResultType = resultType.resolveType(CompletableFuture.class.getTypeParameters()[0]).getType();
+    }
+  }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public @UnknownNullability T apply(@UnknownNullability Packet response) {
+  public @NonNull CompletableFuture<T> apply(@UnknownNullability Packet response) {
     // check if the query timed out before trying to read from the buffer
     if (response.readable()) {
       // the remote execution responded - check if the execution was successful or resulted in an exception
-      var content = response.content();
-      if (content.readBoolean()) {
-        // the execution did not throw an exception
-        return this.objectMapper.readObject(content, this.expectedResultType);
-      } else {
-        // rethrow the execution exception
-        ExceptionalResultUtil.rethrowException(content);
-        return null; // ok fine, but this will never happen - no one was seen again after entering the rethrowException method
+      // the content of the response is owned by us, ensure that it gets released even if the result was not fully read
+      try (var content = response.content()) {
+        return this.readResult(content);
       }
     } else {
       // the query timed out - just cover that case in a nice exception wrapper :(
       throw new UncheckedTimeoutException("Query future was completed before rpc was able to respond");
     }
   }
+
+  /**
+   * Reads the result of a remote code execution from the given buffer, rethrowing the exception which was thrown by
+   * the remote method if the execution was not successful.
+   *
+   * @param content the buffer to read the result from.
+   * @return a future completed with the result of the remote code execution.
+   * @throws NullPointerException  if the given buffer is null.
+   * @throws RPCExecutionException if the remote method threw an exception.
+   */
+  @NonNull CompletableFuture<T> readResult(@NonNull DataBuf content) {
+    var resultType = content.readByte();
+    if (resultType == RPCStreamPacket.STREAMED_RESULT) {
+      // the result is sent in chunks, start receiving them
+      return RPCStreams.openReceiver(this.channel, content.readLong(), this.expectedResultType, this.objectMapper);
+    } else if (resultType != 0) {
+      // the execution did not throw an exception
+      return CompletableFuture.completedFuture(this.objectMapper.readObject(content, this.expectedResultType));
+    } else {
+      // rethrow the execution exception
+      ExceptionalResultUtil.rethrowException(content);
+      return null; // ok fine, but this will never happen - no one was seen again after entering the rethrowException method
+    }
+  }
 }
@@ -21,11 +21,13 @@
 import eu.cloudnetservice.driver.network.NetworkComponent;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.rpc.RPC;
+import eu.cloudnetservice.driver.network.rpc.RPCBatch;
 import eu.cloudnetservice.driver.network.rpc.RPCFactory;
 import eu.cloudnetservice.driver.network.rpc.RPCSender;
 import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCProvider;
 import eu.cloudnetservice.driver.network.rpc.defaults.MethodInformation;
 import eu.cloudnetservice.driver.network.rpc.defaults.rpc.DefaultRPC;
+import eu.cloudnetservice.driver.network.rpc.defaults.rpc.DefaultRPCBatch;
 import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -116,4 +118,12 @@ public DefaultRPCSender(
       information.returnType(),
       this.dataBufFactory);
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull RPCBatch newBatch() {
+    return new DefaultRPCBatch(this.dataBufFactory);
+  }
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults.stream;
+
+import com.google.common.util.concurrent.UncheckedTimeoutException;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.util.ExceptionalResultUtil;
+import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCStreamPacket;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The caller side of a streamed rpc result. A receiver either collects all received chunks into a collection or map
+ * and completes a future once the last chunk was received, or queues the received chunks to hand out the elements
+ * lazily through an iterator. In both cases new chunks are only requested from the remote side after the previous
+ * chunks were consumed, which bounds the amount of elements held in memory while the elements are consumed lazily.
+ * <p>
+ * Chunks are received on the network thread of the channel, as the packets are prioritized. Therefore, a lazily
+ * consumed result can be read from every thread except for the network threads.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class RPCStreamReceiver implements Iterator<Object> {
+
+  private static final Object END_OF_STREAM = new Object();
+
+  private final long id;
+  private final NetworkChannel channel;
+  private final ObjectMapper objectMapper;
+  private final Type elementType;
+  private final Type valueType;
+
+  // collecting mode
+  private final Object collector;
+  private final CompletableFuture<Object> result;
+  // lazy mode
+  private final BlockingQueue<Object> chunks;
+
+  private int consumedChunks;
+  private boolean endReached;
+  private Iterator<?> currentChunk;
+  private volatile boolean finished;
+
+  /**
+   * Constructs a new rpc stream receiver instance.
+   *
+   * @param id           the id of the stream on the remote side.
+   * @param channel      the channel to which the stream belongs.
+   * @param objectMapper the object mapper to use to read the elements of the stream.
+   * @param elementType  the type of the elements, or the type of the keys when collecting into a map.
+   * @param valueType    the type of the values when collecting into a map, null otherwise.
+   * @param collector    the collection or map to collect the elements into, null to consume the elements lazily.
+   * @throws NullPointerException if either the given channel, object mapper or element type is null.
+   */
+  RPCStreamReceiver(
+    long id,
+    @NonNull NetworkChannel channel,
+    @NonNull ObjectMapper objectMapper,
+    @NonNull Type elementType,
+    @Nullable Type valueType,
+    @Nullable Object collector
+  ) {
+    this.id = id;
+    this.channel = channel;
+    this.objectMapper = objectMapper;
+    this.elementType = elementType;
+    this.valueType = valueType;
+    this.collector = collector;
+    this.result = collector == null ? null : new CompletableFuture<>();
+    this.chunks = collector == null ? new LinkedBlockingQueue<>() : null;
+  }
+
+  /**
+   * Get the future completed with the collection or map containing all elements of the stream. This method returns
+   * null if the elements are consumed lazily.
+   *
+   * @return the future completed with all elements of the stream, null if the elements are consumed lazily.
+   */
+  public @Nullable CompletableFuture<Object> result() {
+    return this.result;
+  }
+
+  /**
+   * Handles the next chunk of elements sent by the remote side.
+   *
+   * @param content the content of the chunk packet, positioned after the packet header.
+   * @throws NullPointerException if the given content is null.
+   */
+  @SuppressWarnings("unchecked")
+  public void handleChunk(@NonNull DataBuf content) {
+    try {
+      var count = content.readVarInt();
+      if (this.collector instanceof Map<?, ?> map) {
+        for (var i = 0; i < count; i++) {
+          Object key = this.objectMapper.readObject(content, this.elementType);
+          Object value = this.objectMapper.readObject(content, this.valueType);
+          ((Map<Object, Object>) map).put(key, value);
+        }
+      } else {
+        var elements = this.collector == null ? new ArrayList<>(count) : (Collection<Object>) this.collector;
+        for (var i = 0; i < count; i++) {
+          elements.add(this.objectMapper.readObject(content, this.elementType));
+        }
+        if (this.collector == null) {
+          this.chunks.add(elements);
+        }
+      }
+
+      // check if the stream ended
+      if (content.readBoolean()) {
+        this.finish(null);
+      } else if (this.collector != null) {
+        // collected chunks are consumed directly
+        this.chunkConsumed();
+      }
+    } catch (Exception exception) {
+      // the remote side can stop sending chunks, we are unable to handle them anyway
+      if (!this.finished) {
+        this.finish(exception);
+        this.sendCancel();
+      }
+    }
+  }
+
+  /**
+   * Handles the failure sent by the remote side when reading the elements of the stream failed.
+   *
+   * @param content the content of the failure packet, positioned after the packet header.
+   * @throws NullPointerException if the given content is null.
+   */
+  public void handleFailure(@NonNull DataBuf content) {
+    try {
+      ExceptionalResultUtil.rethrowException(content);
+    } catch (Exception exception) {
+      this.finish(exception);
+    }
+  }
+
+  /**
+   * Requests the first chunks of the stream from the remote side.
+   */
+  void start() {
+    this.requestChunks(RPCStreams.WINDOW);
+  }
+
+  /**
+   * Stops the stream, telling the remote side to not send further chunks. This method has no effect if the stream
+   * already ended.
+   */
+  public void cancel() {
+    if (!this.finished) {
+      this.finish(new IllegalStateException("Stream was closed before all elements were received"));
+      this.sendCancel();
+    }
+  }
+
+  /**
+   * Tells the remote side to stop sending chunks of this stream.
+   */
+  private void sendCancel() {
+    this.channel.sendPacket(new RPCStreamPacket(RPCStreamPacket.header(RPCStreamPacket.TYPE_CANCEL, this.id)));
+  }
+
+  /**
+   * Ends this stream, either because the last chunk was received or because receiving the chunks failed.
+   *
+   * @param throwable the exception which caused the stream to fail, null if the stream ended normally.
+   */
+  void finish(@Nullable Throwable throwable) {
+    if (!this.finished) {
+      this.finished = true;
+      RPCStreams.removeReceiver(this.channel, this.id);
+      if (this.collector != null) {
+        if (throwable == null) {
+          this.result.complete(this.collector);
+        } else {
+          this.result.completeExceptionally(throwable);
+        }
+      } else {
+        this.chunks.add(throwable == null ? END_OF_STREAM : throwable);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasNext() {
+    while (this.currentChunk == null || !this.currentChunk.hasNext()) {
+      // the end of the stream was already reached
+      if (this.chunks == null || this.endReached) {
+        return false;
+      }
+
+      // wait for the next chunk to arrive
+      var next = this.pollChunk();
+      if (next == END_OF_STREAM || next instanceof Throwable) {
+        // no more chunks will arrive
+        this.endReached = true;
+      }
+
+      if (next == END_OF_STREAM) {
+        return false;
+      } else if (next instanceof RuntimeException exception) {
+        throw exception;
+      } else if (next instanceof Throwable throwable) {
+        throw new IllegalStateException("Unable to receive the next elements of the stream", throwable);
+      }
+
+      // the chunk was taken from the queue, allow the remote side to send the next one
+      this.currentChunk = ((Collection<?>) next).iterator();
+      if (!this.finished) {
+        this.chunkConsumed();
+      }
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object next() {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return this.currentChunk.next();
+  }
+
+  /**
+   * Waits for the next chunk of the stream to arrive. The stream gets cancelled if no chunk arrives within the stream
+   * timeout.
+   *
+   * @return the next chunk, the end of stream marker or the exception which caused the stream to fail.
+   */
+  private @NonNull Object pollChunk() {
+    try {
+      var next = this.chunks.poll(RPCStreams.TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+      if (next == null) {
+        this.cancel();
+        throw new UncheckedTimeoutException("No elements of the stream were received within " + RPCStreams.TIMEOUT);
+      }
+      return next;
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt(); // reset the interrupted state of the thread
+      this.cancel();
+      throw new IllegalThreadStateException();
+    }
+  }
+
+  /**
+   * Marks one chunk as consumed. After half of the window was consumed, the remote side is allowed to send the same
+   * amount of new chunks.
+   */
+  private void chunkConsumed() {
+    var threshold = Math.max(1, RPCStreams.WINDOW / 2);
+    if (++this.consumedChunks >= threshold) {
+      this.consumedChunks = 0;
+      this.requestChunks(threshold);
+    }
+  }
+
+  /**
+   * Allows the remote side to send the given amount of additional chunks.
+   *
+   * @param amount the amount of additional chunks to request.
+   */
+  private void requestChunks(int amount) {
+    RPCStreams.receiver(this.channel, this.id); // keep the stream alive
+    this.channel.sendPacket(new RPCStreamPacket(
+      RPCStreamPacket.header(RPCStreamPacket.TYPE_REQUEST, this.id).writeVarInt(amount)));
+  }
+}
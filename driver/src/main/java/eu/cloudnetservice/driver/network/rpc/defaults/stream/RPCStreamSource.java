@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults.stream;
+
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.common.log.LogManager;
+import eu.cloudnetservice.common.log.Logger;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.util.ExceptionalResultUtil;
+import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCStreamPacket;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The handler side of a streamed rpc result. The elements of the result are only read and sent in chunks while the
+ * caller granted credits to the source, each credit allows the source to send one more chunk. Chunks are written on a
+ * separate thread to not block the network thread which received the credits.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class RPCStreamSource {
+
+  private static final Logger LOGGER = LogManager.logger(RPCStreamSource.class);
+
+  private final long id;
+  private final NetworkChannel channel;
+  private final ObjectMapper objectMapper;
+  private final Iterator<?> iterator;
+  private final boolean mapEntries;
+  private final AutoCloseable closeHandler;
+
+  private final AtomicInteger credits = new AtomicInteger();
+  private final AtomicBoolean pumping = new AtomicBoolean();
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  /**
+   * Constructs a new rpc stream source instance.
+   *
+   * @param id           the id of the stream.
+   * @param channel      the channel of the caller to send the chunks to.
+   * @param objectMapper the object mapper to use to write the elements of the stream.
+   * @param iterator     the iterator over the elements to send.
+   * @param mapEntries   if the elements are map entries whose key and value should be written separately.
+   * @param closeHandler the handler to call when the stream gets closed, null if no action is needed.
+   * @throws NullPointerException if either the given channel, object mapper or iterator is null.
+   */
+  RPCStreamSource(
+    long id,
+    @NonNull NetworkChannel channel,
+    @NonNull ObjectMapper objectMapper,
+    @NonNull Iterator<?> iterator,
+    boolean mapEntries,
+    @Nullable AutoCloseable closeHandler
+  ) {
+    this.id = id;
+    this.channel = channel;
+    this.objectMapper = objectMapper;
+    this.iterator = iterator;
+    this.mapEntries = mapEntries;
+    this.closeHandler = closeHandler;
+  }
+
+  /**
+   * Get the id of this stream.
+   *
+   * @return the id of this stream.
+   */
+  public long id() {
+    return this.id;
+  }
+
+  /**
+   * Get the channel of the caller to which the chunks of this stream are sent.
+   *
+   * @return the channel of the caller.
+   */
+  public @NonNull NetworkChannel channel() {
+    return this.channel;
+  }
+
+  /**
+   * Allows this source to send the given amount of additional chunks to the caller.
+   *
+   * @param amount the amount of additional chunks the source is allowed to send.
+   */
+  public void grantCredits(int amount) {
+    if (amount > 0 && !this.closed.get()) {
+      this.credits.addAndGet(amount);
+      this.schedulePump();
+    }
+  }
+
+  /**
+   * Closes this source, no further chunks are sent after the chunk which is currently written (if any).
+   */
+  public void close() {
+    if (this.closed.compareAndSet(false, true)) {
+      RPCStreams.removeSource(this.id);
+      if (this.closeHandler != null) {
+        try {
+          this.closeHandler.close();
+        } catch (Exception exception) {
+          LOGGER.fine("Exception closing result of rpc stream %d", exception, this.id);
+        }
+      }
+    }
+  }
+
+  /**
+   * Schedules the writing of the next chunks unless the chunks are already getting written.
+   */
+  private void schedulePump() {
+    if (this.pumping.compareAndSet(false, true)) {
+      Task.supply(this::pump);
+    }
+  }
+
+  /**
+   * Writes the next chunks of this stream as long as credits are available.
+   */
+  private void pump() {
+    try {
+      while (!this.closed.get() && this.credits.get() > 0) {
+        this.credits.decrementAndGet();
+        this.writeChunk();
+      }
+    } catch (Throwable throwable) {
+      // reading the next elements failed, tell the caller about it
+      this.channel.sendPacket(new RPCStreamPacket(ExceptionalResultUtil.serializeThrowable(
+        RPCStreamPacket.header(RPCStreamPacket.TYPE_FAILURE, this.id),
+        throwable)));
+      this.close();
+    } finally {
+      this.pumping.set(false);
+      // re-check for credits which were granted after the loop exited but before the flag was reset
+      if (!this.closed.get() && this.credits.get() > 0) {
+        this.schedulePump();
+      }
+    }
+  }
+
+  /**
+   * Reads the next elements of the stream and sends them as a chunk to the caller. The source gets closed when the
+   * last element of the stream was sent.
+   */
+  private void writeChunk() {
+    // read the elements first, the count must be written before them
+    var elements = new Object[RPCStreams.CHUNK_SIZE];
+    var count = 0;
+    while (count < elements.length && this.iterator.hasNext()) {
+      elements[count++] = this.iterator.next();
+    }
+
+    // write the chunk
+    var last = !this.iterator.hasNext();
+    var buf = RPCStreamPacket.header(RPCStreamPacket.TYPE_CHUNK, this.id).writeVarInt(count);
+    for (var i = 0; i < count; i++) {
+      if (this.mapEntries) {
+        var entry = (Map.Entry<?, ?>) elements[i];
+        this.objectMapper.writeObject(buf, entry.getKey());
+        this.objectMapper.writeObject(buf, entry.getValue());
+      } else {
+        this.objectMapper.writeObject(buf, elements[i]);
+      }
+    }
+    this.channel.sendPacket(new RPCStreamPacket(buf.writeBoolean(last)));
+
+    // nothing more to send
+    if (last) {
+      this.close();
+    }
+  }
+}
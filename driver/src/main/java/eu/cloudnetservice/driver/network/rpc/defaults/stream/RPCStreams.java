@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults.stream;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.UncheckedTimeoutException;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps track of the streamed rpc results which are currently sent or received by this component. A streamed result
+ * is sent in chunks of {@code cloudnet.rpc.stream-chunk-size} elements (512 by default), at most
+ * {@code cloudnet.rpc.stream-window} chunks (4 by default) are in flight before the caller has to request new chunks.
+ * Streams on which no chunks were requested or received for {@code cloudnet.rpc.stream-timeout} seconds (30 by
+ * default) are closed.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class RPCStreams {
+
+  static final int CHUNK_SIZE = Math.max(1, Integer.getInteger("cloudnet.rpc.stream-chunk-size", 512));
+  static final int WINDOW = Math.max(1, Integer.getInteger("cloudnet.rpc.stream-window", 4));
+  static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("cloudnet.rpc.stream-timeout", 30));
+
+  private static final AtomicLong STREAM_ID_SEQUENCE = new AtomicLong();
+  private static final Cache<Long, RPCStreamSource> SOURCES = Caffeine.newBuilder()
+    .expireAfterAccess(TIMEOUT)
+    .scheduler(Scheduler.systemScheduler())
+    .<Long, RPCStreamSource>removalListener((id, source, cause) -> {
+      // the caller stopped requesting chunks
+      if (source != null && cause == RemovalCause.EXPIRED) {
+        source.close();
+      }
+    })
+    .build();
+  private static final Cache<ReceiverKey, RPCStreamReceiver> RECEIVERS = Caffeine.newBuilder()
+    .expireAfterAccess(TIMEOUT)
+    .scheduler(Scheduler.systemScheduler())
+    .<ReceiverKey, RPCStreamReceiver>removalListener((key, receiver, cause) -> {
+      // the remote side stopped sending chunks
+      if (receiver != null && cause == RemovalCause.EXPIRED) {
+        receiver.finish(new UncheckedTimeoutException("No elements of the stream were received within " + TIMEOUT));
+      }
+    })
+    .build();
+
+  private RPCStreams() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get if the given rpc result can be streamed to the caller.
+   *
+   * @param result the result to check.
+   * @return true if the given result can be streamed, false otherwise.
+   */
+  public static boolean streamable(@Nullable Object result) {
+    return result instanceof Stream<?>
+      || result instanceof Iterator<?>
+      || result instanceof Iterable<?>
+      || result instanceof Map<?, ?>;
+  }
+
+  /**
+   * Opens a new stream sending the elements of the given result to the given channel. No chunks are sent until the
+   * caller requests them.
+   *
+   * @param channel      the channel of the caller.
+   * @param result       the result to stream, must be streamable.
+   * @param objectMapper the object mapper to use to write the elements of the result.
+   * @return the id of the opened stream.
+   * @throws NullPointerException     if either the given channel, result or object mapper is null.
+   * @throws IllegalArgumentException if the given result is not streamable.
+   */
+  public static long openSource(
+    @NonNull NetworkChannel channel,
+    @NonNull Object result,
+    @NonNull ObjectMapper objectMapper
+  ) {
+    var id = STREAM_ID_SEQUENCE.incrementAndGet();
+    RPCStreamSource source;
+    if (result instanceof Stream<?> stream) {
+      source = new RPCStreamSource(id, channel, objectMapper, stream.iterator(), false, stream);
+    } else if (result instanceof Iterator<?> iterator) {
+      source = new RPCStreamSource(id, channel, objectMapper, iterator, false, null);
+    } else if (result instanceof Iterable<?> iterable) {
+      source = new RPCStreamSource(id, channel, objectMapper, iterable.iterator(), false, null);
+    } else if (result instanceof Map<?, ?> map) {
+      source = new RPCStreamSource(id, channel, objectMapper, map.entrySet().iterator(), true, null);
+    } else {
+      throw new IllegalArgumentException("Unable to stream result of type " + result.getClass().getName());
+    }
+
+    SOURCES.put(id, source);
+    return id;
+  }
+
+  /**
+   * Get the stream source with the given id which sends its chunks to the given channel.
+   *
+   * @param channel the channel of the caller of the stream.
+   * @param id      the id of the stream.
+   * @return the stream source with the given id, null if no such stream is open on the given channel.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static @Nullable RPCStreamSource source(@NonNull NetworkChannel channel, long id) {
+    var source = SOURCES.getIfPresent(id);
+    return source != null && source.channel() == channel ? source : null;
+  }
+
+  /**
+   * Opens a new receiver for the stream with the given id on the given channel and requests the first chunks of it.
+   * Results of type stream or iterator are returned directly and read lazily, results of type collection or map are
+   * returned once all elements were received.
+   *
+   * @param channel      the channel to which the stream belongs.
+   * @param id           the id of the stream on the remote side.
+   * @param resultType   the generic type of the expected result.
+   * @param objectMapper the object mapper to use to read the elements of the stream.
+   * @param <T>          the type of the expected result.
+   * @return a future completed with the result of the stream.
+   * @throws NullPointerException     if either the given channel, result type or object mapper is null.
+   * @throws IllegalArgumentException if the given result type can not be streamed.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> @NonNull CompletableFuture<T> openReceiver(
+    @NonNull NetworkChannel channel,
+    long id,
+    @NonNull Type resultType,
+    @NonNull ObjectMapper objectMapper
+  ) {
+    var type = TypeToken.of(resultType);
+    var rawType = type.getRawType();
+
+    RPCStreamReceiver receiver;
+    if (Stream.class.isAssignableFrom(rawType) || Iterator.class.isAssignableFrom(rawType)) {
+      var elementType = type.resolveType(
+        (Stream.class.isAssignableFrom(rawType) ? Stream.class : Iterator.class).getTypeParameters()[0]).getType();
+      receiver = new RPCStreamReceiver(id, channel, objectMapper, elementType, null, null);
+    } else if (Map.class.isAssignableFrom(rawType) && rawType.isAssignableFrom(LinkedHashMap.class)) {
+      var keyType = type.resolveType(Map.class.getTypeParameters()[0]).getType();
+      var valueType = type.resolveType(Map.class.getTypeParameters()[1]).getType();
+      receiver = new RPCStreamReceiver(id, channel, objectMapper, keyType, valueType, new LinkedHashMap<>());
+    } else if (Collection.class.isAssignableFrom(rawType)) {
+      var elementType = type.resolveType(Collection.class.getTypeParameters()[0]).getType();
+      Collection<?> collector = Set.class.isAssignableFrom(rawType) ? new LinkedHashSet<>() : new ArrayList<>();
+      if (!rawType.isInstance(collector)) {
+        throw new IllegalArgumentException("Unable to collect stream into " + rawType.getName());
+      }
+      receiver = new RPCStreamReceiver(id, channel, objectMapper, elementType, null, collector);
+    } else {
+      throw new IllegalArgumentException("Unable to receive stream as " + rawType.getName());
+    }
+
+    // register the receiver before requesting the first chunks
+    RECEIVERS.put(new ReceiverKey(channel, id), receiver);
+    receiver.start();
+
+    if (receiver.result() != null) {
+      return (CompletableFuture<T>) receiver.result();
+    } else if (Iterator.class.isAssignableFrom(rawType)) {
+      return CompletableFuture.completedFuture((T) receiver);
+    } else {
+      var spliterator = Spliterators.spliteratorUnknownSize(receiver, Spliterator.ORDERED);
+      return CompletableFuture.completedFuture((T) StreamSupport.stream(spliterator, false).onClose(receiver::cancel));
+    }
+  }
+
+  /**
+   * Get the receiver of the stream with the given id on the given channel.
+   *
+   * @param channel the channel to which the stream belongs.
+   * @param id      the id of the stream on the remote side.
+   * @return the receiver of the stream, null if no such stream is open.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static @Nullable RPCStreamReceiver receiver(@NonNull NetworkChannel channel, long id) {
+    return RECEIVERS.getIfPresent(new ReceiverKey(channel, id));
+  }
+
+  /**
+   * Removes the source with the given id from the open streams.
+   *
+   * @param id the id of the stream.
+   */
+  static void removeSource(long id) {
+    SOURCES.invalidate(id);
+  }
+
+  /**
+   * Removes the receiver of the stream with the given id on the given channel from the open streams.
+   *
+   * @param channel the channel to which the stream belongs.
+   * @param id      the id of the stream on the remote side.
+   * @throws NullPointerException if the given channel is null.
+   */
+  static void removeReceiver(@NonNull NetworkChannel channel, long id) {
+    RECEIVERS.invalidate(new ReceiverKey(channel, id));
+  }
+
+  /**
+   * The key of a stream receiver, the ids of streams are only unique per remote component.
+   *
+   * @param channel the channel to which the stream belongs.
+   * @param id      the id of the stream on the remote side.
+   */
+  private record ReceiverKey(@NonNull NetworkChannel channel, long id) {
+
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.listener;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketListener;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCCallTracker;
+import lombok.NonNull;
+
+/**
+ * A network packet listener handling the cancellation of rpc calls which are executed or waiting for their execution
+ * on this component.
+ *
+ * @since 4.0
+ */
+public class RPCCancelPacketListener implements PacketListener {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) throws Exception {
+    RPCCallTracker.forChannel(channel).cancel(packet.content().readLong());
+  }
+}
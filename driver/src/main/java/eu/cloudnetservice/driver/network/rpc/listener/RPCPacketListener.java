@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.network.rpc.listener;
 
+import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
@@ -25,9 +26,18 @@
 import eu.cloudnetservice.driver.network.rpc.RPCHandler;
 import eu.cloudnetservice.driver.network.rpc.RPCHandlerRegistry;
 import eu.cloudnetservice.driver.network.rpc.RPCInvocationContext;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCCallTracker;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCMethodIdTable;
 import eu.cloudnetservice.driver.network.rpc.defaults.handler.util.ExceptionalResultUtil;
+import eu.cloudnetservice.driver.network.rpc.defaults.stream.RPCStreams;
 import eu.cloudnetservice.driver.network.rpc.exception.CannotDecideException;
 import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCStreamPacket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -56,83 +66,251 @@ public RPCPacketListener(@NonNull RPCHandlerRegistry rpcHandlerRegistry) {
    */
   @Override
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) throws Exception {
-    // the result of the invocation, encoded
-    DataBuf result = null;
+    // the result of the invocation, encoded - might only be available later if the target method is async
+    CompletableFuture<DataBuf> result = null;
     // the input information we get
     var buf = packet.content();
-    // check if the invocation is chained
-    if (buf.readBoolean()) {
-      // get the chain size
-      var chainSize = buf.readInt();
-      // invoke the method on the current result
-      RPCHandler.HandlingResult lastResult = null;
-      for (var i = 1; i < chainSize; i++) {
-        if (i == 1) {
-          // always invoke the first method
-          lastResult = this.handleRaw(buf.readString(), this.buildContext(channel, buf, null, false));
-        } else if (lastResult != null) {
-          if (lastResult.wasSuccessful()) {
-            // only invoke upcoming methods if there was a previous result
+    // register the methods which were announced in the packet before resolving any method id
+    var methodIdTable = RPCMethodIdTable.forChannel(channel);
+    methodIdTable.readDefinitions(buf);
+    // register the call, skip it if the caller already stopped waiting for the result
+    var callTracker = RPCCallTracker.forChannel(channel);
+    var call = callTracker.register(packet, buf.readVarInt());
+    // the call must be completed in any case, unless the completion is handed over to the result future
+    var completeCall = true;
+    try {
+      if (call.aborted()) {
+        return;
+      }
+      // check which kind of invocation was requested
+      var requestType = buf.readByte();
+      if (requestType == RPCRequestPacket.REQUEST_TYPE_BATCH) {
+        // a batch of independent method invocations
+        result = this.handleBatch(channel, methodIdTable, buf, call);
+      } else if (requestType == RPCRequestPacket.REQUEST_TYPE_CHAIN) {
+        // get the chain size
+        var chainSize = buf.readInt();
+        // invoke the method on the current result
+        RPCHandler.HandlingResult lastResult = null;
+        for (var i = 1; i < chainSize; i++) {
+          var method = methodIdTable.readMethod(buf);
+          if (call.aborted()) {
+            // the caller is no longer waiting for the result, skip the remaining calls of the chain
+            result = CompletableFuture.completedFuture(null);
+            break;
+          } else if (i == 1) {
+            // always invoke the first method
             lastResult = this.handleRaw(
-              buf.readString(),
-              this.buildContext(channel, buf, lastResult.invocationResult(), true));
+              methodIdTable.resolveMethod(method, this.rpcHandlerRegistry),
+              this.buildContext(channel, buf, method, null, false));
+          } else if (lastResult != null) {
+            if (lastResult.wasSuccessful()) {
+              // only invoke upcoming methods if there was a previous result
+              lastResult = this.handleRaw(
+                methodIdTable.resolveMethod(method, this.rpcHandlerRegistry),
+                this.buildContext(channel, buf, method, lastResult.invocationResult(), true));
+            } else {
+              // an exception was thrown previously, break
+              result = CompletableFuture.completedFuture(this.serializeResult(
+                lastResult,
+                lastResult.invocationHandler().dataBufFactory(),
+                lastResult.invocationHandler().objectMapper(),
+                this.buildContext(channel, buf, method, null, true)));
+              break;
+            }
           } else {
-            // an exception was thrown previously, break
-            buf.readString(); // remove the handler information which is not necessary
-            result = this.serializeResult(
-              lastResult,
-              lastResult.invocationHandler().dataBufFactory(),
-              lastResult.invocationHandler().objectMapper(),
-              this.buildContext(channel, buf, null, true));
-            break;
+            // just process over to remove the content from the buffer
+            this.handleRaw(
+              methodIdTable.resolveMethod(method, this.rpcHandlerRegistry),
+              this.buildContext(channel, buf, method, null, true));
           }
-        } else {
-          // just process over to remove the content from the buffer
-          this.handleRaw(buf.readString(), this.buildContext(channel, buf, null, true));
         }
+        // check if there is already a result (which is caused by an exception - we can skip the handling step then)
+        if (result == null && lastResult != null) {
+          // the last handler decides over the method invocation result
+          var method = methodIdTable.readMethod(buf);
+          result = this.handle(
+            methodIdTable.resolveMethod(method, this.rpcHandlerRegistry),
+            this.buildContext(channel, buf, method, lastResult.invocationResult(), true),
+            call);
+        }
+      } else {
+        // just invoke the method
+        var method = methodIdTable.readMethod(buf);
+        var context = this.buildContext(channel, buf, method, null, false);
+        result = this.handle(methodIdTable.resolveMethod(method, this.rpcHandlerRegistry), context, call);
       }
-      // check if there is already a result (which is caused by an exception - we can skip the handling step then)
-      if (result == null && lastResult != null) {
-        // the last handler decides over the method invocation result
-        result = this.handle(
-          buf.readString(),
-          this.buildContext(channel, buf, lastResult.invocationResult(), true));
+      // check if we need to send a result, send it once it's available
+      if (result != null && packet.queryId() != 0) {
+        completeCall = false;
+        result.whenComplete((content, throwable) -> {
+          callTracker.complete(packet.queryId());
+          // drop the result if the caller is no longer waiting for it
+          if (call.aborted()) {
+            if (content != null) {
+              content.release();
+            }
+            return;
+          }
+          // serialize the exception if the result serialization failed
+          var responseContent = throwable == null ? content : this.serializeFailure(throwable);
+          if (responseContent != null) {
+            var response = new BasePacket(-1, responseContent);
+            response.queryId(packet.queryId());
+            channel.sendPacket(response);
+          }
+        });
+      }
+    } finally {
+      // the handling failed synchronously or there is no result to wait for
+      if (completeCall) {
+        callTracker.complete(packet.queryId());
       }
-    } else {
-      // just invoke the method
-      result = this.handle(buf.readString(), this.buildContext(channel, buf, null, false));
     }
-    // check if we need to send a result
-    if (result != null && packet.uniqueId() != null) {
-      var response = new BasePacket(-1, result);
-      response.uniqueId(packet.uniqueId());
-      channel.sendPacket(response);
+  }
+
+  /**
+   * Handles a batch of independent rpc calls. All calls in the batch are read from the buffer first and then executed
+   * in parallel. The results of all calls which are expecting a result are written into a single buffer, in the order
+   * the calls were sent.
+   *
+   * @param channel       the network channel on which the rpc request was received.
+   * @param methodIdTable the method id table of the channel to resolve the target methods.
+   * @param content       the remaining buffer content, containing the calls of the batch.
+   * @param call          the tracked call of the rpc request, aborted if the caller stopped waiting for the result.
+   * @return a future completed with the serialized results of all calls, or null if no call expects a result.
+   * @throws NullPointerException if either the given channel, method id table, content buffer or call is null.
+   */
+  protected @NonNull CompletableFuture<DataBuf> handleBatch(
+    @NonNull NetworkChannel channel,
+    @NonNull RPCMethodIdTable methodIdTable,
+    @NonNull DataBuf content,
+    @NonNull RPCCallTracker.Call call
+  ) {
+    // read all calls of the batch, the arguments of each call are in a separate buffer
+    var batchSize = content.readVarInt();
+    var methods = new RPCMethodIdTable.MethodEntry[batchSize];
+    var contexts = new RPCInvocationContext[batchSize];
+    var resultExpected = false;
+    for (var i = 0; i < batchSize; i++) {
+      methods[i] = methodIdTable.readMethod(content);
+      contexts[i] = RPCInvocationContext.builder()
+        .channel(channel)
+        .methodName(methods[i].methodName())
+        .expectsMethodResult(content.readBoolean())
+        .argumentCount(methods[i].argumentCount())
+        .argumentInformation(content.readDataBuf())
+        .normalizePrimitives(Boolean.TRUE)
+        .strictInstanceUsage(false)
+        .build();
+      resultExpected |= contexts[i].expectsMethodResult();
+    }
+
+    // execute all calls in parallel, the last call is executed on the current thread
+    List<CompletableFuture<DataBuf>> results = new ArrayList<>(batchSize);
+    for (var i = 0; i < batchSize - 1; i++) {
+      var method = methods[i];
+      var context = contexts[i];
+      results.add(Task.supply(() -> this.handleBatchCall(methodIdTable, method, context, call))
+        .thenCompose(Function.identity()));
+    }
+    if (batchSize > 0) {
+      results.add(this.handleBatchCall(methodIdTable, methods[batchSize - 1], contexts[batchSize - 1], call));
+    }
+
+    // check if the sender expects a result at all
+    if (!resultExpected) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    // write the results of all calls which are expecting a result in the order they were sent
+    return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).thenApply($ -> {
+      var response = DataBufFactory.defaultFactory().createEmpty();
+      for (var future : results) {
+        var result = future.join();
+        if (result != null) {
+          response.writeDataBuf(result);
+          result.release();
+        }
+      }
+      return response;
+    });
+  }
+
+  /**
+   * Executes a single call of a rpc batch and serializes the result of it. Any exception thrown during the execution
+   * is serialized into the result instead of interrupting the execution of the other calls in the batch.
+   *
+   * @param methodIdTable the method id table of the channel to resolve the handler of the method.
+   * @param method        the method which should get invoked.
+   * @param context       the context of the method invocation passed to the handler for the method invocation.
+   * @param call          the tracked call of the batch, aborted if the caller stopped waiting for the result.
+   * @return a future completed with the serialized result, or null if the caller did not expect a result.
+   * @throws NullPointerException if either the given method id table, method, invocation context or call is null.
+   */
+  protected @NonNull CompletableFuture<DataBuf> handleBatchCall(
+    @NonNull RPCMethodIdTable methodIdTable,
+    @NonNull RPCMethodIdTable.MethodEntry method,
+    @NonNull RPCInvocationContext context,
+    @NonNull RPCCallTracker.Call call
+  ) {
+    try {
+      var resolved = methodIdTable.resolveMethod(method, this.rpcHandlerRegistry);
+      return this.handle(resolved, context, call).handle((result, throwable) -> {
+        if (!context.expectsMethodResult()) {
+          return result;
+        } else if (throwable != null) {
+          // the result serialization failed
+          return this.serializeFailure(throwable);
+        } else if (result == null) {
+          // no handler for the class, but the caller is waiting for a result
+          return this.serializeFailure(
+            new IllegalStateException("No rpc handler registered for class " + method.className()));
+        } else {
+          return result;
+        }
+      });
+    } catch (Exception exception) {
+      // the handler was unable to process the call (for example because the target method is ambiguous)
+      return CompletableFuture.completedFuture(context.expectsMethodResult() ? this.serializeFailure(exception) : null);
+    } finally {
+      // the handler might not read all arguments (for example if the method was not found)
+      context.argumentInformation().release();
     }
   }
 
   /**
-   * Posts the next rpc instruction in the given context into the handler for the given class which potentially contains
-   * the target method and serializes the result into a data buffer. Null is returned when no handler for the given
-   * class is present.
+   * Posts the next rpc instruction in the given context into the resolved handler of the target method and serializes
+   * the result into a data buffer. Null is returned when no handler for the class of the method is present or the
+   * given call was aborted before the method was invoked.
    *
-   * @param clazz   the class in which the method to call is located.
+   * @param method  the resolved method to call, null if no handler for the class of the method is registered.
    * @param context the context of the method invocation passed to the handler for the method invocation.
-   * @return the serialized result of the method invocation, or null if no handler for the given class is registered.
-   * @throws NullPointerException  if either the given class or invocation context is null.
+   * @param call    the tracked call of the rpc request, the execution of the method is cancelled with it.
+   * @return a future completed with the serialized result of the method invocation, or null if no handler for the
+   * class of the method is registered.
+   * @throws NullPointerException  if either the given invocation context or call is null.
    * @throws CannotDecideException if none or multiple methods are matching the method to call in the given class.
    */
-  protected @Nullable DataBuf handle(@NonNull String clazz, @NonNull RPCInvocationContext context) {
-    // get the handler associated with the class of the rpc
-    var handler = this.rpcHandlerRegistry.handler(clazz);
-    // check if the method gets called on a specific instance
-    if (handler != null) {
-      // invoke the method
-      var handlingResult = handler.handle(context);
-      // serialize the result
-      return this.serializeResult(handlingResult, handler.dataBufFactory(), handler.objectMapper(), context);
+  protected @NonNull CompletableFuture<DataBuf> handle(
+    @Nullable RPCMethodIdTable.ResolvedMethod method,
+    @NonNull RPCInvocationContext context,
+    @NonNull RPCCallTracker.Call call
+  ) {
+    // check if the method gets called on a specific instance, the caller might no longer wait for the result
+    if (method != null && !call.aborted()) {
+      // invoke the method, the result of methods returning a future is serialized once the future completes
+      var handler = method.handler();
+      var execution = method.handleAsync(context);
+      call.attach(execution);
+      return execution.thenApply(handlingResult -> this.serializeResult(
+        handlingResult,
+        handler.dataBufFactory(),
+        handler.objectMapper(),
+        context));
     }
     // no handler for the class - no result
-    return null;
+    return CompletableFuture.completedFuture(null);
   }
 
   /**
@@ -159,6 +337,14 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
         return dataBufFactory.createWithExpectedSize(2)
           .writeBoolean(true) // was successful
           .writeBoolean(false);
+      } else if (result.wasSuccessful()
+        && result.targetMethodInformation().streamingMethod()
+        && RPCStreams.streamable(result.invocationResult())) {
+        // successful - the result is sent in chunks once requested by the caller
+        var streamId = RPCStreams.openSource(context.channel(), result.invocationResult(), objectMapper);
+        return dataBufFactory.createWithExpectedSize(9)
+          .writeByte(RPCStreamPacket.STREAMED_RESULT)
+          .writeLong(streamId);
       } else if (result.wasSuccessful()) {
         // successful - write the result of the invocation
         return objectMapper.writeObject(dataBufFactory.createEmpty().writeBoolean(true), result.invocationResult());
@@ -173,53 +359,65 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
   }
 
   /**
-   * Posts the next rpc instruction in the given context into the handler for the given class which potentially contains
-   * the target method. Null is returned when no handler for the given class is present.
+   * Serializes the given throwable as the failed result of a method invocation.
+   *
+   * @param throwable the throwable to serialize.
+   * @return the serialized failed invocation result.
+   * @throws NullPointerException if the given throwable is null.
+   */
+  protected @NonNull DataBuf serializeFailure(@NonNull Throwable throwable) {
+    return ExceptionalResultUtil.serializeThrowable(
+      DataBufFactory.defaultFactory().createEmpty().writeBoolean(false),
+      throwable);
+  }
+
+  /**
+   * Posts the next rpc instruction in the given context into the resolved handler of the target method. Null is
+   * returned when no handler for the class of the method is present.
    *
-   * @param clazz   the class in which the method to call is located.
+   * @param method  the resolved method to call, null if no handler for the class of the method is registered.
    * @param context the context of the method invocation passed to the handler for the method invocation.
-   * @return the result of the method invocation, or null if no handler for the given class is registered.
-   * @throws NullPointerException  if either the given class or invocation context is null.
+   * @return the result of the method invocation, or null if no handler for the class of the method is registered.
+   * @throws NullPointerException  if the given invocation context is null.
    * @throws CannotDecideException if none or multiple methods are matching the method to call in the given class.
    */
   protected @Nullable RPCHandler.HandlingResult handleRaw(
-    @NonNull String clazz,
+    @Nullable RPCMethodIdTable.ResolvedMethod method,
     @NonNull RPCInvocationContext context
   ) {
-    // get the handler associated with the class of the rpc
-    var handler = this.rpcHandlerRegistry.handler(clazz);
-    // invoke the handler with the information
-    return handler == null ? null : handler.handle(context);
+    // invoke the handler with the information, waiting for the result as it is needed for the next call in the chain
+    return method == null ? null : method.handleAsync(context).join();
   }
 
   /**
    * Builds a new context for a rpc method invocation based on the given information and remaining content in the
    * buffer. The given buffer should still contain (in the given order):
    * <ol>
-   *   <li>the target method name
    *   <li>a boolean indicating if the rpc call expects a result
-   *   <li>the number of arguments of the target method
+   *   <li>the arguments to supply to the target method
    * </ol>
    *
    * @param channel             the network channel on which the rpc request was received.
    * @param content             the remaining buffer content, containing the data as described above.
+   * @param method              the method to invoke, resolved from the method id sent by the caller.
    * @param on                  the object to call the method on, when using a rpc chain.
    * @param strictInstanceUsage if using the instance provided to the context is required.
    * @return a generated invocation context based on the given information.
-   * @throws NullPointerException if either the given channel or content buffer is null.
+   * @throws NullPointerException if either the given channel, content buffer or method is null.
    */
   protected @NonNull RPCInvocationContext buildContext(
     @NonNull NetworkChannel channel,
     @NonNull DataBuf content,
+    @NonNull RPCMethodIdTable.MethodEntry method,
     @Nullable Object on,
     boolean strictInstanceUsage
   ) {
     return RPCInvocationContext.builder()
       .workingInstance(on)
       .channel(channel)
-      .methodName(content.readString())
+      .methodName(method.methodName())
       .expectsMethodResult(content.readBoolean())
-      .argumentCount(content.readInt())
+      .argumentCount(method.argumentCount())
       .argumentInformation(content)
       .normalizePrimitives(Boolean.TRUE)
       .strictInstanceUsage(strictInstanceUsage)
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.listener;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketListener;
+import eu.cloudnetservice.driver.network.rpc.defaults.stream.RPCStreams;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCStreamPacket;
+import lombok.NonNull;
+
+/**
+ * A network packet listener handling the packets of streamed rpc results. Chunk and failure packets are posted to the
+ * receiver of the stream on the calling side, request and cancel packets to the source of the stream on the handling
+ * side. Packets of unknown streams (for example because the stream timed out) are ignored.
+ *
+ * @since 4.0
+ */
+public class RPCStreamPacketListener implements PacketListener {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) throws Exception {
+    var content = packet.content();
+    var type = content.readByte();
+    var streamId = content.readLong();
+    switch (type) {
+      case RPCStreamPacket.TYPE_REQUEST -> {
+        var source = RPCStreams.source(channel, streamId);
+        if (source != null) {
+          source.grantCredits(content.readVarInt());
+        }
+      }
+      case RPCStreamPacket.TYPE_CANCEL -> {
+        var source = RPCStreams.source(channel, streamId);
+        if (source != null) {
+          source.close();
+        }
+      }
+      case RPCStreamPacket.TYPE_CHUNK -> {
+        var receiver = RPCStreams.receiver(channel, streamId);
+        if (receiver != null) {
+          receiver.handleChunk(content);
+        }
+      }
+      case RPCStreamPacket.TYPE_FAILURE -> {
+        var receiver = RPCStreams.receiver(channel, streamId);
+        if (receiver != null) {
+          receiver.handleFailure(content);
+        }
+      }
+      default -> throw new IllegalArgumentException("Unknown rpc stream packet type " + type);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.packet;
+
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+
+/**
+ * A packet sent by the caller of a rpc when it is no longer waiting for the result of the rpc, for example because the
+ * query timed out or the task of the rpc was cancelled. The packet is prioritized to reach the handling side before
+ * the rpc request if the request is still waiting for its execution.
+ *
+ * @since 4.0
+ */
+public class RPCCancelPacket extends BasePacket {
+
+  /**
+   * Constructs a new rpc cancel packet.
+   *
+   * @param queryId the query id of the rpc request which should get cancelled.
+   */
+  public RPCCancelPacket(long queryId) {
+    super(
+      NetworkConstants.INTERNAL_RPC_CANCEL_CHANNEL,
+      true,
+      DataBufFactory.defaultFactory().createWithExpectedSize(8).writeLong(queryId));
+  }
+}
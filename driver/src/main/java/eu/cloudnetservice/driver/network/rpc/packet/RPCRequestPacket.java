@@ -29,6 +29,19 @@
  */
 public class RPCRequestPacket extends BasePacket {
 
+  /**
+   * The request type indicating that the packet contains a single rpc.
+   */
+  public static final byte REQUEST_TYPE_SINGLE = 0;
+  /**
+   * The request type indicating that the packet contains a rpc chain, each call is executed on the previous result.
+   */
+  public static final byte REQUEST_TYPE_CHAIN = 1;
+  /**
+   * The request type indicating that the packet contains a batch of independent rpc calls.
+   */
+  public static final byte REQUEST_TYPE_BATCH = 2;
+
   /**
    * Constructs a new rpc request packet.
    *
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.packet;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import lombok.NonNull;
+
+/**
+ * The packet used to transfer the result of a streamed rpc in chunks and to control the flow of these chunks. The
+ * packets are prioritized to not queue up behind the handlers which are waiting for the result of the stream. This
+ * packet should only be used internally, and any developer should use the rpc api rather than sending this packet
+ * themselves.
+ *
+ * @since 4.0
+ */
+public class RPCStreamPacket extends BasePacket {
+
+  /**
+   * The result type written instead of the success flag into a rpc response when the result of the rpc is streamed.
+   * The result type is followed by the id of the stream.
+   */
+  public static final byte STREAMED_RESULT = 2;
+
+  /**
+   * The packet type sent by the caller to allow the remote side to send the given amount of additional chunks.
+   */
+  public static final byte TYPE_REQUEST = 0;
+  /**
+   * The packet type sent by the caller to stop the stream, no further chunks are sent by the remote side.
+   */
+  public static final byte TYPE_CANCEL = 1;
+  /**
+   * The packet type containing the next chunk of elements of the stream.
+   */
+  public static final byte TYPE_CHUNK = 2;
+  /**
+   * The packet type sent by the remote side when reading the next elements of the stream resulted in an exception.
+   */
+  public static final byte TYPE_FAILURE = 3;
+
+  /**
+   * Constructs a new rpc stream packet.
+   *
+   * @param dataBuf the encoded data of the packet, starting with the header written by {@link #header(byte, long)}.
+   * @throws NullPointerException if the given data buffer is null.
+   */
+  public RPCStreamPacket(@NonNull DataBuf dataBuf) {
+    super(NetworkConstants.INTERNAL_RPC_STREAM_CHANNEL, true, dataBuf);
+  }
+
+  /**
+   * Allocates a new buffer for a stream packet and writes the header of the packet into it.
+   *
+   * @param type     the type of the packet.
+   * @param streamId the id of the stream the packet belongs to.
+   * @return a new buffer containing the header of the packet, ready for the content of the packet to be written.
+   */
+  public static @NonNull DataBuf.Mutable header(byte type, long streamId) {
+    return DataBufFactory.defaultFactory().createEmpty().writeByte(type).writeLong(streamId);
+  }
+}
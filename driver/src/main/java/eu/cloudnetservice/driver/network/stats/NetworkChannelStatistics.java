@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.stats;
+
+import eu.cloudnetservice.driver.network.HostAndPort;
+import java.util.Collection;
+import java.util.Comparator;
+import lombok.NonNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * A snapshot of the traffic statistics of a single network channel (or connection in other words). The byte counts
+ * represent the content sizes of the packets, excluding the packet headers and before compression.
+ *
+ * @param channelId          the unique numeric id of the network channel.
+ * @param serverAddress      the server address of the network channel.
+ * @param clientAddress      the client address of the network channel.
+ * @param packetsIn          the total amount of packets received through the channel.
+ * @param bytesIn            the total amount of content bytes received through the channel.
+ * @param packetsOut         the total amount of packets sent through the channel.
+ * @param bytesOut           the total amount of content bytes sent through the channel.
+ * @param dispatchQueueDepth the amount of received packets which are waiting to be dispatched to their listeners.
+ * @param pendingQueries     the amount of queries sent through the channel which are waiting for a response.
+ * @param queryLatency       the round trip latency histogram of the queries sent through the channel.
+ * @param packetChannels     the traffic statistics of each packet channel id used in the channel.
+ * @since 4.0
+ */
+public record NetworkChannelStatistics(
+  long channelId,
+  @NonNull HostAndPort serverAddress,
+  @NonNull HostAndPort clientAddress,
+  long packetsIn,
+  long bytesIn,
+  long packetsOut,
+  long bytesOut,
+  int dispatchQueueDepth,
+  int pendingQueries,
+  @NonNull QueryLatencyHistogram queryLatency,
+  @NonNull @Unmodifiable Collection<PacketChannelStatistics> packetChannels
+) {
+
+  /**
+   * Get the traffic statistics of the packet channels used in the channel, sorted descending by the total amount of
+   * transferred bytes. The first entry is the packet channel which causes the most traffic.
+   *
+   * @return the packet channel statistics, sorted descending by the total amount of transferred bytes.
+   */
+  public @NonNull @Unmodifiable Collection<PacketChannelStatistics> packetChannelsByTraffic() {
+    return this.packetChannels.stream()
+      .sorted(Comparator.comparingLong(PacketChannelStatistics::totalBytes).reversed())
+      .toList();
+  }
+}
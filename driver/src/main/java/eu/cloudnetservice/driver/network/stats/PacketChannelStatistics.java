@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.stats;
+
+/**
+ * A snapshot of the traffic statistics of a single packet channel id within a network channel. The byte counts
+ * represent the content sizes of the packets, excluding the packet headers and before compression. The traffic of the
+ * packet channel ids which were not tracked separately is reported using the {@link #OTHER_CHANNELS} id.
+ *
+ * @param channel    the packet channel id.
+ * @param packetsIn  the amount of packets received with the channel id.
+ * @param bytesIn    the amount of content bytes received with the channel id.
+ * @param packetsOut the amount of packets sent with the channel id.
+ * @param bytesOut   the amount of content bytes sent with the channel id.
+ * @since 4.0
+ */
+public record PacketChannelStatistics(int channel, long packetsIn, long bytesIn, long packetsOut, long bytesOut) {
+
+  /**
+   * The channel id used for the traffic of all packet channel ids which were not tracked separately.
+   */
+  public static final int OTHER_CHANNELS = Integer.MIN_VALUE;
+
+  /**
+   * Get if these statistics are summing up the traffic of all packet channel ids which were not tracked separately.
+   *
+   * @return true if these statistics are the ones of the untracked channel ids, false otherwise.
+   */
+  public boolean otherChannels() {
+    return this.channel == OTHER_CHANNELS;
+  }
+
+  /**
+   * Get the total amount of content bytes received and sent with the channel id.
+   *
+   * @return the total amount of content bytes transferred with the channel id.
+   */
+  public long totalBytes() {
+    return this.bytesIn + this.bytesOut;
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.stats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * Counts the packets and content bytes which are received and sent through a single network channel, in total and for
+ * each packet channel id. All methods are safe to call from any thread.
+ * <p>
+ * Packet channel ids are chosen by the other side of the channel, even before it was authorized. To prevent a peer
+ * from allocating a counter for every possible channel id, only a limited amount of ids is tracked separately. The
+ * traffic of all ids seen after that limit was reached is counted in a shared bucket.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class PacketTrafficCounter {
+
+  private static final int MAX_TRACKED_CHANNELS = Integer.getInteger("cloudnet.network.stats.max-packet-channels", 64);
+
+  private final TrafficCounter total = new TrafficCounter();
+  private final TrafficCounter otherChannels = new TrafficCounter();
+  private final Map<Integer, TrafficCounter> packetChannels = new ConcurrentHashMap<>();
+
+  /**
+   * Records that a packet was received through the channel.
+   *
+   * @param channel the channel id of the received packet.
+   * @param bytes   the length of the content of the received packet.
+   */
+  public void recordInbound(int channel, int bytes) {
+    this.total.recordInbound(bytes);
+    this.counter(channel).recordInbound(bytes);
+  }
+
+  /**
+   * Records that a packet was sent through the channel.
+   *
+   * @param channel the channel id of the sent packet.
+   * @param bytes   the length of the content of the sent packet.
+   */
+  public void recordOutbound(int channel, int bytes) {
+    this.total.recordOutbound(bytes);
+    this.counter(channel).recordOutbound(bytes);
+  }
+
+  /**
+   * Get the total amount of packets received through the channel.
+   *
+   * @return the total amount of received packets.
+   */
+  public long packetsIn() {
+    return this.total.packetsIn.sum();
+  }
+
+  /**
+   * Get the total amount of content bytes received through the channel.
+   *
+   * @return the total amount of received content bytes.
+   */
+  public long bytesIn() {
+    return this.total.bytesIn.sum();
+  }
+
+  /**
+   * Get the total amount of packets sent through the channel.
+   *
+   * @return the total amount of sent packets.
+   */
+  public long packetsOut() {
+    return this.total.packetsOut.sum();
+  }
+
+  /**
+   * Get the total amount of content bytes sent through the channel.
+   *
+   * @return the total amount of sent content bytes.
+   */
+  public long bytesOut() {
+    return this.total.bytesOut.sum();
+  }
+
+  /**
+   * Creates a snapshot of the traffic of each packet channel id which was used in the channel.
+   *
+   * @return a snapshot of the traffic of each used packet channel id.
+   */
+  public @NonNull @Unmodifiable Collection<PacketChannelStatistics> packetChannels() {
+    List<PacketChannelStatistics> statistics = new ArrayList<>(this.packetChannels.size() + 1);
+    for (var entry : this.packetChannels.entrySet()) {
+      statistics.add(entry.getValue().snapshot(entry.getKey()));
+    }
+    // only include the bucket of the untracked channel ids if it was used
+    if (this.otherChannels.used()) {
+      statistics.add(this.otherChannels.snapshot(PacketChannelStatistics.OTHER_CHANNELS));
+    }
+    return Collections.unmodifiableList(statistics);
+  }
+
+  /**
+   * Get the traffic counter of the given packet channel id, creating it if this is the first packet of the channel id.
+   * If the maximum amount of tracked channel ids was reached, the shared counter of all other ids is returned instead.
+   *
+   * @param channel the packet channel id to get the counter of.
+   * @return the traffic counter of the given packet channel id.
+   */
+  private @NonNull TrafficCounter counter(int channel) {
+    var counter = this.packetChannels.get(channel);
+    if (counter != null) {
+      return counter;
+    }
+    // the limit is a soft limit, concurrent calls might exceed it slightly
+    if (this.packetChannels.size() >= MAX_TRACKED_CHANNELS) {
+      return this.otherChannels;
+    }
+    return this.packetChannels.computeIfAbsent(channel, $ -> new TrafficCounter());
+  }
+
+  /**
+   * The traffic counters of a packet channel id or the whole network channel.
+   *
+   * @since 4.0
+   */
+  private static final class TrafficCounter {
+
+    private final LongAdder packetsIn = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder packetsOut = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+
+    private void recordInbound(int bytes) {
+      this.packetsIn.increment();
+      this.bytesIn.add(bytes);
+    }
+
+    private void recordOutbound(int bytes) {
+      this.packetsOut.increment();
+      this.bytesOut.add(bytes);
+    }
+
+    private boolean used() {
+      return this.packetsIn.sum() > 0 || this.packetsOut.sum() > 0;
+    }
+
+    private @NonNull PacketChannelStatistics snapshot(int channel) {
+      return new PacketChannelStatistics(
+        channel,
+        this.packetsIn.sum(),
+        this.bytesIn.sum(),
+        this.packetsOut.sum(),
+        this.bytesOut.sum());
+    }
+  }
+}
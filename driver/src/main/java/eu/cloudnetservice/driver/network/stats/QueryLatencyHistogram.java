@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.stats;
+
+import java.util.List;
+import lombok.NonNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+/**
+ * A snapshot of the round trip latencies of the queries sent through a network channel. Each latency is counted in
+ * the first bucket whose upper bound is greater or equal to the latency, the last bucket has no upper bound.
+ *
+ * @param count             the amount of recorded query latencies.
+ * @param totalMicros       the sum of all recorded query latencies in microseconds.
+ * @param maxMicros         the highest recorded query latency in microseconds.
+ * @param upperBoundsMicros the inclusive upper bounds of the buckets in microseconds, excluding the last bucket.
+ * @param bucketCounts      the amount of recorded latencies in each bucket.
+ * @since 4.0
+ */
+public record QueryLatencyHistogram(
+  long count,
+  long totalMicros,
+  long maxMicros,
+  @NonNull @Unmodifiable List<Long> upperBoundsMicros,
+  @NonNull @Unmodifiable List<Long> bucketCounts
+) {
+
+  /**
+   * Get the average recorded query latency in microseconds.
+   *
+   * @return the average query latency in microseconds, 0 if no latency was recorded.
+   */
+  public long meanMicros() {
+    return this.count == 0 ? 0 : this.totalMicros / this.count;
+  }
+
+  /**
+   * Estimates the given percentile of the recorded query latencies. The estimate is the upper bound of the bucket in
+   * which the percentile falls, or the highest recorded latency if the percentile falls into the last bucket.
+   *
+   * @param percentile the percentile to estimate, between 0 and 1.
+   * @return the estimated percentile in microseconds, 0 if no latency was recorded.
+   * @throws IllegalArgumentException if the given percentile is not between 0 and 1.
+   */
+  public long percentileMicros(double percentile) {
+    if (percentile < 0 || percentile > 1) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 1");
+    }
+
+    var remaining = (long) Math.ceil(this.count * percentile);
+    for (var i = 0; i < this.upperBoundsMicros.size(); i++) {
+      remaining -= this.bucketCounts.get(i);
+      if (remaining <= 0) {
+        return Math.min(this.upperBoundsMicros.get(i), this.maxMicros);
+      }
+    }
+    return this.maxMicros;
+  }
+}
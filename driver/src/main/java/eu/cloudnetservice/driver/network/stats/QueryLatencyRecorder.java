@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.stats;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Records the round trip latencies of queries into a histogram with fixed, roughly exponential buckets ranging from
+ * 100 microseconds to 30 seconds. Recording a latency does not allocate and is safe to call from any thread.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class QueryLatencyRecorder {
+
+  private static final long[] UPPER_BOUNDS_MICROS = {
+    100, 250, 500,
+    1_000, 2_500, 5_000,
+    10_000, 25_000, 50_000,
+    100_000, 250_000, 500_000,
+    1_000_000, 2_500_000, 5_000_000,
+    10_000_000, 30_000_000};
+
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalMicros = new LongAdder();
+  private final AtomicLong maxMicros = new AtomicLong();
+  private final AtomicLongArray buckets = new AtomicLongArray(UPPER_BOUNDS_MICROS.length + 1);
+
+  /**
+   * Records the given query round trip latency.
+   *
+   * @param latencyNanos the latency of the query in nanoseconds.
+   */
+  public void record(long latencyNanos) {
+    var micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, latencyNanos));
+    // the bounds are sorted, the insertion point is the index of the first bucket which can hold the latency
+    var bucket = Arrays.binarySearch(UPPER_BOUNDS_MICROS, micros);
+    this.buckets.incrementAndGet(bucket < 0 ? -bucket - 1 : bucket);
+
+    this.count.increment();
+    this.totalMicros.add(micros);
+    this.maxMicros.accumulateAndGet(micros, Math::max);
+  }
+
+  /**
+   * Creates a snapshot of the latencies recorded until now.
+   *
+   * @return a snapshot of the recorded latencies.
+   */
+  public @NonNull QueryLatencyHistogram snapshot() {
+    var bucketCounts = new Long[this.buckets.length()];
+    for (var i = 0; i < bucketCounts.length; i++) {
+      bucketCounts[i] = this.buckets.get(i);
+    }
+
+    return new QueryLatencyHistogram(
+      this.count.sum(),
+      this.totalMicros.sum(),
+      this.maxMicros.get(),
+      Arrays.stream(UPPER_BOUNDS_MICROS).boxed().toList(),
+      List.of(bucketCounts));
+  }
+}
@@ -20,6 +20,7 @@
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCValidation;
 import java.util.Collection;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -73,9 +74,9 @@ public interface CloudMessenger {
   @NonNull Collection<ChannelMessage> sendChannelMessageQuery(@NonNull ChannelMessage channelMessage);
 
   /**
-   * Sends the given channel message to all of its targets and waits for all responses to be present or the query to
-   * time out. This method will then peek the first response out of the returned array, or return null if no components
-   * answered to the request.
+   * Sends the given channel message to all of its targets and waits for the first response to be present or the query
+   * to time out. The query completes with the first response of any target, without waiting for the other targets to
+   * respond. Null is returned if no component answered to the request.
    *
    * @param channelMessage the channel message to send.
    * @return the first response to the given channel message, can be null if no target responded.
@@ -107,9 +108,31 @@ public interface CloudMessenger {
   }
 
   /**
-   * Sends the given channel message to all of its targets and waits for all responses to be present or the query to
-   * time out. This method will then peek the first response out of the returned array, or return null if no components
-   * answered to the request.
+   * Sends the given channel message to all of its targets and passes each response to the given handler as soon as it
+   * arrives at this component. The returned task completes once all targets responded, the response limit of the
+   * channel message was reached or the query timed out. Responses which arrive after that are not passed to the handler.
+   * <p>
+   * Responses of targets which are reached through another node arrive once the query completed on that node.
+   *
+   * @param message         the channel message to send.
+   * @param responseHandler the handler to call for each response to the given channel message.
+   * @return a task completed with all responses from all network components which responded in time.
+   * @throws NullPointerException if the given channel message or response handler is null.
+   */
+  default @NonNull Task<Collection<ChannelMessage>> sendChannelMessageQueryAsync(
+    @NonNull ChannelMessage message,
+    @NonNull Consumer<ChannelMessage> responseHandler
+  ) {
+    return Task.wrapFuture(this.sendChannelMessageQueryAsync(message).thenApply(responses -> {
+      responses.forEach(responseHandler);
+      return responses;
+    }));
+  }
+
+  /**
+   * Sends the given channel message to all of its targets and waits for the first response to be present or the query
+   * to time out. The query completes with the first response of any target, without waiting for the other targets to
+   * respond. Null is returned if no component answered to the request.
    *
    * @param channelMessage the channel message to send.
    * @return a task completed with the first response to the given channel message, can be null if no target responded.
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.driver.provider;
 
 import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCStreaming;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCValidation;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import java.util.Collection;
@@ -86,6 +87,7 @@ public interface CloudServiceProvider {
    *
    * @return all services which are registered in the cluster.
    */
+  @RPCStreaming
   @UnmodifiableView
   @NonNull Collection<ServiceInfoSnapshot> services();
 
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.driver.provider;
 
 import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCCacheable;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCValidation;
 import eu.cloudnetservice.driver.service.GroupConfiguration;
 import java.util.Collection;
@@ -47,6 +48,7 @@ public interface GroupConfigurationProvider {
    *
    * @return all registered group configurations within the cluster.
    */
+  @RPCCacheable("group_configurations")
   @NonNull
   @UnmodifiableView Collection<GroupConfiguration> groupConfigurations();
 
@@ -58,6 +60,7 @@ public interface GroupConfigurationProvider {
    * @return the group configuration which has the given name or null if no group with the given name is registered.
    * @throws NullPointerException if the given name is null.
    */
+  @RPCCacheable("group_configurations")
   @Nullable GroupConfiguration groupConfiguration(@NonNull String name);
 
   /**
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.driver.provider;
 
 import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCCacheable;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCValidation;
 import eu.cloudnetservice.driver.service.ServiceTask;
 import java.util.Collection;
@@ -52,6 +53,7 @@ public interface ServiceTaskProvider {
    *
    * @return all registered task configurations within the cluster.
    */
+  @RPCCacheable("service_tasks")
   @UnmodifiableView
   @NonNull Collection<ServiceTask> serviceTasks();
 
@@ -63,6 +65,7 @@ public interface ServiceTaskProvider {
    * @return the task configuration which has the given name or null if no task with the given name is registered.
    * @throws NullPointerException if the given name is null.
    */
+  @RPCCacheable("service_tasks")
   @Nullable ServiceTask serviceTask(@NonNull String name);
 
   /**
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.provider.defaults;
+
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A task collecting the responses to a channel message query which was sent to multiple targets. The task completes
+ * once all targets responded, the response limit of the query was reached or the query timed out. Responses arriving
+ * after the completion are dropped. The responses are passed to the optional response handler as they arrive.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class ChannelMessageQueryTask extends Task<Collection<ChannelMessage>> {
+
+  private final int responseLimit;
+  private final Consumer<ChannelMessage> responseHandler;
+
+  // ordered by arrival, the first response is the first element of the result
+  private final Set<ChannelMessage> responses = new LinkedHashSet<>();
+  private int pendingTargets;
+  // set once the result was taken, the task itself is completed outside the lock
+  private boolean published;
+
+  /**
+   * Constructs a new query task instance. The task is completed instantly if there are no targets.
+   *
+   * @param targets         the amount of targets the query was sent to.
+   * @param responseLimit   the amount of responses after which the task completes, 0 to wait for all targets.
+   * @param responseHandler the handler to pass each response to as it arrives, null if no handler should be called.
+   */
+  public ChannelMessageQueryTask(int targets, int responseLimit, @Nullable Consumer<ChannelMessage> responseHandler) {
+    this.responseLimit = responseLimit;
+    this.responseHandler = responseHandler;
+    this.pendingTargets = targets;
+    // complete instantly if there is no one to wait for
+    if (targets <= 0) {
+      this.complete(new LinkedHashSet<>());
+    }
+  }
+
+  /**
+   * Constructs a new query task instance for the given channel message, using the response limit and timeout of it.
+   *
+   * @param message         the channel message which is sent as a query.
+   * @param targets         the amount of targets the query was sent to.
+   * @param responseHandler the handler to pass each response to as it arrives, null if no handler should be called.
+   * @return a new query task for the given channel message.
+   * @throws NullPointerException if the given channel message is null.
+   */
+  public static @NonNull ChannelMessageQueryTask forMessage(
+    @NonNull ChannelMessage message,
+    int targets,
+    @Nullable Consumer<ChannelMessage> responseHandler
+  ) {
+    var task = new ChannelMessageQueryTask(targets, message.queryResponseLimit(), responseHandler);
+    return task.completeAfter(message.queryTimeout());
+  }
+
+  /**
+   * Completes this task with the responses received until then after the given timeout, if the task is not completed
+   * before.
+   *
+   * @param timeoutMillis the timeout in milliseconds, zero or negative to not time out the task.
+   * @return the same task as used to call the method, for chaining.
+   */
+  public @NonNull ChannelMessageQueryTask completeAfter(long timeoutMillis) {
+    if (timeoutMillis > 0 && !this.isDone()) {
+      CompletableFuture.delayedExecutor(timeoutMillis, TimeUnit.MILLISECONDS).execute(this::completeWithResponses);
+    }
+    return this;
+  }
+
+  /**
+   * Handles the responses of one of the targets of the query. The task completes if all targets responded or the
+   * response limit was reached.
+   *
+   * @param messages the responses of the target, can be empty if the target did not respond.
+   * @throws NullPointerException if the given response collection is null.
+   */
+  public void handleTargetResponses(@NonNull Collection<ChannelMessage> messages) {
+    Collection<ChannelMessage> accepted = new ArrayList<>(messages.size());
+    Set<ChannelMessage> result = null;
+    synchronized (this) {
+      // ignore late responses, the result was already published
+      if (this.published || this.isDone()) {
+        return;
+      }
+      // accept the responses until the limit is reached
+      for (var message : messages) {
+        if (this.responseLimit > 0 && this.responses.size() >= this.responseLimit) {
+          break;
+        }
+        if (this.responses.add(message)) {
+          accepted.add(message);
+        }
+      }
+      // check if the query is complete
+      this.pendingTargets--;
+      if (this.pendingTargets <= 0 || (this.responseLimit > 0 && this.responses.size() >= this.responseLimit)) {
+        result = this.publishResponses();
+      }
+    }
+    // complete the task outside the lock, dependent actions of the task are executed by the completing thread
+    if (result != null) {
+      this.complete(result);
+    }
+    // pass the responses to the handler outside the lock, the handler might take some time
+    if (this.responseHandler != null) {
+      accepted.forEach(this.responseHandler);
+    }
+  }
+
+  /**
+   * Completes this task with the responses received until now, if the result was not published before.
+   */
+  private void completeWithResponses() {
+    Set<ChannelMessage> result;
+    synchronized (this) {
+      if (this.published) {
+        return;
+      }
+      result = this.publishResponses();
+    }
+    this.complete(result);
+  }
+
+  /**
+   * Marks the result of this task as published and copies the received responses, as the caller might modify the
+   * result. This method must only be called while holding the lock of this task.
+   *
+   * @return a copy of the responses received until now.
+   */
+  private @NonNull Set<ChannelMessage> publishResponses() {
+    this.published = true;
+    return new LinkedHashSet<>(this.responses);
+  }
+}
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.driver.provider.defaults;
 
 import com.google.common.collect.Iterables;
+import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.provider.CloudMessenger;
 import lombok.NonNull;
@@ -34,6 +35,39 @@ public abstract class DefaultMessenger implements CloudMessenger {
    */
   @Override
   public @Nullable ChannelMessage sendSingleChannelMessageQuery(@NonNull ChannelMessage channelMessage) {
-    return Iterables.getFirst(this.sendChannelMessageQuery(channelMessage), null);
+    return Iterables.getFirst(this.sendChannelMessageQuery(withSingleResponse(channelMessage)), null);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Task<ChannelMessage> sendSingleChannelMessageQueryAsync(@NonNull ChannelMessage channelMessage) {
+    return Task.wrapFuture(this.sendChannelMessageQueryAsync(withSingleResponse(channelMessage))
+      .thenApply(responses -> Iterables.getFirst(responses, null)));
+  }
+
+  /**
+   * Get a copy of the given channel message which completes a query with the first response of any target.
+   *
+   * @param message the channel message to get the single response copy of.
+   * @return a copy of the given message completing a query with the first response, or the given message itself.
+   * @throws NullPointerException if the given message is null.
+   */
+  protected static @NonNull ChannelMessage withSingleResponse(@NonNull ChannelMessage message) {
+    // the query can complete with the first response, there is no need to wait for the other targets
+    if (message.queryResponseLimit() == 1) {
+      return message;
+    }
+    return new ChannelMessage(
+      message.sendSync(),
+      message.prioritized(),
+      message.channel(),
+      message.message(),
+      message.content(),
+      message.sender(),
+      message.targets(),
+      1,
+      message.queryTimeout());
   }
 }
@@ -20,6 +20,8 @@
 import eu.cloudnetservice.driver.DriverEnvironment;
 import eu.cloudnetservice.driver.DriverTestUtil;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.MethodOrderer;
@@ -100,6 +102,74 @@ void testUnregisterListenerByClassLoader() {
     Assertions.assertEquals(0, eventManager.listeners.size());
   }
 
+  @Test
+  @Order(40)
+  void testSuperTypeAndChannelDispatch() {
+    var eventManager = new DefaultEventManager();
+    var listener = new SuperTypeListener();
+    eventManager.registerListener(listener);
+
+    // the listener for the super type is called for the concrete event, but only on its channel
+    eventManager.callEvent(new TestEvent(1));
+    Assertions.assertEquals(1, listener.anyEvents);
+    Assertions.assertEquals(0, listener.channelEvents);
+
+    eventManager.callEvent("abc", new TestEvent(2));
+    Assertions.assertEquals(1, listener.anyEvents);
+    Assertions.assertEquals(1, listener.channelEvents);
+
+    // listeners registered after the first call are included in the dispatch table
+    eventManager.registerListener(TestListener.INSTANCE);
+    var event = eventManager.callEvent(new TestEvent(3));
+    Assertions.assertEquals(2, listener.anyEvents);
+    Assertions.assertEquals(5678, event.number);
+
+    // unregistered listeners are no longer called
+    eventManager.unregisterListener(listener);
+    eventManager.callEvent(new TestEvent(4));
+    Assertions.assertEquals(2, listener.anyEvents);
+  }
+
+  @Test
+  @Order(50)
+  void testHasListeners() {
+    var eventManager = new DefaultEventManager();
+    Assertions.assertFalse(eventManager.hasListeners(TestEvent.class));
+
+    var listener = new SuperTypeListener();
+    eventManager.registerListener(listener);
+    Assertions.assertTrue(eventManager.hasListeners(TestEvent.class));
+    Assertions.assertTrue(eventManager.hasListeners(TestEvent.class, "abc"));
+    Assertions.assertFalse(eventManager.hasListeners(TestEvent.class, "def"));
+
+    eventManager.unregisterListener(listener);
+    Assertions.assertFalse(eventManager.hasListeners(TestEvent.class));
+    Assertions.assertFalse(eventManager.hasListeners(TestEvent.class, "abc"));
+  }
+
+  @Test
+  @Order(60)
+  void testListenerChannelsAndChangeHandlers() {
+    var eventManager = new DefaultEventManager();
+    var changes = new AtomicInteger();
+    eventManager.addListenerChangeHandler(changes::incrementAndGet);
+    Assertions.assertTrue(eventManager.listenerChannels(TestEvent.class).isEmpty());
+
+    var listener = new SuperTypeListener();
+    eventManager.registerListener(listener);
+    Assertions.assertEquals(1, changes.get());
+    Assertions.assertEquals(Set.of("*", "abc"), eventManager.listenerChannels(TestEvent.class));
+    Assertions.assertEquals(Set.of("*"), eventManager.listenerChannels(Event.class));
+
+    // removing an unknown listener does not change anything
+    eventManager.unregisterListener(new Object());
+    Assertions.assertEquals(1, changes.get());
+
+    eventManager.unregisterListener(listener);
+    Assertions.assertEquals(2, changes.get());
+    Assertions.assertTrue(eventManager.listenerChannels(TestEvent.class).isEmpty());
+  }
+
   private DefaultEventManager newEventManagerWithListener() {
     var eventManager = new DefaultEventManager();
 
@@ -143,6 +213,22 @@ public boolean equals(Object obj) {
     }
   }
 
+  private static final class SuperTypeListener {
+
+    private int anyEvents;
+    private int channelEvents;
+
+    @EventListener
+    public void handleAny(Event event) {
+      this.anyEvents++;
+    }
+
+    @EventListener(channel = "abc")
+    public void handleChannel(TestEvent event) {
+      this.channelEvents++;
+    }
+  }
+
   private static final class TestEvent extends Event {
 
     private int number;
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.def;
+
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.DriverTestUtil;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class PacketServerChannelMessageTest {
+
+  @BeforeAll
+  public static void initDriver() {
+    var driver = DriverTestUtil.mockAndSetDriverInstance();
+    Mockito.when(driver.componentName()).thenReturn("Node-1");
+    Mockito.when(driver.environment()).thenReturn(DriverEnvironment.NODE);
+  }
+
+  @Test
+  void testSharedContentDecodesForEveryChannel() {
+    var message = message();
+
+    List<Packet> packets = new ArrayList<>();
+    try (var sharedContent = PacketServerChannelMessage.encodeShared(message, false)) {
+      for (var i = 0; i < 3; i++) {
+        packets.add(new PacketServerChannelMessage(message.prioritized(), sharedContent));
+      }
+    }
+
+    // the packets must stay readable after the shared content was released by the sender
+    for (var packet : packets) {
+      var header = PacketServerChannelMessage.readHeader(packet);
+      Assertions.assertFalse(header.wrapper());
+      Assertions.assertTrue(header.prioritized());
+      Assertions.assertEquals("test_channel", header.channel());
+      Assertions.assertEquals(message.targets(), header.targets());
+
+      var decoded = PacketServerChannelMessage.decodeMessage(packet.content().readDataBuf());
+      assertMessageEquals(message, decoded);
+    }
+  }
+
+  static ChannelMessage message() {
+    return ChannelMessage.builder()
+      .channel("test_channel")
+      .message("test_message")
+      .prioritized(true)
+      .sender(ChannelMessageSender.of("Node-1", DriverEnvironment.NODE))
+      .targetService("Lobby-1")
+      .buffer(DataBuf.empty().writeString("hello").writeInt(1234))
+      .build();
+  }
+
+  static void assertMessageEquals(ChannelMessage expected, ChannelMessage actual) {
+    Assertions.assertEquals(expected.channel(), actual.channel());
+    Assertions.assertEquals(expected.message(), actual.message());
+    Assertions.assertEquals(expected.prioritized(), actual.prioritized());
+    Assertions.assertEquals(expected.sender(), actual.sender());
+    Assertions.assertEquals(expected.targets(), actual.targets());
+    Assertions.assertEquals("hello", actual.content().readString());
+    Assertions.assertEquals(1234, actual.content().readInt());
+  }
+}
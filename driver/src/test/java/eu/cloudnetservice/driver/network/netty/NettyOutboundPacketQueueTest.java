@@ -0,0 +1,248 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketOverflowPolicy;
+import eu.cloudnetservice.driver.network.protocol.PacketQueueFullException;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.EventLoop;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class NettyOutboundPacketQueueTest {
+
+  private final AtomicBoolean active = new AtomicBoolean(true);
+  private final AtomicBoolean writable = new AtomicBoolean(true);
+
+  private final List<Runnable> scheduledTasks = new ArrayList<>();
+  private final List<Integer> writtenPackets = new ArrayList<>();
+
+  @Test
+  void testCoalescedPacketsAreWrittenBeforeInstantlyFlushedPackets() {
+    var channel = this.mockChannel();
+    var queue = this.newQueue(channel);
+
+    queue.enqueue(packet(1), false);
+    queue.enqueue(packet(2), false);
+
+    // both packets are waiting for the same scheduled flush
+    Assertions.assertTrue(this.writtenPackets.isEmpty());
+    Assertions.assertEquals(1, this.scheduledTasks.size());
+    Assertions.assertEquals(2, queue.pendingPacketCount());
+
+    // the latency-critical packet must not overtake the packets queued before it
+    queue.enqueue(packet(3), true);
+    Assertions.assertEquals(List.of(1, 2, 3), this.writtenPackets);
+    Assertions.assertFalse(queue.hasPendingPackets());
+    Mockito.verify(channel, Mockito.times(1)).flush();
+
+    // the scheduled flush has nothing left to do
+    this.scheduledTasks.remove(0).run();
+    Assertions.assertEquals(List.of(1, 2, 3), this.writtenPackets);
+    Assertions.assertEquals(1, queue.flushCount());
+    Assertions.assertEquals(3, queue.flushedPacketCount());
+
+    // packets queued after the instant flush are coalesced again
+    queue.enqueue(packet(4), false);
+    queue.enqueue(packet(5), false);
+    Assertions.assertEquals(1, this.scheduledTasks.size());
+
+    this.scheduledTasks.remove(0).run();
+    Assertions.assertEquals(List.of(1, 2, 3, 4, 5), this.writtenPackets);
+    Assertions.assertEquals(2, queue.flushCount());
+    Assertions.assertEquals(2.5D, queue.averagePacketsPerFlush());
+  }
+
+  @Test
+  void testWritingResumesOnceChannelIsWritable() {
+    var channel = this.mockChannel();
+    var queue = this.newQueue(channel);
+    var handler = this.newHandler(queue);
+
+    this.writable.set(false);
+    queue.enqueue(packet(1), true);
+    queue.enqueue(packet(2), false);
+    this.scheduledTasks.remove(0).run();
+
+    // nothing is written while the channel is not writable
+    Assertions.assertTrue(this.writtenPackets.isEmpty());
+    Assertions.assertEquals(2, queue.pendingPacketCount());
+    Mockito.verify(channel, Mockito.never()).flush();
+
+    // the writability change of the channel continues writing the queued packets
+    this.writable.set(true);
+    handler.channelWritabilityChanged(mockContext(channel));
+
+    Assertions.assertEquals(List.of(1, 2), this.writtenPackets);
+    Assertions.assertEquals(0, queue.pendingPacketCount());
+    Mockito.verify(channel, Mockito.times(1)).flush();
+  }
+
+  @Test
+  void testWritingStopsOnceChannelIsNotWritable() {
+    var channel = this.mockChannel();
+    var queue = new NettyOutboundPacketQueue(channel, 100, 0, 0, packet -> {
+      this.writtenPackets.add(packet.channel());
+      // the first write fills the outbound buffer of the channel
+      this.writable.set(false);
+      return null;
+    });
+
+    queue.enqueue(packet(1), false);
+    queue.enqueue(packet(2), false);
+    queue.enqueue(packet(3), true);
+
+    Assertions.assertEquals(List.of(1), this.writtenPackets);
+    Assertions.assertEquals(2, queue.pendingPacketCount());
+
+    this.writable.set(true);
+    this.newHandler(queue).channelWritabilityChanged(mockContext(channel));
+    // every write makes the channel unwritable again, only one packet is written per writability change
+    Assertions.assertEquals(List.of(1, 2), this.writtenPackets);
+    Assertions.assertEquals(1, queue.pendingPacketCount());
+  }
+
+  @Test
+  void testSyncFlushIgnoresWritability() {
+    var channel = this.mockChannel();
+    var queue = this.newQueue(channel);
+
+    this.writable.set(false);
+    queue.enqueue(packet(1), false);
+    var writeTask = queue.enqueueTracked(packet(2), false);
+
+    // sync sends on the event loop must pass their packets to the pipeline before returning
+    queue.flushIgnoringWritability();
+    Assertions.assertEquals(List.of(1, 2), this.writtenPackets);
+    Assertions.assertEquals(0, queue.pendingPacketCount());
+    Assertions.assertTrue(writeTask.isDone());
+  }
+
+  @Test
+  void testQueuedPacketsAreDiscardedWhenChannelIsClosed() {
+    var channel = this.mockChannel();
+    var queue = this.newQueue(channel);
+
+    this.writable.set(false);
+    var untrackedPacket = packet(1);
+    var trackedPacket = packet(2);
+    queue.enqueue(untrackedPacket, true);
+    var writeTask = queue.enqueueTracked(trackedPacket, true);
+
+    Assertions.assertEquals(2, queue.pendingPacketCount());
+    Assertions.assertFalse(writeTask.isDone());
+
+    // channelInactive flushes the queue to fail all waiting writes
+    this.active.set(false);
+    queue.flushNow();
+
+    Assertions.assertTrue(this.writtenPackets.isEmpty());
+    Assertions.assertEquals(0, queue.pendingPacketCount());
+    Assertions.assertFalse(untrackedPacket.content().accessible());
+    Assertions.assertFalse(trackedPacket.content().accessible());
+
+    var exception = Assertions.assertThrows(CompletionException.class, writeTask::join);
+    Assertions.assertInstanceOf(ClosedChannelException.class, exception.getCause());
+  }
+
+  @Test
+  void testWaitingForCapacityIsBounded() {
+    var channel = this.mockChannel();
+    Mockito.when(channel.executor().inEventLoop()).thenReturn(false);
+    var queue = new NettyOutboundPacketQueue(channel, 1, TimeUnit.MILLISECONDS.toNanos(50), 0, packet -> null);
+
+    // the other side stopped reading, the queue never drains
+    this.writable.set(false);
+    queue.enqueue(packet(1), false);
+
+    var rejectedPacket = packet(2);
+    var start = System.nanoTime();
+    var writeTask = queue.offer(rejectedPacket, PacketOverflowPolicy.WAIT, false);
+
+    Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    Assertions.assertEquals(1, queue.pendingPacketCount());
+    Assertions.assertFalse(rejectedPacket.content().accessible());
+
+    var exception = Assertions.assertThrows(CompletionException.class, writeTask::join);
+    Assertions.assertInstanceOf(PacketQueueFullException.class, exception.getCause());
+  }
+
+  private static @NonNull Packet packet(int channel) {
+    return new BasePacket(channel, DataBuf.empty().writeInt(channel));
+  }
+
+  private static @NonNull ChannelHandlerContext mockContext(@NonNull Channel channel) {
+    var context = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(context.channel()).thenReturn(channel);
+    return context;
+  }
+
+  private @NonNull NettyOutboundPacketQueue newQueue(@NonNull Channel channel) {
+    return new NettyOutboundPacketQueue(channel, 100, 0, 0, packet -> {
+      this.writtenPackets.add(packet.channel());
+      return null;
+    });
+  }
+
+  private @NonNull NettyNetworkHandler newHandler(@NonNull NettyOutboundPacketQueue queue) {
+    var networkChannel = Mockito.mock(NettyNetworkChannel.class);
+    Mockito.when(networkChannel.outboundPacketQueue()).thenReturn(queue);
+
+    var handler = new NettyNetworkHandler() {
+      @Override
+      protected @NonNull Collection<NetworkChannel> channels() {
+        return List.of();
+      }
+
+      @Override
+      protected @NonNull Executor packetDispatcher() {
+        return Runnable::run;
+      }
+    };
+    handler.channel = networkChannel;
+    return handler;
+  }
+
+  private @NonNull Channel mockChannel() {
+    var eventLoop = Mockito.mock(EventLoop.class);
+    Mockito.when(eventLoop.inEventLoop()).thenReturn(true);
+    Mockito.doAnswer(invocation -> this.scheduledTasks.add(invocation.getArgument(0)))
+      .when(eventLoop)
+      .execute(Mockito.any(Runnable.class));
+
+    var channel = Mockito.mock(Channel.class);
+    Mockito.when(channel.executor()).thenReturn(eventLoop);
+    Mockito.when(channel.isActive()).then(invocation -> this.active.get());
+    Mockito.when(channel.isWritable()).then(invocation -> this.writable.get());
+    return channel;
+  }
+}
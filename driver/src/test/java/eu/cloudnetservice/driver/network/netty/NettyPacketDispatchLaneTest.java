@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty;
+
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class NettyPacketDispatchLaneTest {
+
+  @Test
+  void testTasksAreExecutedInOrder() throws Exception {
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var lane = new NettyPacketDispatchLane(mockChannel(), executor, 10_000, () -> false);
+
+      var latch = new CountDownLatch(1_000);
+      var executionOrder = Collections.synchronizedList(new ArrayList<Integer>());
+      for (var i = 0; i < 1_000; i++) {
+        var taskId = i;
+        lane.execute(() -> {
+          executionOrder.add(taskId);
+          latch.countDown();
+        });
+      }
+
+      Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      for (var i = 0; i < 1_000; i++) {
+        Assertions.assertEquals(i, executionOrder.get(i));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testReadIsPausedWhenFull() {
+    var channel = mockChannel();
+    var pendingTasks = new ArrayList<Runnable>();
+    var lane = new NettyPacketDispatchLane(channel, pendingTasks::add, 4, () -> false);
+
+    for (var i = 0; i < 4; i++) {
+      lane.execute(() -> {
+      });
+    }
+
+    Assertions.assertEquals(4, lane.queueDepth());
+    Assertions.assertTrue(lane.readPaused());
+    Mockito.verify(channel).setOption(ChannelOption.AUTO_READ, false);
+
+    // run the scheduled drain of the lane
+    Assertions.assertEquals(1, pendingTasks.size());
+    pendingTasks.get(0).run();
+
+    Assertions.assertEquals(0, lane.queueDepth());
+    Assertions.assertFalse(lane.readPaused());
+    Mockito.verify(channel).setOption(ChannelOption.AUTO_READ, true);
+  }
+
+  @Test
+  void testReadContinuesWhileLaneAwaitsQueryResponse() throws Exception {
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      var channel = mockChannel();
+      var awaitingResponse = new AtomicBoolean();
+      var lane = new NettyPacketDispatchLane(channel, executor, 4, awaitingResponse::get);
+
+      // the first task sends a query and blocks the lane until the response was received
+      var response = new CompletableFuture<String>();
+      var querySent = new CountDownLatch(1);
+      var queryHandled = new CountDownLatch(1);
+      lane.execute(() -> {
+        awaitingResponse.set(true);
+        lane.resumeReadingForResponses();
+        querySent.countDown();
+        if ("response".equals(response.join())) {
+          queryHandled.countDown();
+        }
+      });
+      Assertions.assertTrue(querySent.await(5, TimeUnit.SECONDS));
+
+      // fill the lane while the first task is waiting, reading must continue to receive the response
+      for (var i = 0; i < 10; i++) {
+        lane.execute(() -> {
+        });
+      }
+      Assertions.assertEquals(11, lane.queueDepth());
+      Assertions.assertFalse(lane.readPaused());
+      Mockito.verify(channel, Mockito.never()).setOption(ChannelOption.AUTO_READ, false);
+
+      // query responses bypass the lane
+      awaitingResponse.set(false);
+      response.complete("response");
+      Assertions.assertTrue(queryHandled.await(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testPausedReadResumesWhenQueryIsSent() {
+    var channel = mockChannel();
+    var awaitingResponse = new AtomicBoolean();
+    var lane = new NettyPacketDispatchLane(channel, $ -> {
+    }, 2, awaitingResponse::get);
+
+    lane.execute(() -> {
+    });
+    lane.execute(() -> {
+    });
+    Assertions.assertTrue(lane.readPaused());
+
+    // nothing to resume for as long as no query is waiting for a response
+    lane.resumeReadingForResponses();
+    Assertions.assertTrue(lane.readPaused());
+
+    awaitingResponse.set(true);
+    lane.resumeReadingForResponses();
+    Assertions.assertFalse(lane.readPaused());
+    Mockito.verify(channel).setOption(ChannelOption.AUTO_READ, true);
+
+    // once all responses were received, the still full lane pauses reading again
+    awaitingResponse.set(false);
+    lane.execute(() -> {
+    });
+    Assertions.assertTrue(lane.readPaused());
+    Mockito.verify(channel, Mockito.times(2)).setOption(ChannelOption.AUTO_READ, false);
+  }
+
+  private static Channel mockChannel() {
+    var eventLoop = Mockito.mock(EventLoop.class);
+    Mockito.when(eventLoop.inEventLoop()).thenReturn(true);
+
+    var channel = Mockito.mock(Channel.class);
+    Mockito.when(channel.executor()).thenReturn(eventLoop);
+    return channel;
+  }
+}
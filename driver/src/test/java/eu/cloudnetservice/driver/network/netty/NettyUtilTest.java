@@ -45,6 +45,14 @@ void testNodeThreadAmount() {
     Assertions.assertTrue(NettyUtil.threadAmount() >= 8);
   }
 
+  @Test
+  void testPreferredTransportFallsBack() {
+    // unknown or unavailable transports fall back to the default selection
+    Assertions.assertEquals(NettyTransport.availableTransport(false), NettyTransport.availableTransport(false, "none"));
+    Assertions.assertEquals(NettyTransport.NIO, NettyTransport.availableTransport(true, "epoll"));
+    Assertions.assertEquals(NettyTransport.NIO, NettyTransport.availableTransport(false, "NIO"));
+  }
+
   @RepeatedTest(30)
   public void testVarIntCoding() {
     try (var buffer = DefaultBufferAllocators.onHeapAllocator().allocate(0)) {
@@ -20,19 +20,23 @@
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import io.netty5.buffer.Buffer;
 import io.netty5.buffer.DefaultBufferAllocators;
 import io.netty5.channel.Channel;
 import io.netty5.channel.ChannelHandlerContext;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.Deflater;
 import org.junit.jupiter.api.Assertions;
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mockito;
 
 public class NettyPacketCodecTest {
 
-  @Test
-  void testNettyPacketCodec() {
+  @ParameterizedTest
+  @CsvSource({"false, -1", "true, -1", "false, 0", "true, 0"})
+  void testNettyPacketCodec(boolean zeroCopy, int compositeThreshold) {
     // dummy write
     var packetChannel = ThreadLocalRandom.current().nextInt();
     DataBuf dataBuf = DataBufFactory.defaultFactory().createEmpty()
@@ -57,23 +61,73 @@ void testNettyPacketCodec() {
         Packet packet = inv.getArgument(0);
         // validate
         Assertions.assertEquals(packetChannel, packet.channel());
+        Assertions.assertEquals(1234567890123L, packet.queryId());
         Assertions.assertTrue(packet.content().readBoolean());
         Assertions.assertEquals(1234, packet.content().readInt());
         Assertions.assertEquals(5D, packet.content().readDouble());
 
+        // the content was fully read and must be released now
+        Assertions.assertFalse(packet.content().accessible());
+
         // whatever
         return null;
       });
 
       // decode the packet again
-      var decoder = new NettyPacketDecoder();
+      var decoder = new NettyPacketDecoder(zeroCopy);
       decoder.decode(inCtx, buffer);
+      Assertions.assertEquals(0, buffer.readableBytes());
 
       // whatever
       return null;
     });
 
     // encode the packet
-    NettyPacketEncoder.INSTANCE.write(outCtx, new BasePacket(packetChannel, dataBuf));
+    var packet = new BasePacket(packetChannel, dataBuf);
+    packet.queryId(1234567890123L);
+    new NettyPacketEncoder(compositeThreshold).write(outCtx, packet);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"false, -1, false", "true, -1, false", "false, 0, false", "true, 0, false", "false, -1, true"})
+  void testCompressedNettyPacketCodec(boolean zeroCopy, int compositeThreshold, boolean offHeap) {
+    var allocator = offHeap ? DefaultBufferAllocators.offHeapAllocator() : DefaultBufferAllocators.onHeapAllocator();
+    var packetChannel = ThreadLocalRandom.current().nextInt();
+    var payload = "CloudNet".repeat(1024);
+    DataBuf dataBuf = DataBufFactory.defaultFactory().createEmpty().writeString(payload).writeInt(1234);
+    var contentLength = dataBuf.readableBytes();
+
+    var outCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(outCtx.bufferAllocator()).thenReturn(allocator);
+    Mockito.when(outCtx.write(Mockito.any(Buffer.class))).then(invocation -> {
+      Buffer buffer = invocation.getArgument(0);
+      // the payload is highly compressible
+      Assertions.assertTrue(buffer.readableBytes() < contentLength);
+
+      var inChannel = Mockito.mock(Channel.class);
+      Mockito.when(inChannel.isActive()).thenReturn(true);
+
+      var inCtx = Mockito.mock(ChannelHandlerContext.class);
+      Mockito.when(inCtx.channel()).thenReturn(inChannel);
+      Mockito.when(inCtx.bufferAllocator()).thenReturn(allocator);
+      Mockito.when(inCtx.fireChannelRead(Mockito.any(Packet.class))).then(inv -> {
+        Packet packet = inv.getArgument(0);
+        // validate
+        Assertions.assertEquals(packetChannel, packet.channel());
+        Assertions.assertEquals(payload, packet.content().readString());
+        Assertions.assertEquals(1234, packet.content().readInt());
+        Assertions.assertFalse(packet.content().accessible());
+        return null;
+      });
+
+      // decode the packet again
+      new NettyPacketDecoder(zeroCopy).decode(inCtx, buffer);
+      Assertions.assertEquals(0, buffer.readableBytes());
+      return null;
+    });
+
+    // encode the packet
+    var compression = new PacketCompression(true, 1024, Deflater.BEST_SPEED);
+    new NettyPacketEncoder(compositeThreshold, compression).write(outCtx, new BasePacket(packetChannel, dataBuf));
   }
 }
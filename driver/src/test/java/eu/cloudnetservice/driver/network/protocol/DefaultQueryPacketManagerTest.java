@@ -17,11 +17,13 @@
 package eu.cloudnetservice.driver.network.protocol;
 
 import eu.cloudnetservice.common.collection.Pair;
+import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.defaults.DefaultQueryPacketManager;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import java.time.Duration;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -32,7 +34,7 @@ public class DefaultQueryPacketManagerTest {
   @Test
   void testSendQueryPacket() {
     var mockedPacket = this.mockUniqueIdAblePacket();
-    QueryPacketManager manager = new DefaultQueryPacketManager(Mockito.mock(NetworkChannel.class));
+    QueryPacketManager manager = new DefaultQueryPacketManager(this.mockChannel());
 
     manager.sendQueryPacket(mockedPacket.first());
 
@@ -45,9 +47,9 @@ void testSendQueryPacket() {
 
   @Test
   void testSendQueryPacketWithFixedId() {
-    var uniqueId = UUID.randomUUID();
+    var uniqueId = 1234L;
     var mockedPacket = this.mockUniqueIdAblePacket();
-    QueryPacketManager manager = new DefaultQueryPacketManager(Mockito.mock(NetworkChannel.class));
+    QueryPacketManager manager = new DefaultQueryPacketManager(this.mockChannel());
 
     manager.sendQueryPacket(mockedPacket.first(), uniqueId);
 
@@ -59,10 +61,32 @@ void testSendQueryPacketWithFixedId() {
     Assertions.assertFalse(manager.hasWaitingHandler(uniqueId));
   }
 
+  @Test
+  @SuppressWarnings("deprecation")
+  void testDeprecatedUniqueIdAccessors() {
+    var packet = new BasePacket(1, DataBuf.empty());
+    Assertions.assertNull(packet.uniqueId());
+
+    packet.queryId(1234L);
+    var uniqueId = packet.uniqueId();
+    Assertions.assertEquals(new UUID(0, 1234L), uniqueId);
+
+    packet.uniqueId(null);
+    Assertions.assertEquals(0, packet.queryId());
+    packet.uniqueId(uniqueId);
+    Assertions.assertEquals(1234L, packet.queryId());
+
+    QueryPacketManager manager = new DefaultQueryPacketManager(this.mockChannel());
+    var task = manager.sendQueryPacket(packet, 1234L);
+    Assertions.assertTrue(manager.hasWaitingHandler(uniqueId));
+    Assertions.assertSame(task, manager.waitingHandler(uniqueId));
+    Assertions.assertFalse(manager.unregisterWaitingHandler(uniqueId));
+  }
+
   @Test
   void testGetAndRemoveHandler() {
     var mockedPacket = this.mockUniqueIdAblePacket();
-    QueryPacketManager manager = new DefaultQueryPacketManager(Mockito.mock(NetworkChannel.class));
+    QueryPacketManager manager = new DefaultQueryPacketManager(this.mockChannel());
 
     var task = manager.sendQueryPacket(mockedPacket.first());
 
@@ -75,7 +99,7 @@ void testGetAndRemoveHandler() {
   void testHandlerTimeout() throws InterruptedException {
     var mockedPacket = this.mockUniqueIdAblePacket();
     QueryPacketManager manager = new DefaultQueryPacketManager(
-      Mockito.mock(NetworkChannel.class),
+      this.mockChannel(),
       Duration.ofSeconds(2));
 
     var task = manager.sendQueryPacket(mockedPacket.first());
@@ -89,17 +113,75 @@ void testHandlerTimeout() throws InterruptedException {
     Assertions.assertTrue(task.isDone());
   }
 
-  private Pair<Packet, AtomicReference<UUID>> mockUniqueIdAblePacket() {
-    var reference = new AtomicReference<UUID>();
+  @Test
+  void testQueryIdSequence() {
+    var clientChannel = Mockito.mock(NetworkChannel.class);
+    Mockito.when(clientChannel.clientProvidedChannel()).thenReturn(true);
+
+    QueryPacketManager clientManager = new DefaultQueryPacketManager(clientChannel);
+    QueryPacketManager serverManager = new DefaultQueryPacketManager(this.mockChannel());
+
+    // both sides of a channel use distinct query ids
+    Assertions.assertEquals(1, clientManager.nextQueryId());
+    Assertions.assertEquals(3, clientManager.nextQueryId());
+    Assertions.assertEquals(2, serverManager.nextQueryId());
+    Assertions.assertEquals(4, serverManager.nextQueryId());
+  }
+
+  @Test
+  void testManyWaitingHandlers() {
+    var mockedPacket = this.mockUniqueIdAblePacket();
+    QueryPacketManager manager = new DefaultQueryPacketManager(this.mockChannel());
+
+    for (var i = 0; i < 1000; i++) {
+      manager.sendQueryPacket(mockedPacket.first());
+    }
+    Assertions.assertEquals(1000, manager.waitingHandlers().size());
+
+    // remove every second handler, all others must still be present
+    for (var id = 2L; id <= 2000; id += 4) {
+      Assertions.assertNotNull(manager.waitingHandler(id));
+    }
+    for (var id = 2L; id <= 2000; id += 2) {
+      Assertions.assertEquals((id - 2) % 4 != 0, manager.hasWaitingHandler(id));
+    }
+  }
+
+  @Test
+  void testFailedSendCompletesQuery() {
+    var channel = Mockito.mock(NetworkChannel.class);
+    Mockito
+      .when(channel.sendPacketAsync(Mockito.any(), Mockito.any()))
+      .thenReturn(Task.completedTask(new PacketQueueFullException(Mockito.mock(Packet.class), false)));
+
+    var mockedPacket = this.mockUniqueIdAblePacket();
+    QueryPacketManager manager = new DefaultQueryPacketManager(channel);
+
+    var task = manager.sendQueryPacket(mockedPacket.first());
+
+    Assertions.assertTrue(task.isCompletedExceptionally());
+    Assertions.assertFalse(manager.hasWaitingHandler(mockedPacket.second().get()));
+  }
+
+  private NetworkChannel mockChannel() {
+    var channel = Mockito.mock(NetworkChannel.class);
+    Mockito
+      .when(channel.sendPacketAsync(Mockito.any(), Mockito.any()))
+      .thenReturn(Task.completedTask(null));
+    return channel;
+  }
+
+  private Pair<Packet, AtomicLong> mockUniqueIdAblePacket() {
+    var reference = new AtomicLong();
 
     var packet = Mockito.mock(Packet.class);
     Mockito
       .doAnswer(invocation -> {
-        reference.set(invocation.getArgument(0));
+        reference.set(invocation.getArgument(0, Long.class));
         return null;
       })
       .when(packet)
-      .uniqueId(Mockito.any());
+      .queryId(Mockito.anyLong());
 
     return new Pair<>(packet, reference);
   }
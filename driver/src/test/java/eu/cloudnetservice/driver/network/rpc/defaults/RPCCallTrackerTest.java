@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.DefaultRPCHandlerRegistry;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCPacketListener;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class RPCCallTrackerTest {
+
+  @Test
+  void testCancellationBeforeRequestSkipsCall() {
+    var tracker = RPCCallTracker.forChannel(Mockito.mock(NetworkChannel.class));
+
+    tracker.cancel(2);
+    var call = tracker.register(query(2, DataBuf.empty()), 1000);
+    Assertions.assertTrue(call.aborted());
+
+    tracker.complete(2);
+    Assertions.assertEquals(0, tracker.trackedCallCount());
+  }
+
+  @Test
+  void testCancellationAfterCompletionIsIgnored() {
+    var tracker = RPCCallTracker.forChannel(Mockito.mock(NetworkChannel.class));
+
+    var call = tracker.register(query(2, DataBuf.empty()), 1000);
+    Assertions.assertEquals(1, tracker.trackedCallCount());
+    tracker.complete(2);
+
+    // the late cancellation must neither abort the call nor leave an entry behind
+    tracker.cancel(2);
+    Assertions.assertFalse(call.aborted());
+    Assertions.assertEquals(0, tracker.trackedCallCount());
+    Assertions.assertFalse(tracker.register(query(4, DataBuf.empty()), 1000).aborted());
+  }
+
+  @Test
+  void testCallIsCompletedWhenHandlingFails() {
+    var channel = Mockito.mock(NetworkChannel.class);
+    var listener = new RPCPacketListener(new DefaultRPCHandlerRegistry());
+
+    // a call to a method id which was never announced
+    var content = DataBuf.empty()
+      .writeVarInt(0)
+      .writeVarInt(1000)
+      .writeByte(RPCRequestPacket.REQUEST_TYPE_SINGLE)
+      .writeVarInt(Short.MAX_VALUE);
+    Assertions.assertThrows(IllegalStateException.class, () -> listener.handle(channel, query(2, content)));
+    Assertions.assertEquals(0, RPCCallTracker.forChannel(channel).trackedCallCount());
+  }
+
+  private static Packet query(long queryId, DataBuf content) {
+    var packet = new BasePacket(1, content);
+    packet.queryId(queryId);
+    return packet;
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults;
+
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.rpc.RPCInvocationContext;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.DefaultRPCHandler;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.DefaultRPCHandlerRegistry;
+import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class RPCMethodIdTableTest {
+
+  @Test
+  void testDefinitionsRoundTrip() {
+    var senderTable = RPCMethodIdTable.forChannel(Mockito.mock(NetworkChannel.class));
+    var receiverTable = RPCMethodIdTable.forChannel(Mockito.mock(NetworkChannel.class));
+
+    var first = RPCMethodIdTable.localMethod("TestApi", "roundTrip", 2);
+    var second = RPCMethodIdTable.localMethod("TestApi", "roundTrip", 3);
+    Assertions.assertNotEquals(first.id(), second.id());
+    Assertions.assertSame(first, RPCMethodIdTable.localMethod("TestApi", "roundTrip", 2));
+
+    var dataBuf = senderTable.writeDefinitions(DataBuf.empty(), first, second)
+      .writeVarInt(first.id())
+      .writeVarInt(second.id());
+
+    receiverTable.readDefinitions(dataBuf);
+    Assertions.assertEquals(first, receiverTable.readMethod(dataBuf));
+    Assertions.assertEquals(second, receiverTable.readMethod(dataBuf));
+  }
+
+  @Test
+  void testAnnouncedMethodsAreReferencedById() {
+    var senderTable = RPCMethodIdTable.forChannel(Mockito.mock(NetworkChannel.class));
+    var receiverTable = RPCMethodIdTable.forChannel(Mockito.mock(NetworkChannel.class));
+    var method = RPCMethodIdTable.localMethod("TestApi", "referencedById", 1);
+
+    // the first packet carries the definition of the method
+    var firstBuf = senderTable.writeDefinitions(DataBuf.empty(), method).writeVarInt(method.id());
+    senderTable.markAnnounced(method);
+    receiverTable.readDefinitions(firstBuf);
+    Assertions.assertEquals(method, receiverTable.readMethod(firstBuf));
+
+    // all following packets only carry the id of the method
+    var secondBuf = senderTable.writeDefinitions(DataBuf.empty(), method).writeVarInt(method.id());
+    secondBuf.startTransaction();
+    Assertions.assertEquals(0, secondBuf.readVarInt());
+    secondBuf.redoTransaction();
+
+    receiverTable.readDefinitions(secondBuf);
+    Assertions.assertEquals(method, receiverTable.readMethod(secondBuf));
+  }
+
+  @Test
+  void testMethodsAreOnlyMarkedAnnouncedOnDelivery() {
+    var table = RPCMethodIdTable.forChannel(Mockito.mock(NetworkChannel.class));
+    var method = RPCMethodIdTable.localMethod("TestApi", "markedOnDelivery", 0);
+
+    // the packet carrying the definition was dropped, the definition must be sent again
+    var failedWrite = new Task<Void>();
+    table.markAnnouncedOnSuccess(failedWrite, method);
+    failedWrite.completeExceptionally(new IllegalStateException("dropped"));
+    Assertions.assertEquals(1, table.writeDefinitions(DataBuf.empty(), method).readVarInt());
+
+    var pendingWrite = new Task<Void>();
+    table.markAnnouncedOnSuccess(pendingWrite, method);
+    Assertions.assertEquals(1, table.writeDefinitions(DataBuf.empty(), method).readVarInt());
+
+    pendingWrite.complete(null);
+    Assertions.assertEquals(0, table.writeDefinitions(DataBuf.empty(), method).readVarInt());
+  }
+
+  @Test
+  void testUnknownMethodIdIsRejected() {
+    var table = RPCMethodIdTable.forChannel(Mockito.mock(NetworkChannel.class));
+    Assertions.assertThrows(IllegalStateException.class, () -> table.readMethod(DataBuf.empty().writeVarInt(12)));
+    Assertions.assertThrows(IllegalStateException.class, () -> table.readMethod(DataBuf.empty().writeVarInt(-1)));
+  }
+
+  @Test
+  void testOversizedMethodIdIsRejected() {
+    var table = RPCMethodIdTable.forChannel(Mockito.mock(NetworkChannel.class));
+    var dataBuf = DataBuf.empty()
+      .writeVarInt(1)
+      .writeVarInt(Integer.MAX_VALUE)
+      .writeString("TestApi")
+      .writeString("oversized")
+      .writeVarInt(0);
+    Assertions.assertThrows(IllegalStateException.class, () -> table.readDefinitions(dataBuf));
+  }
+
+  @Test
+  void testResolvedMethodsAreCachedUntilRegistryChanges() {
+    var table = RPCMethodIdTable.forChannel(Mockito.mock(NetworkChannel.class));
+    var method = RPCMethodIdTable.localMethod(Calculator.class.getCanonicalName(), "add", 2);
+    table.readDefinitions(table.writeDefinitions(DataBuf.empty(), method));
+
+    var registry = new DefaultRPCHandlerRegistry();
+    var objectMapper = new DefaultObjectMapper();
+    var dataBufFactory = DataBufFactory.defaultFactory();
+    var handler = new DefaultRPCHandler(Calculator.class, new Calculator(), objectMapper, dataBufFactory);
+    Assertions.assertNull(table.resolveMethod(method, registry));
+
+    // the handler and the method information are only resolved once
+    registry.registerHandler(handler);
+    var resolved = table.resolveMethod(method, registry);
+    Assertions.assertNotNull(resolved);
+    Assertions.assertSame(handler, resolved.handler());
+    Assertions.assertNotNull(resolved.information());
+    Assertions.assertSame(resolved, table.resolveMethod(method, registry));
+
+    var context = RPCInvocationContext.builder()
+      .channel(Mockito.mock(NetworkChannel.class))
+      .methodName(method.methodName())
+      .argumentCount(method.argumentCount())
+      .argumentInformation(objectMapper.writeObject(objectMapper.writeObject(DataBuf.empty(), 1), 2))
+      .expectsMethodResult(true)
+      .normalizePrimitives(true)
+      .strictInstanceUsage(false)
+      .build();
+    Assertions.assertEquals(3, resolved.handleAsync(context).join().invocationResult());
+
+    // the cached handler must not be used once it was unregistered
+    registry.unregisterHandler(handler);
+    Assertions.assertNull(table.resolveMethod(method, registry));
+
+    var replacement = new DefaultRPCHandler(Calculator.class, new Calculator(), objectMapper, dataBufFactory);
+    registry.registerHandler(replacement);
+    Assertions.assertSame(replacement, table.resolveMethod(method, registry).handler());
+  }
+
+  public static final class Calculator {
+
+    public int add(int first, int second) {
+      return first + second;
+    }
+  }
+}
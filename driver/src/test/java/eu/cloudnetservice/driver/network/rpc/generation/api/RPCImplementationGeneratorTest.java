@@ -17,11 +17,17 @@
 package eu.cloudnetservice.driver.network.rpc.generation.api;
 
 import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.rpc.RPC;
 import eu.cloudnetservice.driver.network.rpc.RPCSender;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCResultCache;
 import eu.cloudnetservice.driver.network.rpc.defaults.generation.ApiImplementationGenerator;
+import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
 import eu.cloudnetservice.driver.network.rpc.generation.GenerationContext;
 import eu.cloudnetservice.driver.permission.PermissionManagement;
+import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceTask;
 import java.util.UUID;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -92,4 +98,80 @@ void testDownPassingRPCSenderToExtendingClass() {
     Assertions.assertInstanceOf(SenderNeedingManagement.class, management);
     Assertions.assertSame(((SenderNeedingManagement) management).sender, sender);
   }
+
+  @Test
+  void testCachedResults() {
+    RPCResultCache.invalidateAll();
+
+    var rpc = Mockito.mock(RPC.class);
+    Mockito.when(rpc.className()).thenReturn(ServiceTaskProvider.class.getCanonicalName());
+    Mockito.when(rpc.methodName()).thenReturn("serviceTask");
+    Mockito.when(rpc.arguments()).thenReturn(new Object[]{"Lobby"});
+
+    var sender = Mockito.mock(RPCSender.class);
+    Mockito.when(sender.invokeMethod(Mockito.anyString(), Mockito.any())).thenReturn(rpc);
+
+    var provider = (ServiceTaskProvider) ApiImplementationGenerator.generateApiImplementation(
+      ServiceTaskProvider.class,
+      GenerationContext.forClass(ServiceTaskProvider.class).build(),
+      sender
+    ).get();
+
+    // the second call should be served from the cache
+    Assertions.assertNull(provider.serviceTask("Lobby"));
+    Assertions.assertNull(provider.serviceTask("Lobby"));
+    Mockito.verify(rpc, Mockito.times(1)).fireSync();
+
+    // invalidating the tag should result in a new call
+    RPCResultCache.invalidate("service_tasks");
+    Assertions.assertNull(provider.serviceTask("Lobby"));
+    Mockito.verify(rpc, Mockito.times(2)).fireSync();
+  }
+
+  @Test
+  void testCachedResultsAreNotShared() {
+    RPCResultCache.invalidateAll();
+
+    var task = ServiceTask.builder()
+      .name("Proxy")
+      .serviceEnvironmentType(ServiceEnvironmentType.VELOCITY)
+      .build();
+
+    var rpc = Mockito.mock(RPC.class);
+    Mockito.when(rpc.className()).thenReturn(ServiceTaskProvider.class.getCanonicalName());
+    Mockito.when(rpc.methodName()).thenReturn("serviceTask");
+    Mockito.when(rpc.arguments()).thenReturn(new Object[]{"Proxy"});
+    Mockito.when(rpc.expectedResultType()).thenReturn(ServiceTask.class);
+    Mockito.when(rpc.objectMapper()).thenReturn(new DefaultObjectMapper());
+    Mockito.when(rpc.dataBufFactory()).thenReturn(DataBufFactory.defaultFactory());
+    Mockito.when(rpc.fireSync()).thenReturn(task);
+
+    var sender = Mockito.mock(RPCSender.class);
+    Mockito.when(sender.invokeMethod(Mockito.anyString(), Mockito.any())).thenReturn(rpc);
+
+    var provider = (ServiceTaskProvider) ApiImplementationGenerator.generateApiImplementation(
+      ServiceTaskProvider.class,
+      GenerationContext.forClass(ServiceTaskProvider.class).build(),
+      sender
+    ).get();
+
+    // modifying the result of the first call must not affect the cached result
+    var first = provider.serviceTask("Proxy");
+    Assertions.assertNotNull(first);
+    first.properties().append("modified", true);
+
+    // every cache hit returns a new instance
+    var second = provider.serviceTask("Proxy");
+    var third = provider.serviceTask("Proxy");
+    Mockito.verify(rpc, Mockito.times(1)).fireSync();
+
+    Assertions.assertNotNull(second);
+    Assertions.assertNotNull(third);
+    Assertions.assertNotSame(second, third);
+    Assertions.assertEquals("Proxy", second.name());
+    Assertions.assertFalse(second.properties().contains("modified"));
+
+    second.properties().append("modified", true);
+    Assertions.assertFalse(third.properties().contains("modified"));
+  }
 }
@@ -24,21 +24,28 @@
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
+import eu.cloudnetservice.driver.network.protocol.defaults.DefaultQueryPacketManager;
 import eu.cloudnetservice.driver.network.rpc.RPCFactory;
 import eu.cloudnetservice.driver.network.rpc.RPCHandlerRegistry;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCStreaming;
 import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCFactory;
 import eu.cloudnetservice.driver.network.rpc.defaults.handler.DefaultRPCHandlerRegistry;
 import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
 import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCCancelPacketListener;
 import eu.cloudnetservice.driver.network.rpc.listener.RPCPacketListener;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCStreamPacketListener;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCCancelPacket;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCStreamPacket;
 import eu.cloudnetservice.driver.service.ProcessSnapshot;
 import eu.cloudnetservice.driver.service.ThreadSnapshot;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -80,11 +87,12 @@ void testMethodInvocation() {
       .sendPacket(Mockito.any(Packet.class));
     // sender
     var channel = Mockito.mock(NetworkChannel.class);
+    Mockito.when(channel.queryPacketManager()).thenReturn(new DefaultQueryPacketManager(channel));
     Mockito
       .doAnswer(invocation -> {
-        // the packet has no unique id yet, set one
+        // the packet has no query id yet, set one
         Packet packet = invocation.getArgument(0);
-        packet.uniqueId(UUID.randomUUID());
+        packet.queryId(1);
         // post the packet to the listener
         listener.handle(resultChannel, packet);
         return resultListener.get();
@@ -150,6 +158,10 @@ void testMethodInvocation() {
         this.getClass().getSimpleName()
       )));
     }
+    // async method, the result is sent once the returned task completes
+    resultListener.set(new Task<>());
+    String asyncResult = sender.invokeMethod("asyncGreeting", "World").fireSync();
+    Assertions.assertEquals("Hello World", asyncResult);
     // triple join :)
     resultListener.set(new Task<>());
     result = sender
@@ -165,6 +177,161 @@ void testMethodInvocation() {
       .areEqual());
   }
 
+  @Test
+  @Timeout(20)
+  void testBatchInvocation() {
+    RPCHandlerRegistry registry = new DefaultRPCHandlerRegistry();
+    PacketListener listener = new RPCPacketListener(registry);
+    RPCFactory factory = new DefaultRPCFactory(new DefaultObjectMapper(), DataBufFactory.defaultFactory());
+    // register the handlers
+    var backingHandler = new AtomicLong();
+    registry.registerHandler(factory.newHandler(TestApiClass.class, new TestApiClass(backingHandler)));
+    registry.registerHandler(factory.newHandler(TestApiClassVeryNested.class, new TestApiClassVeryNestedImpl()));
+    // the channel to which the result should be sent
+    var resultListener = new Task<Packet>();
+    var resultChannel = Mockito.mock(NetworkChannel.class);
+    Mockito
+      .doAnswer(invocation -> {
+        resultListener.complete(invocation.getArgument(0));
+        return null;
+      })
+      .when(resultChannel)
+      .sendPacket(Mockito.any(Packet.class));
+    // the channel to which the batch is sent
+    var channel = Mockito.mock(NetworkChannel.class);
+    Mockito.when(channel.queryPacketManager()).thenReturn(new DefaultQueryPacketManager(channel));
+    Mockito
+      .doAnswer(invocation -> {
+        Packet packet = invocation.getArgument(0);
+        packet.queryId(1);
+        listener.handle(resultChannel, packet);
+        return resultListener;
+      })
+      .when(channel)
+      .sendQueryAsync(Mockito.any(Packet.class));
+    var component = Mockito.mock(NetworkComponent.class);
+    Mockito.when(component.firstChannel()).thenReturn(channel);
+    // the senders
+    var sender = factory.providerForClass(component, TestApiClass.class);
+    var veryNestedSender = factory.providerForClass(component, TestApiClassVeryNested.class);
+    // build the batch
+    var snapshot = ProcessSnapshot.self();
+    var integers = Arrays.asList(185, 186, 188);
+    var batch = sender.newBatch();
+    Task<Map<Long, Map<String, String>>> first = batch.add(
+      sender.invokeMethod("handleProcessSnapshot", snapshot, integers, 187));
+    Task<Object> second = batch.add(sender.invokeMethod("nestedClass", "Test1234"));
+    Task<Map<Long, Map<String, String>>> third = batch.add(
+      veryNestedSender.invokeMethod("handleProcessSnapshot2", snapshot, integers, 187));
+    batch.fireSync();
+    // the calls in the batch were sent in a single packet
+    Mockito.verify(channel, Mockito.times(1)).sendQueryAsync(Mockito.any(Packet.class));
+    // ensure that all results are there
+    var key = TestApiClass.calculateResult(snapshot, integers, 187);
+    Assertions.assertEquals(key, backingHandler.get());
+    Assertions.assertNotNull(first.getNow(null));
+    Assertions.assertNotNull(first.getNow(null).get(key));
+    Assertions.assertTrue(second.isDone());
+    Assertions.assertNull(second.getNow(null));
+    Assertions.assertNotNull(third.getNow(null));
+    Assertions.assertNotNull(third.getNow(null).get(key));
+    // a fired batch cannot be used again
+    Assertions.assertThrows(IllegalStateException.class, batch::fireSync);
+  }
+
+  @Test
+  @Timeout(20)
+  void testStreamedResult() throws Exception {
+    RPCHandlerRegistry registry = new DefaultRPCHandlerRegistry();
+    PacketListener listener = new RPCPacketListener(registry);
+    PacketListener streamListener = new RPCStreamPacketListener();
+    RPCFactory factory = new DefaultRPCFactory(new DefaultObjectMapper(), DataBufFactory.defaultFactory());
+    registry.registerHandler(factory.newHandler(TestApiClass.class, new TestApiClass(new AtomicLong())));
+    // the channels of both sides, stream packets are posted to the stream listener of the other side
+    var resultListener = new AtomicReference<Task<Packet>>(new Task<>());
+    var channel = Mockito.mock(NetworkChannel.class);
+    Mockito.when(channel.queryPacketManager()).thenReturn(new DefaultQueryPacketManager(channel));
+    var resultChannel = Mockito.mock(NetworkChannel.class);
+    Mockito
+      .doAnswer(invocation -> {
+        Packet packet = invocation.getArgument(0);
+        if (packet instanceof RPCStreamPacket) {
+          streamListener.handle(channel, packet);
+        } else {
+          resultListener.get().complete(packet);
+        }
+        return null;
+      })
+      .when(resultChannel)
+      .sendPacket(Mockito.any(Packet.class));
+    Mockito
+      .doAnswer(invocation -> {
+        streamListener.handle(resultChannel, invocation.getArgument(0));
+        return null;
+      })
+      .when(channel)
+      .sendPacket(Mockito.any(Packet.class));
+    Mockito
+      .doAnswer(invocation -> {
+        Packet packet = invocation.getArgument(0);
+        packet.queryId(1);
+        listener.handle(resultChannel, packet);
+        return resultListener.get();
+      })
+      .when(channel)
+      .sendQueryAsync(Mockito.any(Packet.class));
+    var component = Mockito.mock(NetworkComponent.class);
+    Mockito.when(component.firstChannel()).thenReturn(channel);
+    var sender = factory.providerForClass(component, TestApiClass.class);
+    // the collection is sent in multiple chunks and collected on the caller side
+    List<Integer> numbers = sender.invokeMethod("numbers", 5000).fireSync();
+    Assertions.assertNotNull(numbers);
+    Assertions.assertEquals(IntStream.range(0, 5000).boxed().toList(), numbers);
+    // the stream is read lazily
+    resultListener.set(new Task<>());
+    try (Stream<Integer> stream = sender.invokeMethod("numberStream", 5000).fireSync()) {
+      Assertions.assertNotNull(stream);
+      Assertions.assertEquals(IntStream.range(0, 5000).sum(), stream.mapToInt(Integer::intValue).sum());
+    }
+  }
+
+  @Test
+  @Timeout(20)
+  void testCancelledCallIsSkipped() {
+    RPCHandlerRegistry registry = new DefaultRPCHandlerRegistry();
+    PacketListener listener = new RPCPacketListener(registry);
+    RPCFactory factory = new DefaultRPCFactory(new DefaultObjectMapper(), DataBufFactory.defaultFactory());
+    var backingHandler = new AtomicLong();
+    registry.registerHandler(factory.newHandler(TestApiClass.class, new TestApiClass(backingHandler)));
+    // the cancellation of the call is received before the request itself
+    var resultChannel = Mockito.mock(NetworkChannel.class);
+    var channel = Mockito.mock(NetworkChannel.class);
+    Mockito.when(channel.queryPacketManager()).thenReturn(new DefaultQueryPacketManager(channel));
+    Mockito
+      .doAnswer(invocation -> {
+        Packet packet = invocation.getArgument(0);
+        packet.queryId(1);
+        new RPCCancelPacketListener().handle(resultChannel, new RPCCancelPacket(1));
+        listener.handle(resultChannel, packet);
+        return new Task<Packet>();
+      })
+      .when(channel)
+      .sendQueryAsync(Mockito.any(Packet.class));
+    var component = Mockito.mock(NetworkComponent.class);
+    Mockito.when(component.firstChannel()).thenReturn(channel);
+    var sender = factory.providerForClass(component, TestApiClass.class);
+    // the method must not be invoked and no response must be sent
+    Task<Map<Long, Map<String, String>>> task = sender
+      .invokeMethod("handleProcessSnapshot", ProcessSnapshot.self(), Arrays.asList(185, 186, 188), 187)
+      .fire();
+    Assertions.assertFalse(task.isDone());
+    Assertions.assertEquals(0, backingHandler.get());
+    Mockito.verify(resultChannel, Mockito.never()).sendPacket(Mockito.any(Packet.class));
+    // cancelling the task on the caller side notifies the handling side
+    task.cancel(true);
+    Mockito.verify(channel, Mockito.times(1)).sendPacket(Mockito.any(RPCCancelPacket.class));
+  }
+
   public interface TestApiClassVeryNested {
 
     Map<Long, Map<String, String>> handleProcessSnapshot2(ProcessSnapshot s, List<Integer> i, int primaryId);
@@ -187,6 +354,19 @@ public Map<Long, Map<String, String>> handleProcessSnapshot(ProcessSnapshot s, L
         ImmutableMap.of("test1", "test2", "test3", "test4"));
     }
 
+    public Task<String> asyncGreeting(String name) {
+      return Task.supply(() -> "Hello " + name);
+    }
+
+    @RPCStreaming
+    public List<Integer> numbers(int count) {
+      return IntStream.range(0, count).boxed().toList();
+    }
+
+    public Stream<Integer> numberStream(int count) {
+      return IntStream.range(0, count).boxed();
+    }
+
     public TestApiClassNested nestedClass(String arg) {
       return arg.equals("Test123") ? new TestApiClassNested() : null;
     }
@@ -23,6 +23,7 @@
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
+import eu.cloudnetservice.driver.network.rpc.defaults.object.serializers.FunctionalObjectSerializer;
 import eu.cloudnetservice.driver.service.ProcessSnapshot;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
@@ -31,12 +32,17 @@
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.driver.service.ThreadSnapshot;
 import java.lang.reflect.Type;
+import java.util.AbstractCollection;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
@@ -83,6 +89,9 @@ static Stream<Arguments> listDataProvider() {
     return Stream.of(
       Arguments.of(Arrays.asList("test", "test1", "test2"), String.class),
       Arguments.of(Arrays.asList(1234, 5678, 9012, 3456, 7890), Integer.class),
+      Arguments.of(Arrays.asList(1234, null, 9012), Integer.class),
+      Arguments.of(Arrays.asList(1234L, Long.MAX_VALUE, Long.MIN_VALUE), Long.class),
+      Arguments.of(Arrays.asList(UUID.randomUUID(), UUID.randomUUID()), UUID.class),
       Arguments.of(
         Arrays.asList(Collections.singleton("test"), Collections.singleton("test2"), Arrays.asList("test3", "test4")),
         parameterized(List.class, String.class)));
@@ -92,6 +101,7 @@ static Stream<Arguments> mapDataProvider() {
     return Stream.of(
       Arguments.of(Map.of("test", "test1", "test2", "test3"), String.class, String.class),
       Arguments.of(Map.of("test", 123, "test2", 456), String.class, Integer.class),
+      Arguments.of(Map.of(UUID.randomUUID(), 123L, UUID.randomUUID(), 456L), UUID.class, Long.class),
       Arguments.of(
         Map.of("test", Arrays.asList(123, 456), "test2", Arrays.asList(678, 456)),
         String.class, parameterized(List.class, Integer.class)),
@@ -174,6 +184,21 @@ <T> void testArraySerialization(T[] array) {
     Assertions.assertArrayEquals(array, mapper.readObject(buf, array.getClass()));
   }
 
+  @Test
+  @Order(25)
+  void testPrimitiveArraySerialization() {
+    var mapper = new DefaultObjectMapper();
+    var buf = DataBuf.empty();
+
+    var ints = new int[]{1234, 5678, 9012};
+    var longs = new long[]{1234L, Long.MAX_VALUE, Long.MIN_VALUE};
+    mapper.writeObject(buf, ints);
+    mapper.writeObject(buf, longs);
+
+    Assertions.assertArrayEquals(ints, (int[]) mapper.readObject(buf, int[].class));
+    Assertions.assertArrayEquals(longs, (long[]) mapper.readObject(buf, long[].class));
+  }
+
   @Order(30)
   @ParameterizedTest
   @MethodSource("listDataProvider")
@@ -247,4 +272,48 @@ void testByteArrayWriting() {
     Assertions.assertNotNull(result);
     Assertions.assertArrayEquals(bytes, result);
   }
+
+  @Test
+  @Order(80)
+  void testCustomElementSerializerIsRespected() {
+    var mapper = new DefaultObjectMapper();
+    mapper.unregisterBinding(String.class, false);
+    mapper.registerBinding(String.class, FunctionalObjectSerializer.<String>of(
+      DataBuf::readString,
+      (buf, value) -> buf.writeString(value.toUpperCase(Locale.ROOT))), false);
+    var buf = DataBuf.empty();
+
+    mapper.writeObject(buf, List.of("hello", "world"));
+    mapper.writeObject(buf, Map.of("key", "value"));
+
+    Assertions.assertEquals(List.of("HELLO", "WORLD"), mapper.readObject(buf, parameterized(List.class, String.class)));
+    Assertions.assertEquals(
+      Map.of("KEY", "VALUE"),
+      mapper.readObject(buf, parameterized(Map.class, String.class, String.class)));
+  }
+
+  @Test
+  @Order(90)
+  void testCollectionChangingWhileWriting() {
+    // simulates a concurrent collection to which an element of another type is added after the first iteration
+    Collection<Object> elements = new AbstractCollection<>() {
+      private int iterations;
+
+      @Override
+      public Iterator<Object> iterator() {
+        return this.iterations++ == 0 ? List.<Object>of(1, 2, 3).iterator() : List.<Object>of(1, 2, 3, "4").iterator();
+      }
+
+      @Override
+      public int size() {
+        return this.iterations == 0 ? 3 : 4;
+      }
+    };
+
+    var mapper = new DefaultObjectMapper();
+    var buf = DataBuf.empty();
+
+    mapper.writeObject(buf, elements);
+    Assertions.assertEquals(List.of(1, 2, 3), mapper.readObject(buf, parameterized(List.class, Integer.class)));
+  }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.provider.defaults;
+
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.DriverTestUtil;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class ChannelMessageQueryTaskTest {
+
+  @BeforeAll
+  public static void initDriver() {
+    var driver = DriverTestUtil.mockAndSetDriverInstance();
+    Mockito.when(driver.componentName()).thenReturn("Node-1");
+    Mockito.when(driver.environment()).thenReturn(DriverEnvironment.NODE);
+  }
+
+  @Test
+  void testCompletesWhenAllTargetsResponded() {
+    List<ChannelMessage> streamed = new ArrayList<>();
+    var task = new ChannelMessageQueryTask(2, 0, streamed::add);
+
+    task.handleTargetResponses(List.of(message("a")));
+    Assertions.assertFalse(task.isDone());
+    Assertions.assertEquals(1, streamed.size());
+
+    task.handleTargetResponses(List.of());
+    Assertions.assertTrue(task.isDone());
+    Assertions.assertEquals(1, task.getNow(null).size());
+  }
+
+  @Test
+  void testCompletesWhenResponseLimitReached() {
+    List<ChannelMessage> streamed = new ArrayList<>();
+    var task = new ChannelMessageQueryTask(3, 2, streamed::add);
+
+    task.handleTargetResponses(List.of(message("a"), message("b"), message("c")));
+    Assertions.assertTrue(task.isDone());
+    Assertions.assertEquals(2, task.getNow(null).size());
+    Assertions.assertEquals(2, streamed.size());
+
+    // late responses are neither added nor streamed
+    task.handleTargetResponses(List.of(message("d")));
+    Assertions.assertEquals(2, task.getNow(null).size());
+    Assertions.assertEquals(2, streamed.size());
+  }
+
+  @Test
+  void testCompletesWithPartialResponsesAfterTimeout() throws Exception {
+    var message = ChannelMessage.builder()
+      .channel("test")
+      .message("query")
+      .targetAll()
+      .queryTimeout(Duration.ofMillis(50))
+      .build();
+    var task = ChannelMessageQueryTask.forMessage(message, 2, null);
+
+    task.handleTargetResponses(List.of(message("a")));
+    Assertions.assertEquals(1, task.get(5, TimeUnit.SECONDS).size());
+  }
+
+  @Test
+  void testCompletesInstantlyWithoutTargets() {
+    var task = new ChannelMessageQueryTask(0, 0, null);
+    Assertions.assertTrue(task.isDone());
+    Assertions.assertTrue(task.getNow(null).isEmpty());
+  }
+
+  @Test
+  void testDependentActionsRunWithoutHoldingTheLock() {
+    var task = new ChannelMessageQueryTask(1, 0, null);
+    var lockHeld = task.thenApply($ -> Thread.holdsLock(task));
+
+    task.handleTargetResponses(List.of(message("a")));
+    Assertions.assertFalse(lockHeld.getNow(true));
+  }
+
+  @Test
+  void testLegacyConstructorUsesQueryDefaults() {
+    var sender = ChannelMessageSender.self();
+    var message = new ChannelMessage(false, false, "test", "legacy", DataBuf.empty(), sender, List.of());
+    Assertions.assertEquals(0, message.queryResponseLimit());
+    Assertions.assertEquals(0, message.queryTimeout());
+  }
+
+  private static ChannelMessage message(String message) {
+    return ChannelMessage.builder().channel("test").message(message).targetAll().build();
+  }
+}
@@ -53,7 +53,7 @@ public PlatformChannelMessageListener(
     this.management = management;
   }
 
-  @EventListener
+  @EventListener(channel = BridgeManagement.BRIDGE_CHANNEL_NAME)
   public void handleConfigurationChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(BridgeManagement.BRIDGE_CHANNEL_NAME) && event.message()
       .equals("update_bridge_configuration")) {
@@ -64,7 +64,7 @@ public void handleConfigurationChannelMessage(@NonNull ChannelMessageReceiveEven
     }
   }
 
-  @EventListener
+  @EventListener(channel = BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)
   public void handlePlayerChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(BridgeManagement.BRIDGE_PLAYER_CHANNEL_NAME)) {
       // a message regarding a player event
@@ -141,7 +141,7 @@ public void handlePlayerChannelMessage(@NonNull ChannelMessageReceiveEvent event
     }
   }
 
-  @EventListener
+  @EventListener(channel = BridgeManagement.BRIDGE_PLAYER_EXECUTOR_CHANNEL_NAME)
   public void handlePlayerExecutorChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(BridgeManagement.BRIDGE_PLAYER_EXECUTOR_CHANNEL_NAME)) {
       // the target unique id is always the first argument
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.modules.bridge.player;
 
 import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCStreaming;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCValidation;
 import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
 import eu.cloudnetservice.modules.bridge.player.executor.PlayerExecutor;
@@ -183,6 +184,7 @@ public interface PlayerManager {
    *
    * @return a list of all registered players.
    */
+  @RPCStreaming
   @NonNull List<CloudOfflinePlayer> registeredPlayers();
 
   /**
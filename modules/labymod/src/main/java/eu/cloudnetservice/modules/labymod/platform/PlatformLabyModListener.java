@@ -43,7 +43,7 @@ public void handlePlayerServerSwitch(@NonNull BridgeProxyPlayerServerSwitchEvent
     });
   }
 
-  @EventListener
+  @EventListener(channel = LabyModManagement.LABYMOD_MODULE_CHANNEL)
   public void handleConfigUpdate(@NonNull ChannelMessageReceiveEvent event) {
     // handle incoming channel messages on the labymod channel
     if (event.channel().equals(LabyModManagement.LABYMOD_MODULE_CHANNEL)
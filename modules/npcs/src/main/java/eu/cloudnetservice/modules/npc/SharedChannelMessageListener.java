@@ -31,7 +31,7 @@ public SharedChannelMessageListener(@NonNull NPCManagement npcManagement) {
     this.npcManagement = npcManagement;
   }
 
-  @EventListener
+  @EventListener(channel = AbstractNPCManagement.NPC_CHANNEL_NAME)
   public void handle(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(AbstractNPCManagement.NPC_CHANNEL_NAME)) {
       switch (event.message()) {
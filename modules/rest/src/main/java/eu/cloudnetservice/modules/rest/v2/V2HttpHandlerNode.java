@@ -104,6 +104,19 @@ private void handleNodeConfigUpdateRequest(@NonNull HttpContext context, @NonNul
       .cancelNext(true);
   }
 
+  @BearerAuth
+  @HttpRequestHandler(paths = "/api/v2/node/network")
+  private void handleNetworkStatisticsRequest(@NonNull HttpContext context) {
+    this.ok(context)
+      .body(this.success()
+        .append("serverChannels", this.node().networkServer().channelStatistics())
+        .append("clientChannels", this.node().networkClient().channelStatistics())
+        .toString())
+      .context()
+      .closeAfter(true)
+      .cancelNext(true);
+  }
+
   @BearerAuth
   @HttpRequestHandler(paths = "/api/v2/node/reload")
   private void handleReloadRequest(
@@ -31,7 +31,7 @@ public SharedChannelMessageListener(@NonNull SignManagement signManagement) {
     this.signManagement = signManagement;
   }
 
-  @EventListener
+  @EventListener(channel = AbstractSignManagement.SIGN_CHANNEL_NAME)
   public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(AbstractSignManagement.SIGN_CHANNEL_NAME)) {
       switch (event.message()) {
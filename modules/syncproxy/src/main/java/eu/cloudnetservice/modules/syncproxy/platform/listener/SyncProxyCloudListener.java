@@ -60,7 +60,7 @@ public void handleServiceUpdate(@NonNull CloudServiceUpdateEvent event) {
     }
   }
 
-  @EventListener
+  @EventListener(channel = SyncProxyConstants.SYNC_PROXY_CHANNEL)
   public void handleConfigUpdate(@NonNull ChannelMessageReceiveEvent event) {
     // handle incoming channel messages on the syncproxy channel
     if (event.channel().equals(SyncProxyConstants.SYNC_PROXY_CHANNEL)
@@ -31,6 +31,7 @@
 import eu.cloudnetservice.driver.database.Database;
 import eu.cloudnetservice.driver.database.DatabaseProvider;
 import eu.cloudnetservice.driver.module.DefaultModuleDependencyLoader;
+import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkClient;
 import eu.cloudnetservice.driver.network.NetworkServer;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
@@ -129,6 +130,7 @@ public class Node extends CloudNetDriver {
   private final QueuedConsoleLogHandler logHandler = new QueuedConsoleLogHandler();
 
   private volatile AbstractDatabaseProvider databaseProvider;
+  private volatile HostAndPort wrapperDomainSocketListener;
 
   protected Node(@NonNull String[] args, @NonNull Console console, @NonNull Logger rootLogger) {
     super(CloudNetVersion.fromPackage(Node.class.getPackage()), Lists.newArrayList(args), DriverEnvironment.NODE);
@@ -441,6 +443,10 @@ public void reloadConfigFrom(@NonNull Configuration configuration) {
     return this.networkServer;
   }
 
+  public @Nullable HostAndPort wrapperDomainSocketListener() {
+    return this.wrapperDomainSocketListener;
+  }
+
   public @NonNull HttpServer httpServer() {
     return this.httpServer;
   }
@@ -500,6 +506,27 @@ private void bindNetworkListeners() throws InterruptedException {
       System.exit(1);
     }
 
+    // the local wrappers prefer the domain socket, but can always fall back to the tcp listeners
+    var domainSocketPath = this.configuration.wrapperDomainSocketPath();
+    if (!domainSocketPath.isBlank()) {
+      var socketPath = Path.of(domainSocketPath).toAbsolutePath();
+      FileUtil.createDirectory(socketPath.getParent());
+
+      var listener = new HostAndPort(socketPath.toString(), HostAndPort.NO_PORT);
+      this.networkServer.addListener(listener).handle(($, exception) -> {
+        // check if the bind failed
+        if (exception != null) {
+          LOGGER.info(I18n.trans("network-listener-bound-exceptionally", listener.host(), exception.getMessage()));
+        } else {
+          this.wrapperDomainSocketListener = listener;
+          LOGGER.info(I18n.trans("network-listener-bound", listener.host()));
+        }
+
+        // prevent the exception from being thrown
+        return null;
+      }).join();
+    }
+
     // http server init
     for (var listener : this.configuration.httpListeners()) {
       this.httpServer.addListener(listener).handle(($, exception) -> {
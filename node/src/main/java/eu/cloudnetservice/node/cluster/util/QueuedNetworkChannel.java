@@ -21,8 +21,11 @@
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.NetworkChannelHandler;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
+import eu.cloudnetservice.driver.network.protocol.PacketOverflowPolicy;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import eu.cloudnetservice.driver.network.stats.NetworkChannelStatistics;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import lombok.NonNull;
@@ -73,6 +76,21 @@ public boolean clientProvidedChannel() {
     return this.wrappedChannel.clientProvidedChannel();
   }
 
+  @Override
+  public @NonNull PacketCompression packetCompression() {
+    return this.wrappedChannel.packetCompression();
+  }
+
+  @Override
+  public void packetCompression(@NonNull PacketCompression compression) {
+    this.wrappedChannel.packetCompression(compression);
+  }
+
+  @Override
+  public @NonNull NetworkChannelStatistics statistics() {
+    return this.wrappedChannel.statistics();
+  }
+
   @Override
   public @Nullable Packet sendQuery(@NonNull Packet packet) {
     return this.wrappedChannel.sendQuery(packet);
@@ -109,6 +127,12 @@ public void sendPacketSync(@NonNull Packet packet) {
     this.scheduledPackets.add(packet);
   }
 
+  @Override
+  public @NonNull Task<Void> sendPacketAsync(@NonNull Packet packet, @NonNull PacketOverflowPolicy policy) {
+    this.scheduledPackets.add(packet);
+    return Task.completedTask(null);
+  }
+
   public void drainPacketQueue(@NonNull NetworkChannel target) {
     this.scheduledPackets.forEach(target::sendPacketSync);
     this.scheduledPackets.clear();
@@ -46,6 +46,7 @@
 import eu.cloudnetservice.node.command.sub.MeCommand;
 import eu.cloudnetservice.node.command.sub.MigrateCommand;
 import eu.cloudnetservice.node.command.sub.ModulesCommand;
+import eu.cloudnetservice.node.command.sub.NetworkCommand;
 import eu.cloudnetservice.node.command.sub.PermissionsCommand;
 import eu.cloudnetservice.node.command.sub.ServiceCommand;
 import eu.cloudnetservice.node.command.sub.TasksCommand;
@@ -262,6 +263,7 @@ public void registerDefaultCommands() {
     this.register(new ClusterCommand());
     this.register(new ConfigCommand());
     this.register(new ModulesCommand());
+    this.register(new NetworkCommand());
     this.register(new HelpCommand(this));
   }
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.command.sub;
+
+import cloud.commandframework.annotations.CommandMethod;
+import cloud.commandframework.annotations.CommandPermission;
+import eu.cloudnetservice.common.column.ColumnFormatter;
+import eu.cloudnetservice.common.column.RowBasedFormatter;
+import eu.cloudnetservice.driver.network.stats.NetworkChannelStatistics;
+import eu.cloudnetservice.driver.network.stats.PacketChannelStatistics;
+import eu.cloudnetservice.node.Node;
+import eu.cloudnetservice.node.command.annotation.CommandAlias;
+import eu.cloudnetservice.node.command.annotation.Description;
+import eu.cloudnetservice.node.command.source.CommandSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+
+@CommandAlias("net")
+@CommandPermission("cloudnet.command.network")
+@Description("command-network-description")
+public final class NetworkCommand {
+
+  private static final RowBasedFormatter<NetworkChannelStatistics> CHANNELS_FORMATTER = RowBasedFormatter
+    .<NetworkChannelStatistics>builder()
+    .defaultFormatter(ColumnFormatter.builder()
+      .columnTitles("Id", "Server", "Client", "Packets in/out", "KiB in/out", "Dispatch queue", "Queries", "Query p50/p99")
+      .build())
+    .column(NetworkChannelStatistics::channelId)
+    .column(NetworkChannelStatistics::serverAddress)
+    .column(NetworkChannelStatistics::clientAddress)
+    .column(stats -> stats.packetsIn() + "/" + stats.packetsOut())
+    .column(stats -> (stats.bytesIn() >> 10) + "/" + (stats.bytesOut() >> 10))
+    .column(NetworkChannelStatistics::dispatchQueueDepth)
+    .column(NetworkChannelStatistics::pendingQueries)
+    .column(stats -> String.format(
+      "%.2fms/%.2fms",
+      stats.queryLatency().percentileMicros(0.5) / 1000D,
+      stats.queryLatency().percentileMicros(0.99) / 1000D))
+    .build();
+  private static final RowBasedFormatter<PacketChannelStatistics> PACKETS_FORMATTER = RowBasedFormatter
+    .<PacketChannelStatistics>builder()
+    .defaultFormatter(ColumnFormatter.builder()
+      .columnTitles("Packet channel", "Packets in", "KiB in", "Packets out", "KiB out")
+      .build())
+    .column(stats -> stats.otherChannels() ? "other" : stats.channel())
+    .column(PacketChannelStatistics::packetsIn)
+    .column(stats -> stats.bytesIn() >> 10)
+    .column(PacketChannelStatistics::packetsOut)
+    .column(stats -> stats.bytesOut() >> 10)
+    .build();
+
+  @CommandMethod("network|net channels")
+  public void listChannels(@NonNull CommandSource source) {
+    source.sendMessage(CHANNELS_FORMATTER.format(this.channelStatistics()));
+  }
+
+  @CommandMethod("network|net packets")
+  public void listPacketChannels(@NonNull CommandSource source) {
+    // sum up the traffic of each packet channel id over all network channels
+    Map<Integer, PacketChannelStatistics> packetChannels = new HashMap<>();
+    for (var channelStatistics : this.channelStatistics()) {
+      for (var stats : channelStatistics.packetChannels()) {
+        packetChannels.merge(stats.channel(), stats, (left, right) -> new PacketChannelStatistics(
+          left.channel(),
+          left.packetsIn() + right.packetsIn(),
+          left.bytesIn() + right.bytesIn(),
+          left.packetsOut() + right.packetsOut(),
+          left.bytesOut() + right.bytesOut()));
+      }
+    }
+
+    // the packet channel causing the most traffic is displayed first
+    source.sendMessage(PACKETS_FORMATTER.format(packetChannels.values().stream()
+      .sorted(Comparator.comparingLong(PacketChannelStatistics::totalBytes).reversed())
+      .toList()));
+  }
+
+  private @NonNull Collection<NetworkChannelStatistics> channelStatistics() {
+    List<NetworkChannelStatistics> statistics = new ArrayList<>();
+    statistics.addAll(Node.instance().networkServer().channelStatistics());
+    statistics.addAll(Node.instance().networkClient().channelStatistics());
+    return statistics;
+  }
+}
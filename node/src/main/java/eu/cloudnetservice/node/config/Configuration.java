@@ -20,6 +20,7 @@
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.cluster.NetworkCluster;
 import eu.cloudnetservice.driver.network.cluster.NetworkClusterNode;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import eu.cloudnetservice.driver.network.ssl.SSLConfiguration;
 import java.util.Collection;
 import java.util.Map;
@@ -79,6 +80,18 @@ public interface Configuration {
 
   void webSSLConfig(@NonNull SSLConfiguration webSslConfig);
 
+  @NonNull PacketCompression nodePacketCompression();
+
+  void nodePacketCompression(@NonNull PacketCompression compression);
+
+  @NonNull PacketCompression servicePacketCompression();
+
+  void servicePacketCompression(@NonNull PacketCompression compression);
+
+  @NonNull String wrapperDomainSocketPath();
+
+  void wrapperDomainSocketPath(@NonNull String path);
+
   double maxCPUUsageToStartServices();
 
   void maxCPUUsageToStartServices(double value);
@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.cluster.NetworkCluster;
 import eu.cloudnetservice.driver.network.cluster.NetworkClusterNode;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import eu.cloudnetservice.driver.network.ssl.SSLConfiguration;
 import eu.cloudnetservice.driver.service.ProcessSnapshot;
 import eu.cloudnetservice.node.Node;
@@ -39,6 +40,7 @@
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.zip.Deflater;
 import lombok.NonNull;
 
 public final class JsonConfiguration implements Configuration {
@@ -60,6 +62,18 @@ public final class JsonConfiguration implements Configuration {
     return null;
   };
 
+  private static final Function<String, PacketCompression> PACKET_COMPRESSION_PARSER = value -> {
+    var values = value.split(";");
+    if (values.length == 3) {
+      return new PacketCompression(
+        Boolean.parseBoolean(values[0]),
+        Integer.parseInt(values[1]),
+        Integer.parseInt(values[2]));
+    }
+    // unable to parse
+    return null;
+  };
+
   private static final Function<String, Map<String, String>> MAP_PARSER = value -> {
     Map<String, String> results = new HashMap<>();
     for (var pair : value.split(";;")) {
@@ -99,6 +113,10 @@ public final class JsonConfiguration implements Configuration {
   private SSLConfiguration serverSslConfig;
   private SSLConfiguration webSslConfig;
 
+  private PacketCompression nodePacketCompression;
+  private PacketCompression servicePacketCompression;
+  private String wrapperDomainSocketPath;
+
   private JsonDocument properties;
 
   public JsonConfiguration() {
@@ -300,6 +318,24 @@ public boolean fileExists() {
         SSL_CONFIG_PARSER);
     }
 
+    if (this.nodePacketCompression == null) {
+      this.nodePacketCompression = ConfigurationUtil.get(
+        "cloudnet.config.nodePacketCompression",
+        new PacketCompression(true, 64 * 1024, Deflater.BEST_SPEED),
+        PACKET_COMPRESSION_PARSER);
+    }
+
+    if (this.servicePacketCompression == null) {
+      this.servicePacketCompression = ConfigurationUtil.get(
+        "cloudnet.config.servicePacketCompression",
+        new PacketCompression(false, 64 * 1024, Deflater.BEST_SPEED),
+        PACKET_COMPRESSION_PARSER);
+    }
+
+    if (this.wrapperDomainSocketPath == null) {
+      this.wrapperDomainSocketPath = ConfigurationUtil.get("cloudnet.config.wrapperDomainSocketPath", "local/wrapper.sock");
+    }
+
     if (this.properties == null) {
       this.properties = ConfigurationUtil.get(
         "cloudnet.config.properties",
@@ -346,6 +382,10 @@ public void reloadFrom(@NonNull Configuration configuration) {
 
     this.ipAliases = configuration.ipAliases();
 
+    this.nodePacketCompression = configuration.nodePacketCompression();
+    this.servicePacketCompression = configuration.servicePacketCompression();
+    this.wrapperDomainSocketPath = configuration.wrapperDomainSocketPath();
+
     this.properties = configuration.properties();
     this.restConfiguration = configuration.restConfiguration();
   }
@@ -510,6 +550,36 @@ public void webSSLConfig(@NonNull SSLConfiguration webSslConfig) {
     this.webSslConfig = webSslConfig;
   }
 
+  @Override
+  public @NonNull PacketCompression nodePacketCompression() {
+    return this.nodePacketCompression;
+  }
+
+  @Override
+  public void nodePacketCompression(@NonNull PacketCompression compression) {
+    this.nodePacketCompression = compression;
+  }
+
+  @Override
+  public @NonNull PacketCompression servicePacketCompression() {
+    return this.servicePacketCompression;
+  }
+
+  @Override
+  public void servicePacketCompression(@NonNull PacketCompression compression) {
+    this.servicePacketCompression = compression;
+  }
+
+  @Override
+  public @NonNull String wrapperDomainSocketPath() {
+    return this.wrapperDomainSocketPath;
+  }
+
+  @Override
+  public void wrapperDomainSocketPath(@NonNull String path) {
+    this.wrapperDomainSocketPath = path;
+  }
+
   @Override
   public @NonNull String javaCommand() {
     return this.jvmCommand;
@@ -61,8 +61,10 @@ public void handleChannelInitialize(@NonNull NetworkChannel channel) {
 
   @Override
   public boolean handlePacketReceive(@NonNull NetworkChannel channel, @NonNull Packet packet) {
-    return !CloudNetDriver.instance().eventManager().callEvent(
-      new NetworkChannelPacketReceiveEvent(channel, packet)).cancelled();
+    // only construct the event if someone is able to cancel the handling
+    var eventManager = CloudNetDriver.instance().eventManager();
+    return !eventManager.hasListeners(NetworkChannelPacketReceiveEvent.class)
+      || !eventManager.callEvent(new NetworkChannelPacketReceiveEvent(channel, packet)).cancelled();
   }
 
   @Override
@@ -98,6 +100,8 @@ public void handleChannelClose(@NonNull NetworkChannel channel) {
   private void closeAsCloudService(@NonNull CloudService cloudService, @NonNull NetworkChannel channel) {
     // reset the service channel and connection time
     cloudService.networkChannel(null);
+    // the subscriptions are announced again when the service reconnects
+    Node.instance().messenger().removeChannelSubscriptions(channel);
 
     LOGGER.info(I18n.trans("cloudnet-service-networking-disconnected",
       cloudService.serviceId().uniqueId(),
@@ -108,6 +112,11 @@ private void closeAsCloudService(@NonNull CloudService cloudService, @NonNull Ne
   }
 
   private boolean shouldDenyConnection(@NonNull NetworkChannel channel) {
+    // connections through a unix domain socket can only come from the local host
+    if (!channel.clientAddress().validPort()) {
+      return false;
+    }
+
     return Node.instance().config().ipWhitelist()
       .stream()
       .noneMatch(channel.clientAddress().host()::equals);
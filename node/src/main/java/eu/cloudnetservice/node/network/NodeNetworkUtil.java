@@ -24,8 +24,11 @@
 import eu.cloudnetservice.driver.network.chunk.network.ChunkedPacketListener;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCCancelPacketListener;
 import eu.cloudnetservice.driver.network.rpc.listener.RPCPacketListener;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCStreamPacketListener;
 import eu.cloudnetservice.node.Node;
+import eu.cloudnetservice.node.network.listener.PacketClientChannelMessageSubscriptionListener;
 import eu.cloudnetservice.node.network.listener.PacketServerChannelMessageListener;
 import lombok.NonNull;
 
@@ -43,9 +46,18 @@ public static void addDefaultPacketListeners(@NonNull PacketListenerRegistry reg
     registry.addListener(
       NetworkConstants.CHANNEL_MESSAGING_CHANNEL,
       new PacketServerChannelMessageListener(node.messenger(), node.eventManager()));
+    registry.addListener(
+      NetworkConstants.INTERNAL_CHANNEL_MESSAGE_SUBSCRIPTION_CHANNEL,
+      new PacketClientChannelMessageSubscriptionListener(node.messenger()));
     registry.addListener(
       NetworkConstants.INTERNAL_RPC_COM_CHANNEL,
       new RPCPacketListener(node.rpcHandlerRegistry()));
+    registry.addListener(
+      NetworkConstants.INTERNAL_RPC_STREAM_CHANNEL,
+      new RPCStreamPacketListener());
+    registry.addListener(
+      NetworkConstants.INTERNAL_RPC_CANCEL_CHANNEL,
+      new RPCCancelPacketListener());
     registry.addListener(
       NetworkConstants.CHUNKED_PACKET_COM_CHANNEL,
       new ChunkedPacketListener(EventChunkHandlerFactory.withDefaultEventManager()));
@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.def.PacketClientAuthorization;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
 import eu.cloudnetservice.driver.service.ServiceId;
 import eu.cloudnetservice.node.Node;
@@ -45,6 +46,8 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
     // read the core data
     var type = packet.content().readObject(PacketClientAuthorization.PacketAuthorizationType.class);
     try (var content = packet.content().readDataBuf()) {
+      // check if the client is able to decompress packets
+      var compressionSupported = packet.content().readBoolean();
       // handle the authorization
       switch (type) {
         // NODE -> NODE
@@ -56,6 +59,10 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
           if (!Node.instance().config().clusterConfig().clusterId().equals(clusterId)) {
             break;
           }
+          // the compression to use for the channel, the client decides based on our response if it compresses as well
+          var compression = compressionSupported
+            ? Node.instance().config().nodePacketCompression()
+            : PacketCompression.DISABLED;
           // search for the node server which represents the connected node and initialize it
           for (var server : Node.instance().nodeServerProvider().nodeServers()) {
             if (server.info().uniqueId().equals(node.uniqueId())) {
@@ -68,7 +75,8 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
                 var data = Node.instance().dataSyncRegistry().prepareClusterData(
                   true,
                   DataSyncHandler::alwaysForceApply);
-                channel.sendPacket(new PacketServerAuthorizationResponse(true, true, data));
+                channel.sendPacket(new PacketServerAuthorizationResponse(true, true, compression, data));
+                channel.packetCompression(compression);
                 channel.packetRegistry().addListener(
                   NetworkConstants.INTERNAL_SERVICE_SYNC_ACK_CHANNEL,
                   new PacketClientServiceSyncAckListener());
@@ -78,7 +86,8 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
                 Node.instance().eventManager().callEvent(new NetworkClusterNodeReconnectEvent(server, channel));
               } else {
                 // reply with a default auth success
-                channel.sendPacket(new PacketServerAuthorizationResponse(true, false, null));
+                channel.sendPacket(new PacketServerAuthorizationResponse(true, false, compression, null));
+                channel.packetCompression(compression);
                 // set the state of the node for further handling
                 server.channel(channel);
                 server.state(NodeServerState.READY);
@@ -110,7 +119,11 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
             channel.packetRegistry().removeListeners(NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL);
             NodeNetworkUtil.addDefaultPacketListeners(channel.packetRegistry(), Node.instance());
             // successful auth
-            channel.sendPacket(new PacketServerAuthorizationResponse(true, false, null));
+            var compression = compressionSupported
+              ? Node.instance().config().servicePacketCompression()
+              : PacketCompression.DISABLED;
+            channel.sendPacket(new PacketServerAuthorizationResponse(true, false, compression, null));
+            channel.packetCompression(compression);
             // call the auth success event
             Node.instance().eventManager().callEvent(new NetworkServiceAuthSuccessEvent(service, channel));
             var serviceId = service.serviceId();
@@ -129,7 +142,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
       }
     }
     // auth not successful
-    channel.sendPacketSync(new PacketServerAuthorizationResponse(false, false, null));
+    channel.sendPacketSync(new PacketServerAuthorizationResponse(false, false, PacketCompression.DISABLED, null));
     channel.close();
   }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.network.listener;
+
+import com.google.gson.reflect.TypeToken;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketListener;
+import eu.cloudnetservice.node.provider.NodeMessenger;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import lombok.NonNull;
+
+public final class PacketClientChannelMessageSubscriptionListener implements PacketListener {
+
+  private static final Type COL_STRING = TypeToken.getParameterized(Collection.class, String.class).getType();
+
+  private final NodeMessenger messenger;
+
+  public PacketClientChannelMessageSubscriptionListener(@NonNull NodeMessenger messenger) {
+    this.messenger = messenger;
+  }
+
+  @Override
+  public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
+    Collection<String> channels = packet.content().readObject(COL_STRING);
+    this.messenger.updateChannelSubscriptions(channel, channels);
+  }
+}
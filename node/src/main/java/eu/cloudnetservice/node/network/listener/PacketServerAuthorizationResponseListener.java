@@ -23,6 +23,7 @@
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.node.Node;
@@ -54,7 +55,10 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
         .orElse(null);
       if (server != null) {
         // check if this was a reconnection from the point of view of the other node
-        if (packet.content().readBoolean()) {
+        var reconnect = packet.content().readBoolean();
+        // use the same compression for the packets we're sending as the other node does
+        channel.packetCompression(packet.content().readObject(PacketCompression.class));
+        if (reconnect) {
           // handle the data sync
           var syncData = packet.content().readDataBuf();
           Node.instance().dataSyncRegistry().handle(syncData, syncData.readBoolean());
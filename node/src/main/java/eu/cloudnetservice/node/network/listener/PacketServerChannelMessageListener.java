@@ -21,6 +21,7 @@
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.PacketServerChannelMessage;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
 import eu.cloudnetservice.node.Node;
@@ -32,6 +33,8 @@
 
 public final class PacketServerChannelMessageListener implements PacketListener {
 
+  private static final long DEFAULT_QUERY_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(20);
+
   private final NodeMessenger messenger;
   private final EventManager eventManager;
 
@@ -42,78 +45,107 @@ public PacketServerChannelMessageListener(@NonNull NodeMessenger messenger, @Non
 
   @Override
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
-    var comesFromWrapper = packet.content().readBoolean();
-    var message = packet.content().readObject(ChannelMessage.class);
-    // disable releasing of the message content
-    message.content().disableReleasing();
+    // only read the routing information, the message itself is only decoded when handled locally
+    var header = PacketServerChannelMessage.readHeader(packet);
+    var encodedMessage = packet.content().readDataBuf();
+    encodedMessage.disableReleasing();
     // check if we should handle the message locally
-    var handleLocally = message.targets().stream().anyMatch(target -> switch (target.type()) {
+    var handleLocally = header.targets().stream().anyMatch(target -> switch (target.type()) {
       case ALL -> true;
       case NODE -> target.name() == null || target.name().equals(Node.instance().componentName());
       default -> false;
     });
-    if (handleLocally) {
+    // there is no need to decode the message or construct the event if no one is listening to it
+    if (handleLocally && (this.eventManager.hasListeners(ChannelMessageReceiveEvent.class)
+      || this.eventManager.hasListeners(ChannelMessageReceiveEvent.class, header.channel()))) {
+      // decode the message, keeping the encoded form for forwarding
+      encodedMessage.startTransaction();
+      var message = PacketServerChannelMessage.decodeMessage(encodedMessage);
+      encodedMessage.redoTransaction();
+      // disable releasing of the message content
+      message.content().disableReleasing();
       // mark the index of the data buf
       message.content().startTransaction();
-      // call the receive event
-      var responseTask = this.eventManager
-        .callEvent(new ChannelMessageReceiveEvent(message, channel, packet.uniqueId() != null))
-        .queryResponse();
+      // call the receive event to the listeners of all channels and to the listeners of the message channel
+      var event = this.eventManager.callEvent(new ChannelMessageReceiveEvent(message, channel, packet.queryId() != 0));
+      if (!header.channel().equals("*")) {
+        message.content().redoTransaction();
+        this.eventManager.callEvent(header.channel(), event);
+      }
+      var responseTask = event.queryResponse();
       // reset the index
       message.content().redoTransaction();
       // wait for the response to become available if given before resuming
       if (responseTask != null) {
-        responseTask.thenAccept(response -> this.resumeHandling(packet, channel, message, response, comesFromWrapper));
+        responseTask.thenAccept(response -> {
+          // force release the message content, the decoded message is not needed for forwarding
+          message.content().enableReleasing().release();
+          this.resumeHandling(packet, channel, header, encodedMessage, response);
+        });
         return;
       }
+      // force release the message content, the decoded message is not needed for forwarding
+      message.content().enableReleasing().release();
     }
     // resume instantly
-    this.resumeHandling(packet, channel, message, null, comesFromWrapper);
+    this.resumeHandling(packet, channel, header, encodedMessage, null);
   }
 
   private void resumeHandling(
     @NonNull Packet packet,
     @NonNull NetworkChannel channel,
-    @NonNull ChannelMessage message,
-    @Nullable ChannelMessage initialResponse,
-    boolean comesFromWrapper
+    @NonNull PacketServerChannelMessage.RoutingHeader header,
+    @NonNull DataBuf encodedMessage,
+    @Nullable ChannelMessage initialResponse
   ) {
     // do not redirect the channel message to the cluster to prevent infinite loops
-    if (packet.uniqueId() != null) {
-      this.messenger.sendChannelMessageQueryAsync(message, comesFromWrapper)
-        .orTimeout(20, TimeUnit.SECONDS)
-        .whenComplete((result, exception) -> {
-          DataBuf responseContent;
-          // check if the handling was successful
-          if (exception == null) {
-            // respond with the result or just the single initial response if given
-            if (result == null) {
-              responseContent = initialResponse == null
-                ? DataBuf.empty()
-                : DataBuf.empty().writeObject(Set.of(initialResponse));
-            } else {
-              // add the initial response if given before writing
-              if (initialResponse != null) {
-                result.add(initialResponse);
-              }
-              // serialize the response
-              if (result.isEmpty()) {
-                responseContent = DataBuf.empty();
-              } else {
-                responseContent = DataBuf.empty().writeObject(result);
-              }
-            }
-          } else {
-            // just respond with nothing when an exception was thrown
-            responseContent = DataBuf.empty();
-          }
-          // send the results to the sender
-          channel.sendPacket(packet.constructResponse(responseContent));
-        });
+    if (packet.queryId() != 0) {
+      if (initialResponse != null && header.queryResponseLimit() == 1) {
+        // the local response already completes the query, there is no need to forward it
+        channel.sendPacket(packet.constructResponse(DataBuf.empty().writeObject(Set.of(initialResponse))));
+      } else {
+        this.forwardQuery(packet, channel, header, encodedMessage, initialResponse);
+      }
     } else {
-      this.messenger.sendChannelMessage(message, comesFromWrapper);
+      this.messenger.forwardChannelMessage(header, encodedMessage, header.wrapper());
+    }
+    // force release the encoded message
+    encodedMessage.enableReleasing().release();
+  }
+
+  private void forwardQuery(
+    @NonNull Packet packet,
+    @NonNull NetworkChannel channel,
+    @NonNull PacketServerChannelMessage.RoutingHeader header,
+    @NonNull DataBuf encodedMessage,
+    @Nullable ChannelMessage initialResponse
+  ) {
+    // the local response counts towards the response limit of the query
+    var responseLimit = header.queryResponseLimit();
+    if (initialResponse != null && responseLimit > 1) {
+      responseLimit--;
     }
-    // force release the message
-    message.content().enableReleasing().release();
+
+    // use the remaining time of the query, keeping some time for the responses to travel back to the sender
+    var timeout = DEFAULT_QUERY_TIMEOUT_MILLIS;
+    var forwardTimeout = header.queryTimeout();
+    if (forwardTimeout > 0) {
+      var elapsed = System.currentTimeMillis() - packet.creation().toEpochMilli();
+      forwardTimeout = Math.max(1, (forwardTimeout - elapsed) * 3 / 4);
+      timeout = forwardTimeout;
+    }
+
+    var forwardHeader = header.withQueryOptions(responseLimit, forwardTimeout);
+    this.messenger.forwardChannelMessageQuery(forwardHeader, encodedMessage, header.wrapper())
+      .completeAfter(timeout)
+      .thenAccept(result -> {
+        // add the initial response if given before writing
+        if (initialResponse != null) {
+          result.add(initialResponse);
+        }
+        // serialize the response and send the results to the sender
+        var responseContent = result.isEmpty() ? DataBuf.empty() : DataBuf.empty().writeObject(result);
+        channel.sendPacket(packet.constructResponse(responseContent));
+      });
   }
 }
@@ -19,16 +19,24 @@
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
+import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 public final class PacketServerAuthorizationResponse extends BasePacket {
 
-  public PacketServerAuthorizationResponse(boolean success, boolean reconnect, @Nullable DataBuf extraData) {
+  public PacketServerAuthorizationResponse(
+    boolean success,
+    boolean reconnect,
+    @NonNull PacketCompression compression,
+    @Nullable DataBuf extraData
+  ) {
     super(
       NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL,
       DataBuf.empty()
         .writeBoolean(success)
         .writeBoolean(reconnect)
+        .writeObject(compression)
         .writeObject(extraData));
   }
 }
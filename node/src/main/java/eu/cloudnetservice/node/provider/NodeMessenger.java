@@ -18,13 +18,14 @@
 
 import com.google.common.collect.Iterables;
 import com.google.gson.reflect.TypeToken;
-import eu.cloudnetservice.common.concurrent.CountingTask;
 import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.PacketServerChannelMessage;
 import eu.cloudnetservice.driver.provider.CloudMessenger;
+import eu.cloudnetservice.driver.provider.defaults.ChannelMessageQueryTask;
 import eu.cloudnetservice.driver.provider.defaults.DefaultMessenger;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.node.Node;
@@ -35,18 +36,27 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public class NodeMessenger extends DefaultMessenger implements CloudMessenger {
 
   protected static final Type COL_MSG = TypeToken.getParameterized(Collection.class, ChannelMessage.class).getType();
 
+  protected static final String WILDCARD_SUBSCRIPTION = "*";
+
   protected final NodeServerProvider nodeServerProvider;
   protected final CloudServiceManager cloudServiceManager;
+  // the channels of channel messages each service channel announced to listen to
+  protected final Map<NetworkChannel, Set<String>> channelSubscriptions = new ConcurrentHashMap<>();
 
   public NodeMessenger(@NonNull Node nodeInstance) {
     this.nodeServerProvider = nodeInstance.nodeServerProvider();
@@ -63,63 +73,160 @@ public void sendChannelMessage(@NonNull ChannelMessage message) {
     return this.sendChannelMessageQueryAsync(message, true);
   }
 
+  @Override
+  public @NonNull Task<Collection<ChannelMessage>> sendChannelMessageQueryAsync(
+    @NonNull ChannelMessage message,
+    @NonNull Consumer<ChannelMessage> responseHandler
+  ) {
+    return this.sendChannelMessageQueryAsync(message, true, responseHandler);
+  }
+
   @Override
   public @NonNull Collection<ChannelMessage> sendChannelMessageQuery(@NonNull ChannelMessage channelMessage) {
-    return this.sendChannelMessageQueryAsync(channelMessage).get(20, TimeUnit.SECONDS, Collections.emptyList());
+    var task = this.sendChannelMessageQueryAsync(channelMessage);
+    // the task completes by itself once the timeout of the message is exceeded
+    return channelMessage.queryTimeout() > 0
+      ? task.join()
+      : task.get(20, TimeUnit.SECONDS, Collections.emptyList());
   }
 
   public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClusterRedirect) {
-    for (var channel : this.findChannels(message.targets(), allowClusterRedirect)) {
-      if (message.sendSync()) {
-        channel.sendPacketSync(new PacketServerChannelMessage(message, false));
-      } else {
-        channel.sendPacket(new PacketServerChannelMessage(message, false));
-      }
+    var channels = this.findChannels(message.channel(), message.targets(), allowClusterRedirect);
+    if (channels.isEmpty()) {
+      return;
+    }
+    // encode the message only once, each packet shares the encoded content
+    try (var content = PacketServerChannelMessage.encodeShared(message, false)) {
+      this.sendSharedChannelMessage(channels, message.sendSync(), message.prioritized(), content);
     }
   }
 
   public @NonNull Task<Collection<ChannelMessage>> sendChannelMessageQueryAsync(
     @NonNull ChannelMessage message,
     boolean allowClusterRedirect
+  ) {
+    return this.sendChannelMessageQueryAsync(message, allowClusterRedirect, null);
+  }
+
+  public @NonNull Task<Collection<ChannelMessage>> sendChannelMessageQueryAsync(
+    @NonNull ChannelMessage message,
+    boolean allowClusterRedirect,
+    @Nullable Consumer<ChannelMessage> responseHandler
   ) {
     // filter the channels we need to send the message to
-    var channels = this.findChannels(message.targets(), allowClusterRedirect);
-    // the result we generate
-    Set<ChannelMessage> result = new HashSet<>();
-    var task = new CountingTask<Collection<ChannelMessage>>(result, channels.size());
-    // send the packet to each channel
+    var channels = this.findChannels(message.channel(), message.targets(), allowClusterRedirect);
+    var task = ChannelMessageQueryTask.forMessage(message, channels.size(), responseHandler);
+    if (channels.isEmpty()) {
+      return task;
+    }
+    // encode the message only once and send the packet to each channel
+    try (var content = PacketServerChannelMessage.encodeShared(message, false)) {
+      this.sendSharedChannelMessageQuery(channels, message.prioritized(), content, task);
+    }
+    return task;
+  }
+
+  public void forwardChannelMessage(
+    @NonNull PacketServerChannelMessage.RoutingHeader header,
+    @NonNull DataBuf message,
+    boolean allowClusterRedirect
+  ) {
+    var channels = this.findChannels(header.channel(), header.targets(), allowClusterRedirect);
+    if (channels.isEmpty()) {
+      return;
+    }
+    // copy the encoded message as is, there is no need to decode it for forwarding
+    try (var content = PacketServerChannelMessage.encodeShared(header, message, false)) {
+      this.sendSharedChannelMessage(channels, header.sendSync(), header.prioritized(), content);
+    }
+  }
+
+  public @NonNull ChannelMessageQueryTask forwardChannelMessageQuery(
+    @NonNull PacketServerChannelMessage.RoutingHeader header,
+    @NonNull DataBuf message,
+    boolean allowClusterRedirect
+  ) {
+    var channels = this.findChannels(header.channel(), header.targets(), allowClusterRedirect);
+    var task = new ChannelMessageQueryTask(channels.size(), header.queryResponseLimit(), null);
+    if (channels.isEmpty()) {
+      return task;
+    }
+    // copy the encoded message as is, there is no need to decode it for forwarding
+    try (var content = PacketServerChannelMessage.encodeShared(header, message, false)) {
+      this.sendSharedChannelMessageQuery(channels, header.prioritized(), content, task);
+    }
+    return task;
+  }
+
+  protected void sendSharedChannelMessage(
+    @NonNull Collection<NetworkChannel> channels,
+    boolean sendSync,
+    boolean prioritized,
+    @NonNull DataBuf content
+  ) {
+    for (var channel : channels) {
+      if (sendSync) {
+        channel.sendPacketSync(new PacketServerChannelMessage(prioritized, content));
+      } else {
+        channel.sendPacket(new PacketServerChannelMessage(prioritized, content));
+      }
+    }
+  }
+
+  protected void sendSharedChannelMessageQuery(
+    @NonNull Collection<NetworkChannel> channels,
+    boolean prioritized,
+    @NonNull DataBuf content,
+    @NonNull ChannelMessageQueryTask task
+  ) {
+    // send the packet to each channel, each packet shares the encoded content
     for (var channel : channels) {
-      channel.sendQueryAsync(new PacketServerChannelMessage(message, false)).whenComplete((packet, th) -> {
-        // check if we got an actual result from the request
+      channel.sendQueryAsync(new PacketServerChannelMessage(prioritized, content)).whenComplete((packet, th) -> {
+        // check if we got an actual result from the request, a target without a result still counts as responded
         if (th == null && packet.readable()) {
-          // add all resulting messages we got
-          result.addAll(packet.content().readObject(COL_MSG));
+          task.handleTargetResponses(packet.content().readObject(COL_MSG));
+        } else {
+          task.handleTargetResponses(List.of());
         }
-        // count down - one channel responded
-        task.countDown();
       });
     }
-    // return the task on which the user can wait
-    return task;
+  }
+
+  public void updateChannelSubscriptions(@NonNull NetworkChannel channel, @NonNull Collection<String> channels) {
+    this.channelSubscriptions.put(channel, Set.copyOf(channels));
+  }
+
+  public void removeChannelSubscriptions(@NonNull NetworkChannel channel) {
+    this.channelSubscriptions.remove(channel);
+  }
+
+  protected boolean subscribed(@NonNull NetworkChannel channel, @NonNull String messageChannel) {
+    // channels which never announced their subscriptions receive all messages
+    var subscriptions = this.channelSubscriptions.get(channel);
+    return subscriptions == null
+      || subscriptions.contains(messageChannel)
+      || subscriptions.contains(WILDCARD_SUBSCRIPTION);
   }
 
   protected @NonNull Collection<NetworkChannel> findChannels(
+    @NonNull String messageChannel,
     @NonNull Collection<ChannelMessageTarget> targets,
     boolean allowClusterRedirect
   ) {
     // check if there is only one channel
     if (targets.size() == 1) {
       // get the target - we can suppress the nullable warning because we expect the collection to not contain null values
-      return this.findTargetChannels(Iterables.getOnlyElement(targets), allowClusterRedirect);
+      return this.findTargetChannels(messageChannel, Iterables.getOnlyElement(targets), allowClusterRedirect);
     } else {
       // filter all the channels for the targets
       return targets.stream()
-        .flatMap(target -> this.findTargetChannels(target, allowClusterRedirect).stream())
+        .flatMap(target -> this.findTargetChannels(messageChannel, target, allowClusterRedirect).stream())
         .collect(Collectors.toSet());
     }
   }
 
   protected @NonNull Collection<NetworkChannel> findTargetChannels(
+    @NonNull String messageChannel,
     @NonNull ChannelMessageTarget target,
     boolean allowClusterRedirect
   ) {
@@ -127,10 +234,10 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
       // just include all known channels
       case ALL -> {
         Set<NetworkChannel> result = new HashSet<>();
-        // all local services
+        // all local services which are subscribed to the channel
         this.cloudServiceManager.localCloudServices().stream()
           .map(CloudService::networkChannel)
-          .filter(Objects::nonNull)
+          .filter(channel -> channel != null && this.subscribed(channel, messageChannel))
           .forEach(result::add);
         // all connected nodes
         if (allowClusterRedirect) {
@@ -158,10 +265,10 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
       case SERVICE -> {
         // check if a specific service was requested
         if (target.name() == null) {
-          // if no specific name is given just get all local channels
+          // if no specific name is given just get all local channels which are subscribed to the channel
           var channels = this.cloudServiceManager.localCloudServices().stream()
             .map(CloudService::networkChannel)
-            .filter(Objects::nonNull)
+            .filter(channel -> channel != null && this.subscribed(channel, messageChannel))
             .collect(Collectors.toSet());
           // check if cluster redirect is allowed - add all connected node channels then
           if (allowClusterRedirect) {
@@ -200,18 +307,21 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
       case TASK -> {
         // lookup all services of the given task
         return this.filterChannels(
+          messageChannel,
           this.cloudServiceManager.servicesByTask(target.name()),
           allowClusterRedirect);
       }
       case ENVIRONMENT -> {
         // lookup all services of the given environment
         return this.filterChannels(
+          messageChannel,
           this.cloudServiceManager.servicesByEnvironment(target.environment().name()),
           allowClusterRedirect);
       }
       case GROUP -> {
         // lookup all services of the given group
         return this.filterChannels(
+          messageChannel,
           this.cloudServiceManager.servicesByGroup(target.name()),
           allowClusterRedirect);
       }
@@ -220,15 +330,17 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
   }
 
   protected @NonNull Collection<NetworkChannel> filterChannels(
+    @NonNull String messageChannel,
     @NonNull Collection<ServiceInfoSnapshot> snapshots,
     boolean allowClusterRedirect
   ) {
     return snapshots.stream()
       .map(service -> {
-        // check if the service is running locally
+        // check if the service is running locally, skip it if it is not subscribed to the channel
         var localService = this.cloudServiceManager.localCloudService(service.serviceId().name());
         if (localService != null) {
-          return localService.networkChannel();
+          var channel = localService.networkChannel();
+          return channel != null && this.subscribed(channel, messageChannel) ? channel : null;
         }
         // check if we are allowed to redirect the message to the node running the service
         if (allowClusterRedirect) {
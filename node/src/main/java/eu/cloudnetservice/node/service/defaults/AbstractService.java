@@ -699,6 +699,7 @@ protected void prepareService() {
     var listener = this.selectConnectListener(this.nodeConfiguration().identity().listeners());
     JsonDocument.newDocument()
       .append("targetListener", listener)
+      .append("domainSocketListener", this.nodeInstance.wrapperDomainSocketListener())
       .append("connectionKey", this.connectionKey())
       .append("serviceInfoSnapshot", this.currentServiceInfo)
       .append("serviceConfiguration", this.serviceConfiguration())
@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.node.service.defaults;
 
+import com.google.common.collect.Collections2;
 import com.google.common.collect.ComparisonChain;
 import eu.cloudnetservice.common.Nameable;
 import eu.cloudnetservice.common.collection.Pair;
@@ -51,12 +52,17 @@
 import eu.cloudnetservice.node.service.defaults.provider.EmptySpecificCloudServiceProvider;
 import eu.cloudnetservice.node.service.defaults.provider.RemoteNodeCloudServiceProvider;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.NonNull;
@@ -84,6 +90,19 @@ public class DefaultCloudServiceManager implements CloudServiceManager {
   protected final Map<String, CloudServiceFactory> cloudServiceFactories = new ConcurrentHashMap<>();
   protected final Map<ServiceEnvironmentType, ServiceConfigurationPreparer> preparers = new ConcurrentHashMap<>();
 
+  // secondary indexes over the known services, only modified while holding the index lock
+  protected final Lock indexLock = new ReentrantLock();
+  protected final Map<UUID, CloudService> localServices = new ConcurrentHashMap<>();
+  protected final Map<UUID, ServiceInfoSnapshot> indexedSnapshots = new ConcurrentHashMap<>();
+  protected final Map<String, Map<UUID, SpecificCloudServiceProvider>> taskIndex = new ConcurrentHashMap<>();
+  protected final Map<String, Map<UUID, SpecificCloudServiceProvider>> nameIndex = new ConcurrentHashMap<>();
+  protected final Map<String, Map<UUID, SpecificCloudServiceProvider>> nodeIndex = new ConcurrentHashMap<>();
+  protected final Map<String, Map<UUID, SpecificCloudServiceProvider>> groupIndex = new ConcurrentHashMap<>();
+  protected final Map<String, Map<UUID, SpecificCloudServiceProvider>> environmentIndex = new ConcurrentHashMap<>();
+  // local services are changing their snapshot without notifying the manager, only remote services are indexed here
+  protected final Map<ServiceLifeCycle, Map<UUID, SpecificCloudServiceProvider>> lifeCycleIndex =
+    new ConcurrentHashMap<>();
+
   public DefaultCloudServiceManager(@NonNull Node nodeInstance, @NonNull Collection<String> defaultJvmOptions) {
     this.defaultJvmOptions = defaultJvmOptions;
     this.nodeServerProvider = nodeInstance.nodeServerProvider();
@@ -148,57 +167,60 @@ public DefaultCloudServiceManager(@NonNull Node nodeInstance, @NonNull Collectio
 
   @Override
   public @NonNull SpecificCloudServiceProvider serviceProviderByName(@NonNull String serviceName) {
-    return this.knownServices.values().stream()
-      .filter(provider -> {
+    var candidates = this.nameIndex.get(serviceName.toLowerCase(Locale.ROOT));
+    if (candidates != null) {
+      // the index is case-insensitive, the lookup is not
+      for (var provider : candidates.values()) {
         var serviceInfo = provider.serviceInfo();
-        return serviceInfo != null && serviceInfo.serviceId().name().equals(serviceName);
-      })
-      .findFirst()
-      .orElse(EmptySpecificCloudServiceProvider.INSTANCE);
+        if (serviceInfo != null && serviceInfo.serviceId().name().equals(serviceName)) {
+          return provider;
+        }
+      }
+    }
+    return EmptySpecificCloudServiceProvider.INSTANCE;
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> services() {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .toList();
+    return serviceInfoView(this.knownServices.values());
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> runningServices() {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.lifeCycle() == ServiceLifeCycle.RUNNING)
-      .toList();
+    List<ServiceInfoSnapshot> runningServices = new ArrayList<>();
+    // remote services are indexed by their lifecycle, the snapshot might have changed since we looked it up though
+    var remoteServices = this.lifeCycleIndex.get(ServiceLifeCycle.RUNNING);
+    if (remoteServices != null) {
+      for (var provider : remoteServices.values()) {
+        var snapshot = provider.serviceInfo();
+        if (snapshot != null && snapshot.lifeCycle() == ServiceLifeCycle.RUNNING) {
+          runningServices.add(snapshot);
+        }
+      }
+    }
+    // local services are updating their lifecycle directly, check them one by one
+    for (var service : this.localServices.values()) {
+      var snapshot = service.serviceInfo();
+      if (snapshot.lifeCycle() == ServiceLifeCycle.RUNNING) {
+        runningServices.add(snapshot);
+      }
+    }
+    return Collections.unmodifiableList(runningServices);
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByTask(@NonNull String taskName) {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.serviceId().taskName().equals(taskName))
-      .toList();
+    return this.indexedServices(this.taskIndex, taskName);
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByEnvironment(@NonNull String environment) {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.serviceId().environmentName().equals(environment))
-      .toList();
+    return this.indexedServices(this.environmentIndex, environment);
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByGroup(@NonNull String group) {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.configuration().groups().contains(group))
-      .toList();
+    return this.indexedServices(this.groupIndex, group);
   }
 
   @Override
@@ -208,12 +230,14 @@ public int serviceCount() {
 
   @Override
   public int serviceCountByGroup(@NonNull String group) {
-    return this.servicesByGroup(group).size();
+    var services = this.groupIndex.get(group);
+    return services == null ? 0 : services.size();
   }
 
   @Override
   public int serviceCountByTask(@NonNull String taskName) {
-    return this.servicesByTask(taskName).size();
+    var services = this.taskIndex.get(taskName);
+    return services == null ? 0 : services.size();
   }
 
   @Override
@@ -297,10 +321,7 @@ public void deleteAllCloudServices() {
 
   @Override
   public @NonNull @UnmodifiableView Collection<CloudService> localCloudServices() {
-    return this.knownServices.values().stream()
-      .filter(provider -> provider instanceof CloudService) // -> CloudService => local service
-      .map(provider -> (CloudService) provider)
-      .toList();
+    return Collections.unmodifiableCollection(this.localServices.values());
   }
 
   @Override
@@ -310,7 +331,7 @@ public void deleteAllCloudServices() {
 
   @Override
   public @Nullable CloudService localCloudService(@NonNull UUID uniqueId) {
-    return this.knownServices.get(uniqueId) instanceof CloudService service ? service : null;
+    return this.localServices.get(uniqueId);
   }
 
   @Override
@@ -388,42 +409,68 @@ public int currentReservedMemory() {
 
   @Override
   public void registerLocalService(@NonNull CloudService service) {
-    this.knownServices.putIfAbsent(service.serviceId().uniqueId(), service);
+    this.indexLock.lock();
+    try {
+      var uniqueId = service.serviceId().uniqueId();
+      if (this.knownServices.putIfAbsent(uniqueId, service) == null) {
+        this.indexService(uniqueId, service, service.serviceInfo());
+      }
+    } finally {
+      this.indexLock.unlock();
+    }
   }
 
   @Override
   public void unregisterLocalService(@NonNull CloudService service) {
-    this.knownServices.remove(service.serviceId().uniqueId());
+    this.indexLock.lock();
+    try {
+      var uniqueId = service.serviceId().uniqueId();
+      if (this.knownServices.remove(uniqueId) != null) {
+        this.unindexService(uniqueId);
+      }
+    } finally {
+      this.indexLock.unlock();
+    }
   }
 
   @Override
   public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @UnknownNullability NetworkChannel source) {
-    // deleted services were removed on the other node - remove it here too
-    if (snapshot.lifeCycle() == ServiceLifeCycle.DELETED) {
-      this.knownServices.remove(snapshot.serviceId().uniqueId());
-      LOGGER.fine("Deleted cloud service %s after lifecycle change to deleted", null, snapshot.serviceId());
-    } else {
-      // register the service if the provider is available
-      var provider = this.knownServices.get(snapshot.serviceId().uniqueId());
-      if (provider == null) {
-        this.knownServices.putIfAbsent(
-          snapshot.serviceId().uniqueId(),
-          this.sender.factory().generateRPCChainBasedApi(
+    var uniqueId = snapshot.serviceId().uniqueId();
+    this.indexLock.lock();
+    try {
+      // deleted services were removed on the other node - remove it here too
+      if (snapshot.lifeCycle() == ServiceLifeCycle.DELETED) {
+        if (this.knownServices.remove(uniqueId) != null) {
+          this.unindexService(uniqueId);
+        }
+        LOGGER.fine("Deleted cloud service %s after lifecycle change to deleted", null, snapshot.serviceId());
+      } else {
+        // register the service if the provider is available
+        var provider = this.knownServices.get(uniqueId);
+        if (provider == null) {
+          var remoteProvider = this.sender.factory().generateRPCChainBasedApi(
             this.sender,
             "serviceProvider",
             SpecificCloudServiceProvider.class,
             GenerationContext.forClass(RemoteNodeCloudServiceProvider.class).channelSupplier(() -> source).build()
-          ).newInstance(new Object[]{snapshot}, new Object[]{snapshot.serviceId().uniqueId()}));
-        LOGGER.fine("Registered remote service %s", null, snapshot.serviceId());
-      } else if (provider instanceof RemoteNodeCloudServiceProvider remoteProvider) {
-        // update the provider if possible - we need only to handle remote node providers as local providers will update
-        // the snapshot directly "in" them
-        remoteProvider.snapshot(snapshot);
-        LOGGER.fine("Updated service snapshot of %s to %s", null, snapshot.serviceId(), snapshot);
-      } else if (provider instanceof CloudService localService) {
-        // just set the service information locally - no further processing
-        localService.updateServiceInfoSnapshot(snapshot);
+          ).newInstance(new Object[]{snapshot}, new Object[]{uniqueId});
+          this.knownServices.put(uniqueId, remoteProvider);
+          this.indexService(uniqueId, remoteProvider, snapshot);
+          LOGGER.fine("Registered remote service %s", null, snapshot.serviceId());
+        } else if (provider instanceof RemoteNodeCloudServiceProvider remoteProvider) {
+          // update the provider if possible - we need only to handle remote node providers as local providers will
+          // update the snapshot directly "in" them
+          remoteProvider.snapshot(snapshot);
+          this.indexService(uniqueId, remoteProvider, snapshot);
+          LOGGER.fine("Updated service snapshot of %s to %s", null, snapshot.serviceId(), snapshot);
+        } else if (provider instanceof CloudService localService) {
+          // just set the service information locally - no further processing
+          localService.updateServiceInfoSnapshot(snapshot);
+          this.indexService(uniqueId, localService, snapshot);
+        }
       }
+    } finally {
+      this.indexLock.unlock();
     }
   }
 
@@ -500,11 +547,105 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @UnknownN
 
   protected int calculateReservedMemoryPercentage(@NonNull NodeServer server) {
     // get the reserved memory on the given node based on the services which are running on it and sum it up
-    var reservedMemory = this.services().stream()
-      .filter(info -> info.serviceId().nodeUniqueId().equals(server.name()))
+    var reservedMemory = this.indexedServices(this.nodeIndex, server.name()).stream()
       .mapToInt(info -> info.configuration().processConfig().maxHeapMemorySize())
       .sum();
     // convert to a percentage
     return (reservedMemory * 100) / server.nodeInfoSnapshot().maxMemory();
   }
+
+  protected @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> indexedServices(
+    @NonNull Map<String, Map<UUID, SpecificCloudServiceProvider>> index,
+    @NonNull String key
+  ) {
+    var providers = index.get(key);
+    return providers == null ? List.of() : serviceInfoView(providers.values());
+  }
+
+  /**
+   * Creates an unmodifiable view of the current snapshots of the given providers, without copying them. The returned
+   * collection is backed by the given providers and reflects changes to them, the same way the given collection does.
+   *
+   * @param providers the providers to create the snapshot view of.
+   * @return an unmodifiable view of the current snapshots of the given providers.
+   * @throws NullPointerException if the given provider collection is null.
+   */
+  protected static @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> serviceInfoView(
+    @NonNull Collection<SpecificCloudServiceProvider> providers
+  ) {
+    var snapshots = Collections2.transform(providers, SpecificCloudServiceProvider::serviceInfo);
+    return Collections.unmodifiableCollection(Collections2.filter(snapshots, Objects::nonNull));
+  }
+
+  protected void indexService(
+    @NonNull UUID uniqueId,
+    @NonNull SpecificCloudServiceProvider provider,
+    @NonNull ServiceInfoSnapshot snapshot
+  ) {
+    // drop the keys of the previous snapshot, most of them will not change but there is no need to compare them
+    var previousSnapshot = this.indexedSnapshots.put(uniqueId, snapshot);
+    if (previousSnapshot != null) {
+      this.removeIndexKeys(uniqueId, previousSnapshot);
+    }
+
+    var serviceId = snapshot.serviceId();
+    addToIndex(this.taskIndex, serviceId.taskName(), uniqueId, provider);
+    addToIndex(this.nameIndex, serviceId.name().toLowerCase(Locale.ROOT), uniqueId, provider);
+    addToIndex(this.environmentIndex, serviceId.environmentName(), uniqueId, provider);
+    for (var group : snapshot.configuration().groups()) {
+      addToIndex(this.groupIndex, group, uniqueId, provider);
+    }
+    // the node is null if the service was not yet elected to a node
+    if (serviceId.nodeUniqueId() != null) {
+      addToIndex(this.nodeIndex, serviceId.nodeUniqueId(), uniqueId, provider);
+    }
+
+    if (provider instanceof CloudService localService) {
+      this.localServices.put(uniqueId, localService);
+    } else {
+      addToIndex(this.lifeCycleIndex, snapshot.lifeCycle(), uniqueId, provider);
+    }
+  }
+
+  protected void unindexService(@NonNull UUID uniqueId) {
+    var previousSnapshot = this.indexedSnapshots.remove(uniqueId);
+    if (previousSnapshot != null) {
+      this.removeIndexKeys(uniqueId, previousSnapshot);
+    }
+    this.localServices.remove(uniqueId);
+  }
+
+  protected void removeIndexKeys(@NonNull UUID uniqueId, @NonNull ServiceInfoSnapshot snapshot) {
+    var serviceId = snapshot.serviceId();
+    removeFromIndex(this.taskIndex, serviceId.taskName(), uniqueId);
+    removeFromIndex(this.nameIndex, serviceId.name().toLowerCase(Locale.ROOT), uniqueId);
+    removeFromIndex(this.environmentIndex, serviceId.environmentName(), uniqueId);
+    removeFromIndex(this.lifeCycleIndex, snapshot.lifeCycle(), uniqueId);
+    for (var group : snapshot.configuration().groups()) {
+      removeFromIndex(this.groupIndex, group, uniqueId);
+    }
+    if (serviceId.nodeUniqueId() != null) {
+      removeFromIndex(this.nodeIndex, serviceId.nodeUniqueId(), uniqueId);
+    }
+  }
+
+  private static <K> void addToIndex(
+    @NonNull Map<K, Map<UUID, SpecificCloudServiceProvider>> index,
+    @NonNull K key,
+    @NonNull UUID uniqueId,
+    @NonNull SpecificCloudServiceProvider provider
+  ) {
+    index.computeIfAbsent(key, $ -> new ConcurrentHashMap<>()).put(uniqueId, provider);
+  }
+
+  private static <K> void removeFromIndex(
+    @NonNull Map<K, Map<UUID, SpecificCloudServiceProvider>> index,
+    @NonNull K key,
+    @NonNull UUID uniqueId
+  ) {
+    index.computeIfPresent(key, ($, entries) -> {
+      entries.remove(uniqueId);
+      return entries.isEmpty() ? null : entries;
+    });
+  }
 }
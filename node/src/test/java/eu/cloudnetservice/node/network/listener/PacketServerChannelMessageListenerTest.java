@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.network.listener;
+
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.NodeTestUtility;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.event.Event;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.def.PacketServerChannelMessage;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.node.provider.NodeMessenger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+public class PacketServerChannelMessageListenerTest {
+
+  @BeforeAll
+  public static void initNode() {
+    var node = NodeTestUtility.mockAndSetDriverInstance();
+    Mockito.when(node.componentName()).thenReturn("Node-1");
+    Mockito.when(node.environment()).thenReturn(DriverEnvironment.NODE);
+  }
+
+  @Test
+  void testForwardedMessageIsCopiedAsIs() {
+    var eventManager = Mockito.mock(EventManager.class);
+    var messenger = Mockito.mock(NodeMessenger.class);
+
+    // capture the packet the messenger would send to the target, the encoded message is released after forwarding
+    var forwardedPacket = new AtomicReference<Packet>();
+    Mockito.doAnswer(invocation -> {
+      PacketServerChannelMessage.RoutingHeader header = invocation.getArgument(0);
+      try (var content = PacketServerChannelMessage.encodeShared(header, invocation.getArgument(1), false)) {
+        forwardedPacket.set(new PacketServerChannelMessage(header.prioritized(), content));
+      }
+      return null;
+    }).when(messenger).forwardChannelMessage(
+      ArgumentMatchers.any(),
+      ArgumentMatchers.any(),
+      ArgumentMatchers.anyBoolean());
+
+    var listener = new PacketServerChannelMessageListener(messenger, eventManager);
+    listener.handle(Mockito.mock(NetworkChannel.class), new PacketServerChannelMessage(message(), true));
+
+    // the message is not targeting the node, it must not be decoded or posted locally
+    Mockito.verify(eventManager, Mockito.never()).callEvent(ArgumentMatchers.any(Event.class));
+    Mockito.verify(eventManager, Mockito.never()).callEvent(ArgumentMatchers.anyString(), ArgumentMatchers.any());
+    Mockito.verify(messenger).forwardChannelMessage(
+      ArgumentMatchers.any(),
+      ArgumentMatchers.any(),
+      ArgumentMatchers.eq(true));
+
+    // the target reads the same header, except that the message was forwarded by a node now
+    var packet = forwardedPacket.get();
+    Assertions.assertNotNull(packet);
+    var header = PacketServerChannelMessage.readHeader(packet);
+    Assertions.assertFalse(header.wrapper());
+    Assertions.assertTrue(header.prioritized());
+    Assertions.assertEquals("test_channel", header.channel());
+
+    // the encoded message must be byte-identical to the one sent by the wrapper
+    var forwardedMessage = packet.content().readDataBuf().toByteArray();
+    Assertions.assertArrayEquals(encodedMessage(), forwardedMessage);
+
+    // and decode to the original message on the target
+    var decoded = PacketServerChannelMessage.decodeMessage(
+      DataBufFactory.defaultFactory().fromBytes(forwardedMessage));
+    var expected = message();
+    Assertions.assertEquals(expected.message(), decoded.message());
+    Assertions.assertEquals(expected.sender(), decoded.sender());
+    Assertions.assertEquals(expected.targets(), decoded.targets());
+    Assertions.assertEquals("hello", decoded.content().readString());
+    Assertions.assertEquals(1234, decoded.content().readInt());
+  }
+
+  private static byte[] encodedMessage() {
+    var packet = new PacketServerChannelMessage(message(), true);
+    PacketServerChannelMessage.readHeader(packet);
+    return packet.content().readDataBuf().toByteArray();
+  }
+
+  private static ChannelMessage message() {
+    return ChannelMessage.builder()
+      .channel("test_channel")
+      .message("test_message")
+      .prioritized(true)
+      .sender(ChannelMessageSender.of("Lobby-1", DriverEnvironment.WRAPPER))
+      .targetService("Lobby-2")
+      .buffer(DataBuf.empty().writeString("hello").writeInt(1234))
+      .build();
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.common.document.gson.JsonDocument;
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.NodeTestUtility;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.network.HostAndPort;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.rpc.RPCHandlerRegistry;
+import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCFactory;
+import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.node.Node;
+import eu.cloudnetservice.node.TickLoop;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import eu.cloudnetservice.node.service.CloudService;
+import eu.cloudnetservice.node.service.defaults.provider.EmptySpecificCloudServiceProvider;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class DefaultCloudServiceManagerTest {
+
+  private static final NetworkChannel CHANNEL = Mockito.mock(NetworkChannel.class);
+
+  private static Node node;
+
+  private DefaultCloudServiceManager manager;
+
+  @BeforeAll
+  public static void initNode() {
+    node = NodeTestUtility.mockAndSetDriverInstance();
+    Mockito.when(node.componentName()).thenReturn("Node-1");
+    Mockito.when(node.environment()).thenReturn(DriverEnvironment.NODE);
+    Mockito.when(node.eventManager()).thenReturn(Mockito.mock(EventManager.class));
+    Mockito.when(node.mainThread()).thenReturn(Mockito.mock(TickLoop.class));
+    Mockito.when(node.dataSyncRegistry()).thenReturn(Mockito.mock(DataSyncRegistry.class));
+    Mockito.when(node.nodeServerProvider()).thenReturn(Mockito.mock(NodeServerProvider.class));
+    Mockito.when(node.rpcHandlerRegistry()).thenReturn(Mockito.mock(RPCHandlerRegistry.class));
+    Mockito.when(node.rpcFactory()).thenReturn(
+      new DefaultRPCFactory(new DefaultObjectMapper(), DataBufFactory.defaultFactory()));
+  }
+
+  @BeforeEach
+  void initManager() {
+    this.manager = new DefaultCloudServiceManager(node, List.of());
+  }
+
+  @Test
+  void testGroupChangeMovesServiceToNewGroup() {
+    var uniqueId = UUID.randomUUID();
+    this.manager.handleServiceUpdate(snapshot(uniqueId, "Lobby-1", ServiceLifeCycle.RUNNING, "Global"), CHANNEL);
+    this.manager.handleServiceUpdate(snapshot(uniqueId, "Lobby-1", ServiceLifeCycle.RUNNING, "Lobby"), CHANNEL);
+
+    Assertions.assertEquals(0, this.manager.serviceCountByGroup("Global"));
+    Assertions.assertTrue(this.manager.servicesByGroup("Global").isEmpty());
+    Assertions.assertFalse(this.manager.groupIndex.containsKey("Global"));
+
+    Assertions.assertEquals(1, this.manager.serviceCountByGroup("Lobby"));
+    Assertions.assertEquals(uniqueId, this.manager.servicesByGroup("Lobby").iterator().next().serviceId().uniqueId());
+  }
+
+  @Test
+  void testDeletedServiceIsRemovedFromEveryIndex() {
+    var uniqueId = UUID.randomUUID();
+    this.manager.handleServiceUpdate(snapshot(uniqueId, "Lobby-1", ServiceLifeCycle.RUNNING, "Global"), CHANNEL);
+    Assertions.assertEquals(1, this.manager.serviceCount());
+    Assertions.assertEquals(1, this.manager.runningServices().size());
+
+    this.manager.handleServiceUpdate(snapshot(uniqueId, "Lobby-1", ServiceLifeCycle.DELETED, "Global"), CHANNEL);
+
+    Assertions.assertEquals(0, this.manager.serviceCount());
+    Assertions.assertNull(this.manager.service(uniqueId));
+    Assertions.assertNull(this.manager.serviceByName("Lobby-1"));
+    Assertions.assertTrue(this.manager.runningServices().isEmpty());
+    Assertions.assertTrue(this.manager.servicesByTask("Lobby").isEmpty());
+    Assertions.assertTrue(this.manager.servicesByGroup("Global").isEmpty());
+    Assertions.assertTrue(this.manager.servicesByEnvironment(ServiceEnvironmentType.MINECRAFT_SERVER.name()).isEmpty());
+    this.assertIndexesEmpty();
+  }
+
+  @Test
+  void testLocalServiceRegistration() {
+    var service = localService(snapshot(UUID.randomUUID(), "Lobby-1", ServiceLifeCycle.PREPARED, "Global"));
+
+    this.manager.registerLocalService(service);
+    Assertions.assertSame(service, this.manager.localCloudService(service.serviceId().uniqueId()));
+    Assertions.assertSame(service, this.manager.localCloudService("Lobby-1"));
+    Assertions.assertSame(service, this.manager.serviceProvider(service.serviceId().uniqueId()));
+    Assertions.assertEquals(1, this.manager.localCloudServices().size());
+    Assertions.assertEquals(1, this.manager.serviceCountByTask("Lobby"));
+    Assertions.assertEquals(1, this.manager.serviceCountByGroup("Global"));
+
+    this.manager.unregisterLocalService(service);
+    Assertions.assertNull(this.manager.localCloudService(service.serviceId().uniqueId()));
+    Assertions.assertNull(this.manager.localCloudService("Lobby-1"));
+    Assertions.assertTrue(this.manager.localCloudServices().isEmpty());
+    Assertions.assertEquals(0, this.manager.serviceCount());
+    this.assertIndexesEmpty();
+  }
+
+  @Test
+  void testRunningServicesContainsLocalAndRemoteServices() {
+    var localRunning = localService(snapshot(UUID.randomUUID(), "Lobby-1", ServiceLifeCycle.RUNNING, "Global"));
+    var localPrepared = localService(snapshot(UUID.randomUUID(), "Lobby-2", ServiceLifeCycle.PREPARED, "Global"));
+    this.manager.registerLocalService(localRunning);
+    this.manager.registerLocalService(localPrepared);
+    this.manager.handleServiceUpdate(snapshot(UUID.randomUUID(), "Lobby-3", ServiceLifeCycle.RUNNING), CHANNEL);
+    this.manager.handleServiceUpdate(snapshot(UUID.randomUUID(), "Lobby-4", ServiceLifeCycle.STOPPED), CHANNEL);
+
+    Assertions.assertEquals(Set.of("Lobby-1", "Lobby-3"), this.runningServiceNames());
+
+    // local services change their lifecycle without notifying the manager
+    var started = snapshot(localPrepared.serviceId().uniqueId(), "Lobby-2", ServiceLifeCycle.RUNNING, "Global");
+    Mockito.when(localPrepared.serviceInfo()).thenReturn(started);
+    Assertions.assertEquals(Set.of("Lobby-1", "Lobby-2", "Lobby-3"), this.runningServiceNames());
+  }
+
+  @Test
+  void testIndexedServicesAreViews() {
+    var lobby1 = snapshot(UUID.randomUUID(), "Lobby-1", ServiceLifeCycle.RUNNING, "Global");
+    this.manager.handleServiceUpdate(lobby1, CHANNEL);
+    var services = this.manager.services();
+    var groupServices = this.manager.servicesByGroup("Global");
+    Assertions.assertEquals(1, groupServices.size());
+    Assertions.assertThrows(UnsupportedOperationException.class, groupServices::clear);
+
+    // the returned collections are not copied and reflect later changes
+    var lobby2 = snapshot(UUID.randomUUID(), "Lobby-2", ServiceLifeCycle.RUNNING, "Global");
+    this.manager.handleServiceUpdate(lobby2, CHANNEL);
+    Assertions.assertEquals(2, services.size());
+    Assertions.assertEquals(2, groupServices.size());
+  }
+
+  @Test
+  void testServiceProviderByNameIsCaseSensitive() {
+    var upperCase = UUID.randomUUID();
+    var lowerCase = UUID.randomUUID();
+    this.manager.handleServiceUpdate(snapshot(upperCase, "Lobby-1", ServiceLifeCycle.RUNNING), CHANNEL);
+    this.manager.handleServiceUpdate(snapshot(lowerCase, "lobby-1", ServiceLifeCycle.RUNNING), CHANNEL);
+
+    Assertions.assertEquals(upperCase, this.manager.serviceByName("Lobby-1").serviceId().uniqueId());
+    Assertions.assertEquals(lowerCase, this.manager.serviceByName("lobby-1").serviceId().uniqueId());
+    Assertions.assertSame(EmptySpecificCloudServiceProvider.INSTANCE, this.manager.serviceProviderByName("LOBBY-1"));
+  }
+
+  private Set<String> runningServiceNames() {
+    return this.manager.runningServices().stream()
+      .map(snapshot -> snapshot.serviceId().name())
+      .collect(Collectors.toSet());
+  }
+
+  private void assertIndexesEmpty() {
+    Assertions.assertTrue(this.manager.indexedSnapshots.isEmpty());
+    Assertions.assertTrue(this.manager.localServices.isEmpty());
+    Assertions.assertTrue(this.manager.taskIndex.isEmpty());
+    Assertions.assertTrue(this.manager.nameIndex.isEmpty());
+    Assertions.assertTrue(this.manager.nodeIndex.isEmpty());
+    Assertions.assertTrue(this.manager.groupIndex.isEmpty());
+    Assertions.assertTrue(this.manager.environmentIndex.isEmpty());
+    Assertions.assertTrue(this.manager.lifeCycleIndex.isEmpty());
+  }
+
+  private static CloudService localService(ServiceInfoSnapshot snapshot) {
+    var service = Mockito.mock(CloudService.class);
+    Mockito.when(service.serviceId()).thenReturn(snapshot.serviceId());
+    Mockito.when(service.serviceInfo()).thenReturn(snapshot);
+    return service;
+  }
+
+  private static ServiceInfoSnapshot snapshot(
+    UUID uniqueId,
+    String name,
+    ServiceLifeCycle lifeCycle,
+    String... groups
+  ) {
+    var separator = name.lastIndexOf('-');
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 44955),
+      ProcessSnapshot.empty(),
+      ServiceConfiguration.builder()
+        .taskName(name.substring(0, separator))
+        .taskId(Integer.parseInt(name.substring(separator + 1)))
+        .uniqueId(uniqueId)
+        .node("Node-2")
+        .environment(ServiceEnvironmentType.MINECRAFT_SERVER)
+        .groups(Set.of(groups))
+        .maxHeapMemory(512)
+        .startPort(44955)
+        .build(),
+      -1,
+      lifeCycle,
+      JsonDocument.newDocument());
+  }
+}
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.wrapper;
 
 import com.google.common.collect.Lists;
+import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.common.document.gson.JsonDocument;
 import eu.cloudnetservice.common.log.LogManager;
 import eu.cloudnetservice.common.log.Logger;
@@ -32,6 +33,8 @@
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.netty.client.NettyNetworkClient;
 import eu.cloudnetservice.driver.network.rpc.generation.GenerationContext;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCCancelPacketListener;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCStreamPacketListener;
 import eu.cloudnetservice.driver.permission.PermissionManagement;
 import eu.cloudnetservice.driver.provider.CloudServiceFactory;
 import eu.cloudnetservice.driver.provider.CloudServiceProvider;
@@ -50,6 +53,7 @@
 import eu.cloudnetservice.wrapper.event.ApplicationPostStartEvent;
 import eu.cloudnetservice.wrapper.event.ApplicationPreStartEvent;
 import eu.cloudnetservice.wrapper.event.ServiceInfoSnapshotConfigureEvent;
+import eu.cloudnetservice.wrapper.network.ChannelMessageSubscriptionUpdater;
 import eu.cloudnetservice.wrapper.network.NetworkClientChannelHandler;
 import eu.cloudnetservice.wrapper.network.chunk.TemplateStorageCallbackListener;
 import eu.cloudnetservice.wrapper.network.listener.PacketAuthorizationResponseListener;
@@ -347,6 +351,38 @@ public void publishServiceInfoUpdate(@NonNull ServiceInfoSnapshot serviceInfoSna
       .send();
   }
 
+  /**
+   * Connects the network client to the associated node. The unix domain socket of the node is preferred if the node is
+   * listening on one, as it skips the tcp stack for the connection. The target tcp listener is used if there is no
+   * socket or the connection through it failed.
+   *
+   * @return a task completed once the client is connected, or exceptionally if both connection attempts failed.
+   */
+  private @NonNull Task<Void> connectNetworkClient() {
+    var domainSocketListener = this.config.domainSocketListener();
+    if (domainSocketListener == null) {
+      return this.networkClient.connect(this.config.targetListener());
+    }
+
+    // fall back to the tcp listener if the socket is not usable
+    Task<Void> result = new Task<>();
+    this.networkClient.connect(domainSocketListener).whenComplete(($, exception) -> {
+      if (exception == null) {
+        result.complete(null);
+      } else {
+        LOGGER.fine("Unable to connect through the unix domain socket, using the tcp listener", exception);
+        this.networkClient.connect(this.config.targetListener()).whenComplete(($$, tcpException) -> {
+          if (tcpException == null) {
+            result.complete(null);
+          } else {
+            result.completeExceptionally(tcpException);
+          }
+        });
+      }
+    });
+    return result;
+  }
+
   /**
    * Connects this wrapper with the node which started this service, allowing a maximum of 30 seconds for the connection
    * to establish completely (including the node authorization process).
@@ -368,8 +404,7 @@ private void connectToNode() throws InterruptedException {
       var listener = new PacketAuthorizationResponseListener(lock, condition);
       // register the listener to the packet registry and connect to the target listener
       this.networkClient.packetRegistry().addListener(NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL, listener);
-      this.networkClient
-        .connect(this.config.targetListener())
+      this.connectNetworkClient()
         .exceptionally(ex -> {
           // log and exit, we're not connected
           LOGGER.severe("Unable to connect", ex);
@@ -405,6 +440,17 @@ private void connectToNode() throws InterruptedException {
       this.networkClient.packetRegistry().addListener(
         NetworkConstants.CHANNEL_MESSAGING_CHANNEL,
         new PacketServerChannelMessageListener());
+      this.networkClient.packetRegistry().addListener(
+        NetworkConstants.INTERNAL_RPC_STREAM_CHANNEL,
+        new RPCStreamPacketListener());
+      this.networkClient.packetRegistry().addListener(
+        NetworkConstants.INTERNAL_RPC_CANCEL_CHANNEL,
+        new RPCCancelPacketListener());
+
+      // announce the channel message subscriptions now and each time the registered listeners change
+      var subscriptionUpdater = new ChannelMessageSubscriptionUpdater(this.eventManager, this.networkClient);
+      this.eventManager.addListenerChangeHandler(subscriptionUpdater);
+      subscriptionUpdater.run();
     } finally {
       lock.unlock();
     }
@@ -21,6 +21,7 @@
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents the configuration which is passed from a node instance to the wrapper in form of a file before starting.
@@ -44,6 +45,15 @@ public interface WrapperConfiguration {
    */
   @NonNull HostAndPort targetListener();
 
+  /**
+   * Get the address of the unix domain socket of the associated node, if the node is listening on one. The wrapper
+   * prefers connecting through the socket as it skips the tcp stack, falling back to the target listener if the
+   * connection through the socket fails.
+   *
+   * @return the address of the unix domain socket of the associated node, null if the node is not listening on one.
+   */
+  @Nullable HostAndPort domainSocketListener();
+
   /**
    * Get the service configuration which was used to create the service associated with this wrapper instance.
    *
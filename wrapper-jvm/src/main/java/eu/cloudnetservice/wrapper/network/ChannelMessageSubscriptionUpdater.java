@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019-2022 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.network;
+
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.network.NetworkComponent;
+import eu.cloudnetservice.driver.network.def.PacketClientChannelMessageSubscription;
+import java.util.Set;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Announces the channels of channel messages this wrapper has listeners for to the node, each time the registered
+ * listeners change. The node skips this wrapper when fanning out channel messages of other channels.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class ChannelMessageSubscriptionUpdater implements Runnable {
+
+  private static final String WILDCARD_CHANNEL = "*";
+
+  private final EventManager eventManager;
+  private final NetworkComponent networkComponent;
+
+  private Set<String> announcedChannels;
+
+  /**
+   * Constructs a new subscription updater instance.
+   *
+   * @param eventManager     the event manager to read the channel message listeners from.
+   * @param networkComponent the network component connected to the node to send the subscriptions to.
+   * @throws NullPointerException if the given event manager or network component is null.
+   */
+  public ChannelMessageSubscriptionUpdater(
+    @NonNull EventManager eventManager,
+    @NonNull NetworkComponent networkComponent
+  ) {
+    this.eventManager = eventManager;
+    this.networkComponent = networkComponent;
+  }
+
+  /**
+   * Sends the channels of the currently registered channel message listeners to the node, unless they were announced
+   * already.
+   */
+  @Override
+  public synchronized void run() {
+    var channels = this.eventManager.listenerChannels(ChannelMessageReceiveEvent.class);
+    // a listener for all channels makes the other channels irrelevant
+    if (channels.contains(WILDCARD_CHANNEL)) {
+      channels = Set.of(WILDCARD_CHANNEL);
+    }
+    // only send the subscriptions if they changed, the packets are sent in order as this method is synchronized
+    if (!channels.equals(this.announcedChannels)) {
+      this.announcedChannels = channels;
+      this.networkComponent.sendPacket(new PacketClientChannelMessageSubscription(channels));
+    }
+  }
+}
@@ -50,8 +50,10 @@ public void handleChannelInitialize(@NonNull NetworkChannel channel) {
 
   @Override
   public boolean handlePacketReceive(@NonNull NetworkChannel channel, @NonNull Packet packet) {
-    return !CloudNetDriver.instance().eventManager().callEvent(
-      new NetworkChannelPacketReceiveEvent(channel, packet)).cancelled();
+    // only construct the event if someone is able to cancel the handling
+    var eventManager = CloudNetDriver.instance().eventManager();
+    return !eventManager.hasListeners(NetworkChannelPacketReceiveEvent.class)
+      || !eventManager.callEvent(new NetworkChannelPacketReceiveEvent(channel, packet)).cancelled();
   }
 
   @Override
@@ -18,6 +18,7 @@
 
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.protocol.PacketCompression;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -39,6 +40,11 @@ public PacketAuthorizationResponseListener(@NonNull Lock lock, @NonNull Conditio
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
     // read the auth result
     this.result = packet.content().readBoolean();
+    if (this.result) {
+      // skip the reconnect flag and apply the compression negotiated by the node
+      packet.content().readBoolean();
+      channel.packetCompression(packet.content().readObject(PacketCompression.class));
+    }
     // signal all listeners waiting for the auth
     try {
       this.lock.lock();
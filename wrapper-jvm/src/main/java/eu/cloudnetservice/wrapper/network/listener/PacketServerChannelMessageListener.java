@@ -21,25 +21,48 @@
 import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.PacketServerChannelMessage;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 
 public final class PacketServerChannelMessageListener implements PacketListener {
 
   @Override
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
-    // skip the first boolean in the buffer as we don't need it
-    packet.content().readBoolean();
-    // read the channel message from the buffer
-    var message = packet.content().readObject(ChannelMessage.class);
-    // get the query response if available
-    var response = CloudNetDriver.instance().eventManager()
-      .callEvent(new ChannelMessageReceiveEvent(message, channel, packet.uniqueId() != null))
-      .queryResponse();
+    // we only need the channel from the routing header
+    var messageChannel = PacketServerChannelMessage.readHeader(packet).channel();
+    // get the query response if available, there is no need to decode the message if no one is listening to it
+    CompletableFuture<ChannelMessage> response = null;
+    var eventManager = CloudNetDriver.instance().eventManager();
+    try (var encodedMessage = packet.content().readDataBuf()) {
+      var wildcardListeners = eventManager.hasListeners(ChannelMessageReceiveEvent.class);
+      var channelListeners = !messageChannel.equals("*")
+        && eventManager.hasListeners(ChannelMessageReceiveEvent.class, messageChannel);
+      if (wildcardListeners || channelListeners) {
+        var message = PacketServerChannelMessage.decodeMessage(encodedMessage);
+        var event = new ChannelMessageReceiveEvent(message, channel, packet.queryId() != 0);
+        // call the listeners of all channels first, keeping the content readable for the channel listeners
+        if (wildcardListeners) {
+          if (channelListeners) {
+            message.content().disableReleasing().startTransaction();
+          }
+          eventManager.callEvent(event);
+        }
+        // call the listeners which are listening to the channel of the message
+        if (channelListeners) {
+          if (wildcardListeners) {
+            message.content().redoTransaction().enableReleasing();
+          }
+          eventManager.callEvent(messageChannel, event);
+        }
+        response = event.queryResponse();
+      }
+    }
     // check if we need to respond to the channel message
-    if (packet.uniqueId() != null) {
+    if (packet.queryId() != 0) {
       // wait for the future if a response was supplied
       if (response != null) {
         response.whenComplete((queryResponse, throwable) -> {
@@ -22,6 +22,7 @@
 import eu.cloudnetservice.driver.event.events.group.GroupConfigurationAddEvent;
 import eu.cloudnetservice.driver.event.events.group.GroupConfigurationRemoveEvent;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCResultCache;
 import eu.cloudnetservice.driver.service.GroupConfiguration;
 import lombok.NonNull;
 
@@ -33,19 +34,23 @@ public GroupChannelMessageListener(@NonNull EventManager eventManager) {
     this.eventManager = eventManager;
   }
 
-  @EventListener
+  @EventListener(channel = NetworkConstants.INTERNAL_MSG_CHANNEL)
   public void handle(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)) {
       switch (event.message()) {
         // add group
         case "add_group_configuration" -> {
           var configuration = event.content().readObject(GroupConfiguration.class);
+          // drop the cached rpc results before notifying the listeners
+          RPCResultCache.invalidate("group_configurations");
           this.eventManager.callEvent(new GroupConfigurationAddEvent(configuration));
         }
 
         // remove group
         case "remove_group_configuration" -> {
           var configuration = event.content().readObject(GroupConfiguration.class);
+          // drop the cached rpc results before notifying the listeners
+          RPCResultCache.invalidate("group_configurations");
           this.eventManager.callEvent(new GroupConfigurationRemoveEvent(configuration));
         }
 
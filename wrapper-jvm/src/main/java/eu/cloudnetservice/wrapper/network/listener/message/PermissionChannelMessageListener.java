@@ -46,7 +46,7 @@ public PermissionChannelMessageListener(
     this.permissionManagement = management;
   }
 
-  @EventListener
+  @EventListener(channel = NetworkConstants.INTERNAL_MSG_CHANNEL)
   public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL) && event.message()
       .startsWith("permissions_")) {
@@ -40,7 +40,7 @@ public ServiceChannelMessageListener(@NonNull EventManager eventManager) {
     this.eventManager = eventManager;
   }
 
-  @EventListener
+  @EventListener(channel = NetworkConstants.INTERNAL_MSG_CHANNEL)
   public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)) {
       switch (event.message()) {
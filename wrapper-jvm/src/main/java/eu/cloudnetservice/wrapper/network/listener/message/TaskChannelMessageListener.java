@@ -22,6 +22,7 @@
 import eu.cloudnetservice.driver.event.events.task.ServiceTaskAddEvent;
 import eu.cloudnetservice.driver.event.events.task.ServiceTaskRemoveEvent;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.network.rpc.defaults.RPCResultCache;
 import eu.cloudnetservice.driver.service.ServiceTask;
 import lombok.NonNull;
 
@@ -33,19 +34,23 @@ public TaskChannelMessageListener(@NonNull EventManager eventManager) {
     this.eventManager = eventManager;
   }
 
-  @EventListener
+  @EventListener(channel = NetworkConstants.INTERNAL_MSG_CHANNEL)
   public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)) {
       switch (event.message()) {
         // add task
         case "add_service_task" -> {
           var task = event.content().readObject(ServiceTask.class);
+          // drop the cached rpc results before notifying the listeners
+          RPCResultCache.invalidate("service_tasks");
           this.eventManager.callEvent(new ServiceTaskAddEvent(task));
         }
 
         // remove task
         case "remove_service_task" -> {
           var task = event.content().readObject(ServiceTask.class);
+          // drop the cached rpc results before notifying the listeners
+          RPCResultCache.invalidate("service_tasks");
           this.eventManager.callEvent(new ServiceTaskRemoveEvent(task));
         }
 
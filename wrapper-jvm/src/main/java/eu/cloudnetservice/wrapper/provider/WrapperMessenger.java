@@ -17,15 +17,20 @@
 package eu.cloudnetservice.wrapper.provider;
 
 import com.google.gson.reflect.TypeToken;
+import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.network.NetworkComponent;
 import eu.cloudnetservice.driver.network.def.PacketServerChannelMessage;
 import eu.cloudnetservice.driver.provider.CloudMessenger;
+import eu.cloudnetservice.driver.provider.defaults.ChannelMessageQueryTask;
 import eu.cloudnetservice.driver.provider.defaults.DefaultMessenger;
 import eu.cloudnetservice.wrapper.Wrapper;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public class WrapperMessenger extends DefaultMessenger implements CloudMessenger {
 
@@ -48,11 +53,39 @@ public void sendChannelMessage(@NonNull ChannelMessage channelMessage) {
 
   @Override
   public @NonNull Collection<ChannelMessage> sendChannelMessageQuery(@NonNull ChannelMessage channelMessage) {
-    return this.component.firstChannel()
+    return this.sendQuery(channelMessage, null).join();
+  }
+
+  @Override
+  public @NonNull Task<Collection<ChannelMessage>> sendChannelMessageQueryAsync(@NonNull ChannelMessage message) {
+    return this.sendQuery(message, null);
+  }
+
+  @Override
+  public @NonNull Task<Collection<ChannelMessage>> sendChannelMessageQueryAsync(
+    @NonNull ChannelMessage message,
+    @NonNull Consumer<ChannelMessage> responseHandler
+  ) {
+    return this.sendQuery(message, responseHandler);
+  }
+
+  private @NonNull Task<Collection<ChannelMessage>> sendQuery(
+    @NonNull ChannelMessage message,
+    @Nullable Consumer<ChannelMessage> responseHandler
+  ) {
+    // the node collects the responses of all targets, it is our only target
+    var task = ChannelMessageQueryTask.forMessage(message, 1, responseHandler);
+    this.component.firstChannel()
       .queryPacketManager()
-      .sendQueryPacket(new PacketServerChannelMessage(channelMessage, true))
-      .join()
-      .content()
-      .readObject(MESSAGES);
+      .sendQueryPacket(new PacketServerChannelMessage(message, true))
+      .whenComplete((packet, th) -> {
+        // the node responds with an empty buffer if there are no responses
+        if (th == null && packet.readable()) {
+          task.handleTargetResponses(packet.content().readObject(MESSAGES));
+        } else {
+          task.handleTargetResponses(List.of());
+        }
+      });
+    return task;
   }
 }